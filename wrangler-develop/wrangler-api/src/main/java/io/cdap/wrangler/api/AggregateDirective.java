@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.io.Serializable;
+
+/**
+ * A {@link Directive} that aggregates across rows. Such a directive accumulates state in {@code execute}
+ * and emits the aggregated rows from {@link #finish(ExecutorContext)}.
+ *
+ * <p>When the rows are spread across partitions, each partition is aggregated by its own instance of the
+ * directive. The partial state of an instance is taken out with {@link #takeState()} and combined into
+ * another instance with {@link #mergeState(Serializable)}, so that the instance finishing the aggregation
+ * emits the same rows as if it had seen all the rows itself.</p>
+ */
+@PublicEvolving
+public interface AggregateDirective extends Directive {
+  /**
+   * Returns the state aggregated from the rows executed since the last call, and resets the directive
+   * to the state it had after {@code initialize}.
+   *
+   * @return partial state of the aggregation.
+   */
+  Serializable takeState();
+
+  /**
+   * Combines a partial state taken from an instance of this directive, initialized with the same
+   * arguments, into the state of this instance.
+   *
+   * @param state partial state returned by {@link #takeState()}.
+   * @throws DirectiveExecutionException thrown if the state cannot be merged.
+   */
+  void mergeState(Serializable state) throws DirectiveExecutionException;
+}
@@ -16,8 +16,11 @@
 
 package io.cdap.wrangler.api;
 
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -116,6 +119,51 @@ public interface Directive extends Executor<List<Row>, List<Row>>, EntityMetrics
    */
   UsageDefinition define();
 
+  /**
+   * This method is invoked by the framework once all the rows of a partition have been passed to
+   * {@code execute}, giving directives that aggregate across rows the chance to emit the rows they
+   * have been holding on to. The rows returned are passed on to the directives that follow this one
+   * in the recipe.
+   *
+   * <p>By default, a directive holds no rows and nothing is emitted.</p>
+   *
+   * @param context {@link ExecutorContext} passed to each step.
+   * @return List of {@link Row} emitted at the end of the partition.
+   * @throws DirectiveExecutionException thrown if the rows cannot be emitted.
+   * @see AggregateDirective
+   */
+  default List<Row> finish(ExecutorContext context) throws DirectiveExecutionException {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Returns whether the output of this directive for a row depends only on that row, and the directive has no
+   * effect outside of the rows, such that the framework may execute the directive on batches of rows, execute a
+   * row again, or split the rows across several instances of the directive.
+   *
+   * <p>By default, a directive is row independent if its class is annotated with {@link RowIndependent}.
+   * Directives whose independence depends on their arguments can override this method.</p>
+   *
+   * @return {@code true} if the directive keeps no state from one row to the next.
+   */
+  default boolean isRowIndependent() {
+    return getClass().isAnnotationPresent(RowIndependent.class);
+  }
+
+  /**
+   * Returns whether this directive gives the same rows every time it is executed on the same rows, such that
+   * the result of the directive may be cached and reused instead of executing it again.
+   *
+   * <p>By default, a directive is deterministic if its class is annotated with {@link Deterministic}.
+   * Directives whose determinism depends on their arguments, such as an expression reading the clock, can
+   * override this method.</p>
+   *
+   * @return {@code true} if the directive gives the same rows for the same rows and arguments.
+   */
+  default boolean isDeterministic() {
+    return getClass().isAnnotationPresent(Deterministic.class);
+  }
+
   /**
    * This method provides a way to emit metrics from the Directive. Metadata about each metric to be emitted can be
    * returned and used in the metrics emission logic elsewhere.
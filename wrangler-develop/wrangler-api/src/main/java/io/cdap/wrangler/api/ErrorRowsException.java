@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when only some of the rows given to a directive need to be emitted to the error collector.
+ * Each of these rows is emitted with an error of its own, and the other rows carry on through the rest of the
+ * recipe as if the directive had returned them.
+ */
+public class ErrorRowsException extends ErrorRowException {
+  // Rows output by the directive for the rows that did not error.
+  private final List<Row> rows;
+
+  // Error for each row that errored.
+  private final List<ErrorRecord> errors;
+
+  public ErrorRowsException(String directiveName, List<Row> rows, List<ErrorRecord> errors) {
+    super(directiveName, String.format("%d rows errored, the first with: %s", errors.size(),
+                                       errors.isEmpty() ? null : errors.get(0).getMessage()),
+          errors.isEmpty() ? 500 : errors.get(0).getCode());
+    this.rows = Collections.unmodifiableList(rows);
+    this.errors = Collections.unmodifiableList(errors);
+  }
+
+  /**
+   * @return rows output by the directive for the rows that did not error.
+   */
+  public List<Row> getRows() {
+    return rows;
+  }
+
+  /**
+   * @return error for each row that errored.
+   */
+  public List<ErrorRecord> getErrors() {
+    return errors;
+  }
+}
@@ -20,6 +20,7 @@ import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.annotations.PublicEvolving;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -49,6 +50,17 @@ public interface RecipePipeline<I, O, E> extends Serializable, AutoCloseable {
    */
   List<I> execute(List<I> input) throws RecipeException;
 
+  /**
+   * Flushes the rows held by aggregating directives at the end of the input. The rows emitted by a
+   * directive are executed through the rest of the pipeline. Records that error out are added to
+   * the {@link #errors()} of the last execution.
+   *
+   * @return output list of record of type I emitted at the end of the input.
+   */
+  default List<I> finish() throws RecipeException {
+    return Collections.emptyList();
+  }
+
   /**
    * Returns records that are errored out.
    *
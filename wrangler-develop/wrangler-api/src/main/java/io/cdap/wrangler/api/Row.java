@@ -20,7 +20,10 @@ import io.cdap.wrangler.api.annotations.PublicEvolving;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -36,6 +39,13 @@ public final class Row implements Serializable {
   // Values held by the row.
   private List<Object> values = new ArrayList<>();
 
+  // Rows narrower than this are searched linearly, as that is cheaper than maintaining an index.
+  private static final int INDEX_MIN_WIDTH = 16;
+
+  // Index of the leading columns of the row, built lazily by find(). It is never modified once built, so that it
+  // can be shared with copies of the row, and is dropped when any of the columns it covers changes.
+  private transient ColumnIndex index;
+
   public Row() {
   }
 
@@ -47,16 +57,20 @@ public final class Row implements Serializable {
   public Row(Row row) {
     this.values = new ArrayList<>(row.values);
     this.columns = new ArrayList<>(row.columns);
+    ColumnIndex rowIndex = row.index;
+    if (rowIndex != null && rowIndex.width <= columns.size()) {
+      this.index = rowIndex;
+    }
   }
 
   /**
-   * Initializes a row with list of columns.
+   * Initializes a row with list of columns, all of them with a null value.
    *
    * @param columns to set in the row.
    */
   public Row(List<String> columns) {
     this.columns = new ArrayList<>(columns);
-    this.values = new ArrayList<>(columns.size());
+    this.values = new ArrayList<>(Collections.nCopies(columns.size(), null));
   }
 
   /**
@@ -90,6 +104,7 @@ public final class Row implements Serializable {
    */
   public void setColumn(int idx, String name) {
     columns.set(idx, name);
+    index = null;
   }
 
   /**
@@ -149,6 +164,7 @@ public final class Row implements Serializable {
   public Row remove(int idx) {
     columns.remove(idx);
     values.remove(idx);
+    index = null;
     return this;
   }
 
@@ -171,7 +187,25 @@ public final class Row implements Serializable {
    * @return -1 if not present, else the index at which the column is found.
    */
   public int find(String col, int firstIdx) {
-    for (int i = firstIdx, columnsSize = columns.size(); i < columnsSize; i++) {
+    int columnsSize = columns.size();
+    int start = firstIdx;
+    if (columnsSize >= INDEX_MIN_WIDTH) {
+      ColumnIndex columnIndex = index;
+      // Columns added after the index was built are searched linearly, until there are enough of them to rebuild it.
+      if (columnIndex == null || columnsSize - columnIndex.width >= INDEX_MIN_WIDTH) {
+        columnIndex = new ColumnIndex(columns);
+        index = columnIndex;
+      }
+      Integer idx = columnIndex.positions.get(fold(col));
+      if (idx == null) {
+        // Not in the indexed columns, only the columns added after them may hold it.
+        start = Math.max(firstIdx, columnIndex.width);
+      } else if (idx >= firstIdx) {
+        return idx;
+      }
+      // Otherwise the first occurrence is before firstIdx, look for a duplicate further in the row.
+    }
+    for (int i = start; i < columnsSize; i++) {
       String name = columns.get(i);
       if (col.equalsIgnoreCase(name)) {
         return i;
@@ -195,6 +229,21 @@ public final class Row implements Serializable {
     return columns.size();
   }
 
+  /**
+   * Increases the capacity of the row, if necessary, so that columns can be added up to the width specified
+   * without growing the row repeatedly.
+   *
+   * @param width the number of columns the row is expected to hold.
+   */
+  public void ensureCapacity(int width) {
+    if (columns instanceof ArrayList) {
+      ((ArrayList<String>) columns).ensureCapacity(width);
+    }
+    if (values instanceof ArrayList) {
+      ((ArrayList<Object>) values).ensureCapacity(width);
+    }
+  }
+
   /**
    * @return List of fields of record.
    */
@@ -238,6 +287,7 @@ public final class Row implements Serializable {
       if (index < columns.size() && index < values.size()) {
         columns.add(index, name);
         values.add(index, value);
+        this.index = null;
       }
     }
   }
@@ -260,4 +310,49 @@ public final class Row implements Serializable {
   public int hashCode() {
     return Objects.hash(columns, values);
   }
+
+  /**
+   * Immutable index of the first {@code width} columns of a row, from the case folded name of each column to the
+   * position of its first occurrence. All the fields are final so that an index can be safely read by several
+   * threads through rows copied from one another.
+   */
+  private static final class ColumnIndex {
+    private final Map<String, Integer> positions;
+    private final int width;
+
+    private ColumnIndex(List<String> columns) {
+      Map<String, Integer> positions = new HashMap<>(columns.size() * 2);
+      for (int i = 0; i < columns.size(); i++) {
+        String name = columns.get(i);
+        if (name != null) {
+          positions.putIfAbsent(fold(name), i);
+        }
+      }
+      this.positions = Collections.unmodifiableMap(positions);
+      this.width = columns.size();
+    }
+  }
+
+  /**
+   * Folds the case of a column name such that two names fold to the same string if and only if
+   * they are equal according to {@link String#equalsIgnoreCase(String)}.
+   */
+  private static String fold(String name) {
+    int length = name.length();
+    for (int i = 0; i < length; i++) {
+      char c = name.charAt(i);
+      if (foldChar(c) != c) {
+        char[] folded = name.toCharArray();
+        for (int j = i; j < length; j++) {
+          folded[j] = foldChar(folded[j]);
+        }
+        return new String(folded);
+      }
+    }
+    return name;
+  }
+
+  private static char foldChar(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
 }
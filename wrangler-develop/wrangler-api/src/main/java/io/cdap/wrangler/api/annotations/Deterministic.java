@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a directive which gives the same rows every time it is executed on the same rows with the
+ * same arguments. Such a directive neither reads the clock, generates random values, nor reads data from outside
+ * of the rows, such as a dataset or a service.
+ *
+ * <p>The result of a recipe whose directives are all deterministic may be cached and reused instead of executing
+ * the recipe again. Directives that are not annotated are always executed.</p>
+ *
+ * @see io.cdap.wrangler.api.Directive#isDeterministic()
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@PublicEvolving
+public @interface Deterministic {
+}
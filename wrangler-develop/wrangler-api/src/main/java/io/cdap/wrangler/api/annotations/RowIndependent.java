@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a directive whose output for a row depends only on that row and on the arguments of the
+ * directive, which keeps no state from one row to the next, and which has no effect outside of the rows, such as
+ * sending requests to a service or emitting metrics.
+ *
+ * <p>Executors may run such a directive on several rows at once, re-run it on rows it has already seen, or split
+ * the rows across several instances of it. Directives that are not annotated are always given every row exactly
+ * once, in order.</p>
+ *
+ * @see io.cdap.wrangler.api.Directive#isRowIndependent()
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@PublicEvolving
+public @interface RowIndependent {
+}
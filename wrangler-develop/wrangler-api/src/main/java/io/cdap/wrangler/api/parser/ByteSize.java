@@ -1,94 +1,95 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
 package io.cdap.wrangler.api.parser;
 
-import io.cdap.wrangler.api.annotations.Public;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
 
 import java.io.Serializable;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-@Public
-public class ByteSize extends Token implements Serializable {
-    private static final long serialVersionUID = 6789012345L; 
-
-    private final long bytes;
-    private final String originalValue;
-
-    private static final Pattern BYTE_PATTERN = Pattern.compile("(\\d+(\\.\\d+)?)\\s*([kKmMgGtTpP])([bB])?", Pattern.CASE_INSENSITIVE);
-    private static final long KILO = 1024L;
-    private static final long MEGA = KILO * 1024L;
-    private static final long GIGA = MEGA * 1024L;
-    private static final long TERA = GIGA * 1024L;
-    private static final long PETA = TERA * 1024L;
-
-    public ByteSize(String text) {
-        super(TokenType.BYTE_SIZE, text);
-        this.originalValue = Objects.requireNonNull(text, "Input text cannot be null");
-        this.bytes = parseByteSize(text);
+/**
+ * A byte size such as {@code 10KB} or {@code 1.5m}, parsed into a number of bytes.
+ *
+ * <p>The units K, M, G, T and P, optionally followed by B, are powers of 1024 and are case insensitive.
+ * A plain number is a number of bytes.</p>
+ */
+@PublicEvolving
+public class ByteSize implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final Pattern PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(?:([kmgtp])b?|b)?",
+                                                         Pattern.CASE_INSENSITIVE);
+  private static final String UNITS = "KMGTP";
+
+  private final String text;
+  private final long bytes;
+
+  public ByteSize(String text) {
+    this.text = Objects.requireNonNull(text, "Byte size cannot be null");
+    Matcher matcher = PATTERN.matcher(text.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+        String.format("Invalid byte size '%s'. It should be a number optionally followed by one of the units " +
+                        "KB, MB, GB, TB or PB, for example '10KB' or '1.5MB'.", text));
     }
-
-    private long parseByteSize(String text) {
-        String trimmedText = text.trim();
-        if (trimmedText.isEmpty()) {
-            throw new IllegalArgumentException("Byte size string cannot be empty.");
-        }
-
-        Matcher matcher = BYTE_PATTERN.matcher(trimmedText);
-        if (!matcher.matches()) {
-            try {
-                return Long.parseLong(trimmedText);
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid byte size format: '" + text + "'. Expected format like '10KB', '1.5MB', or a plain number for bytes.");
-            }
-        }
-
-        String numStr = matcher.group(1);
-        String unitStr = matcher.group(3).toUpperCase();
-
-        double numValue = Double.parseDouble(numStr);
-        long multiplier = 1L;
-
-        switch (unitStr) {
-            case "K": multiplier = KILO; break;
-            case "M": multiplier = MEGA; break;
-            case "G": multiplier = GIGA; break;
-            case "T": multiplier = TERA; break;
-            case "P": multiplier = PETA; break;
-        }
-
-        double byteValue = numValue * multiplier;
-        if (byteValue > Long.MAX_VALUE || byteValue < Long.MIN_VALUE) {
-             throw new IllegalArgumentException("Byte size value out of range: '" + text + "'");
-        }
-        return (long) byteValue;
-    }
-
-    public long getBytes() {
-        return bytes;
-    }
-
-    public String getOriginalValue() {
-        return originalValue;
+    double value = Double.parseDouble(matcher.group(1));
+    if (matcher.group(2) != null) {
+      value *= Math.pow(1024, UNITS.indexOf(matcher.group(2).toUpperCase(Locale.ROOT)) + 1);
     }
-
-    @Override
-    public String toString() {
-        return "ByteSize{" +
-                "bytes=" + bytes +
-                ", originalValue='" + originalValue + '\'' +
-                '}';
+    if (value > Long.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format("Byte size '%s' is too large.", text));
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        ByteSize byteSize = (ByteSize) o;
-        return bytes == byteSize.bytes && Objects.equals(originalValue, byteSize.originalValue);
+    this.bytes = (long) value;
+  }
+
+  /**
+   * @return the number of bytes.
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the text the byte size was parsed from.
+   */
+  public String getOriginalValue() {
+    return text;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
     }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(bytes, originalValue);
+    if (o == null || getClass() != o.getClass()) {
+      return false;
     }
-}
\ No newline at end of file
+    return bytes == ((ByteSize) o).bytes;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(bytes);
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
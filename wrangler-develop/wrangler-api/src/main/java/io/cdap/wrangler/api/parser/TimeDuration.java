@@ -1,107 +1,121 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
 package io.cdap.wrangler.api.parser;
 
-import io.cdap.wrangler.api.annotations.Public;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
 
 import java.io.Serializable;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-@Public
-public class TimeDuration extends Token implements Serializable {
-    private static final long serialVersionUID = -9876543210L; // Use a generated value
-
-    private final long nanoseconds;
-    private final String originalValue;
-
-    private static final Pattern TIME_PATTERN = Pattern.compile(
-            "(\\d+(\\.\\d+)?)\\s*(ns|nanos?|us|micros?|ms|millis?|s|sec(?:onds?)?|m|min(?:utes?)?|h|hr|hours?|d|days?)",
-            Pattern.CASE_INSENSITIVE);
-
-    public TimeDuration(String text) {
-        super(TokenType.TIME_DURATION, text);
-        this.originalValue = Objects.requireNonNull(text, "Input text cannot be null");
-        this.nanoseconds = parseDurationToNanos(text);
+/**
+ * A time duration such as {@code 150ms} or {@code 2.5s}, parsed into a number of nanoseconds.
+ *
+ * <p>The units ns, us, ms, s, m, h and d, along with their longer forms such as {@code sec} or {@code minutes},
+ * are case insensitive. A plain number is a number of milliseconds.</p>
+ */
+@PublicEvolving
+public class TimeDuration implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final Pattern PATTERN = Pattern.compile(
+    "(\\d+(?:\\.\\d+)?)\\s*(ns|nanos?|us|micros?|ms|millis?|s|secs?|seconds?|m|mins?|minutes?|h|hrs?|hours?|d|days?)?",
+    Pattern.CASE_INSENSITIVE);
+
+  private final String text;
+  private final long nanoseconds;
+
+  public TimeDuration(String text) {
+    this.text = Objects.requireNonNull(text, "Time duration cannot be null");
+    Matcher matcher = PATTERN.matcher(text.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+        String.format("Invalid time duration '%s'. It should be a number optionally followed by a unit such as " +
+                        "ns, us, ms, s, m, h or d, for example '150ms' or '2.5s'.", text));
     }
-
-    private long parseDurationToNanos(String text) {
-        String trimmedText = text.trim();
-        if (trimmedText.isEmpty()) {
-            throw new IllegalArgumentException("Time duration string cannot be empty.");
-        }
-
-        Matcher matcher = TIME_PATTERN.matcher(trimmedText);
-        if (!matcher.matches()) {
-            try {
-                double numValue = Double.parseDouble(trimmedText);
-                return convertToNanos(numValue, TimeUnit.MILLISECONDS); // Default unit: milliseconds
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid time duration format: '" + text + "'. Expected format like '150ms', '2.5s', or a plain number for milliseconds.");
-            }
-        }
-
-        String numStr = matcher.group(1);
-        String unitStr = matcher.group(3).toLowerCase();
-        double numValue = Double.parseDouble(numStr);
-        TimeUnit unit;
-
-        switch (unitStr) {
-            case "ns": case "nano": case "nanos": unit = TimeUnit.NANOSECONDS; break;
-            case "us": case "micro": case "micros": unit = TimeUnit.MICROSECONDS; break;
-            case "ms": case "milli": case "millis": unit = TimeUnit.MILLISECONDS; break;
-            case "s": case "sec": case "second": case "seconds": unit = TimeUnit.SECONDS; break;
-            case "m": case "min": case "minute": case "minutes": unit = TimeUnit.MINUTES; break;
-            case "h": case "hr": case "hour": case "hours": unit = TimeUnit.HOURS; break;
-            case "d": case "day": case "days": unit = TimeUnit.DAYS; break;
-            default: throw new IllegalArgumentException("Unknown time unit in: '" + text + "'");
-        }
-
-        return convertToNanos(numValue, unit);
+    String unit = matcher.group(2);
+    double value = Double.parseDouble(matcher.group(1))
+      * toUnit(unit == null ? "ms" : unit.toLowerCase(Locale.ROOT)).toNanos(1);
+    if (value > Long.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format("Time duration '%s' is too large.", text));
     }
+    this.nanoseconds = (long) value;
+  }
 
-    private long convertToNanos(double value, TimeUnit unit) {
-        double nanos = value * unit.toNanos(1);
-         if (nanos > Long.MAX_VALUE || nanos < Long.MIN_VALUE) {
-             throw new IllegalArgumentException("Time duration value out of range: cannot fit in Long nanoseconds.");
-         }
-        return (long) nanos;
+  private static TimeUnit toUnit(String unit) {
+    if (unit.startsWith("n")) {
+      return TimeUnit.NANOSECONDS;
     }
-
-    public long getNanoseconds() {
-        return nanoseconds;
+    if (unit.startsWith("u") || unit.startsWith("mic")) {
+      return TimeUnit.MICROSECONDS;
     }
-
-    public double getDuration(TimeUnit targetUnit) {
-        Objects.requireNonNull(targetUnit, "Target TimeUnit cannot be null");
-        if (targetUnit == TimeUnit.NANOSECONDS) {
-            return (double) nanoseconds;
-        }
-        return (double) nanoseconds / TimeUnit.NANOSECONDS.convert(1, targetUnit);
+    if (unit.equals("ms") || unit.startsWith("mil")) {
+      return TimeUnit.MILLISECONDS;
     }
-
-    public String getOriginalValue() {
-        return originalValue;
+    if (unit.startsWith("s")) {
+      return TimeUnit.SECONDS;
     }
-
-    @Override
-    public String toString() {
-        return "TimeDuration{" +
-                "nanoseconds=" + nanoseconds +
-                ", originalValue='" + originalValue + '\'' +
-                '}';
+    if (unit.startsWith("m")) {
+      return TimeUnit.MINUTES;
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        TimeDuration that = (TimeDuration) o;
-        return nanoseconds == that.nanoseconds && Objects.equals(originalValue, that.originalValue);
+    return unit.startsWith("h") ? TimeUnit.HOURS : TimeUnit.DAYS;
+  }
+
+  /**
+   * @return the number of nanoseconds.
+   */
+  public long getNanoseconds() {
+    return nanoseconds;
+  }
+
+  /**
+   * @return the duration in the given unit, including its fraction.
+   */
+  public double getDuration(TimeUnit unit) {
+    return (double) nanoseconds / unit.toNanos(1);
+  }
+
+  /**
+   * @return the text the time duration was parsed from.
+   */
+  public String getOriginalValue() {
+    return text;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
     }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(nanoseconds, originalValue);
+    if (o == null || getClass() != o.getClass()) {
+      return false;
     }
-}
\ No newline at end of file
+    return nanoseconds == ((TimeDuration) o).nanoseconds;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(nanoseconds);
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
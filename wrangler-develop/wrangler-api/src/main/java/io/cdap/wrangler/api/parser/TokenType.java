@@ -16,27 +16,9 @@
 
 package io.cdap.wrangler.api.parser;
 
-public enum TokenType {
-  TEXT,
-  COLUMN,
-  DIRECTIVE_NAME,
-  ARGUMENT,
-  NUMBER,
-  BOOLEAN,
-  PROPERTY,
-
-  NL,
-  COMMA,
-  COLON,
-  EOF,
-  QUOTED_STRING,
-  IDENTIFIER,
-
-  BYTE_SIZE,
-  TIME_DURATION;
-}
-
+import io.cdap.wrangler.api.annotations.PublicEvolving;
 
+import java.io.Serializable;
 
 /**
  * The TokenType class provides the enumerated types for different types of
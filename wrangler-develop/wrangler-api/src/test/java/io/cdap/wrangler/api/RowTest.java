@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests {@link Row}.
+ */
+public class RowTest {
+
+  private static Row wideRow(int width) {
+    Row row = new Row();
+    for (int i = 0; i < width; i++) {
+      row.add("col_" + i, i);
+    }
+    return row;
+  }
+
+  @Test
+  public void testFindOnWideRow() {
+    Row row = wideRow(200);
+    Assert.assertEquals(0, row.find("col_0"));
+    Assert.assertEquals(150, row.find("COL_150"));
+    Assert.assertEquals(199, row.getValue("Col_199"));
+    Assert.assertEquals(-1, row.find("col_200"));
+  }
+
+  @Test
+  public void testColumnsWithoutValues() {
+    Row row = new Row(Arrays.asList("a", "b"));
+    Assert.assertEquals(2, row.width());
+    Assert.assertNull(row.getValue(1));
+    Assert.assertNull(row.getValue("b"));
+    Assert.assertEquals(new Row("a", null).add("b", null), row);
+
+    row.setValue(0, "x");
+    Assert.assertEquals("x", row.getValue("a"));
+  }
+
+  @Test
+  public void testFindAfterMutations() {
+    Row row = wideRow(50);
+    Assert.assertEquals(10, row.find("col_10"));
+
+    row.add("extra", "x");
+    Assert.assertEquals(50, row.find("EXTRA"));
+
+    row.remove(0);
+    Assert.assertEquals(9, row.find("col_10"));
+    Assert.assertEquals(-1, row.find("col_0"));
+
+    row.setColumn(9, "renamed");
+    Assert.assertEquals(-1, row.find("col_10"));
+    Assert.assertEquals(9, row.find("renamed"));
+
+    row.addOrSetAtIndex(0, "first", "y");
+    Assert.assertEquals(0, row.find("first"));
+    Assert.assertEquals(10, row.find("renamed"));
+  }
+
+  @Test
+  public void testFindWithDuplicateColumns() {
+    Row row = wideRow(20);
+    row.add("COL_5", "duplicate");
+    Assert.assertEquals(5, row.find("col_5"));
+    Assert.assertEquals(5, row.find("col_5", 5));
+    Assert.assertEquals(20, row.find("col_5", 6));
+    Assert.assertEquals(-1, row.find("col_4", 6));
+  }
+
+  @Test
+  public void testFindOnCopies() {
+    Row row = wideRow(30);
+    Assert.assertEquals(29, row.find("col_29"));
+
+    Row copy = new Row(row);
+    copy.add("only_in_copy", 1);
+    row.add("only_in_original", 2);
+
+    Assert.assertEquals(30, copy.find("only_in_copy"));
+    Assert.assertEquals(-1, copy.find("only_in_original"));
+    Assert.assertEquals(30, row.find("only_in_original"));
+    Assert.assertEquals(-1, row.find("only_in_copy"));
+  }
+
+  @Test
+  public void testFindAfterManyAdditions() {
+    Row row = wideRow(20);
+    Assert.assertEquals(19, row.find("col_19"));
+    for (int i = 20; i < 100; i++) {
+      row.add("col_" + i, i);
+      Assert.assertEquals(i, row.find("col_" + i));
+      Assert.assertEquals(i / 2, row.find("col_" + i / 2));
+    }
+  }
+
+  @Test
+  public void testConcurrentFindOnSharedRow() throws Exception {
+    Row row = wideRow(100);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 100; i++) {
+            Row copy = new Row(row);
+            copy.add("extra", i);
+            if (row.find("col_" + i) != i || copy.find("extra") != 100 || row.find("extra") != -1) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        Assert.assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(100, row.width());
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.wrangler.api.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ByteSize}
+ */
+public class ByteSizeTest {
+
+  @Test
+  public void testUnits() {
+    Assert.assertEquals(10240, new ByteSize("10k").getBytes());
+    Assert.assertEquals(10240, new ByteSize("10KB").getBytes());
+    Assert.assertEquals(10240, new ByteSize(" 10 kb ").getBytes());
+    Assert.assertEquals(1536, new ByteSize("1.5K").getBytes());
+    Assert.assertEquals(5L * 1024 * 1024, new ByteSize("5MB").getBytes());
+    Assert.assertEquals(2L * 1024 * 1024 * 1024, new ByteSize("2g").getBytes());
+    Assert.assertEquals(1024L * 1024 * 1024 * 1024 * 1024, new ByteSize("1PB").getBytes());
+    Assert.assertEquals(1024, new ByteSize("1024").getBytes());
+    Assert.assertEquals(12, new ByteSize("12B").getBytes());
+    Assert.assertEquals(new ByteSize("1MB"), new ByteSize("1024KB"));
+  }
+
+  @Test
+  public void testInvalid() {
+    for (String text : new String[] { "", "abc", "10XB", "KB", "-1KB", "99999999PB" }) {
+      try {
+        new ByteSize(text);
+        Assert.fail("Expected '" + text + "' to be invalid");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.wrangler.api.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests {@link TimeDuration}
+ */
+public class TimeDurationTest {
+
+  @Test
+  public void testUnits() {
+    Assert.assertEquals(150, new TimeDuration("150ns").getNanoseconds());
+    Assert.assertEquals(150_000, new TimeDuration("150us").getNanoseconds());
+    Assert.assertEquals(150_000_000, new TimeDuration("150ms").getNanoseconds());
+    Assert.assertEquals(150_000_000, new TimeDuration(" 150 millis ").getNanoseconds());
+    Assert.assertEquals(150_000_000, new TimeDuration("150").getNanoseconds());
+    Assert.assertEquals(2_500_000_000L, new TimeDuration("2.5s").getNanoseconds());
+    Assert.assertEquals(5_000_000_000L, new TimeDuration("5 sec").getNanoseconds());
+    Assert.assertEquals(TimeUnit.MINUTES.toNanos(3), new TimeDuration("3m").getNanoseconds());
+    Assert.assertEquals(TimeUnit.MINUTES.toNanos(3), new TimeDuration("3 minutes").getNanoseconds());
+    Assert.assertEquals(TimeUnit.HOURS.toNanos(2), new TimeDuration("2H").getNanoseconds());
+    Assert.assertEquals(TimeUnit.DAYS.toNanos(1), new TimeDuration("1d").getNanoseconds());
+    Assert.assertEquals(1.5, new TimeDuration("1500ms").getDuration(TimeUnit.SECONDS), 0);
+  }
+
+  @Test
+  public void testInvalid() {
+    for (String text : new String[] { "", "abc", "10 years", "ms", "-1s", "999999999999d" }) {
+      try {
+        new TimeDuration(text);
+        Assert.fail("Expected '" + text + "' to be invalid");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
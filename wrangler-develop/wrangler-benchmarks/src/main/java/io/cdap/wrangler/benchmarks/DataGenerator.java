@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.utils.RecordConvertor;
+import io.cdap.wrangler.utils.RecordConvertorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the synthetic datasets used by the benchmarks.
+ *
+ * <p>Datasets are generated from a fixed seed, so every run, on every version, benchmarks the exact same data.
+ * Columns are named <code>col_0</code> to <code>col_(width - 1)</code> and cycle through the types string, int,
+ * long, double and boolean, i.e. <code>col_0</code> is a string, <code>col_1</code> an int and so on. String
+ * columns other than <code>col_0</code> are null in about one row out of ten.</p>
+ */
+public final class DataGenerator {
+  private static final long SEED = 0x5eedL;
+  private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+  private static final Schema.Type[] TYPES = {
+    Schema.Type.STRING, Schema.Type.INT, Schema.Type.LONG, Schema.Type.DOUBLE, Schema.Type.BOOLEAN
+  };
+
+  private DataGenerator() {
+    // Avoid creation of this object.
+  }
+
+  /**
+   * Generates rows of the given width.
+   *
+   * @param count number of rows to generate.
+   * @param width number of columns of each row.
+   * @return the generated rows.
+   */
+  public static List<Row> rows(int count, int width) {
+    Random random = new Random(SEED);
+    List<Row> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Row row = new Row();
+      for (int col = 0; col < width; col++) {
+        row.add("col_" + col, value(random, col));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * @return {@link Schema} of the rows generated by {@link #rows(int, int)} for the given width.
+   */
+  public static Schema schema(int width) {
+    List<Schema.Field> fields = new ArrayList<>(width);
+    for (int col = 0; col < width; col++) {
+      fields.add(Schema.Field.of("col_" + col, Schema.nullableOf(Schema.of(TYPES[col % TYPES.length]))));
+    }
+    return Schema.recordOf("record", fields);
+  }
+
+  /**
+   * Generates the rows of {@link #rows(int, int)} as {@link StructuredRecord}s.
+   */
+  public static List<StructuredRecord> records(int count, int width) throws RecordConvertorException {
+    return new RecordConvertor().toStructureRecord(rows(count, width), schema(width));
+  }
+
+  /**
+   * Generates rows carrying text to be parsed: a <code>body</code> column holding a CSV line of eight fields and
+   * a <code>json</code> column holding a JSON object with nested objects and arrays.
+   *
+   * @param count number of rows to generate.
+   * @return the generated rows.
+   */
+  public static List<Row> textRows(int count) {
+    Random random = new Random(SEED);
+    List<Row> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = word(random);
+      String city = word(random);
+      int age = random.nextInt(100);
+      double score = random.nextDouble() * 1000;
+      boolean active = random.nextBoolean();
+
+      String csv = String.join(",", String.valueOf(i), name, "\"" + city + ", " + word(random) + "\"",
+                               String.valueOf(age), String.valueOf(score), String.valueOf(active),
+                               word(random), String.valueOf(random.nextLong()));
+      String json = String.format("{\"id\":%d,\"name\":\"%s\",\"age\":%d,\"score\":%s,\"active\":%s," +
+                                    "\"tags\":[\"%s\",\"%s\"],\"address\":{\"city\":\"%s\",\"zip\":\"%05d\"}}",
+                                  i, name, age, score, active, word(random), word(random), city,
+                                  random.nextInt(100000));
+      rows.add(new Row("body", csv).add("json", json));
+    }
+    return rows;
+  }
+
+  /**
+   * Copies the rows, as directives modify the rows they are given.
+   */
+  public static List<Row> copy(List<Row> rows) {
+    List<Row> copy = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      copy.add(new Row(row));
+    }
+    return copy;
+  }
+
+  private static Object value(Random random, int col) {
+    switch (TYPES[col % TYPES.length]) {
+      case STRING:
+        return col > 0 && random.nextInt(10) == 0 ? null : word(random);
+      case INT:
+        return random.nextInt(10000);
+      case LONG:
+        return random.nextLong();
+      case DOUBLE:
+        return random.nextDouble();
+      default:
+        return random.nextBoolean();
+    }
+  }
+
+  private static String word(Random random) {
+    int length = 4 + random.nextInt(9);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+    }
+    return builder.toString();
+  }
+}
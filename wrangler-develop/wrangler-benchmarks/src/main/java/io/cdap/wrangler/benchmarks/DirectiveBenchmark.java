@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single directives over 1000 rows of ten columns, or 1000 rows of text for the parsing directives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectiveBenchmark {
+  private static final int ROWS = 1000;
+  private static final int WIDTH = 10;
+
+  // Keyed by a stable name, so that results can be compared across versions even if the syntax changes.
+  private static final Map<String, String> DIRECTIVES = ImmutableMap.<String, String>builder()
+    .put("set-column", "set-column total col_1 + col_2")
+    .put("filter-row", "filter-row-if-true col_3 < 0.5")
+    .put("rename", "rename col_0 name")
+    .put("drop", "drop col_4")
+    .put("uppercase", "uppercase col_0")
+    .put("fill-null-or-empty", "fill-null-or-empty col_5 N/A")
+    .put("find-and-replace", "find-and-replace col_0 s/a/A/g")
+    .put("hash", "hash col_0 SHA-256 true")
+    .put("parse-as-csv", "parse-as-csv body , false")
+    .put("parse-as-json", "parse-as-json json 1")
+    .build();
+
+  @Param({
+    "set-column", "filter-row", "rename", "drop", "uppercase", "fill-null-or-empty", "find-and-replace", "hash",
+    "parse-as-csv", "parse-as-json"
+  })
+  private String directive;
+
+  private List<Row> input;
+  private RecipePipelineExecutor executor;
+
+  @Setup
+  public void setup() throws DirectiveParseException, RecipeException {
+    input = directive.startsWith("parse-as") ? DataGenerator.textRows(ROWS) : DataGenerator.rows(ROWS, WIDTH);
+    executor = Recipes.executor(new String[] { DIRECTIVES.get(directive) }, 1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.close();
+  }
+
+  @Benchmark
+  public List<Row> execute() throws RecipeException {
+    return executor.execute(DataGenerator.copy(input));
+  }
+}
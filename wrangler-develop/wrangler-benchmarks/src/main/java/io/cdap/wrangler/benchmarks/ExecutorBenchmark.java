@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a representative recipe through the {@link RecipePipelineExecutor} over narrow and wide rows.
+ *
+ * <p>Directives modify the rows they are given, so every execution works on a fresh copy of the input;
+ * {@link #copy()} measures the copy alone.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+  private static final String[] RECIPE = {
+    "set-column total col_1 + col_2",
+    "filter-row-if-true col_3 < 0.1",
+    "uppercase col_0",
+    "fill-null-or-empty col_5 N/A",
+    "rename col_6 col_6_renamed",
+    "drop col_4"
+  };
+
+  @Param({"10", "200"})
+  private int width;
+
+  @Param({"1000"})
+  private int rows;
+
+  @Param({"1", "100"})
+  private int batchSize;
+
+  private List<Row> input;
+  private RecipePipelineExecutor executor;
+
+  @Setup
+  public void setup() throws DirectiveParseException, RecipeException {
+    input = DataGenerator.rows(rows, width);
+    executor = Recipes.executor(RECIPE, batchSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.close();
+  }
+
+  @Benchmark
+  public List<Row> execute() throws RecipeException {
+    return executor.execute(DataGenerator.copy(input));
+  }
+
+  @Benchmark
+  public List<Row> copy() {
+    return DataGenerator.copy(input);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.expression.EL;
+import io.cdap.wrangler.expression.ELContext;
+import io.cdap.wrangler.expression.ELException;
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the evaluation of expressions over 1000 rows, through {@link EL}, which uses the compiled form of
+ * simple expressions, and through a JEXL script interpreted the way {@link EL} used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionBenchmark {
+  private static final int ROWS = 1000;
+  private static final int WIDTH = 10;
+
+  private static final Map<String, String> EXPRESSIONS = ImmutableMap.<String, String>builder()
+    .put("arithmetic", "col_1 + col_2 * 2 - col_6")
+    .put("comparison", "col_3 > 0.5 && col_1 < 5000 || col_4")
+    .put("concat", "col_0 + '_' + col_1")
+    .put("function", "string:upperCase(col_0) + math:abs(col_1)")
+    .put("global", "IsNull(col_5) || concat(col_0, col_5) == col_0")
+    .put("ternary", "col_3 > 0.5 ? col_1 : col_6")
+    .build();
+
+  @Param({"arithmetic", "comparison", "concat", "function", "global", "ternary"})
+  private String expression;
+
+  private List<Row> input;
+  private EL el;
+  private JexlScript script;
+
+  @Setup
+  public void setup() throws ELException {
+    input = DataGenerator.rows(ROWS, WIDTH);
+    el = EL.compile(EXPRESSIONS.get(expression));
+    script = new JexlBuilder()
+      .namespaces(new EL.DefaultFunctions().functions())
+      .silent(false)
+      .cache(1024)
+      .strict(true)
+      .create()
+      .createScript(EXPRESSIONS.get(expression));
+  }
+
+  @Benchmark
+  public void el(Blackhole blackhole) throws ELException {
+    ELContext context = new ELContext();
+    for (Row row : input) {
+      blackhole.consume(el.execute(context.bind(null, el, row)).getObject());
+    }
+  }
+
+  @Benchmark
+  public void interpreted(Blackhole blackhole) {
+    ELContext context = new ELContext();
+    for (Row row : input) {
+      blackhole.consume(script.execute(context.bind(null, el, row)));
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.RecipeParser;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import io.cdap.wrangler.parser.GrammarBasedParser;
+import io.cdap.wrangler.parser.MigrateToV2;
+import io.cdap.wrangler.proto.Contexts;
+import io.cdap.wrangler.registry.SystemDirectiveRegistry;
+
+import java.util.Collections;
+
+/**
+ * Utilities for preparing recipes to be benchmarked.
+ */
+public final class Recipes {
+
+  private Recipes() {
+    // Avoid creation of this object.
+  }
+
+  /**
+   * Creates an executor for the recipe, with the directives already parsed and initialized so that repeated
+   * executions only measure the execution itself.
+   *
+   * @param recipe directives to be executed.
+   * @param batchSize number of rows executed together by the executor.
+   * @return the executor for the recipe.
+   */
+  public static RecipePipelineExecutor executor(String[] recipe, int batchSize)
+    throws DirectiveParseException, RecipeException {
+    String migrated = new MigrateToV2(recipe).migrate();
+    RecipeParser parser = new GrammarBasedParser(Contexts.SYSTEM, migrated, SystemDirectiveRegistry.INSTANCE);
+    RecipePipelineExecutor executor = new RecipePipelineExecutor(parser, new BenchmarkContext(), batchSize);
+    // Parses and initializes the directives.
+    executor.execute(Collections.emptyList());
+    return executor;
+  }
+}
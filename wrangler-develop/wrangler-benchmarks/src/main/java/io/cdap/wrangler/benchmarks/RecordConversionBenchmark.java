@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.utils.RecordConvertor;
+import io.cdap.wrangler.utils.RecordConvertorException;
+import io.cdap.wrangler.utils.StructuredToRowTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversions between {@link Row} and {@link StructuredRecord} done at the boundaries of the
+ * transform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordConversionBenchmark {
+
+  @Param({"10", "200"})
+  private int width;
+
+  @Param({"1000"})
+  private int rows;
+
+  private Schema schema;
+  private List<Row> input;
+  private List<StructuredRecord> records;
+  private RecordConvertor convertor;
+
+  @Setup
+  public void setup() throws RecordConvertorException {
+    schema = DataGenerator.schema(width);
+    input = DataGenerator.rows(rows, width);
+    records = DataGenerator.records(rows, width);
+    convertor = new RecordConvertor();
+  }
+
+  @Benchmark
+  public List<StructuredRecord> toStructureRecord() throws RecordConvertorException {
+    return convertor.toStructureRecord(input, schema);
+  }
+
+  @Benchmark
+  public void transform(Blackhole blackhole) {
+    for (StructuredRecord record : records) {
+      blackhole.consume(StructuredToRowTransformer.transform(record));
+    }
+  }
+}
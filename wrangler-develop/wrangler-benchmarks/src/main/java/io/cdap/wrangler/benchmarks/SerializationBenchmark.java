@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.benchmarks;
+
+import io.cdap.wrangler.api.RemoteDirectiveResponse;
+import io.cdap.wrangler.utils.KryoSerializer;
+import io.cdap.wrangler.utils.ObjectSerDe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the two ways the response of a remote directive execution is serialized, {@link KryoSerializer}
+ * and Java serialization through {@link ObjectSerDe}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({"10", "200"})
+  private int width;
+
+  @Param({"1000"})
+  private int rows;
+
+  private RemoteDirectiveResponse response;
+  private byte[] kryoBytes;
+  private byte[] javaBytes;
+
+  @Setup
+  public void setup() throws IOException {
+    response = new RemoteDirectiveResponse(DataGenerator.rows(rows, width), DataGenerator.schema(width));
+    kryoBytes = new KryoSerializer().fromRemoteDirectiveResponse(response);
+    javaBytes = new ObjectSerDe<RemoteDirectiveResponse>().toByteArray(response);
+  }
+
+  @Benchmark
+  public byte[] kryoSerialize() {
+    return new KryoSerializer().fromRemoteDirectiveResponse(response);
+  }
+
+  @Benchmark
+  public RemoteDirectiveResponse kryoDeserialize() {
+    return new KryoSerializer().toRemoteDirectiveResponse(kryoBytes);
+  }
+
+  @Benchmark
+  public byte[] javaSerialize() throws IOException {
+    return new ObjectSerDe<RemoteDirectiveResponse>().toByteArray(response);
+  }
+
+  @Benchmark
+  public RemoteDirectiveResponse javaDeserialize() throws IOException, ClassNotFoundException {
+    return new ObjectSerDe<RemoteDirectiveResponse>().toObject(javaBytes);
+  }
+}
@@ -1,105 +1,3 @@
-grammar Directives;
-
-import Common;
-
-// Assuming Common.g4 defines basic tokens like COLON, COMMA, etc.
-// Add or import other necessary grammar dependencies.
-
-// Define entry point, usually 'recipe' or 'directives'
-program : recipe EOF ;
-
-recipe : (directive (EOL|EOF))+ ;
-
-// ... Other existing rules ...
-
-// --- Lexer Rules and Fragments ---
-fragment DIGIT : [0-9] ;
-fragment NZ_DIGIT : [1-9] ;
-fragment DOT : '.' ;
-// Adjust NUMBER regex if needed for more complex formats (e.g., scientific notation)
-fragment NUMBER : (NZ_DIGIT DIGIT* | '0') (DOT DIGIT+)? ;
-
-fragment BYTE_UNIT : K | M | G | T | P ;
-fragment TIME_UNIT : NANO | MICRO | MILLI | SECOND | MINUTE | HOUR | DAY ;
-
-fragment K : ('k'|'K')('b'|'B')? ;
-fragment M : ('m'|'M')('b'|'B')? ;
-fragment G : ('g'|'G')('b'|'B')? ;
-fragment T : ('t'|'T')('b'|'B')? ;
-fragment P : ('p'|'P')('b'|'B')? ;
-
-fragment NANO : ('n'|'N')('s'|'S') ;
-fragment MICRO : ('u'|'U')('s'|'S') ;
-fragment MILLI : ('m'|'M')('s'|'S') ;
-fragment SECOND : ('s'|'S') ;
-fragment MINUTE : ('m'|'M')('i'|'I')?('n'|'N')? ;
-fragment HOUR : ('h'|'H')('r'|'R')? ;
-fragment DAY : ('d'|'D') ;
-
-BYTE_SIZE : NUMBER BYTE_UNIT ;
-TIME_DURATION : NUMBER TIME_UNIT ;
-
-// --- Assume other basic tokens are defined (e.g., in Common.g4 or here) ---
-COLUMN: ID; // Example definition, adjust based on actual grammar
-TEXT: ~[\r\n,:]+; // Example definition, adjust based on actual grammar
-QUOTED_STRING : '"' (~["\r\n] | '""')* '"' | '\'' (~['\r\n] | '\'\'')* '\'' ; // Example
-PROPERTY: ID EQ ( TEXT | NUMBER | QUOTED_STRING ); // Example for key=value properties
-ID : [a-zA-Z_] [a-zA-Z0-9_]* ; // Example identifier
-EQ : '=' ;
-COLON: ':' ;
-COMMA: ',' ;
-EOL : '\r'? '\n' | '\r' ;
-WS : [ \t]+ -> skip ;
-
-
-// --- Parser Rules ---
-
-// Option 1: Add to existing 'value' rule (Check if appropriate)
-// value
-//    : TEXT
-//    | NUMBER
-//    | QUOTED_STRING
-//    | boolean_literal // If exists
-//    | BYTE_SIZE
-//    | TIME_DURATION
-//    ;
-
-// Option 2: Define specific argument types
-byteSizeArg : BYTE_SIZE ;
-timeDurationArg : TIME_DURATION ;
-
-// Modify/define rules needing these arguments
-// Example: hypothetical set-size directive
-// setSizeDirective : 'set-size' COLON columnName byteSizeArg ;
-
-// Define your new directive's rule structure
-aggregateStatsDirective : 'aggregate-stats' COLON
-    column // source byte size col
-    COMMA column // source time duration col
-    COMMA column // target total size col
-    COMMA column // target total/avg time col
-    (COMMA property)* // Optional arguments like output units/aggregation type
-    ;
-
-// Define how columns and properties are matched (examples)
-column : COLUMN | QUOTED_STRING | TEXT ; // Adjust based on how columns are identified
-property : PROPERTY ; // Use the PROPERTY token defined above
-
-
-// Add your new directive to the main 'directive' rule
-directive :
-    // list existing directives here...
-    // parseCsvDirective | // Example
-    // setColumnDirective | // Example
-    aggregateStatsDirective
-    ;
-
-
-
-
-
-
-
 /*
  * Copyright © 2017-2019 Cask Data, Inc.
  *
@@ -83,9 +83,10 @@ public class SetTransientVariable implements Directive {
 
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
@@ -29,6 +29,8 @@ import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -47,6 +49,8 @@ import java.util.stream.Collectors;
 @Name(ChangeColCaseNames.NAME)
 @Categories(categories = { "column"})
 @Description("Changes the case of column names to either lowercase or uppercase.")
+@Deterministic
+@RowIndependent
 public class ChangeColCaseNames implements Directive, Lineage {
   public static final String NAME = "change-column-case";
   private boolean toLower;
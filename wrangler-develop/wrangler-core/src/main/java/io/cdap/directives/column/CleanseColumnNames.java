@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -52,6 +54,8 @@ import java.util.stream.Collectors;
 @Categories(categories = { "column"})
 @Description("Sanatizes column names: trims, lowercases, and replaces all but [A-Z][a-z][0-9]_." +
   "with an underscore '_'.")
+@Deterministic
+@RowIndependent
 public final class CleanseColumnNames implements Directive, Lineage {
   public static final String NAME = "cleanse-column-names";
 
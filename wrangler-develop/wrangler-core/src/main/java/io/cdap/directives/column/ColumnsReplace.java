@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -49,6 +51,8 @@ import java.util.stream.Collectors;
 @Name(ColumnsReplace.NAME)
 @Categories(categories = { "column"})
 @Description("Modifies column names in bulk using a sed-format expression.")
+@Deterministic
+@RowIndependent
 public class ColumnsReplace implements Directive, Lineage {
   public static final String NAME = "columns-replace";
   private String sed;
@@ -29,6 +29,8 @@ import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -45,6 +47,8 @@ import java.util.List;
 @Name(Copy.NAME)
 @Categories(categories = { "column"})
 @Description("Copies values from a source column into a destination column.")
+@Deterministic
+@RowIndependent
 public class Copy implements Directive, Lineage {
   public static final String NAME = "copy";
   private ColumnName source;
@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -63,6 +65,8 @@ import java.util.List;
 @Name(FlattenRecord.NAME)
 @Categories(categories = { "column"})
 @Description("Flattens a record into individual columns.")
+@Deterministic
+@RowIndependent
 public class FlattenRecord implements Directive {
   public static final String NAME = "flatten-record";
   // Column on which to apply mask.
@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnNameList;
@@ -47,6 +49,8 @@ import java.util.Set;
 @Name("keep")
 @Categories(categories = { "column"})
 @Description("Keeps the specified columns and drops all others.")
+@Deterministic
+@RowIndependent
 public class Keep implements Directive, Lineage {
   public static final String NAME = "keep";
   private final Set<String> keep = new HashSet<>();
@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -44,6 +46,8 @@ import java.util.stream.Collectors;
 @Name(Rename.NAME)
 @Categories(categories = { "column"})
 @Description("Renames a column 'source' to 'target'")
+@Deterministic
+@RowIndependent
 public final class Rename implements Directive, Lineage {
   public static final String NAME = "rename";
   private ColumnName source;
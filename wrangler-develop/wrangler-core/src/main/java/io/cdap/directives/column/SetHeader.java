@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -48,6 +50,8 @@ import java.util.List;
 @Name(SetHeader.NAME)
 @Categories(categories = { "column"})
 @Description("Sets the header of columns, in the order they are specified.")
+@Deterministic
+@RowIndependent
 public class SetHeader implements Directive, Lineage {
   public static final String NAME = "set-headers";
   // Name of the columns represented in a {@link Row}
@@ -31,6 +31,8 @@ import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -56,6 +58,8 @@ import java.util.stream.Collectors;
 @Categories(categories = {"column"})
 @Description("Converting data type of a column. Optional arguments scale, precision and "
     + "rounding-mode are used only when type is decimal.")
+@Deterministic
+@RowIndependent
 public final class SetType implements Directive, Lineage {
   public static final String NAME = "set-type";
 
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -44,6 +46,8 @@ import java.util.List;
 @Name(SplitToColumns.NAME)
 @Categories(categories = { "column"})
 @Description("Splits a column into one or more columns around matches of the specified regular expression.")
+@Deterministic
+@RowIndependent
 public class SplitToColumns implements Directive, Lineage {
   public static final String NAME = "split-to-columns";
   // Column on which to apply mask.
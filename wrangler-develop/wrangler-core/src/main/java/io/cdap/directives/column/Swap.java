@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -45,6 +47,8 @@ import java.util.stream.Collectors;
 @Name(Swap.NAME)
 @Categories(categories = { "column"})
 @Description("Swaps the column names of two columns.")
+@Deterministic
+@RowIndependent
 public class Swap implements Directive, Lineage {
   public static final String NAME = "swap";
   private String left;
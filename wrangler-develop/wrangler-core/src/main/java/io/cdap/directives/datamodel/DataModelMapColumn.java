@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -52,6 +54,8 @@ import java.util.Map;
 @Name(DataModelMapColumn.NAME)
 @Categories(categories = {"data-quality"})
 @Description("Maps a column to target data model field so that matches the target name and type.")
+@Deterministic
+@RowIndependent
 public class DataModelMapColumn implements Directive, Lineage {
 
   public static final String NAME = "data-model-map-column";
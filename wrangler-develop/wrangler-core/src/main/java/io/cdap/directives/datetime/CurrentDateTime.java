@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -43,6 +44,7 @@ import java.util.List;
 @Name("current-datetime")
 @Categories(categories = {"datetime"})
 @Description("Generates current datetime using the given zone")
+@RowIndependent
 public class CurrentDateTime implements Directive, Lineage {
 
   public static final String NAME = "current-datetime";
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -45,6 +47,8 @@ import java.util.List;
 @Name("datetime-to-timestamp")
 @Categories(categories = {"datetime"})
 @Description("Converts a datetime column to timestamp")
+@Deterministic
+@RowIndependent
 public class DateTimeToTimeStamp implements Directive, Lineage {
 
   public static final String NAME = "datetime-to-timestamp";
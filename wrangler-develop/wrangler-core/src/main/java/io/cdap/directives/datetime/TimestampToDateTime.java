@@ -24,6 +24,8 @@ import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -41,6 +43,8 @@ import java.util.List;
 @Name("timestamp-to-datetime")
 @Categories(categories = {"datetime"})
 @Description("Convert a timestamp column to datetime")
+@Deterministic
+@RowIndependent
 public class TimestampToDateTime implements Directive, Lineage {
 
   public static final String NAME = "timestamp-to-datetime";
@@ -16,8 +16,10 @@
 
 package io.cdap.directives.external;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
@@ -26,7 +28,9 @@ import io.cdap.wrangler.api.Arguments;
 import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.ErrorRecord;
 import io.cdap.wrangler.api.ErrorRowException;
+import io.cdap.wrangler.api.ErrorRowsException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
@@ -45,23 +49,40 @@ import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.Reader;
-import java.nio.charset.Charset;
+import java.lang.reflect.Type;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A directives that invokes HTTP endpoint to merge the results back into dataset.
+ *
+ * <p>Requests are sent through a connection pool shared by all the directives of the JVM, and the requests for
+ * the rows passed to the directive are sent concurrently. Optionally the parameters of several rows are sent in
+ * a single request, responses are cached such that rows with the same parameters are sent once, and requests
+ * that failed to connect are retried.</p>
  */
 @Plugin(type = Directive.TYPE)
 @Name(InvokeHttp.NAME)
@@ -69,54 +90,115 @@ import java.util.Map;
 @Description("Invokes an HTTP endpoint, passing columns as a JSON map (potentially slow).")
 public class InvokeHttp implements Directive, Lineage {
   public static final String NAME = "invoke-http";
+  private static final Gson GSON = new Gson();
+  private static final Type RESULT_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+  private static final Type RESULTS_TYPE = new TypeToken<List<Map<String, Object>>>() { }.getType();
+  // Maximum number of connections to the endpoints, and of requests in flight for a single directive.
+  private static final int MAX_CONNECTIONS = 64;
+  // Delay before the first retry of a request, doubled for each following retry.
+  private static final long INITIAL_BACKOFF_MILLIS = 100;
+
   private String url;
   private List<String> columns;
-  private Gson gson;
   private Map<String, String> headers = new HashMap<>();
+  // Number of rows whose parameters are sent in a single request, as a JSON array.
+  private int batchSize = 1;
+  // Maximum number of requests in flight at once.
+  private int concurrency = 8;
+  // Number of times a request that failed to connect is retried. Requests are POSTs, which may not be idempotent,
+  // so they are not retried unless asked to.
+  private int retries = 0;
+  // Responses by parameters, or null if responses are not cached.
+  private Cache<Map<String, Object>, Map<String, Object>> cache;
 
   @Override
   public UsageDefinition define() {
-    //invoke-http <url> <column>[,<column>*] <header>[,<header>*]
+    //invoke-http <url> <column>[,<column>*] <header>[,<header>*] <option>[,<option>*]
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("url", TokenType.TEXT);
     builder.define("column", TokenType.COLUMN_NAME_LIST);
     builder.define("header", TokenType.TEXT, Optional.TRUE);
+    builder.define("options", TokenType.TEXT, Optional.TRUE);
     return builder.build();
   }
 
   @Override
   public void initialize(Arguments args) throws DirectiveParseException {
-    gson = new Gson();
     this.url = ((Text) args.value("url")).value();
     this.columns = ((ColumnNameList) args.value("column")).value();
     String hdrs = null;
     if (args.contains("header")) {
       hdrs = ((Text) args.value("header")).value();
     }
-    if (hdrs != null && !hdrs.isEmpty()) {
-      String[] parsedHeaders = hdrs.split(",");
-      for (String header : parsedHeaders) {
-        String[] components = header.split("=");
-        if (components.length != 2) {
-          throw new DirectiveParseException (
-            NAME, String.format("Incorrect header '%s' specified. Header should be specified as 'key=value' " +
-                                  "pairs separated by a comma (,).", header));
-        }
-        String key = components[0].trim();
-        String value = components[1].trim();
-        if (key.isEmpty()) {
-          throw new DirectiveParseException(
-            NAME, String.format("Key specified for header '%s' cannot be empty.", header));
-        }
-        if (value.isEmpty()) {
-          throw new DirectiveParseException(
-            NAME, String.format("Value specified for header '%s' cannot be empty.", header));
+    for (Map.Entry<String, String> entry : parsePairs(hdrs, "header").entrySet()) {
+      headers.put(entry.getKey(), entry.getValue());
+    }
+    if (args.contains("options")) {
+      for (Map.Entry<String, String> option : parsePairs(((Text) args.value("options")).value(),
+                                                         "option").entrySet()) {
+        int value = parseOption(option.getKey(), option.getValue());
+        switch (option.getKey()) {
+          case "batch":
+            batchSize = Math.max(value, 1);
+            break;
+          case "concurrency":
+            concurrency = Math.min(Math.max(value, 1), MAX_CONNECTIONS);
+            break;
+          case "retries":
+            retries = value;
+            break;
+          case "cache":
+            cache = value == 0 ? null : CacheBuilder.newBuilder().maximumSize(value).build();
+            break;
+          default:
+            throw new DirectiveParseException(
+              NAME, String.format("Unknown option '%s'. Supported options are 'batch', 'concurrency', 'retries' " +
+                                    "and 'cache'.", option.getKey()));
         }
-        headers.put(key, value);
       }
     }
   }
 
+  private static Map<String, String> parsePairs(String pairs, String kind) throws DirectiveParseException {
+    Map<String, String> result = new LinkedHashMap<>();
+    if (pairs == null || pairs.isEmpty()) {
+      return result;
+    }
+    for (String pair : pairs.split(",")) {
+      String[] components = pair.split("=");
+      if (components.length != 2) {
+        throw new DirectiveParseException (
+          NAME, String.format("Incorrect %s '%s' specified. It should be specified as 'key=value' " +
+                                "pairs separated by a comma (,).", kind, pair));
+      }
+      String key = components[0].trim();
+      String value = components[1].trim();
+      if (key.isEmpty()) {
+        throw new DirectiveParseException(
+          NAME, String.format("Key specified for %s '%s' cannot be empty.", kind, pair));
+      }
+      if (value.isEmpty()) {
+        throw new DirectiveParseException(
+          NAME, String.format("Value specified for %s '%s' cannot be empty.", kind, pair));
+      }
+      result.put(key, value);
+    }
+    return result;
+  }
+
+  private static int parseOption(String key, String value) throws DirectiveParseException {
+    try {
+      int result = Integer.parseInt(value);
+      if (result >= 0) {
+        return result;
+      }
+    } catch (NumberFormatException e) {
+      // Reported below.
+    }
+    throw new DirectiveParseException(
+      NAME, String.format("Value '%s' specified for option '%s' should be a non-negative integer.", value, key));
+  }
+
   @Override
   public void destroy() {
     // no-op
@@ -125,25 +207,43 @@ public class InvokeHttp implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
+    List<Map<String, Object>> parameters = new ArrayList<>(rows.size());
     for (Row row : rows) {
-      Map<String, Object> parameters = new HashMap<>();
+      Map<String, Object> rowParameters = new HashMap<>();
       for (String column : columns) {
         int idx = row.find(column);
         if (idx != -1) {
-          parameters.put(column, row.getValue(idx));
+          rowParameters.put(column, row.getValue(idx));
         }
       }
-      try {
-        Map<String, Object> result = invokeHttp(url, parameters, headers);
-        for (Map.Entry<String, Object> entry : result.entrySet()) {
-          row.addOrSet(entry.getKey(), entry.getValue());
-        }
-      } catch (Exception e) {
-        // If there are any issues, they will be pushed on the error port.
-        throw new ErrorRowException(NAME, e.getMessage(), 500);
+      parameters.add(rowParameters);
+    }
+
+    List<Object> responses = invokeHttp(parameters);
+    List<Row> results = new ArrayList<>(rows.size());
+    List<ErrorRecord> errors = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      Object response = responses.get(i);
+      if (response instanceof Exception) {
+        // Each row that failed is pushed on the error port on its own, the rows whose request succeeded carry on
+        // such that their request is not sent again.
+        int code = response instanceof HttpResponseException ? ((HttpResponseException) response).getStatusCode()
+          : 500;
+        errors.add(new ErrorRecord(rows.get(i), String.format("%s (ecode: %d, directive: %s)",
+                                                              ((Exception) response).getMessage(), code, NAME), code));
+        continue;
+      }
+      @SuppressWarnings("unchecked")
+      Map<String, Object> result = (Map<String, Object>) response;
+      for (Map.Entry<String, Object> entry : result.entrySet()) {
+        rows.get(i).addOrSet(entry.getKey(), entry.getValue());
       }
+      results.add(rows.get(i));
+    }
+    if (!errors.isEmpty()) {
+      throw new ErrorRowsException(NAME, results, errors);
     }
-    return rows;
+    return results;
   }
 
   @Override
@@ -154,9 +254,177 @@ public class InvokeHttp implements Directive, Lineage {
       .build();
   }
 
-  private class ServiceResponseHandler implements ResponseHandler<Map<String, Object>> {
+  /**
+   * Invokes the endpoint for the parameters of each row. If responses are cached, the endpoint is invoked once for
+   * each distinct parameters that are not cached, and each row gets its own copy of the response.
+   *
+   * @return the response for the parameters of each row, or the exception raised while requesting it.
+   */
+  private List<Object> invokeHttp(List<Map<String, Object>> parameters) throws DirectiveExecutionException {
+    Object[] responses = new Object[parameters.size()];
+    List<Map<String, Object>> pending = new ArrayList<>();
+    // Indexes of the rows waiting for the response of each pending parameters.
+    List<List<Integer>> waiting = new ArrayList<>();
+    Map<Map<String, Object>, Integer> pendingIndexes = new HashMap<>();
+    for (int i = 0; i < parameters.size(); i++) {
+      Map<String, Object> rowParameters = parameters.get(i);
+      if (cache == null) {
+        pending.add(rowParameters);
+        waiting.add(Collections.singletonList(i));
+        continue;
+      }
+      Map<String, Object> cached = cache.getIfPresent(rowParameters);
+      if (cached != null) {
+        responses[i] = copy(cached);
+        continue;
+      }
+      Integer index = pendingIndexes.get(rowParameters);
+      if (index == null) {
+        pendingIndexes.put(rowParameters, pending.size());
+        pending.add(rowParameters);
+        waiting.add(new ArrayList<>());
+        index = pending.size() - 1;
+      }
+      waiting.get(index).add(i);
+    }
+
+    List<List<Map<String, Object>>> requests = new ArrayList<>();
+    for (int i = 0; i < pending.size(); i += batchSize) {
+      requests.add(pending.subList(i, Math.min(i + batchSize, pending.size())));
+    }
+    List<Object> results = invokeAll(requests);
+    for (int i = 0; i < requests.size(); i++) {
+      List<Map<String, Object>> request = requests.get(i);
+      Object result = results.get(i);
+      for (int j = 0; j < request.size(); j++) {
+        List<Integer> rows = waiting.get(i * batchSize + j);
+        if (result instanceof Exception) {
+          for (int row : rows) {
+            responses[row] = result;
+          }
+          continue;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = ((List<Map<String, Object>>) result).get(j);
+        if (cache == null) {
+          responses[rows.get(0)] = response;
+          continue;
+        }
+        cache.put(request.get(j), response);
+        for (int row : rows) {
+          responses[row] = copy(response);
+        }
+      }
+    }
+    return Arrays.asList(responses);
+  }
+
+  /**
+   * @return a deep copy of the response, such that the values added to a row are not shared with other rows.
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> copy(Map<String, Object> response) {
+    return (Map<String, Object>) copyValue(response);
+  }
+
+  private static Object copyValue(Object value) {
+    // JSON objects and arrays are parsed as maps and lists, other values are immutable.
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        copy.put(entry.getKey(), copyValue(entry.getValue()));
+      }
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        copy.add(copyValue(element));
+      }
+      return copy;
+    }
+    return value;
+  }
+
+  /**
+   * Sends the requests with at most {@link #concurrency} of them in flight at once.
+   *
+   * @return the responses of each request, or the exception raised while sending it.
+   */
+  private List<Object> invokeAll(List<List<Map<String, Object>>> requests) throws DirectiveExecutionException {
+    Object[] results = new Object[requests.size()];
+    AtomicInteger next = new AtomicInteger();
+    Runnable worker = () -> {
+      for (int i = next.getAndIncrement(); i < requests.size(); i = next.getAndIncrement()) {
+        try {
+          results[i] = invokeWithRetries(requests.get(i));
+        } catch (Exception e) {
+          results[i] = e;
+        }
+      }
+    };
+
+    int workers = Math.min(concurrency, requests.size());
+    if (workers <= 1) {
+      worker.run();
+      return Arrays.asList(results);
+    }
+    List<Future<?>> futures = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      futures.add(Http.EXECUTOR.submit(worker));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new DirectiveExecutionException(NAME, "Interrupted while invoking the service.", e);
+    } catch (ExecutionException e) {
+      throw new DirectiveExecutionException(NAME, e.getCause().getMessage(), e.getCause());
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Sends a request, retrying with an exponential backoff if the connection to the endpoint fails, in which case
+   * the request was not received by the endpoint.
+   *
+   * @return the response for each parameters of the request.
+   */
+  private List<Map<String, Object>> invokeWithRetries(List<Map<String, Object>> parameters) throws IOException {
+    int attempt = 0;
+    while (true) {
+      try {
+        return invokeHttp(url, parameters, headers);
+      } catch (IOException e) {
+        if (attempt >= retries || !isRetryable(e)) {
+          throw e;
+        }
+      }
+      try {
+        Thread.sleep(INITIAL_BACKOFF_MILLIS << attempt++);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting to retry the request.");
+      }
+    }
+  }
+
+  private static boolean isRetryable(IOException e) {
+    return e instanceof ConnectException || e instanceof ConnectTimeoutException || e instanceof UnknownHostException;
+  }
+
+  private static class ServiceResponseHandler<T> implements ResponseHandler<T> {
+    private final Type type;
+
+    ServiceResponseHandler(Type type) {
+      this.type = type;
+    }
+
     @Override
-    public Map<String, Object> handleResponse(HttpResponse response) throws IOException {
+    public T handleResponse(HttpResponse response) throws IOException {
       StatusLine statusLine = response.getStatusLine();
       HttpEntity entity = response.getEntity();
       if (statusLine.getStatusCode() >= 300) {
@@ -167,32 +435,51 @@ public class InvokeHttp implements Directive, Lineage {
       if (entity == null) {
         throw new ClientProtocolException("Response contains no content");
       }
-      Gson gson = new GsonBuilder().create();
-      Reader reader = new InputStreamReader(entity.getContent(), Charset.forName("UTF-8"));
-      return gson.fromJson(reader, new TypeToken<Map<String, Object>>() { }.getType());
+      Reader reader = new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8);
+      T result = GSON.fromJson(reader, type);
+      if (result == null) {
+        throw new ClientProtocolException("Response contains no content");
+      }
+      return result;
     }
   }
 
-  private Map<String, Object> invokeHttp(String url, Map<String, Object> parameters,
-                                         Map<String, String> headers) throws IOException {
-    CloseableHttpClient client = null;
-    try {
-      String body = gson.toJson(parameters);
-      HttpPost post = new HttpPost(url);
-      post.addHeader("Content-type", "application/json; charset=UTF-8");
-      for (Map.Entry<String, String> entry : headers.entrySet()) {
-        post.addHeader(entry.getKey(), entry.getValue());
-      }
-      BasicHttpEntity entity = new BasicHttpEntity();
-      InputStream stream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
-      entity.setContent(stream);
-      post.setEntity(entity);
-      client = HttpClients.createDefault();
-      return client.execute(post, new ServiceResponseHandler());
-    } finally {
-      if (client != null) {
-        client.close();
-      }
+  private List<Map<String, Object>> invokeHttp(String url, List<Map<String, Object>> parameters,
+                                               Map<String, String> headers) throws IOException {
+    // A single row is sent as an object, several rows as an array of objects.
+    boolean batch = batchSize > 1;
+    String body = batch ? GSON.toJson(parameters) : GSON.toJson(parameters.get(0));
+    HttpPost post = new HttpPost(url);
+    post.addHeader("Content-type", "application/json; charset=UTF-8");
+    for (Map.Entry<String, String> entry : headers.entrySet()) {
+      post.addHeader(entry.getKey(), entry.getValue());
+    }
+    post.setEntity(new ByteArrayEntity(body.getBytes(StandardCharsets.UTF_8)));
+    if (!batch) {
+      Map<String, Object> result = Http.CLIENT.execute(post, new ServiceResponseHandler<>(RESULT_TYPE));
+      return Collections.singletonList(result);
+    }
+    List<Map<String, Object>> results = Http.CLIENT.execute(post, new ServiceResponseHandler<>(RESULTS_TYPE));
+    if (results.size() != parameters.size()) {
+      throw new ClientProtocolException(
+        String.format("Expected a response with %d objects, but got %d.", parameters.size(), results.size()));
+    }
+    return results;
+  }
+
+  /**
+   * Holds the client and the threads shared by the directives, created when the first request is sent.
+   */
+  private static final class Http {
+    private static final CloseableHttpClient CLIENT = createClient();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("invoke-http-%d").setDaemon(true).build());
+
+    private static CloseableHttpClient createClient() {
+      PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+      manager.setMaxTotal(MAX_CONNECTIONS);
+      manager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+      return HttpClients.custom().setConnectionManager(manager).build();
     }
   }
 }
@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -49,6 +51,8 @@ import java.util.List;
 @Name("set-charset")
 @Categories(categories = {"language"})
 @Description("Sets the character set decoding to UTF-8.")
+@Deterministic
+@RowIndependent
 public class SetCharset implements Directive, Lineage {
   public static final String NAME = "set-charset";
   private String column;
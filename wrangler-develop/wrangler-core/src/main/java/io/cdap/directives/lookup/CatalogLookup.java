@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -33,7 +35,6 @@ import io.cdap.wrangler.api.parser.ColumnName;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
-import io.cdap.wrangler.executor.ICDCatalog;
 
 import java.util.List;
 
@@ -44,9 +45,11 @@ import java.util.List;
 @Name(CatalogLookup.NAME)
 @Categories(categories = { "lookup"})
 @Description("Looks-up values from pre-loaded (static) catalogs.")
+@Deterministic
+@RowIndependent
 public class CatalogLookup implements Directive, Lineage {
   public static final String NAME = "catalog-lookup";
-  // StaticCatalog that holds the ICD code and their descriptions
+  // StaticCatalog that holds the codes and their descriptions, shared with other directives
   private StaticCatalog catalog;
 
   // Catalog name -- normalized for column name
@@ -70,15 +73,14 @@ public class CatalogLookup implements Directive, Lineage {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
     String type = ((Text) args.value("catalog")).value();
-    if (!type.equalsIgnoreCase("ICD-9") && !type.equalsIgnoreCase("ICD-10-2016") &&
-      !type.equalsIgnoreCase("ICD-10-2017")) {
+    if (!StaticCatalogs.getNames().contains(type.toLowerCase())) {
       throw new DirectiveParseException(
-        NAME, "Invalid ICD type - should be 9 (ICD-9) or 10 (ICD-10-2016 or ICD-10-2017).");
-    } else {
-      catalog = new ICDCatalog(type.toLowerCase());
-      if (!catalog.configure()) {
-        throw new DirectiveParseException(NAME, "Failed to configure ICD StaticCatalog. Check with your administrator");
-      }
+        NAME, String.format("Invalid catalog '%s' - should be one of %s.", type, StaticCatalogs.getNames()));
+    }
+    catalog = StaticCatalogs.get(type);
+    if (catalog == null) {
+      throw new DirectiveParseException(
+        NAME, String.format("Failed to configure StaticCatalog '%s'. Check with your administrator", type));
     }
     this.name = catalog.getCatalog().replaceAll("-", "_");
     this.generatedColumn = String.format("%s_%s_description", column, name);
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.lookup;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+import io.cdap.wrangler.executor.ICDCatalog;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of the {@link StaticCatalog}s that can be looked up with {@link CatalogLookup}.
+ *
+ * <p>A catalog is configured the first time it is requested and the configured catalog is then shared by all
+ * the directives of the JVM, such that large catalogs are loaded only once. Catalog names are case insensitive.
+ * The ICD catalogs are registered by default.</p>
+ */
+@PublicEvolving
+public final class StaticCatalogs {
+  private static final Map<String, Supplier<? extends StaticCatalog>> FACTORIES = new ConcurrentHashMap<>();
+  private static final Map<String, StaticCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+  static {
+    for (String name : new String[] {"icd-9", "icd-10-2016", "icd-10-2017"}) {
+      register(name, () -> new ICDCatalog(name));
+    }
+  }
+
+  private StaticCatalogs() {
+    // no-op
+  }
+
+  /**
+   * Registers a catalog, replacing the catalog registered before with the same name.
+   *
+   * @param name of the catalog.
+   * @param factory creates the catalog, which is configured before being used.
+   */
+  public static void register(String name, Supplier<? extends StaticCatalog> factory) {
+    String key = name.toLowerCase();
+    FACTORIES.put(key, factory);
+    CATALOGS.remove(key);
+  }
+
+  /**
+   * @return names of the registered catalogs.
+   */
+  public static Set<String> getNames() {
+    return Collections.unmodifiableSet(new TreeSet<>(FACTORIES.keySet()));
+  }
+
+  /**
+   * Returns a configured catalog, configuring it if it is requested for the first time.
+   *
+   * @param name of the catalog.
+   * @return the catalog, or {@code null} if no catalog is registered with the name or if it failed to configure.
+   */
+  @Nullable
+  public static StaticCatalog get(String name) {
+    String key = name.toLowerCase();
+    return CATALOGS.computeIfAbsent(key, k -> {
+      Supplier<? extends StaticCatalog> factory = FACTORIES.get(k);
+      if (factory == null) {
+        return null;
+      }
+      StaticCatalog catalog = factory.get();
+      return catalog.configure() ? catalog : null;
+    });
+  }
+}
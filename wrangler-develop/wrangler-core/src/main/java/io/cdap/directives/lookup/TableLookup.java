@@ -16,6 +16,8 @@
 
 package io.cdap.directives.lookup;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -27,22 +29,35 @@ import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.Optional;
+import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
+import io.cdap.wrangler.api.parser.Numeric;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * An directive that performs a lookup into a Table Dataset and adds the row values into the record.
+ *
+ * <p>The distinct keys of the rows are looked up in a single batch. When a cache expiry is given, the looked up
+ * values of the most recently used keys are also cached for that many seconds, such that keys repeated across
+ * batches are looked up once until they expire.</p>
  */
 @Plugin(type = Directive.TYPE)
 @Name(TableLookup.NAME)
@@ -50,17 +65,27 @@ import java.util.Map;
 @Description("Uses the given column as a key to perform a lookup into the specified table.")
 public class TableLookup implements Directive, Lineage {
   public static final String NAME = "table-lookup";
+  // Maximum number of keys whose looked up values are cached.
+  private static final int CACHE_SIZE = 10000;
+  private static final String CACHE_HITS_METRIC = NAME + ".cache.hits";
+  private static final String CACHE_MISSES_METRIC = NAME + ".cache.misses";
   private String column;
   private String table;
+  // Number of seconds the looked up values are cached for, caching is disabled if 0.
+  private long cacheExpiry;
 
   private boolean initialized;
   private io.cdap.cdap.etl.api.lookup.TableLookup tableLookup;
+  // Columns and values added to the rows, by key, or null if caching is disabled.
+  @Nullable
+  private Cache<String, List<Pair<String, String>>> cache;
 
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("column", TokenType.COLUMN_NAME);
     builder.define("table", TokenType.TEXT);
+    builder.define("cache-expiry", TokenType.NUMERIC, Optional.TRUE);
     return builder.build();
   }
 
@@ -68,7 +93,19 @@ public class TableLookup implements Directive, Lineage {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
     this.table = ((Text) args.value("table")).value();
+    this.cacheExpiry = 0;
+    if (args.contains("cache-expiry")) {
+      this.cacheExpiry = ((Numeric) args.value("cache-expiry")).value().longValue();
+      if (cacheExpiry <= 0) {
+        throw new DirectiveParseException(
+          NAME, String.format("Cache expiry '%d' should be a number of seconds greater than 0.", cacheExpiry));
+      }
+    }
     this.initialized = false;
+    this.cache = cacheExpiry == 0 ? null : CacheBuilder.newBuilder()
+      .maximumSize(CACHE_SIZE)
+      .expireAfterWrite(cacheExpiry, TimeUnit.SECONDS)
+      .build();
   }
 
   @Override
@@ -99,32 +136,74 @@ public class TableLookup implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     ensureInitialized(context);
+    Map<String, List<Pair<String, String>>> values = new HashMap<>();
+    Set<String> missing = new HashSet<>();
     for (Row row : rows) {
-      int idx = row.find(column);
-      if (idx == -1) {
+      String key = getKey(row);
+      if (key == null || values.containsKey(key) || missing.contains(key)) {
         continue;
       }
-      Object object = row.getValue(idx);
-      if (object == null) {
-        throw new DirectiveExecutionException(
-          NAME, String.format("Column '%s' has null value. It should be a non-null 'String'.", column)
-        );
+      List<Pair<String, String>> cached = cache == null ? null : cache.getIfPresent(key);
+      if (cached == null) {
+        missing.add(key);
+      } else {
+        values.put(key, cached);
       }
+    }
 
-      if (!(object instanceof String)) {
-        throw new DirectiveExecutionException(
-          NAME, String.format("Column '%s' is of invalid type '%s'. It should be of type 'String'.",
-                              column, object.getClass().getSimpleName())
-        );
+    if (!missing.isEmpty()) {
+      Map<String, io.cdap.cdap.api.dataset.table.Row> lookedUpRows = tableLookup.lookup(missing);
+      for (String key : missing) {
+        List<Pair<String, String>> columns = new ArrayList<>();
+        io.cdap.cdap.api.dataset.table.Row lookedUpRow = lookedUpRows.get(key);
+        if (lookedUpRow != null) {
+          for (Map.Entry<byte[], byte[]> entry : lookedUpRow.getColumns().entrySet()) {
+            columns.add(new Pair<>(column + "_" + Bytes.toString(entry.getKey()), Bytes.toString(entry.getValue())));
+          }
+        }
+        values.put(key, columns);
+        if (cache != null) {
+          cache.put(key, columns);
+        }
       }
-      io.cdap.cdap.api.dataset.table.Row lookedUpRow = tableLookup.lookup((String) object);
-      for (Map.Entry<byte[], byte[]> entry : lookedUpRow.getColumns().entrySet()) {
-        row.add(column + "_" + Bytes.toString(entry.getKey()), Bytes.toString(entry.getValue()));
+    }
+
+    if (cache != null && context != null && context.getMetrics() != null) {
+      context.getMetrics().count(CACHE_HITS_METRIC, values.size() - missing.size());
+      context.getMetrics().count(CACHE_MISSES_METRIC, missing.size());
+    }
+
+    for (Row row : rows) {
+      String key = getKey(row);
+      if (key == null) {
+        continue;
+      }
+      for (Pair<String, String> value : values.get(key)) {
+        row.add(value.getFirst(), value.getSecond());
       }
     }
     return rows;
   }
 
+  /**
+   * @return the key of the row, or {@code null} if the row has no key, in which case nothing is looked up.
+   */
+  @Nullable
+  private String getKey(Row row) throws DirectiveExecutionException {
+    int idx = row.find(column);
+    if (idx == -1) {
+      return null;
+    }
+    Object object = row.getValue(idx);
+    if (object != null && !(object instanceof String)) {
+      throw new DirectiveExecutionException(
+        NAME, String.format("Column '%s' is of invalid type '%s'. It should be of type 'String'.",
+                            column, object.getClass().getSimpleName())
+      );
+    }
+    return (String) object;
+  }
+
   @Override
   public Mutation lineage() {
     return Mutation.builder()
@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -46,6 +48,8 @@ import java.util.List;
 @Name("stemming")
 @Categories(categories = { "nlp"})
 @Description("Apply Porter Stemming on the column value.")
+@Deterministic
+@RowIndependent
 public class Stemming implements Directive, Lineage {
   public static final String NAME = "stemming";
   private String column;
@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -38,9 +39,6 @@ import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 import io.cdap.wrangler.dq.DataType;
 import io.cdap.wrangler.dq.TypeInference;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.io.IOException;
@@ -56,14 +54,15 @@ import java.util.Set;
 @Name(CsvParser.NAME)
 @Categories(categories = { "parser", "csv"})
 @Description("Parses a column as CSV (comma-separated values).")
+@Deterministic
 public class CsvParser implements Directive, Lineage {
   public static final String NAME = "parse-as-csv";
   private ColumnName columnArg;
   private Text delimiterArg;
   private Bool headerArg;
 
-  // CSV format defines the configuration for CSV parser for parsing.
-  private CSVFormat format;
+  // Tokenizer reused for parsing all the rows.
+  private CsvTokenizer tokenizer;
 
   //
   private boolean hasHeader;
@@ -74,6 +73,9 @@ public class CsvParser implements Directive, Lineage {
   // Header names.
   private List<String> headers = new ArrayList<>();
 
+  // Names of the columns when there is no header, generated once.
+  private final List<String> names = new ArrayList<>();
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder("parse-as-csv");
@@ -102,11 +104,7 @@ public class CsvParser implements Directive, Lineage {
     }
 
 
-    this.format = CSVFormat.DEFAULT.withDelimiter(delimiter);
-    this.format.withIgnoreEmptyLines(true)
-      .withAllowMissingColumnNames(true)
-      .withIgnoreSurroundingSpaces(true)
-      .withRecordSeparator('\n');
+    this.tokenizer = new CsvTokenizer(delimiter);
 
     this.hasHeader = false;
     if (args.contains("header")) {
@@ -120,6 +118,15 @@ public class CsvParser implements Directive, Lineage {
     // no-op
   }
 
+  /**
+   * The header, when present, is taken from the first row parsed and applied to all the rows that follow it, so
+   * the rows can only be considered independently of one another when there is no header.
+   */
+  @Override
+  public boolean isRowIndependent() {
+    return !hasHeader;
+  }
+
   /**
    * Parses a give column in a {@link Row} as a CSV Row.
    *
@@ -131,6 +138,8 @@ public class CsvParser implements Directive, Lineage {
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
 
+    // Row holding the header, which is not part of the output.
+    Row headerRow = null;
     for (Row row : rows) {
       int idx = row.find(columnArg.value());
       if (idx == -1) {
@@ -140,52 +149,69 @@ public class CsvParser implements Directive, Lineage {
       if (line == null || line.isEmpty()) {
         continue;
       }
-      CSVParser parser = null;
       try {
-        parser = CSVParser.parse(line, format);
-        List<CSVRecord> csvRecords = parser.getRecords();
-        for (CSVRecord csvRecord : csvRecords) {
-          if (!checkedHeader && hasHeader && isHeader(csvRecord)) {
-            for (int i = 0; i < csvRecord.size(); i++) {
-              headers.add(csvRecord.get(i).trim().replaceAll("\\s+", "_"));
-            }
-            if (rows.size() > 0) {
-              return new ArrayList<>();
-            }
-          } else {
-            toRow(csvRecord, row);
-          }
-        }
+        tokenizer.parse(line);
       } catch (IOException e) {
         // When there is error parsing data, the data is written to error.
         throw new ErrorRowException(NAME, e.getMessage(), 1);
       }
+      for (int record = 0; record < tokenizer.records(); record++) {
+        int start = tokenizer.start(record);
+        int end = tokenizer.end(record);
+        if (!checkedHeader && hasHeader && isHeader(start, end)) {
+          for (int i = start; i < end; i++) {
+            headers.add(tokenizer.value(i).trim().replaceAll("\\s+", "_"));
+          }
+          headerRow = row;
+          break;
+        }
+        toRow(start, end, row);
+      }
+    }
+
+    if (headerRow == null) {
+      return rows;
     }
-    return rows;
+    List<Row> results = new ArrayList<>(rows.size() - 1);
+    for (Row row : rows) {
+      if (row != headerRow) {
+        results.add(row);
+      }
+    }
+    return results;
   }
 
   /**
-   * Converts a {@link CSVRecord} to {@link Row}.
+   * Adds the fields of a record parsed by the tokenizer to the {@link Row}.
    *
-   * @param record
-   * @return
+   * @param start index of the first field of the record.
+   * @param end index past the last field of the record.
+   * @param row to add the fields to.
    */
-  private void toRow(CSVRecord record, Row row) {
+  private void toRow(int start, int end, Row row) {
     int size = headers.size();
-    for (int i = 0; i < record.size(); i++) {
+    row.ensureCapacity(row.width() + end - start);
+    for (int i = start; i < end; i++) {
       if (size > 0) {
-        row.add(headers.get(i), record.get(i));
+        row.add(headers.get(i - start), tokenizer.value(i));
       } else {
-        row.add(columnArg.value() + "_" + (i + 1), record.get(i));
+        row.add(name(i - start), tokenizer.value(i));
       }
     }
   }
 
-  private boolean isHeader(CSVRecord record) {
+  private String name(int idx) {
+    while (names.size() <= idx) {
+      names.add(columnArg.value() + "_" + (names.size() + 1));
+    }
+    return names.get(idx);
+  }
+
+  private boolean isHeader(int start, int end) {
     checkedHeader = true;
     Set<String> columns = new HashSet<>();
-    for (int i = 0; i < record.size(); i++) {
-      String value = record.get(i);
+    for (int i = start; i < end; i++) {
+      String value = tokenizer.value(i);
       if (value == null || value.trim().isEmpty()) {
         return false;
       }
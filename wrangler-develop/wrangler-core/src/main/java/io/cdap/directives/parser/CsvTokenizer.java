@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into CSV records the same way {@link CSVParser} does with {@link CSVFormat#DEFAULT} and a custom
+ * delimiter, without creating a parser, a reader and {@link CSVRecord}s for every text parsed.
+ *
+ * <p>A tokenizer is meant to be reused: {@link #parse(String)} replaces the records of the previous text. Like
+ * Commons CSV, a text may hold more than one record, empty lines are ignored, fields may be enclosed in double
+ * quotes, in which case they can contain delimiters, line breaks and doubled quotes, and errors are reported
+ * with the same messages. Instances are not thread safe.</p>
+ */
+final class CsvTokenizer {
+  private static final int END_OF_STREAM = -1;
+  private static final int UNDEFINED = -2;
+  private static final char CR = '\r';
+  private static final char LF = '\n';
+  private static final char QUOTE = '"';
+  // Commons CSV uses this character for the escape and comment markers when they are not set.
+  private static final char DISABLED = '\ufffe';
+
+  private static final int TOKEN = 0;
+  private static final int END_OF_RECORD = 1;
+  private static final int END_OF_FILE = 2;
+
+  private final char delimiter;
+  private final CSVFormat format;
+
+  // Fields of all the records, one record after the other.
+  private final List<String> values = new ArrayList<>();
+  // Index in values of the end of each record.
+  private final List<Integer> ends = new ArrayList<>();
+  private final StringBuilder token = new StringBuilder();
+  // Set when the last token read ends with the text, with content to be added to the record.
+  private boolean ready;
+
+  private String text;
+  private int position;
+  private int lastChar;
+  private long eolCounter;
+
+  CsvTokenizer(char delimiter) {
+    this.delimiter = delimiter;
+    this.format = CSVFormat.DEFAULT.withDelimiter(delimiter);
+  }
+
+  /**
+   * Parses the text into records.
+   *
+   * @param text the text to parse.
+   * @throws IOException if the text is not valid CSV.
+   */
+  void parse(String text) throws IOException {
+    values.clear();
+    ends.clear();
+    if (text.indexOf(DISABLED) >= 0) {
+      // Commons CSV treats this character as an escape or comment marker, leave it to Commons CSV.
+      parseWithCommonsCsv(text);
+      return;
+    }
+
+    this.text = text;
+    position = 0;
+    lastChar = UNDEFINED;
+    eolCounter = 0;
+    while (nextRecord()) {
+      ends.add(values.size());
+    }
+  }
+
+  /**
+   * @return number of records in the text parsed last.
+   */
+  int records() {
+    return ends.size();
+  }
+
+  /**
+   * @return index of the first field of the record.
+   */
+  int start(int record) {
+    return record == 0 ? 0 : ends.get(record - 1);
+  }
+
+  /**
+   * @return index past the last field of the record.
+   */
+  int end(int record) {
+    return ends.get(record);
+  }
+
+  /**
+   * @return the field at the index.
+   */
+  String value(int idx) {
+    return values.get(idx);
+  }
+
+  private void parseWithCommonsCsv(String text) throws IOException {
+    try (CSVParser parser = CSVParser.parse(text, format)) {
+      for (CSVRecord record : parser.getRecords()) {
+        for (String value : record) {
+          values.add(value);
+        }
+        ends.add(values.size());
+      }
+    }
+  }
+
+  // Same as CSVParser.nextRecord(), returns false if there is no more record.
+  private boolean nextRecord() throws IOException {
+    int start = values.size();
+    int type;
+    do {
+      type = nextToken();
+      if (type != END_OF_FILE || ready) {
+        values.add(token.toString());
+      }
+    } while (type == TOKEN);
+    return values.size() > start;
+  }
+
+  // Same as Lexer.nextToken() of Commons CSV.
+  private int nextToken() throws IOException {
+    token.setLength(0);
+    ready = false;
+
+    int last = lastChar;
+    int c = read();
+    boolean eol = readEndOfLine(c);
+    // Skips empty lines.
+    while (eol && isStartOfLine(last)) {
+      last = c;
+      c = read();
+      eol = readEndOfLine(c);
+      if (c == END_OF_STREAM) {
+        return END_OF_FILE;
+      }
+    }
+
+    if (last == END_OF_STREAM || (last != delimiter && c == END_OF_STREAM)) {
+      return END_OF_FILE;
+    }
+    if (c == delimiter) {
+      return TOKEN;
+    }
+    if (eol) {
+      return END_OF_RECORD;
+    }
+    if (c == QUOTE) {
+      return parseEncapsulatedToken();
+    }
+    if (c == END_OF_STREAM) {
+      ready = true;
+      return END_OF_FILE;
+    }
+    return parseSimpleToken(c);
+  }
+
+  private int parseSimpleToken(int c) {
+    while (true) {
+      if (readEndOfLine(c)) {
+        return END_OF_RECORD;
+      }
+      if (c == END_OF_STREAM) {
+        ready = true;
+        return END_OF_FILE;
+      }
+      if (c == delimiter) {
+        return TOKEN;
+      }
+      token.append((char) c);
+      c = read();
+    }
+  }
+
+  private int parseEncapsulatedToken() throws IOException {
+    long startLineNumber = getCurrentLineNumber();
+    while (true) {
+      int c = read();
+      if (c == QUOTE) {
+        if (lookAhead() == QUOTE) {
+          // Doubled quote within the quotes.
+          token.append((char) read());
+          continue;
+        }
+        // End of the quotes, only whitespaces are allowed up to the delimiter or the end of the record.
+        while (true) {
+          c = read();
+          if (c == delimiter) {
+            return TOKEN;
+          }
+          if (c == END_OF_STREAM) {
+            ready = true;
+            return END_OF_FILE;
+          }
+          if (readEndOfLine(c)) {
+            return END_OF_RECORD;
+          }
+          if (!isWhitespace(c)) {
+            throw new IOException("(line " + getCurrentLineNumber()
+                                    + ") invalid char between encapsulated token and delimiter");
+          }
+        }
+      }
+      if (c == END_OF_STREAM) {
+        throw new IOException("(startline " + startLineNumber + ") EOF reached before encapsulated token finished");
+      }
+      token.append((char) c);
+    }
+  }
+
+  private int read() {
+    int c = position < text.length() ? text.charAt(position++) : END_OF_STREAM;
+    if (c == CR || (c == LF && lastChar != CR)) {
+      eolCounter++;
+    }
+    lastChar = c;
+    return c;
+  }
+
+  private int lookAhead() {
+    return position < text.length() ? text.charAt(position) : END_OF_STREAM;
+  }
+
+  // Consumes the line feed of a CR LF sequence.
+  private boolean readEndOfLine(int c) {
+    if (c == CR && lookAhead() == LF) {
+      c = read();
+    }
+    return c == LF || c == CR;
+  }
+
+  private boolean isStartOfLine(int c) {
+    return c == LF || c == CR || c == UNDEFINED;
+  }
+
+  private boolean isWhitespace(int c) {
+    return c != delimiter && Character.isWhitespace((char) c);
+  }
+
+  private long getCurrentLineNumber() {
+    if (lastChar == CR || lastChar == LF || lastChar == UNDEFINED || lastChar == END_OF_STREAM) {
+      return eolCounter;
+    }
+    return eolCounter + 1;
+  }
+}
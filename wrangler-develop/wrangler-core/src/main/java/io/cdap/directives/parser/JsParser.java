@@ -18,10 +18,13 @@ package io.cdap.directives.parser;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -34,6 +37,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -44,21 +49,30 @@ import io.cdap.wrangler.api.parser.UsageDefinition;
 import io.cdap.wrangler.dq.TypeInference;
 import org.json.JSONException;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is a JSON Parser directive with optional argument specifying the depth
  * to which the JSON needs to be parsed.
+ *
+ * <p>JSON objects and arrays in string columns are read token by token: the values of the objects are added to
+ * the row as they are read, and only the objects beyond the depth and the arrays are built as JSON elements.</p>
  */
 @Plugin(type = Directive.TYPE)
 @Name("parse-as-json")
 @Categories(categories = { "parser", "json"})
 @Description("Parses a column as JSON.")
+@Deterministic
+@RowIndependent
 public class JsParser implements Directive, Lineage {
   public static final String NAME = "parse-as-json";
   // Column within the input row that needs to be parsed as Json
@@ -111,8 +125,11 @@ public class JsParser implements Directive, Lineage {
         try {
           JsonElement element = null;
           if (value instanceof String) {
-            String document = (String) value;
-            element = parser.parse(document.trim());
+            String document = ((String) value).trim();
+            if (flatten(document, row, idx, results)) {
+              continue;
+            }
+            element = parser.parse(document);
           } else if (value instanceof JsonObject || value instanceof JsonArray) {
             element = (JsonElement) value;
           } else {
@@ -159,6 +176,116 @@ public class JsParser implements Directive, Lineage {
       .build();
   }
 
+  /**
+   * Flattens an object or an array read from a JSON string, with the same result as flattening the parsed document.
+   *
+   * @return false if the document has to be parsed, in which case the row is left unchanged.
+   */
+  private boolean flatten(String document, Row row, int idx, List<Row> results) {
+    try {
+      JsonReader reader = new JsonReader(new StringReader(document));
+      reader.setLenient(true);
+      JsonToken token = reader.peek();
+      if (token == JsonToken.BEGIN_OBJECT) {
+        List<Field> fields = new ArrayList<>();
+        if (!flatten(reader, column, 1, fields) || !isEnd(reader)) {
+          return false;
+        }
+        row.remove(idx);
+        for (Field field : fields) {
+          if (field.replace) {
+            row.addOrSet(field.name, field.value);
+          } else {
+            row.add(field.name, field.value);
+          }
+        }
+        results.add(row);
+        return true;
+      } else if (token == JsonToken.BEGIN_ARRAY) {
+        List<Object> elements = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          elements.add(getValue(parser.parse(reader)));
+        }
+        reader.endArray();
+        if (!isEnd(reader)) {
+          return false;
+        }
+        row.remove(idx);
+        if (elements.isEmpty()) {
+          results.add(row);
+        }
+        for (Object element : elements) {
+          Row newRow = new Row(row);
+          newRow.add(column, element);
+          results.add(newRow);
+        }
+        return true;
+      }
+      return false;
+    } catch (IOException | RuntimeException e) {
+      // Malformed documents are reported when parsing them.
+      return false;
+    }
+  }
+
+  /**
+   * Reads the fields of an object the same way {@link #jsonFlatten(JsonObject, String, int, int, Row)} flattens it.
+   *
+   * @return false if the object has repeated properties, which are merged when the object is parsed.
+   */
+  private boolean flatten(JsonReader reader, String field, int depth, List<Field> fields) throws IOException {
+    if (depth > this.depth) {
+      fields.add(new Field(field, parser.parse(reader), true));
+      return true;
+    }
+
+    Set<String> keys = new HashSet<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String key = reader.nextName();
+      if (!keys.add(key)) {
+        return false;
+      }
+      String name = field + "_" + key;
+      switch (reader.peek()) {
+        case BEGIN_OBJECT:
+          if (!flatten(reader, name, depth + 1, fields)) {
+            return false;
+          }
+          break;
+        case BEGIN_ARRAY:
+          fields.add(new Field(name, parser.parse(reader), false));
+          break;
+        case STRING:
+          fields.add(new Field(name, reader.nextString(), false));
+          break;
+        case NUMBER:
+          fields.add(new Field(name, getNumber(reader.nextString()), false));
+          break;
+        case BOOLEAN:
+          fields.add(new Field(name, reader.nextBoolean(), false));
+          break;
+        case NULL:
+          reader.nextNull();
+          fields.add(new Field(name, JsonNull.INSTANCE, false));
+          break;
+        default:
+          return false;
+      }
+    }
+    reader.endObject();
+    return true;
+  }
+
+  /**
+   * @return true if there is nothing but whitespace after the value read, as required by {@link JsonParser}.
+   */
+  private static boolean isEnd(JsonReader reader) throws IOException {
+    reader.setLenient(false);
+    return reader.peek() == JsonToken.END_DOCUMENT;
+  }
+
   /**
    * Recursively flattens JSON until the 'depth' is reached.
    *
@@ -232,11 +359,7 @@ public class JsParser implements Directive, Lineage {
       } else if (number instanceof BigDecimal) {
         return primitive.getAsBigDecimal().doubleValue();
       } else if (number instanceof LazilyParsedNumber) {
-        if (TypeInference.isInteger(primitive.getAsString())) {
-          return primitive.getAsBigInteger().longValue();
-        } else {
-          return primitive.getAsBigDecimal().doubleValue();
-        }
+        return getNumber(primitive.getAsString());
       }
     } else if (primitive.isString()) {
       return primitive.getAsString();
@@ -245,4 +368,30 @@ public class JsParser implements Directive, Lineage {
     }
     return null;
   }
+
+  /**
+   * Extracts the value of a number parsed from JSON text, as a long if it is an integer, else as a double.
+   */
+  private static Object getNumber(String number) {
+    if (TypeInference.isInteger(number)) {
+      return new BigInteger(number).longValue();
+    } else {
+      return new BigDecimal(number).doubleValue();
+    }
+  }
+
+  /**
+   * A field of a flattened object, to be added to the row or to replace the column of the same name.
+   */
+  private static final class Field {
+    private final String name;
+    private final Object value;
+    private final boolean replace;
+
+    private Field(String name, Object value, boolean replace) {
+      this.name = name;
+      this.value = value;
+      this.replace = replace;
+    }
+  }
 }
@@ -20,8 +20,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.ParseContext;
+import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.spi.json.GsonJsonProvider;
 import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
 import io.cdap.cdap.api.annotation.Description;
@@ -34,6 +33,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -42,7 +43,10 @@ import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A Json Path Extractor Stage for parsing the {@link Row} provided based on configuration.
@@ -51,12 +55,16 @@ import java.util.List;
 @Name("json-path")
 @Categories(categories = { "parser", "json"})
 @Description("Parses JSON elements using a DSL (a JSON path expression).")
+@Deterministic
+@RowIndependent
 public class JsPath implements Directive, Lineage {
   public static final String NAME = "json-path";
   private String src;
   private String dest;
   private String path;
-  private ParseContext parser;
+  // Extraction of the paths of this directive and of the ones it is fused with, and position of its path.
+  private Extraction extraction;
+  private int index;
 
   public static final Configuration GSON_CONFIGURATION = Configuration
     .builder()
@@ -78,7 +86,42 @@ public class JsPath implements Directive, Lineage {
     this.src = ((ColumnName) args.value("source")).value();
     this.dest = ((ColumnName) args.value("destination")).value();
     this.path = ((Text) args.value("json-path")).value();
-    this.parser = JsonPath.using(GSON_CONFIGURATION);
+    try {
+      this.extraction = new Extraction(new JsonPathExtractor(Collections.singletonList(path)));
+      this.index = 0;
+    } catch (InvalidPathException e) {
+      throw new DirectiveParseException(NAME, String.format("Invalid json path '%s'. %s", path, e.getMessage()), e);
+    }
+  }
+
+  /**
+   * Fuses consecutive directives reading the same source column, such that the paths of all the directives are
+   * extracted from each document in a single pass by the first of them, and read back by the others.
+   * The directives keep executing one after the other, so that the recipe has the same steps as before.
+   *
+   * @param directives to be fused, in the order of the recipe, that must all read the same source column that
+   *                   none of them but the last writes to.
+   */
+  public static void fuse(List<JsPath> directives) {
+    if (directives.size() < 2) {
+      return;
+    }
+    List<String> paths = new ArrayList<>();
+    for (JsPath directive : directives) {
+      paths.add(directive.path);
+    }
+    Extraction extraction = new Extraction(new JsonPathExtractor(paths));
+    for (int i = 0; i < directives.size(); i++) {
+      directives.get(i).extraction = extraction;
+      directives.get(i).index = i;
+    }
+  }
+
+  /**
+   * @return true if the directive reads the same source column as this one, and can be fused with this one.
+   */
+  public boolean isFusable(JsPath next) {
+    return src.equalsIgnoreCase(next.src) && !dest.equalsIgnoreCase(src);
   }
 
   @Override
@@ -89,6 +132,7 @@ public class JsPath implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     List<Row> results = new ArrayList<>();
+    extraction.reset(index);
     for (Row row : rows) {
       Object value = row.getValue(src);
       if (value == null) {
@@ -105,8 +149,8 @@ public class JsPath implements Directive, Lineage {
         );
       }
 
-      JsonElement element = parser.parse(value).read(path);
-      Object val = JsParser.getValue(element);
+      Object element = extraction.get(row, value, index);
+      Object val = element instanceof JsonElement ? JsParser.getValue((JsonElement) element) : element;
 
       // If destination is already present add it, else set the value.
       int pos = row.find(dest);
@@ -129,5 +173,40 @@ public class JsPath implements Directive, Lineage {
       .conditional(src, dest)
       .build();
   }
+
+  /**
+   * Values extracted from the rows by fused directives. The values of a row are kept from the first directive
+   * until the last one has read them.
+   */
+  private static final class Extraction {
+    private final JsonPathExtractor extractor;
+    private final Map<Row, JsonPathExtractor.Values> extracted = new IdentityHashMap<>();
+
+    private Extraction(JsonPathExtractor extractor) {
+      this.extractor = extractor;
+    }
+
+    private void reset(int index) {
+      if (index == 0) {
+        // Drops the values of rows that did not make it to the last directive.
+        extracted.clear();
+      }
+    }
+
+    private Object get(Row row, Object document, int index) {
+      if (extractor.size() == 1) {
+        return extractor.extract(document).get(0);
+      }
+      JsonPathExtractor.Values values = extracted.get(row);
+      if (values == null || values.getDocument() != document) {
+        values = extractor.extract(document);
+        extracted.put(row, values);
+      }
+      if (index == extractor.size() - 1) {
+        extracted.remove(row);
+      }
+      return values.get(index);
+    }
+  }
 }
 
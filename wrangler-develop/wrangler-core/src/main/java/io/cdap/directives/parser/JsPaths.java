@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.directives.parser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.jayway.jsonpath.InvalidPathException;
+import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Name;
+import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
+import io.cdap.wrangler.api.lineage.Lineage;
+import io.cdap.wrangler.api.lineage.Mutation;
+import io.cdap.wrangler.api.parser.ColumnName;
+import io.cdap.wrangler.api.parser.ColumnNameList;
+import io.cdap.wrangler.api.parser.TextList;
+import io.cdap.wrangler.api.parser.TokenType;
+import io.cdap.wrangler.api.parser.UsageDefinition;
+
+import java.util.List;
+
+/**
+ * A Json Path Extractor Stage extracting several JSON path expressions from a column of the {@link Row}
+ * in a single pass over the JSON document.
+ */
+@Plugin(type = Directive.TYPE)
+@Name("json-paths")
+@Categories(categories = { "parser", "json"})
+@Description("Parses several JSON elements at once using DSL (JSON path expressions).")
+@Deterministic
+@RowIndependent
+public class JsPaths implements Directive, Lineage {
+  public static final String NAME = "json-paths";
+  private String src;
+  private List<String> dests;
+  private List<String> paths;
+  private JsonPathExtractor extractor;
+
+  @Override
+  public UsageDefinition define() {
+    UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
+    builder.define("source", TokenType.COLUMN_NAME);
+    builder.define("destinations", TokenType.COLUMN_NAME_LIST);
+    builder.define("json-paths", TokenType.TEXT_LIST);
+    return builder.build();
+  }
+
+  @Override
+  public void initialize(Arguments args) throws DirectiveParseException {
+    this.src = ((ColumnName) args.value("source")).value();
+    this.dests = ((ColumnNameList) args.value("destinations")).value();
+    this.paths = ((TextList) args.value("json-paths")).value();
+    if (dests.size() != paths.size()) {
+      throw new DirectiveParseException(
+        NAME, String.format("Number of destination columns '%d' does not match the number of json paths '%d'.",
+                            dests.size(), paths.size()));
+    }
+    try {
+      this.extractor = new JsonPathExtractor(paths);
+    } catch (InvalidPathException e) {
+      throw new DirectiveParseException(NAME, String.format("Invalid json path. %s", e.getMessage()), e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    // no-op
+  }
+
+  @Override
+  public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    for (Row row : rows) {
+      Object value = row.getValue(src);
+      if (value == null) {
+        for (String dest : dests) {
+          set(row, dest, null);
+        }
+        continue;
+      }
+
+      if (!(value instanceof String ||
+        value instanceof JsonObject ||
+        value instanceof JsonArray)) {
+        throw new DirectiveExecutionException(
+          NAME, String.format("Column '%s' is of invalid type '%s'. It should be of type 'String' " +
+                                "or 'JsonObject' or 'JsonArray'.", src, value.getClass().getSimpleName())
+        );
+      }
+
+      JsonPathExtractor.Values values = extractor.extract(value);
+      for (int i = 0; i < dests.size(); i++) {
+        Object element = values.get(i);
+        set(row, dests.get(i), element instanceof JsonElement ? JsParser.getValue((JsonElement) element) : element);
+      }
+    }
+    return rows;
+  }
+
+  private static void set(Row row, String column, Object value) {
+    // If destination is already present add it, else set the value.
+    int pos = row.find(column);
+    if (pos == -1) {
+      row.add(column, value);
+    } else {
+      row.setValue(pos, value);
+    }
+  }
+
+  @Override
+  public Mutation lineage() {
+    Mutation.Builder builder = Mutation.builder()
+      .readable("Extracted values from column '%s' represented as Json to destination columns '%s' using paths '%s'",
+                src, String.join(",", dests), String.join(",", paths));
+    for (String dest : dests) {
+      builder.conditional(src, dest);
+    }
+    return builder.build();
+  }
+}
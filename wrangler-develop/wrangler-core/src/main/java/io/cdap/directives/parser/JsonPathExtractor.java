@@ -0,0 +1,312 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ParseContext;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class <code>JsonPathExtractor</code> extracts the values of several JSON path expressions from a JSON
+ * document at once.
+ *
+ * <p>The expressions are compiled once. When all of them are definite paths made only of properties and array
+ * indexes, such as <code>$.name.first</code> or <code>$['events'][0]</code>, JSON strings are read in a single
+ * streaming pass that only materializes the values being extracted, and skips everything else. Other expressions,
+ * and documents in which an expression does not resolve, are evaluated with {@link JsonPath} on the parsed document,
+ * so that the values and the errors are the same as reading each expression on its own.</p>
+ */
+public final class JsonPathExtractor {
+  // Normalized form of definite paths with only properties and array indexes, as returned by JsonPath#getPath().
+  private static final Pattern SIMPLE_PATH = Pattern.compile("\\$(?:\\['[^']*'\\]|\\[\\d+\\])*");
+  private static final Pattern SEGMENT = Pattern.compile("\\['([^']*)'\\]|\\[(\\d+)\\]");
+  private static final JsonParser JSON_PARSER = new JsonParser();
+  private static final Gson GSON = new Gson();
+
+  private final List<JsonPath> paths;
+  private final ParseContext parser = JsonPath.using(JsPath.GSON_CONFIGURATION);
+  // Tree of the segments of the paths, null if some paths cannot be evaluated by walking the document.
+  private final Node root;
+
+  /**
+   * Compiles the JSON path expressions.
+   *
+   * @param expressions to be extracted.
+   * @throws com.jayway.jsonpath.InvalidPathException if an expression is not a valid JSON path.
+   */
+  public JsonPathExtractor(List<String> expressions) {
+    List<JsonPath> compiled = new ArrayList<>();
+    Node tree = new Node();
+    for (String expression : expressions) {
+      JsonPath path = JsonPath.compile(expression);
+      compiled.add(path);
+      if (tree != null) {
+        tree = add(tree, path, compiled.size() - 1);
+      }
+    }
+    this.paths = Collections.unmodifiableList(compiled);
+    this.root = tree;
+  }
+
+  /**
+   * @return number of expressions extracted.
+   */
+  public int size() {
+    return paths.size();
+  }
+
+  /**
+   * Extracts the values of all the expressions from a document.
+   *
+   * @param document a JSON string, or a parsed {@link JsonElement}.
+   * @return the values extracted from the document.
+   */
+  public Values extract(Object document) {
+    Object[] values = new Object[paths.size()];
+    boolean resolved = false;
+    if (root != null) {
+      if (document instanceof JsonElement) {
+        resolve((JsonElement) document, root, values);
+        resolved = isResolved(values);
+      } else if (document instanceof String) {
+        resolved = stream((String) document, values);
+      }
+    }
+    if (resolved) {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = copy((JsonElement) values[i]);
+      }
+      return new Values(document, values, null);
+    }
+
+    RuntimeException[] errors = new RuntimeException[paths.size()];
+    DocumentContext context = null;
+    try {
+      context = document instanceof String ? parser.parse((String) document) : parser.parse(document);
+    } catch (RuntimeException e) {
+      for (int i = 0; i < errors.length; i++) {
+        errors[i] = e;
+      }
+    }
+    if (context != null) {
+      for (int i = 0; i < paths.size(); i++) {
+        try {
+          values[i] = context.read(paths.get(i));
+        } catch (RuntimeException e) {
+          errors[i] = e;
+        }
+      }
+    }
+    return new Values(document, values, errors);
+  }
+
+  /**
+   * Reads a JSON string in a single pass, the same way {@link JsonParser} reads a complete document.
+   *
+   * @return true if all the paths were resolved.
+   */
+  private boolean stream(String document, Object[] values) {
+    try {
+      JsonReader reader = new JsonReader(new StringReader(document));
+      reader.setLenient(true);
+      boolean isNull = reader.peek() == JsonToken.NULL;
+      read(reader, root, values);
+      reader.setLenient(false);
+      return (isNull || reader.peek() == JsonToken.END_DOCUMENT) && isResolved(values);
+    } catch (IOException | RuntimeException e) {
+      // Malformed documents are reported the same way as when reading each path on its own.
+      return false;
+    }
+  }
+
+  private static void read(JsonReader reader, Node node, Object[] values) throws IOException {
+    if (!node.paths.isEmpty()) {
+      resolve(JSON_PARSER.parse(reader), node, values);
+      return;
+    }
+
+    JsonToken token = reader.peek();
+    if (token == JsonToken.BEGIN_OBJECT && !node.properties.isEmpty()) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        Node child = node.properties.get(reader.nextName());
+        if (child == null) {
+          reader.skipValue();
+        } else {
+          // The last value wins when a property is repeated.
+          child.clear(values);
+          read(reader, child, values);
+        }
+      }
+      reader.endObject();
+    } else if (token == JsonToken.BEGIN_ARRAY && !node.indexes.isEmpty()) {
+      reader.beginArray();
+      int index = 0;
+      while (reader.hasNext()) {
+        Node child = node.indexes.get(index++);
+        if (child == null) {
+          reader.skipValue();
+        } else {
+          read(reader, child, values);
+        }
+      }
+      reader.endArray();
+    } else {
+      reader.skipValue();
+    }
+  }
+
+  private static void resolve(JsonElement element, Node node, Object[] values) {
+    for (int path : node.paths) {
+      values[path] = element;
+    }
+    if (element.isJsonObject()) {
+      JsonObject object = element.getAsJsonObject();
+      for (Map.Entry<String, Node> property : node.properties.entrySet()) {
+        JsonElement child = object.get(property.getKey());
+        if (child != null) {
+          resolve(child, property.getValue(), values);
+        }
+      }
+    } else if (element.isJsonArray()) {
+      JsonArray array = element.getAsJsonArray();
+      for (Map.Entry<Integer, Node> index : node.indexes.entrySet()) {
+        if (index.getKey() < array.size()) {
+          resolve(array.get(index.getKey()), index.getValue(), values);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the objects and arrays extracted, without the properties that are null, as {@link JsonPath} does.
+   */
+  private static JsonElement copy(JsonElement value) {
+    return value.isJsonObject() || value.isJsonArray() ? GSON.toJsonTree(value) : value;
+  }
+
+  private static boolean isResolved(Object[] values) {
+    for (Object value : values) {
+      if (value == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the segments of a path to the tree.
+   *
+   * @return the tree, or null if the path cannot be evaluated by walking the document.
+   */
+  private static Node add(Node tree, JsonPath path, int id) {
+    String normalized = path.getPath();
+    if (!path.isDefinite() || !SIMPLE_PATH.matcher(normalized).matches()) {
+      return null;
+    }
+    Node node = tree;
+    node.descendants.add(id);
+    Matcher matcher = SEGMENT.matcher(normalized);
+    while (matcher.find()) {
+      if (matcher.group(1) != null) {
+        node = node.properties.computeIfAbsent(matcher.group(1), k -> new Node());
+      } else {
+        int index;
+        try {
+          index = Integer.parseInt(matcher.group(2));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+        node = node.indexes.computeIfAbsent(index, k -> new Node());
+      }
+      node.descendants.add(id);
+    }
+    node.paths.add(id);
+    return tree;
+  }
+
+  /**
+   * A segment of the paths being extracted.
+   */
+  private static final class Node {
+    private final Map<String, Node> properties = new HashMap<>();
+    private final Map<Integer, Node> indexes = new HashMap<>();
+    // Paths ending at this segment.
+    private final List<Integer> paths = new ArrayList<>();
+    // Paths going through or ending at this segment.
+    private final List<Integer> descendants = new ArrayList<>();
+
+    private void clear(Object[] values) {
+      for (int path : descendants) {
+        values[path] = null;
+      }
+    }
+  }
+
+  /**
+   * Values of the expressions extracted from a document.
+   */
+  public static final class Values {
+    private final Object document;
+    private final Object[] values;
+    private final RuntimeException[] errors;
+
+    private Values(Object document, Object[] values, RuntimeException[] errors) {
+      this.document = document;
+      this.values = values;
+      this.errors = errors;
+    }
+
+    /**
+     * @return the document the values were extracted from.
+     */
+    public Object getDocument() {
+      return document;
+    }
+
+    /**
+     * Returns the value of an expression.
+     *
+     * @param index of the expression, in the order the expressions were given.
+     * @return the value extracted, a {@link JsonElement} or the result of a function such as <code>length()</code>.
+     * @throws RuntimeException the error raised by {@link JsonPath} when the expression could not be read.
+     */
+    public Object get(int index) {
+      if (errors != null && errors[index] != null) {
+        throw errors[index];
+      }
+      return values[index];
+    }
+  }
+}
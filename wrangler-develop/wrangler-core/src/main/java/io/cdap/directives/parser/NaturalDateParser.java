@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import com.joestelmach.natty.DateGroup;
+import com.joestelmach.natty.Parser;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import javax.annotation.Nullable;
+
+/**
+ * This class <code>NaturalDateParser</code> parses dates written in natural language with a single Natty
+ * {@link Parser}, and memoizes the format of the values.
+ *
+ * <p>When a value is a date and time in one of a few common formats, such as <code>2017-03-11 10:20:30</code>,
+ * and the format gives the same date as Natty, the format is remembered. Following values in that format are then
+ * parsed with a {@link DateTimeFormatter}, once the format has given the same dates as Natty for a few values. Other
+ * values, and values for which the format could differ from Natty, such as local times in a daylight saving time
+ * transition, are still parsed by Natty.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+final class NaturalDateParser {
+  // Number of values parsed by both the format and Natty, before trusting the format.
+  private static final int VERIFIED_VALUES = 10;
+  // Number of values from which a format is learned, before only using Natty.
+  private static final int MAX_LEARNED_VALUES = 10;
+  private static final List<DateTimeFormatter> FORMATS = createFormats();
+
+  private final ZoneId zone;
+  private final Parser parser;
+  private DateTimeFormatter format;
+  private int verified;
+  private int learned;
+  private long hits;
+  private long misses;
+
+  NaturalDateParser(TimeZone timezone) {
+    this.zone = timezone.toZoneId();
+    this.parser = new Parser(timezone);
+  }
+
+  /**
+   * Parses the dates in a value.
+   *
+   * @param value to be parsed.
+   * @return the groups of dates found in the value.
+   */
+  List<List<ZonedDateTime>> parse(String value) {
+    ZonedDateTime date = format == null ? null : parse(format, value);
+    if (date != null && verified >= VERIFIED_VALUES) {
+      hits++;
+      return Collections.singletonList(Collections.singletonList(date));
+    }
+
+    misses++;
+    List<List<ZonedDateTime>> groups = parseNatural(value);
+    if (date != null) {
+      if (isSingle(groups, date)) {
+        verified++;
+      } else {
+        format = null;
+      }
+    } else if (format == null && learned < MAX_LEARNED_VALUES) {
+      learn(value, groups);
+    }
+    return groups;
+  }
+
+  /**
+   * @return number of values parsed with the memoized format.
+   */
+  long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return number of values parsed by Natty.
+   */
+  long getMisses() {
+    return misses;
+  }
+
+  private List<List<ZonedDateTime>> parseNatural(String value) {
+    List<List<ZonedDateTime>> groups = new ArrayList<>();
+    for (DateGroup group : parser.parse(value)) {
+      List<ZonedDateTime> dates = new ArrayList<>();
+      for (Date date : group.getDates()) {
+        dates.add(date.toInstant().atZone(zone));
+      }
+      groups.add(dates);
+    }
+    return groups;
+  }
+
+  private void learn(String value, List<List<ZonedDateTime>> groups) {
+    learned++;
+    if (groups.size() != 1 || groups.get(0).size() != 1) {
+      return;
+    }
+    for (DateTimeFormatter candidate : FORMATS) {
+      if (isSingle(groups, parse(candidate, value))) {
+        format = candidate;
+        verified = 1;
+        return;
+      }
+    }
+  }
+
+  private static boolean isSingle(List<List<ZonedDateTime>> groups, @Nullable ZonedDateTime date) {
+    return date != null && groups.size() == 1 && groups.get(0).size() == 1 && date.equals(groups.get(0).get(0));
+  }
+
+  /**
+   * Parses a value in a format, the way Natty does: fractions of seconds are dropped.
+   *
+   * @return the date, or null if the value is not in the format or is a local time that is skipped or repeated in
+   * the time zone.
+   */
+  @Nullable
+  private ZonedDateTime parse(DateTimeFormatter formatter, String value) {
+    LocalDateTime dateTime;
+    try {
+      dateTime = LocalDateTime.parse(value, formatter).truncatedTo(ChronoUnit.SECONDS);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+    if (zone.getRules().getValidOffsets(dateTime).size() != 1) {
+      return null;
+    }
+    return dateTime.atZone(zone);
+  }
+
+  private static List<DateTimeFormatter> createFormats() {
+    List<DateTimeFormatter> formats = new ArrayList<>();
+    for (String date : new String[] { "uuuu-MM-dd", "uuuu/MM/dd", "MM/dd/uuuu" }) {
+      for (String separator : new String[] { " ", "'T'" }) {
+        formats.add(new DateTimeFormatterBuilder()
+                      .appendPattern(date).appendPattern(separator).appendPattern("HH:mm:ss")
+                      .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true).optionalEnd()
+                      .toFormatter().withResolverStyle(ResolverStyle.STRICT));
+        formats.add(DateTimeFormatter.ofPattern(date + separator + "HH:mm").withResolverStyle(ResolverStyle.STRICT));
+      }
+    }
+    return Collections.unmodifiableList(formats);
+  }
+}
@@ -16,7 +16,6 @@
 
 package io.cdap.directives.parser;
 
-import com.google.gson.Gson;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -27,23 +26,29 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
+import io.cdap.wrangler.codec.AvroRowMapper;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
-import org.apache.avro.file.DataFileReader;
-import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.util.Utf8;
+import org.apache.avro.util.ByteBufferInputStream;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A step to parse AVRO File.
@@ -52,10 +57,11 @@ import java.util.Map;
 @Name("parse-as-avro-file")
 @Categories(categories = { "parser", "avro"})
 @Description("parse-as-avro-file <column>.")
+@Deterministic
+@RowIndependent
 public class ParseAvroFile implements Directive, Lineage {
   public static final String NAME = "parse-as-avro-file";
   private String column;
-  private Gson gson;
 
   @Override
   public UsageDefinition define() {
@@ -67,7 +73,6 @@ public class ParseAvroFile implements Directive, Lineage {
   @Override
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
-    gson = new Gson();
   }
 
   @Override
@@ -82,31 +87,32 @@ public class ParseAvroFile implements Directive, Lineage {
       int idx = row.find(column);
       if (idx != -1) {
         Object object = row.getValue(idx);
+        InputStream input;
         if (object instanceof byte[]) {
-          DataFileReader<GenericRecord> reader = null;
-          try {
-            reader =
-              new DataFileReader<>(new SeekableByteArrayInput((byte[]) object), new GenericDatumReader<>());
-            while (reader.hasNext()) {
-              Row newRow = new Row();
-              add(reader.next(), newRow, null);
-              results.add(newRow);
-            }
-          } catch (IOException e) {
-            throw new DirectiveExecutionException(NAME, "Failed to parse Avro data file. " + e.getMessage(), e);
-          } finally {
-            if (reader != null) {
-              try {
-                reader.close();
-              } catch (IOException e) {
-                // Nothing can be done.
-              }
-            }
-          }
+          input = new ByteArrayInputStream((byte[]) object);
+        } else if (object instanceof ByteBuffer) {
+          input = new ByteBufferInputStream(Collections.singletonList(((ByteBuffer) object).duplicate()));
         } else {
           throw new DirectiveExecutionException(
             NAME, String.format("Column '%s' is of invalid type. It should be of type 'byte array'.", column));
         }
+
+        // Records are streamed from the data file, reusing the record read and the mapper of the writer schema.
+        try (DataFileStream<GenericRecord> reader = new DataFileStream<>(input, new GenericDatumReader<>())) {
+          Schema schema = reader.getSchema();
+          if (schema.getType() != Schema.Type.RECORD) {
+            throw new DirectiveExecutionException(
+              NAME, String.format("Avro data file should contain records, but contains '%s'.", schema.getType()));
+          }
+          AvroRowMapper mapper = AvroRowMapper.of(schema, true);
+          GenericRecord record = null;
+          while (reader.hasNext()) {
+            record = reader.next(record);
+            results.add(mapper.toRow(record));
+          }
+        } catch (IOException | AvroRuntimeException e) {
+          throw new DirectiveExecutionException(NAME, "Failed to parse Avro data file. " + e.getMessage(), e);
+        }
       }
     }
     return results;
@@ -119,33 +125,4 @@ public class ParseAvroFile implements Directive, Lineage {
       .all(Many.columns(column))
       .build();
   }
-
-  /**
-   * Flattens the {@link GenericRecord}.
-   *
-   * @param genericRecord to be flattened.
-   * @param row to be flattened into
-   * @param name of the field to be flattened.
-   */
-  private void add(GenericRecord genericRecord, Row row, String name) {
-    List<Schema.Field> fields = genericRecord.getSchema().getFields();
-    String colname;
-    for (Schema.Field field : fields) {
-      Object v = genericRecord.get(field.name());
-      if (name != null) {
-        colname = String.format("%s_%s", name, field.name());
-      } else {
-        colname = field.name();
-      }
-      if (v instanceof GenericRecord) {
-        add((GenericRecord) v, row, colname);
-      } else if (v instanceof Map || v instanceof List) {
-        row.add(colname, gson.toJson(v));
-      } else if (v instanceof Utf8) {
-        row.add(colname, v.toString());
-      } else {
-        row.add(colname, genericRecord.get(field.name()));
-      }
-    }
-  }
 }
@@ -16,8 +16,6 @@
 
 package io.cdap.directives.parser;
 
-import com.joestelmach.natty.DateGroup;
-import com.joestelmach.natty.Parser;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -30,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -39,22 +39,29 @@ import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 
 import java.time.ZonedDateTime;
-import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
 
 /**
  * A Executor to parse date.
+ *
+ * <p>Values are parsed by a {@link NaturalDateParser}, which parses the values in the format of the previous ones
+ * without going through natural language processing.</p>
  */
 @Plugin(type = Directive.TYPE)
 @Name("parse-as-date")
 @Categories(categories = { "parser", "date"})
 @Description("Parses column values as dates using natural language processing and " +
   "automatically identifying the format (expensive in terms of time consumed).")
+@Deterministic
+@RowIndependent
 public class ParseDate implements Directive, Lineage {
   public static final String NAME = "parse-as-date";
+  private static final String FORMAT_HITS_METRIC = NAME + ".format.hits";
+  private static final String FORMAT_MISSES_METRIC = NAME + ".format.misses";
   private String column;
   private TimeZone timezone;
+  private NaturalDateParser parser;
 
   @Override
   public UsageDefinition define() {
@@ -72,6 +79,7 @@ public class ParseDate implements Directive, Lineage {
     } else {
       this.timezone = TimeZone.getTimeZone("UTC");
     }
+    this.parser = new NaturalDateParser(timezone);
   }
 
   @Override
@@ -90,6 +98,8 @@ public class ParseDate implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
+    long hits = parser.getHits();
+    long misses = parser.getMisses();
     for (Row row : rows) {
       int idx = row.find(column);
       if (idx != -1) {
@@ -100,13 +110,11 @@ public class ParseDate implements Directive, Lineage {
           continue;
         }
         if (object instanceof String) {
-          Parser parser = new Parser(timezone);
-          List<DateGroup> groups = parser.parse((String) object);
+          List<List<ZonedDateTime>> groups = parser.parse((String) object);
           int i = 1;
-          for (DateGroup group : groups) {
-            List<Date> dates = group.getDates();
-            for (Date date : dates) {
-              row.add(String.format("%s_%d", column, i), date.toInstant().atZone(timezone.toZoneId()));
+          for (List<ZonedDateTime> dates : groups) {
+            for (ZonedDateTime date : dates) {
+              row.add(String.format("%s_%d", column, i), date);
             }
             i++;
           }
@@ -117,6 +125,11 @@ public class ParseDate implements Directive, Lineage {
         }
       }
     }
+
+    if (context != null && context.getMetrics() != null) {
+      context.getMetrics().count(FORMAT_HITS_METRIC, (int) (parser.getHits() - hits));
+      context.getMetrics().count(FORMAT_MISSES_METRIC, (int) (parser.getMisses() - misses));
+    }
     return rows;
   }
 }
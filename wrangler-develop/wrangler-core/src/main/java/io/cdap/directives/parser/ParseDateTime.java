@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -44,6 +46,8 @@ import java.util.List;
 @Name("parse-as-datetime")
 @Categories(categories = {"parser", "datetime"})
 @Description("Parse a column value as datetime using the given format")
+@Deterministic
+@RowIndependent
 public class ParseDateTime implements Directive, Lineage {
 
   public static final String NAME = "parse-as-datetime";
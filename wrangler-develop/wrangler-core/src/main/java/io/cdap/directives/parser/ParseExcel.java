@@ -16,7 +16,6 @@
 
 package io.cdap.directives.parser;
 
-import com.google.common.io.Closeables;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -31,30 +30,45 @@ import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
+import io.cdap.wrangler.api.parser.Numeric;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * A step to parse Excel files.
@@ -63,12 +77,16 @@ import java.util.TreeMap;
 @Name("parse-as-excel")
 @Categories(categories = { "parser", "excel"})
 @Description("Parses column as Excel file.")
+@Deterministic
+@RowIndependent
 public class ParseExcel implements Directive, Lineage {
   public static final String NAME = "parse-as-excel";
   private static final Logger LOG = LoggerFactory.getLogger(ParseExcel.class);
   private String column;
   private String sheet;
   private boolean firstRowAsHeader = false;
+  // Maximum number of rows read from the sheet, or zero to read all of them.
+  private int limit;
 
   @Override
   public UsageDefinition define() {
@@ -76,6 +94,7 @@ public class ParseExcel implements Directive, Lineage {
     builder.define("column", TokenType.COLUMN_NAME);
     builder.define("sheet", TokenType.TEXT, Optional.TRUE);
     builder.define("first-row-as-header", TokenType.BOOLEAN, Optional.TRUE);
+    builder.define("limit", TokenType.NUMERIC, Optional.TRUE);
     return builder.build();
   }
 
@@ -90,6 +109,13 @@ public class ParseExcel implements Directive, Lineage {
     if (args.contains("first-row-as-header")) {
       this.firstRowAsHeader = ((Boolean) args.value("first-row-as-header").value());
     }
+    if (args.contains("limit")) {
+      this.limit = ((Numeric) args.value("limit")).value().intValue();
+      if (limit <= 0) {
+        throw new DirectiveParseException(
+          NAME, String.format("Limit '%d' should be greater than zero.", limit));
+      }
+    }
   }
 
   @Override
@@ -101,8 +127,6 @@ public class ParseExcel implements Directive, Lineage {
   public List<Row> execute(List<Row> records, final ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
     List<Row> results = new ArrayList<>();
-    ByteArrayInputStream input = null;
-    DataFormatter formatter = new DataFormatter();
     try {
       for (Row record : records) {
         int idx = record.find(column);
@@ -121,104 +145,69 @@ public class ParseExcel implements Directive, Lineage {
           }
 
           if (bytes != null) {
-            input = new ByteArrayInputStream(bytes);
-            XSSFWorkbook book = new XSSFWorkbook(input);
-            XSSFSheet excelsheet;
-            if (Types.isInteger(sheet)) {
-              excelsheet = book.getSheetAt(Integer.parseInt(sheet));
-            } else {
-              excelsheet = book.getSheet(sheet);
-            }
-
-            if (excelsheet == null) {
-              throw new DirectiveExecutionException(
-                NAME, String.format("Failed to extract sheet '%s' from the excel. " +
-                                      "Sheet '%s' does not exist.", sheet, sheet));
-            }
-
-            Map<Integer, String> columnNames = new TreeMap<>();
-            Iterator<org.apache.poi.ss.usermodel.Row> it = excelsheet.iterator();
-            int rows = 0;
-            while (it.hasNext()) {
-              org.apache.poi.ss.usermodel.Row row = it.next();
-              Iterator<Cell> cellIterator = row.cellIterator();
-              if (checkIfRowIsEmpty(row)) {
-                continue;
-              }
-
-              Row newRow = new Row();
-              newRow.add("fwd", rows);
-
-              while (cellIterator.hasNext()) {
-                Cell cell = cellIterator.next();
-                String name = columnName(cell.getAddress().getColumn());
-                if (firstRowAsHeader && rows > 0) {
-                  String value = columnNames.get(cell.getAddress().getColumn());
-                  if (value != null) {
-                    name = value;
-                  }
-                }
-                String value = "";
-                switch (cell.getCellTypeEnum()) {
-                  case STRING:
-                    value = cell.getStringCellValue();
-                    break;
-
-                  case NUMERIC:
-                    if (HSSFDateUtil.isCellDateFormatted(cell)) {
-                      value = formatter.formatCellValue(cell);
-                    } else {
-                      value = String.valueOf(cell.getNumericCellValue());
-                    }
-                    break;
-
-                  case BOOLEAN:
-                    value = String.valueOf(cell.getBooleanCellValue());
-                    break;
-                }
-                newRow.add(name, value);
-
-                if (rows == 0 && firstRowAsHeader) {
-                  columnNames.put(cell.getAddress().getColumn(), value);
-                }
-              }
-
-              if (firstRowAsHeader && rows == 0) {
-                rows++;
-                continue;
-              }
-
-              // add old columns to the new row
-              for (Pair<String, Object> field : record.getFields()) {
-                String colName = field.getFirst();
-                // if new row does not contain this column and this column is not the blob column that contains
-                // the excel data.
-                if (newRow.getValue(colName) == null && !colName.equals(column)) {
-                  newRow.add(colName, field.getSecond());
-                }
-              }
-              results.add(newRow);
-              rows++;
-            }
-
-            if (firstRowAsHeader) {
-              rows = rows - 1;
-            }
-
+            int start = results.size();
+            parse(bytes, record, results);
+            int rows = results.size() - start;
             for (int i = rows - 1; i >= 0; --i) {
-              results.get(rows - i - 1).addOrSetAtIndex(1, "bkd", i); // fwd - 0, bkd - 1.
+              results.get(start + rows - i - 1).addOrSetAtIndex(1, "bkd", i); // fwd - 0, bkd - 1.
             }
           }
         }
       }
     } catch (Exception e) {
       throw new ErrorRowException(NAME, e.getMessage(), 1);
+    }
+    return results;
+  }
+
+  /**
+   * Streams the rows of the sheet out of the workbook, such that only the shared strings of the workbook and
+   * the rows produced are held in memory. Both grow with the sheet, as every row produced is returned at once.
+   * The workbook is written to a temporary file, as reading a zip archive from a stream requires inflating all of
+   * its entries in memory.
+   */
+  private void parse(byte[] bytes, Row record, List<Row> results) throws Exception {
+    Path file = Files.createTempFile("wrangler-excel", ".xlsx");
+    try {
+      Files.write(file, bytes);
+      OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+      try {
+        XSSFReader reader = new XSSFReader(pkg);
+        boolean date1904;
+        try (InputStream workbook = reader.getWorkbookData()) {
+          CTWorkbookPr properties = WorkbookDocument.Factory.parse(workbook).getWorkbook().getWorkbookPr();
+          date1904 = properties != null && properties.getDate1904();
+        }
+        SheetHandler handler = new SheetHandler(new ReadOnlySharedStringsTable(pkg), reader.getStylesTable(),
+                                                date1904, record, results);
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(handler);
+        try (InputStream input = openSheet(reader)) {
+          parser.parse(new InputSource(input));
+        } catch (LimitReachedException e) {
+          // The rows requested have been read, the rest of the sheet is skipped.
+        }
+      } finally {
+        pkg.revert();
+      }
     } finally {
-      if (input != null) {
-        Closeables.closeQuietly(input);
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private InputStream openSheet(XSSFReader reader) throws Exception {
+    XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+    int index = Types.isInteger(sheet) ? Integer.parseInt(sheet) : -1;
+    for (int i = 0; sheets.hasNext(); i++) {
+      InputStream input = sheets.next();
+      if (i == index || (index < 0 && sheet.equals(sheets.getSheetName()))) {
+        return input;
       }
+      input.close();
     }
-    return results;
+    throw new DirectiveExecutionException(
+      NAME, String.format("Failed to extract sheet '%s' from the excel. " +
+                            "Sheet '%s' does not exist.", sheet, sheet));
   }
 
   @Override
@@ -229,23 +218,7 @@ public class ParseExcel implements Directive, Lineage {
       .build();
   }
 
-  private boolean checkIfRowIsEmpty(org.apache.poi.ss.usermodel.Row row) {
-    if (row == null) {
-      return true;
-    }
-    if (row.getLastCellNum() <= 0) {
-      return true;
-    }
-    for (int cellNum = row.getFirstCellNum(); cellNum < row.getLastCellNum(); cellNum++) {
-      Cell cell = row.getCell(cellNum);
-      if (cell != null && cell.getCellTypeEnum() != CellType.BLANK && StringUtils.isNotBlank(cell.toString())) {
-        return false;
-      }
-    }
-    return true;
-  }
-
-  private String columnName(int number) {
+  private static String columnName(int number) {
     final StringBuilder sb = new StringBuilder();
 
     int num = number;
@@ -256,4 +229,192 @@ public class ParseExcel implements Directive, Lineage {
     }
     return sb.reverse().toString();
   }
+
+  /**
+   * Thrown to stop reading a sheet once the limit of rows is reached.
+   */
+  private static final class LimitReachedException extends SAXException {
+  }
+
+  /**
+   * Builds a {@link Row} for each non-empty row of a sheet as the sheet XML is read. Values are formatted as
+   * by the user model: numbers as doubles, except for cells with a date format, which are formatted with it,
+   * and booleans as {@code true} or {@code false}. Formula and error cells have an empty value.
+   */
+  private final class SheetHandler extends DefaultHandler {
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Row record;
+    private final List<Row> results;
+    private final DataFormatter formatter = new DataFormatter();
+    private final Map<Integer, String> columnNames = new HashMap<>();
+    private final List<Pair<Integer, String>> cells = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private boolean empty;
+    private int rows;
+
+    private int cellColumn;
+    private String cellType;
+    private String cellStyle;
+    private boolean formula;
+    private boolean readingText;
+    private String cellValue;
+    private String inlineValue;
+
+    SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, boolean date1904,
+                 Row record, List<Row> results) {
+      this.strings = strings;
+      this.styles = styles;
+      this.date1904 = date1904;
+      this.record = record;
+      this.results = results;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      switch (localName) {
+        case "row":
+          cells.clear();
+          empty = true;
+          cellColumn = -1;
+          break;
+
+        case "c":
+          String reference = attributes.getValue("r");
+          cellColumn = reference == null ? cellColumn + 1 : new CellReference(reference).getCol();
+          cellType = attributes.getValue("t");
+          cellStyle = attributes.getValue("s");
+          formula = false;
+          cellValue = null;
+          inlineValue = null;
+          break;
+
+        case "v":
+        case "f":
+        case "t":
+          readingText = true;
+          text.setLength(0);
+          break;
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      if (readingText) {
+        text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+      switch (localName) {
+        case "v":
+          cellValue = text.toString();
+          readingText = false;
+          break;
+
+        case "f":
+          formula = true;
+          empty &= StringUtils.isBlank(text);
+          readingText = false;
+          break;
+
+        case "t":
+          inlineValue = inlineValue == null ? text.toString() : inlineValue + text;
+          readingText = false;
+          break;
+
+        case "c":
+          endCell();
+          break;
+
+        case "row":
+          endRow();
+          break;
+      }
+    }
+
+    private void endCell() {
+      String value = "";
+      if (formula) {
+        cells.add(new Pair<>(cellColumn, value));
+        return;
+      }
+      if ("inlineStr".equals(cellType)) {
+        value = inlineValue == null ? "" : inlineValue;
+      } else if (cellValue == null) {
+        // A blank cell.
+        value = "";
+      } else if ("s".equals(cellType)) {
+        value = strings.getEntryAt(Integer.parseInt(cellValue));
+      } else if ("str".equals(cellType)) {
+        value = cellValue;
+      } else if ("b".equals(cellType)) {
+        value = String.valueOf("1".equals(cellValue));
+      } else if ("e".equals(cellType)) {
+        empty = false;
+      } else {
+        value = formatNumber(Double.parseDouble(cellValue));
+      }
+      empty &= StringUtils.isBlank(value);
+      cells.add(new Pair<>(cellColumn, value));
+    }
+
+    private String formatNumber(double number) {
+      int index = cellStyle == null ? 0 : Integer.parseInt(cellStyle);
+      if (index < styles.getNumCellStyles() && DateUtil.isValidExcelDate(number)) {
+        XSSFCellStyle style = styles.getStyleAt(index);
+        if (DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())) {
+          return formatter.formatRawCellContents(number, style.getDataFormat(), style.getDataFormatString(),
+                                                 date1904);
+        }
+      }
+      return String.valueOf(number);
+    }
+
+    private void endRow() throws SAXException {
+      if (empty) {
+        return;
+      }
+
+      Row newRow = new Row();
+      newRow.add("fwd", rows);
+      for (Pair<Integer, String> cell : cells) {
+        String name = columnName(cell.getFirst());
+        if (firstRowAsHeader && rows > 0) {
+          String value = columnNames.get(cell.getFirst());
+          if (value != null) {
+            name = value;
+          }
+        }
+        newRow.add(name, cell.getSecond());
+
+        if (rows == 0 && firstRowAsHeader) {
+          columnNames.put(cell.getFirst(), cell.getSecond());
+        }
+      }
+
+      if (firstRowAsHeader && rows == 0) {
+        rows++;
+        return;
+      }
+
+      // add old columns to the new row
+      for (Pair<String, Object> field : record.getFields()) {
+        String colName = field.getFirst();
+        // if new row does not contain this column and this column is not the blob column that contains
+        // the excel data.
+        if (newRow.getValue(colName) == null && !colName.equals(column)) {
+          newRow.add(colName, field.getSecond());
+        }
+      }
+      results.add(newRow);
+      rows++;
+
+      if (limit > 0 && rows - (firstRowAsHeader ? 1 : 0) >= limit) {
+        throw new LimitReachedException();
+      }
+    }
+  }
 }
@@ -33,6 +33,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -64,6 +66,8 @@ import java.util.concurrent.TimeUnit;
 @Name("parse-as-protobuf")
 @Categories(categories = { "parser", "protobuf"})
 @Description("Parses column as protobuf encoded memory representations.")
+@Deterministic
+@RowIndependent
 public class ParseProtobuf implements Directive, Lineage {
   public static final String NAME = "parse-as-protobuf";
   private static final Logger LOG = LoggerFactory.getLogger(ParseProtobuf.class);
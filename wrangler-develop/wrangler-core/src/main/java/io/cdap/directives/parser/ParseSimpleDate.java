@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -51,6 +53,8 @@ import java.util.TimeZone;
 @Name("parse-as-simple-date")
 @Categories(categories = {"parser", "date"})
 @Description("Parses a column as date using format.")
+@Deterministic
+@RowIndependent
 public class ParseSimpleDate implements Directive, Lineage {
   public static final String NAME = "parse-as-simple-date";
   private String column;
@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.EntityCountMetric;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.Expression;
@@ -49,6 +50,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Name(Fail.NAME)
 @Categories(categories = { "row", "data-quality"})
 @Description("Fails when the condition is evaluated to true.")
+@RowIndependent
 public class Fail implements Directive, Lineage {
   public static final String NAME = "fail";
   private String condition;
@@ -81,12 +83,18 @@ public class Fail implements Directive, Lineage {
     // no-op
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return el.isDeterministic();
+  }
+
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException {
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
@@ -29,6 +29,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.Bool;
@@ -57,6 +58,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Name(RecordConditionFilter.NAME)
 @Categories(categories = { "row", "data-quality"})
 @Description("Filters rows based on condition type specified.")
+@RowIndependent
 public class RecordConditionFilter implements Directive, Lineage {
   public static final String NAME = "filter-row";
   private EL el;
@@ -89,12 +91,18 @@ public class RecordConditionFilter implements Directive, Lineage {
     // no-op
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return el.isDeterministic();
+  }
+
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     List<Row> results = new ArrayList<>();
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
       if (context != null) {
         for (String variable : context.getTransientStore().getVariables()) {
           ctx.set(variable, context.getTransientStore().get(variable));
@@ -30,6 +30,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.Expression;
@@ -60,6 +61,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Name(SendToError.NAME)
 @Categories(categories = { "row", "data-quality"})
 @Description("Send records that match condition to the error collector.")
+@RowIndependent
 public class SendToError implements Directive, Lineage {
   public static final String NAME = "send-to-error";
   private EL el;
@@ -99,13 +101,19 @@ public class SendToError implements Directive, Lineage {
     // no-op
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return el.isDeterministic();
+  }
+
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
     List<Row> results = new ArrayList<>();
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
 
       // Transient variables are added.
       if (context != null) {
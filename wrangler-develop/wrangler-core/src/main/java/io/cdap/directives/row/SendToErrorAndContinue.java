@@ -31,6 +31,7 @@ import io.cdap.wrangler.api.ReportErrorAndProceed;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientVariableScope;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.Expression;
@@ -61,6 +62,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Name(SendToErrorAndContinue.NAME)
 @Categories(categories = { "row", "data-quality"})
 @Description("Send records that match condition to the error collector and continues processing.")
+@RowIndependent
 public class SendToErrorAndContinue implements Directive, Lineage {
   public static final String NAME = "send-to-error-and-continue";
   private EL el;
@@ -99,6 +101,11 @@ public class SendToErrorAndContinue implements Directive, Lineage {
     // no-op
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return el.isDeterministic();
+  }
+
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ReportErrorAndProceed {
@@ -106,9 +113,10 @@ public class SendToErrorAndContinue implements Directive, Lineage {
       context.getTransientStore().increment(TransientVariableScope.LOCAL, "dq_total", 1);
     }
     List<Row> results = new ArrayList<>();
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
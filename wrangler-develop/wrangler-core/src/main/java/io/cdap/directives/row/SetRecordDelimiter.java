@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -46,6 +48,8 @@ import java.util.List;
 @Name(SetRecordDelimiter.NAME)
 @Categories(categories = { "row" })
 @Description("Sets the record delimiter.")
+@Deterministic
+@RowIndependent
 public class SetRecordDelimiter implements Directive, Lineage {
   public static final String NAME = "set-record-delim";
   private String column;
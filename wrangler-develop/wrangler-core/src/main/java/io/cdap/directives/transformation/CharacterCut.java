@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -44,6 +46,8 @@ import java.util.List;
 @Name(CharacterCut.NAME)
 @Categories(categories = { "transform"})
 @Description("UNIX-like 'cut' directive for splitting text.")
+@Deterministic
+@RowIndependent
 public class CharacterCut implements Directive, Lineage {
   public static final String NAME = "cut-character";
   private String source;
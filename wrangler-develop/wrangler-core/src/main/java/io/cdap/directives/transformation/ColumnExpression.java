@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.EntityCountMetric;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -60,6 +61,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Name(ColumnExpression.NAME)
 @Categories(categories = { "transform"})
 @Description("Sets a column by evaluating a JEXL expression.")
+@RowIndependent
 public class ColumnExpression implements Directive, Lineage {
   public static final String NAME = "set-column";
   // Column to which the result of experience is applied to.
@@ -92,11 +94,17 @@ public class ColumnExpression implements Directive, Lineage {
     // no-op
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return el.isDeterministic();
+  }
+
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    ELContext ctx = new ELContext();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      ctx.bind(context, el, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
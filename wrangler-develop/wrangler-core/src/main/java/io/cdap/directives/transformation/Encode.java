@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -47,6 +49,8 @@ import java.util.Locale;
 @Name(Encode.NAME)
 @Categories(categories = { "transform"})
 @Description("Encodes column values using one of base32, base64, or hex.")
+@Deterministic
+@RowIndependent
 public class Encode implements Directive, Lineage {
   public static final String NAME = "encode";
   private final Base64 base64Encode = new Base64();
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -45,6 +47,8 @@ import java.util.regex.Pattern;
 @Name(ExtractRegexGroups.NAME)
 @Categories(categories = { "transform"})
 @Description("Extracts data from a regex group into its own column.")
+@Deterministic
+@RowIndependent
 public class ExtractRegexGroups implements Directive, Lineage {
   public static final String NAME = "extract-regex-groups";
   private String column;
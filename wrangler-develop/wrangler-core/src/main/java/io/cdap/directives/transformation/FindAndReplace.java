@@ -26,16 +26,16 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnNameList;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
-import org.unix4j.Unix4j;
-import org.unix4j.builder.Unix4jCommandBuilder;
+import io.cdap.wrangler.utils.SedExpression;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -45,11 +45,13 @@ import java.util.List;
 @Name(FindAndReplace.NAME)
 @Categories(categories = { "transform"})
 @Description("Finds and replaces text in column values using a sed-format expression.")
+@Deterministic
+@RowIndependent
 public class FindAndReplace implements Directive, Lineage {
   public static final String NAME = "find-and-replace";
   private String pattern;
   private List<String> columns;
-
+  private SedExpression expression;
 
   @Override
   public UsageDefinition define() {
@@ -63,6 +65,12 @@ public class FindAndReplace implements Directive, Lineage {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.columns = ((ColumnNameList) args.value("column")).value();
     this.pattern = ((Text) args.value("pattern")).value();
+    try {
+      this.expression = SedExpression.compile(pattern);
+    } catch (IllegalArgumentException e) {
+      throw new DirectiveParseException(
+        NAME, String.format("Invalid sed expression '%s'. %s", pattern, e.getMessage()), e);
+    }
   }
 
   @Override
@@ -72,29 +80,19 @@ public class FindAndReplace implements Directive, Lineage {
 
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
-    List<Row> results = new ArrayList<>();
     for (Row row : rows) {
       for (String column : columns) {
         int idx = row.find(column);
         if (idx != -1) {
           Object v = row.getValue(idx);
           // Operates only on String types.
-          try {
-            if (v instanceof String) {
-              String value = (String) v; // Safely converts to String.
-              Unix4jCommandBuilder builder = Unix4j.echo(value).sed(pattern);
-              if (builder.toExitValue() == 0) {
-                row.setValue(idx, builder.toStringResult());
-              }
-            }
-          } catch (Exception e) {
-            // If there is any issue, we pass it on without any transformation.
+          if (v instanceof String) {
+            row.setValue(idx, expression.apply((String) v));
           }
         }
-        results.add(row);
       }
     }
-    return results;
+    return rows;
   }
 
   @Override
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -41,6 +43,8 @@ import java.util.List;
 @Name(Lower.NAME)
 @Categories(categories = { "transform"})
 @Description("Changes the column values to lowercase.")
+@Deterministic
+@RowIndependent
 public class Lower implements Directive, Lineage {
   public static final String NAME = "lowercase";
   // Columns of the column to be lower cased.
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -62,6 +64,8 @@ import java.util.List;
 @Name(MaskNumber.NAME)
 @Categories(categories = { "transform"})
 @Description("Masks a column value using the specified masking pattern.")
+@Deterministic
+@RowIndependent
 public class MaskNumber implements Directive, Lineage {
   public static final String NAME = "mask-number";
   // Specifies types of mask
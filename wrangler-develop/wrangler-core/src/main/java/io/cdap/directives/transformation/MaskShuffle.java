@@ -26,6 +26,7 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -54,6 +55,7 @@ import java.util.Random;
 @Name(MaskShuffle.NAME)
 @Categories(categories = { "transform"})
 @Description("Masks a column value by shuffling characters while maintaining the same length.")
+@RowIndependent
 public class MaskShuffle implements Directive, Lineage {
   public static final String NAME = "mask-shuffle";
   // Column on which to apply mask.
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -44,6 +46,8 @@ import java.util.List;
 @Name(SplitURL.NAME)
 @Categories(categories = { "transform", "url"})
 @Description("Split a url into it's components host,protocol,port,etc.")
+@Deterministic
+@RowIndependent
 public class SplitURL implements Directive, Lineage {
   public static final String NAME = "split-url";
   private String column;
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -45,6 +47,8 @@ import java.util.List;
 @Name(TextMetricMeasure.NAME)
 @Categories(categories = { "transform"})
 @Description("Calculates the metric for comparing two string values.")
+@Deterministic
+@RowIndependent
 public class TextMetricMeasure implements Directive, Lineage {
   public static final String NAME = "text-metric";
   private String column1;
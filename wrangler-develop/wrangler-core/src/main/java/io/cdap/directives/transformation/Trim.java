@@ -27,6 +27,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -42,6 +44,8 @@ import java.util.List;
 @Name(Trim.NAME)
 @Categories(categories = { "transform"})
 @Description("Trimming whitespace from both sides of a string.")
+@Deterministic
+@RowIndependent
 public class Trim implements Directive, Lineage {
   public static final String NAME = "trim";
   // Columns of the column to be upper-cased
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -43,6 +45,8 @@ import java.util.List;
 @Name(UrlDecode.NAME)
 @Categories(categories = { "transform"})
 @Description("URL decode a column value.")
+@Deterministic
+@RowIndependent
 public class UrlDecode implements Directive, Lineage {
   public static final String NAME = "url-decode";
   private String column;
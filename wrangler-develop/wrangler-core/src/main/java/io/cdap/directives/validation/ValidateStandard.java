@@ -32,6 +32,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.ReportErrorAndProceed;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.parser.ColumnName;
 import io.cdap.wrangler.api.parser.Identifier;
 import io.cdap.wrangler.api.parser.TokenType;
@@ -58,6 +60,8 @@ import java.util.stream.Collectors;
 @Name(ValidateStandard.NAME)
 @Categories(categories = {"data-quality"})
 @Description("Checks a column against a standard schema")
+@Deterministic
+@RowIndependent
 public class ValidateStandard implements Directive {
 
   public static final String NAME = "validate-standard";
@@ -26,6 +26,8 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -49,6 +51,8 @@ import java.util.List;
 @Name("write-as-csv")
 @Categories(categories = { "writer", "csv"})
 @Description("Writes the records files as well-formatted CSV")
+@Deterministic
+@RowIndependent
 public class WriteAsCSV implements Directive, Lineage {
   public static final String NAME = "write-as-csv";
   private String column;
@@ -28,6 +28,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -46,6 +48,8 @@ import java.util.Map;
 @Name("write-as-json-map")
 @Categories(categories = { "writer", "json"})
 @Description("Writes all record columns as JSON map.")
+@Deterministic
+@RowIndependent
 public class WriteAsJsonMap implements Directive, Lineage {
   public static final String NAME = "write-as-json-map";
   private String column;
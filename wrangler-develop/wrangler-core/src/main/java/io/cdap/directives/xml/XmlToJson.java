@@ -31,6 +31,8 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Deterministic;
+import io.cdap.wrangler.api.annotations.RowIndependent;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -51,6 +53,8 @@ import java.util.List;
 @Name("parse-xml-to-json")
 @Categories(categories = { "xml"})
 @Description("Parses a XML document to JSON representation.")
+@Deterministic
+@RowIndependent
 public class XmlToJson implements Directive, Lineage {
   public static final String NAME = "parse-xml-to-json";
   public static final String ARG_KEEP_STRING = "keep-string";
@@ -22,15 +22,24 @@ import com.github.filosganga.geogson.model.Feature;
 import com.github.filosganga.geogson.model.FeatureCollection;
 import com.github.filosganga.geogson.model.Polygon;
 import com.github.filosganga.geogson.model.positions.SinglePosition;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * GeoFencing check based on location and polygon
+ *
+ * <p>Fences are parsed once and cached by their GeoJson representation, as the same fences are usually checked
+ * for every record. The perimeters are kept as arrays of coordinates with their bounding boxes, and collections
+ * with many polygons are indexed by a grid of the cells covered by each polygon.</p>
  */
 public final class GeoFences {
   private GeoFences() {
@@ -40,6 +49,8 @@ public final class GeoFences {
       .registerTypeAdapterFactory(new GeometryAdapterFactory())
       .create();
 
+  private static final Cache<String, Fence> FENCES = CacheBuilder.newBuilder().maximumSize(100).build();
+
   /**
    * Static method to be used with jexl
    * Checks if Point is inside any of the given polygonal geofences based on the winding number algorithm.
@@ -70,52 +81,230 @@ public final class GeoFences {
       return false;
     }
 
-    Coordinates location = Coordinates.of(longitude, latitude);
-    boolean inzone = false;
-    FeatureCollection featureCollection;
+    Fence fence;
+    try {
+      fence = FENCES.get(geofences, () -> new Fence(parse(geofences)));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+    return fence.contains(longitude, latitude);
+  }
+
+  private static FeatureCollection parse(String geofences) {
     try {
-      featureCollection = GSON.fromJson(geofences, FeatureCollection.class);
+      return GSON.fromJson(geofences, FeatureCollection.class);
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(String.format("String %s is not a valid geoJson representation of fence",
                                                        geofences), e);
     } catch (JsonSyntaxException e) {
       throw new IllegalArgumentException(String.format("String %s is not a valid Json string", geofences), e);
     }
-    for (Feature feature : featureCollection.features()) {
-      inzone = inzone || isPointInside(feature, location);
-    }
-    return inzone;
   }
 
-  private static Boolean isPointInside(Feature feature, Coordinates location) {
+  private static Ring toRing(Feature feature) {
     Polygon polygon = (Polygon) feature.geometry();
-    List<SinglePosition> positions = Lists.newArrayList(polygon.perimeter().positions().children());
+    return new Ring(Lists.newArrayList(polygon.perimeter().positions().children()));
+  }
 
-    if ((positions == null) || (location == null)) {
-      return false;
+  /**
+   * The polygons of a feature collection.
+   */
+  private static final class Fence {
+    // Collections with fewer polygons are checked one polygon after the other.
+    private static final int MIN_INDEXED_POLYGONS = 8;
+    private static final int MAX_GRID_SIZE = 256;
+
+    private final Feature[] features;
+    // Perimeters of the features, null for the features that are not polygons.
+    private final Ring[] rings;
+    private final Grid grid;
+
+    private Fence(FeatureCollection collection) {
+      List<Feature> list = collection.features();
+      this.features = list.toArray(new Feature[0]);
+      this.rings = new Ring[features.length];
+      boolean polygons = true;
+      for (int i = 0; i < features.length; i++) {
+        if (features[i].geometry() instanceof Polygon) {
+          rings[i] = toRing(features[i]);
+        } else {
+          polygons = false;
+        }
+      }
+      this.grid = polygons && rings.length >= MIN_INDEXED_POLYGONS ? new Grid(rings, MAX_GRID_SIZE) : null;
     }
 
-    int wn = 0;
-    for (int i = 0; i < positions.size() - 1; i++) {
-      if (positions.get(i).coordinates().getLat() <= location.getLat()) {
-        if (positions.get(i + 1).coordinates().getLat() > location.getLat()) {
-          if (isLeft(positions.get(i).coordinates(), positions.get(i + 1).coordinates(), location) > 0.0) {
-            ++wn;
+    private boolean contains(double lon, double lat) {
+      if (grid != null) {
+        for (int i : grid.candidates(lon, lat)) {
+          if (rings[i].contains(lon, lat)) {
+            return true;
           }
         }
-      } else {
-        if (positions.get(i + 1).coordinates().getLat() <= location.getLat()) {
-          if (isLeft(positions.get(i).coordinates(), positions.get(i + 1).coordinates(), location) < 0.0) {
-            --wn;
+        return false;
+      }
+
+      for (int i = 0; i < rings.length; i++) {
+        // Features that are not polygons fail when they are checked.
+        Ring ring = rings[i] == null ? toRing(features[i]) : rings[i];
+        if (ring.contains(lon, lat)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The perimeter of a polygon and its bounding box.
+   */
+  private static final class Ring {
+    private final double[] lons;
+    private final double[] lats;
+    private double minLon = Double.POSITIVE_INFINITY;
+    private double maxLon = Double.NEGATIVE_INFINITY;
+    private double minLat = Double.POSITIVE_INFINITY;
+    private double maxLat = Double.NEGATIVE_INFINITY;
+
+    private Ring(List<SinglePosition> positions) {
+      this.lons = new double[positions.size()];
+      this.lats = new double[positions.size()];
+      for (int i = 0; i < positions.size(); i++) {
+        Coordinates coordinates = positions.get(i).coordinates();
+        lons[i] = coordinates.getLon();
+        lats[i] = coordinates.getLat();
+        minLon = Math.min(minLon, lons[i]);
+        maxLon = Math.max(maxLon, lons[i]);
+        minLat = Math.min(minLat, lats[i]);
+        maxLat = Math.max(maxLat, lats[i]);
+      }
+    }
+
+    /**
+     * @return false if the winding number algorithm cannot count any edge for the location.
+     */
+    private boolean isEmpty() {
+      return !(minLat < maxLat);
+    }
+
+    private boolean contains(double lon, double lat) {
+      // Edges are only counted for latitudes in [minLat, maxLat).
+      if (lat < minLat || lat >= maxLat || lon < minLon || lon > maxLon) {
+        return false;
+      }
+
+      int wn = 0;
+      for (int i = 0; i < lats.length - 1; i++) {
+        if (lats[i] <= lat) {
+          if (lats[i + 1] > lat) {
+            if (isLeft(i, lon, lat) > 0.0) {
+              ++wn;
+            }
+          }
+        } else {
+          if (lats[i + 1] <= lat) {
+            if (isLeft(i, lon, lat) < 0.0) {
+              --wn;
+            }
           }
         }
       }
+      return (wn != 0);
+    }
+
+    private double isLeft(int vertex, double lon, double lat) {
+      return (lons[vertex + 1] - lons[vertex]) * (lat - lats[vertex]) -
+          (lon - lons[vertex]) * (lats[vertex + 1] - lats[vertex]);
     }
-    return (wn != 0);
   }
 
-  private static double isLeft(Coordinates vertex0, Coordinates vertex1, Coordinates gpC) {
-    return (vertex1.getLon() - vertex0.getLon()) * (gpC.getLat() - vertex0.getLat()) -
-        (gpC.getLon() - vertex0.getLon()) * (vertex1.getLat() - vertex0.getLat());
+  /**
+   * A uniform grid over the bounding box of the polygons, with the polygons whose bounding box overlaps each cell.
+   */
+  private static final class Grid {
+    private static final int[] NONE = new int[0];
+
+    private final double minLon;
+    private final double maxLon;
+    private final double minLat;
+    private final double maxLat;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;
+
+    private Grid(Ring[] rings, int maxSize) {
+      double minLon = Double.POSITIVE_INFINITY;
+      double maxLon = Double.NEGATIVE_INFINITY;
+      double minLat = Double.POSITIVE_INFINITY;
+      double maxLat = Double.NEGATIVE_INFINITY;
+      for (Ring ring : rings) {
+        if (!ring.isEmpty()) {
+          minLon = Math.min(minLon, ring.minLon);
+          maxLon = Math.max(maxLon, ring.maxLon);
+          minLat = Math.min(minLat, ring.minLat);
+          maxLat = Math.max(maxLat, ring.maxLat);
+        }
+      }
+      this.minLon = minLon;
+      this.maxLon = maxLon;
+      this.minLat = minLat;
+      this.maxLat = maxLat;
+
+      // About one cell per polygon.
+      int size = Math.min(maxSize, (int) Math.ceil(Math.sqrt(rings.length)));
+      this.columns = maxLon > minLon ? size : 1;
+      this.rows = maxLat > minLat ? size : 1;
+
+      List<List<Integer>> polygons = new ArrayList<>();
+      for (int i = 0; i < columns * rows; i++) {
+        polygons.add(new ArrayList<>());
+      }
+      for (int i = 0; i < rings.length; i++) {
+        Ring ring = rings[i];
+        if (ring.isEmpty()) {
+          continue;
+        }
+        for (int row = row(ring.minLat); row <= row(ring.maxLat); row++) {
+          for (int column = column(ring.minLon); column <= column(ring.maxLon); column++) {
+            polygons.get(row * columns + column).add(i);
+          }
+        }
+      }
+      this.cells = new int[polygons.size()][];
+      for (int i = 0; i < cells.length; i++) {
+        List<Integer> cell = polygons.get(i);
+        cells[i] = cell.isEmpty() ? NONE : cell.stream().mapToInt(Integer::intValue).toArray();
+      }
+    }
+
+    /**
+     * @return the polygons that may contain the location.
+     */
+    private int[] candidates(double lon, double lat) {
+      if (lat < minLat || lat >= maxLat || lon < minLon || lon > maxLon) {
+        return NONE;
+      }
+      return cells[row(lat) * columns + column(lon)];
+    }
+
+    private int column(double lon) {
+      return cell(lon, minLon, maxLon, columns);
+    }
+
+    private int row(double lat) {
+      return cell(lat, minLat, maxLat, rows);
+    }
+
+    // Non-decreasing in the value, so the cells of a location are within the cells of the bounding boxes around it.
+    private static int cell(double value, double min, double max, int size) {
+      if (size == 1) {
+        return 0;
+      }
+      int cell = (int) ((value - min) / (max - min) * size);
+      return Math.max(0, Math.min(size - 1, cell));
+    }
   }
 }
@@ -25,6 +25,8 @@ import org.apache.avro.io.DatumReader;
 /**
  * This class {@link AbstractAvroDecoder} is implementation of {@link Decoder} interface using type {@link Row}.
  * All implementations of AVRO decoder should extend from this class.
+ *
+ * <p>Decoders reuse their AVRO decoder and record across calls to decode, and hence are not thread-safe.</p>
  */
 public abstract class AbstractAvroDecoder implements Decoder<Row> {
   // Schema associated with record or data file being read.
@@ -33,9 +35,13 @@ public abstract class AbstractAvroDecoder implements Decoder<Row> {
   // Reader for reading data based on the schema.
   private final DatumReader<GenericRecord> reader;
 
+  // Mapper of the records read into rows, shared by the decoders of the same schema.
+  private final AvroRowMapper mapper;
+
   protected AbstractAvroDecoder(Schema schema) {
     this.schema = schema;
     this.reader = new GenericDatumReader<>(this.schema);
+    this.mapper = AvroRowMapper.of(schema, false);
   }
 
   protected Schema getSchema() {
@@ -45,4 +51,8 @@ public abstract class AbstractAvroDecoder implements Decoder<Row> {
   protected DatumReader<GenericRecord> getReader() {
     return reader;
   }
+
+  protected AvroRowMapper getMapper() {
+    return mapper;
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.codec;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.Gson;
+import io.cdap.wrangler.api.Row;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * This class {@link AvroRowMapper} converts AVRO {@link GenericRecord}s of a record schema into {@link Row}s.
+ *
+ * <p>The columns of a schema are computed once and mappers are cached by the fingerprint of the schema, such that
+ * records written with the same schema share a mapper. Values are converted the same way by all the AVRO decoders:
+ * {@link Utf8} into {@link String}, {@link Map} and {@link List} into their JSON representation, and nested records
+ * are either flattened into columns prefixed with the name of their field or kept as is.</p>
+ *
+ * <p>Mutable values, such as bytes, fixed and nested records, are copied, so that the records being converted can
+ * be reused to read the next records.</p>
+ */
+public final class AvroRowMapper {
+  private static final Gson GSON = new Gson();
+  private static final Cache<Key, AvroRowMapper> MAPPERS = CacheBuilder.newBuilder().maximumSize(1000).build();
+
+  private final boolean flatten;
+  private final Schema[] schemas;
+  private final String[] columns;
+  private final boolean[] mutable;
+  // Mappers of the records nested in each field, by schema of the record.
+  private final Map<Schema, AvroRowMapper>[] nested;
+
+  /**
+   * Returns the mapper of a record schema.
+   *
+   * @param schema of the records to be converted.
+   * @param flatten true to flatten nested records into columns, false to keep them as column values.
+   * @return the mapper for the schema.
+   */
+  public static AvroRowMapper of(Schema schema, boolean flatten) {
+    return of(schema, flatten, null);
+  }
+
+  private static AvroRowMapper of(Schema schema, boolean flatten, @Nullable String prefix) {
+    Key key = new Key(SchemaNormalization.parsingFingerprint64(schema), flatten, prefix);
+    try {
+      return MAPPERS.get(key, () -> new AvroRowMapper(schema, flatten, prefix));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private AvroRowMapper(Schema schema, boolean flatten, @Nullable String prefix) {
+    List<Schema.Field> fields = schema.getFields();
+    this.flatten = flatten;
+    this.schemas = new Schema[fields.size()];
+    this.columns = new String[fields.size()];
+    this.mutable = new boolean[fields.size()];
+    this.nested = new Map[fields.size()];
+    for (Schema.Field field : fields) {
+      int pos = field.pos();
+      schemas[pos] = field.schema();
+      columns[pos] = prefix == null ? field.name() : String.format("%s_%s", prefix, field.name());
+      mutable[pos] = isMutable(field.schema(), flatten);
+      nested[pos] = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * Converts a record into a {@link Row}.
+   *
+   * @param record to be converted, of the schema of this mapper.
+   * @return a new {@link Row} with the values of the record.
+   */
+  public Row toRow(GenericRecord record) {
+    Row row = new Row();
+    add(record, row);
+    return row;
+  }
+
+  private void add(GenericRecord record, Row row) {
+    for (int i = 0; i < columns.length; i++) {
+      String column = columns[i];
+      Object value = record.get(i);
+      if (flatten && value instanceof GenericRecord) {
+        GenericRecord nestedRecord = (GenericRecord) value;
+        nested[i].computeIfAbsent(nestedRecord.getSchema(), s -> of(s, true, column)).add(nestedRecord, row);
+      } else if (value instanceof Utf8) {
+        row.add(column, value.toString());
+      } else if (value instanceof Map || value instanceof List) {
+        row.add(column, GSON.toJson(value));
+      } else if (mutable[i] && value != null) {
+        row.add(column, GenericData.get().deepCopy(schemas[i], value));
+      } else {
+        row.add(column, value);
+      }
+    }
+  }
+
+  private static boolean isMutable(Schema schema, boolean flatten) {
+    switch (schema.getType()) {
+      case BYTES:
+      case FIXED:
+        return true;
+      case RECORD:
+        return !flatten;
+      case UNION:
+        for (Schema type : schema.getTypes()) {
+          if (isMutable(type, flatten)) {
+            return true;
+          }
+        }
+        return false;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Key of the cached mappers.
+   */
+  private static final class Key {
+    private final long fingerprint;
+    private final boolean flatten;
+    private final String prefix;
+
+    private Key(long fingerprint, boolean flatten, @Nullable String prefix) {
+      this.fingerprint = fingerprint;
+      this.flatten = flatten;
+      this.prefix = prefix;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return fingerprint == key.fingerprint && flatten == key.flatten && Objects.equals(prefix, key.prefix);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fingerprint, flatten, prefix);
+    }
+  }
+}
@@ -16,16 +16,13 @@
 
 package io.cdap.wrangler.codec;
 
-import com.google.gson.Gson;
 import io.cdap.wrangler.api.Row;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DecoderFactory;
-import org.apache.avro.util.Utf8;
 
-import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -36,11 +33,12 @@ import java.util.Map;
  * This class {@link BinaryAvroDecoder} decodes a byte array of AVRO Json Records into the {@link Row} structure.
  */
 public class BinaryAvroDecoder extends AbstractAvroDecoder {
-  private final Gson gson;
+  // Decoder and record reused across the records decoded.
+  private BinaryDecoder decoder;
+  private GenericRecord record;
 
   public BinaryAvroDecoder(Schema schema) {
     super(schema);
-    this.gson = new Gson();
   }
 
   /**
@@ -58,40 +56,18 @@ public class BinaryAvroDecoder extends AbstractAvroDecoder {
   @Override
   public List<Row> decode(byte[] bytes) throws DecoderException {
     List<Row> rows = new ArrayList<>();
-    BinaryDecoder decoder = null;
-    ByteArrayInputStream in = new ByteArrayInputStream(bytes);
     try {
-      decoder = DecoderFactory.get().binaryDecoder(in, null);
-      while (true) {
-        try {
-          GenericRecord gRecord = getReader().read(null, decoder);
-          List<Schema.Field> fields = getSchema().getFields();
-          Row r = new Row();
-          for (Schema.Field field : fields) {
-            Object object = gRecord.get(field.name());
-            if (object instanceof Utf8) {
-              Utf8 o = (Utf8) object;
-              object = o.toString();
-            } else if (object instanceof Map || object instanceof List) {
-              object = gson.toJson(object);
-            }
-            r.add(field.name(), object);
-          }
-          rows.add(r);
-        } catch (EOFException e) {
-          break; // Reached end of buffer.
-        }
+      decoder = DecoderFactory.get().binaryDecoder(bytes, decoder);
+      while (!decoder.isEnd()) {
+        record = getReader().read(record, decoder);
+        rows.add(getMapper().toRow(record));
       }
+    } catch (EOFException e) {
+      // Reached end of buffer.
     } catch (AvroTypeException e) {
       throw new DecoderException(e.getMessage());
     } catch (IOException e) {
       throw new DecoderException("Issue creating AVRO binary decoder. Verify the schema.");
-    } finally {
-      try {
-        in.close();
-      } catch (IOException e) {
-        // Can't do anything.
-      }
     }
     return rows;
   }
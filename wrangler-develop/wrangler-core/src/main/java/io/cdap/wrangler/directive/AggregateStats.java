@@ -1,8 +1,26 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
 package io.cdap.wrangler.directive;
 
+import com.google.common.collect.ImmutableMap;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.wrangler.api.AggregateDirective;
 import io.cdap.wrangler.api.Arguments;
 import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
@@ -10,7 +28,7 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
-import io.cdap.wrangler.api.TransientStore;
+import io.cdap.wrangler.api.annotations.Deterministic;
 import io.cdap.wrangler.api.parser.ByteSize;
 import io.cdap.wrangler.api.parser.ColumnName;
 import io.cdap.wrangler.api.parser.Text;
@@ -21,212 +39,185 @@ import io.cdap.wrangler.api.parser.UsageDefinition;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-@Plugin(type = Directive.Type)
+/**
+ * A directive that totals a byte size column and a time duration column across all the rows, and emits a
+ * single row holding the totals once the rows are finished.
+ *
+ * <p>The byte sizes are either numbers of bytes or text such as {@code 10KB}, see {@link ByteSize}. The time
+ * durations are either numbers of milliseconds or text such as {@code 150ms}, see {@link TimeDuration}.</p>
+ */
+@Plugin(type = Directive.TYPE)
 @Name(AggregateStats.NAME)
 @Description("Aggregates byte size and time duration columns, outputting total/average values.")
-public class AggregateStats implements Directive, Serializable {
-    private static final long serialVersionUID = 1L; // Use appropriate serialVersionUID
-    public static final String NAME = "aggregate-stats";
-
-    private String sizeCol;
-    private String timeCol;
-    private String targetSizeCol;
-    private String targetTimeCol;
-    private String sizeOutputUnit = "BYTES";
-    private String timeOutputUnit = "NANOS";
-    private String timeAggregationMode = "TOTAL";
-
-    private static final String TOTAL_BYTES_KEY = "aggstats.total.bytes";
-    private static final String TOTAL_NANOS_KEY = "aggstats.total.nanos";
-    private static final String ROW_COUNT_KEY = "aggstats.row.count";
-
-    private static final Set<String> VALID_SIZE_UNITS = new HashSet<>(Arrays.asList("BYTES", "KB", "MB", "GB", "TB", "PB"));
-    private static final Set<String> VALID_TIME_UNITS = new HashSet<>(Arrays.asList("NANOS", "MICROS", "MS", "S", "SECONDS", "MINUTES", "HOURS", "DAYS"));
-    private static final Set<String> VALID_TIME_MODES = new HashSet<>(Arrays.asList("TOTAL", "AVERAGE"));
-
-
-    @Override
-    public UsageDefinition define() {
-        return UsageDefinition.builder(NAME)
-                .define("size_column", TokenType.COLUMN)
-                .define("time_column", TokenType.COLUMN)
-                .define("target_size_column", TokenType.COLUMN)
-                .define("target_time_column", TokenType.COLUMN)
-                .define("size_unit", TokenType.TEXT, Optional.TRUE)
-                .define("time_unit", TokenType.TEXT, Optional.TRUE)
-                .define("time_mode", TokenType.TEXT, Optional.TRUE)
-                .build();
+@Deterministic
+public class AggregateStats implements AggregateDirective {
+  public static final String NAME = "aggregate-stats";
+  private static final List<String> SIZE_UNITS = Arrays.asList("BYTES", "KB", "MB", "GB", "TB", "PB");
+  private static final Map<String, TimeUnit> TIME_UNITS = ImmutableMap.<String, TimeUnit>builder()
+    .put("NANOS", TimeUnit.NANOSECONDS)
+    .put("MICROS", TimeUnit.MICROSECONDS)
+    .put("MS", TimeUnit.MILLISECONDS)
+    .put("S", TimeUnit.SECONDS)
+    .put("SECONDS", TimeUnit.SECONDS)
+    .put("MINUTES", TimeUnit.MINUTES)
+    .put("HOURS", TimeUnit.HOURS)
+    .put("DAYS", TimeUnit.DAYS)
+    .build();
+  private static final List<String> TIME_MODES = Arrays.asList("TOTAL", "AVERAGE");
+
+  private String sizeColumn;
+  private String timeColumn;
+  private String targetSizeColumn;
+  private String targetTimeColumn;
+  private String sizeUnit;
+  private TimeUnit timeUnit;
+  private String timeMode;
+
+  // Totals of the rows executed since the state was last taken, kept in the directive rather than in the
+  // transient store, such that the partial totals of several partitions can be merged.
+  private long totalBytes;
+  private long totalNanos;
+  private long rowCount;
+
+  @Override
+  public UsageDefinition define() {
+    UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
+    builder.define("size-column", TokenType.COLUMN_NAME);
+    builder.define("time-column", TokenType.COLUMN_NAME);
+    builder.define("target-size-column", TokenType.COLUMN_NAME);
+    builder.define("target-time-column", TokenType.COLUMN_NAME);
+    builder.define("size-unit", TokenType.TEXT, Optional.TRUE);
+    builder.define("time-unit", TokenType.TEXT, Optional.TRUE);
+    builder.define("time-mode", TokenType.TEXT, Optional.TRUE);
+    return builder.build();
+  }
+
+  @Override
+  public void initialize(Arguments args) throws DirectiveParseException {
+    this.sizeColumn = ((ColumnName) args.value("size-column")).value();
+    this.timeColumn = ((ColumnName) args.value("time-column")).value();
+    this.targetSizeColumn = ((ColumnName) args.value("target-size-column")).value();
+    this.targetTimeColumn = ((ColumnName) args.value("target-time-column")).value();
+    this.sizeUnit = getOption(args, "size-unit", "BYTES", SIZE_UNITS);
+    this.timeUnit = TIME_UNITS.get(getOption(args, "time-unit", "NANOS", TIME_UNITS.keySet()));
+    this.timeMode = getOption(args, "time-mode", "TOTAL", TIME_MODES);
+  }
+
+  private static String getOption(Arguments args, String name, String defaultValue,
+                                  Collection<String> values) throws DirectiveParseException {
+    if (!args.contains(name)) {
+      return defaultValue;
     }
-
-    @Override
-    public void initialize(Arguments args) throws DirectiveParseException {
-        this.sizeCol = ((ColumnName) args.value("size_column")).value();
-        this.timeCol = ((ColumnName) args.value("time_column")).value();
-        this.targetSizeCol = ((ColumnName) args.value("target_size_column")).value();
-        this.targetTimeCol = ((ColumnName) args.value("target_time_column")).value();
-
-        if (args.contains("size_unit")) {
-            String unit = ((Text) args.value("size_unit")).value().toUpperCase();
-            if (!VALID_SIZE_UNITS.contains(unit)) {
-                 throw new DirectiveParseException(NAME, "Invalid 'size_unit'. Supported: " + VALID_SIZE_UNITS);
-            }
-            this.sizeOutputUnit = unit;
-        }
-         if (args.contains("time_unit")) {
-            String unit = ((Text) args.value("time_unit")).value().toUpperCase();
-             if (!VALID_TIME_UNITS.contains(unit)) {
-                 throw new DirectiveParseException(NAME, "Invalid 'time_unit'. Supported: " + VALID_TIME_UNITS);
-             }
-             this.timeOutputUnit = "SECONDS".equals(unit) ? "S" : unit; // Normalize
-        }
-         if (args.contains("time_mode")) {
-             String mode = ((Text) args.value("time_mode")).value().toUpperCase();
-             if (!VALID_TIME_MODES.contains(mode)) {
-                  throw new DirectiveParseException(NAME, "Invalid 'time_mode'. Supported: " + VALID_TIME_MODES);
-             }
-             this.timeAggregationMode = mode;
-         }
+    String value = ((Text) args.value(name)).value().toUpperCase(Locale.ROOT);
+    if (!values.contains(value)) {
+      throw new DirectiveParseException(
+        NAME, String.format("Invalid %s '%s'. It should be one of %s.", name, value, values));
     }
+    return value;
+  }
+
+  @Override
+  public void destroy() {
+    // no-op
+  }
+
+  @Override
+  public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    for (Row row : rows) {
+      Object size = row.getValue(sizeColumn);
+      if (size != null) {
+        totalBytes += getBytes(size);
+      }
+      Object time = row.getValue(timeColumn);
+      if (time != null) {
+        totalNanos += getNanoseconds(time);
+      }
+      rowCount++;
+    }
+    return Collections.emptyList();
+  }
 
-    @Override
-    public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
-        TransientStore store = context.getTransientStore();
-
-        long currentTotalBytes = store.computeIfAbsent(TOTAL_BYTES_KEY, k -> 0L);
-        long currentTotalNanos = store.computeIfAbsent(TOTAL_NANOS_KEY, k -> 0L);
-        long currentRowCount = store.computeIfAbsent(ROW_COUNT_KEY, k -> 0L);
-
-        for (Row row : rows) {
-            Object sizeValue = row.getValue(sizeCol);
-            if (sizeValue != null) {
-                try {
-                    currentTotalBytes += parseSizeValue(sizeValue);
-                } catch (IllegalArgumentException e) {
-                     // Log or count error using context.getMetrics() if needed
-                }
-            }
-
-            Object timeValue = row.getValue(timeCol);
-             if (timeValue != null) {
-                try {
-                     currentTotalNanos += parseTimeValue(timeValue);
-                } catch (IllegalArgumentException e) {
-                    // Log or count error using context.getMetrics() if needed
-                }
-            }
-            currentRowCount++;
-        }
-
-        store.set(TOTAL_BYTES_KEY, currentTotalBytes);
-        store.set(TOTAL_NANOS_KEY, currentTotalNanos);
-        store.set(ROW_COUNT_KEY, currentRowCount);
-
-        return new ArrayList<>();
+  private long getBytes(Object value) throws DirectiveExecutionException {
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+    try {
+      return value instanceof ByteSize ? ((ByteSize) value).getBytes() : new ByteSize(value.toString()).getBytes();
+    } catch (IllegalArgumentException e) {
+      throw new DirectiveExecutionException(
+        NAME, String.format("Column '%s' has an invalid byte size. %s", sizeColumn, e.getMessage()), e);
     }
+  }
 
-     private long parseSizeValue(Object value) throws IllegalArgumentException {
-         if (value instanceof ByteSize) {
-             return ((ByteSize) value).getBytes();
-         } else if (value instanceof String) {
-             return new ByteSize((String) value).getBytes();
-         } else if (value instanceof Number) {
-              return ((Number) value).longValue();
-         }
-         throw new IllegalArgumentException("Unsupported type for byte size column: " + value.getClass().getName());
-     }
-
-     private long parseTimeValue(Object value) throws IllegalArgumentException {
-         if (value instanceof TimeDuration) {
-             return ((TimeDuration) value).getNanoseconds();
-         } else if (value instanceof String) {
-             return new TimeDuration((String) value).getNanoseconds();
-         } else if (value instanceof Number) {
-             double ms = ((Number) value).doubleValue();
-             double nanos = ms * 1_000_000.0;
-              if (nanos > Long.MAX_VALUE || nanos < Long.MIN_VALUE) {
-                 throw new IllegalArgumentException("Numeric time value out of range when converted to nanoseconds.");
-              }
-             return (long) nanos;
-         }
-          throw new IllegalArgumentException("Unsupported type for time duration column: " + value.getClass().getName());
-     }
-
-
-    @Override
-    public List<Row> finish(ExecutorContext context) throws DirectiveExecutionException {
-        TransientStore store = context.getTransientStore();
-
-        long totalBytes = store.get(TOTAL_BYTES_KEY);
-        long totalNanos = store.get(TOTAL_NANOS_KEY);
-        long rowCount = store.get(ROW_COUNT_KEY);
-
-        if (rowCount == 0) {
-             return new ArrayList<>();
-        }
-
-        Object finalSizeValue = convertBytesToOutputUnit(totalBytes, sizeOutputUnit);
-        Object finalTimeValue = convertNanosToOutputUnit(totalNanos, timeOutputUnit, timeAggregationMode, rowCount);
-
-        Row resultRow = new Row();
-        resultRow.add(targetSizeCol, finalSizeValue);
-        resultRow.add(targetTimeCol, finalTimeValue);
-
-        return List.of(resultRow);
+  private long getNanoseconds(Object value) throws DirectiveExecutionException {
+    if (value instanceof Number) {
+      return (long) (((Number) value).doubleValue() * TimeUnit.MILLISECONDS.toNanos(1));
     }
+    try {
+      return value instanceof TimeDuration ? ((TimeDuration) value).getNanoseconds()
+        : new TimeDuration(value.toString()).getNanoseconds();
+    } catch (IllegalArgumentException e) {
+      throw new DirectiveExecutionException(
+        NAME, String.format("Column '%s' has an invalid time duration. %s", timeColumn, e.getMessage()), e);
+    }
+  }
 
-     private Object convertBytesToOutputUnit(long bytes, String unit) {
-        double value = (double) bytes;
-        long divisor = 1L;
-        long K = 1024L;
-        long M = K * 1024L;
-        long G = M * 1024L;
-        long T = G * 1024L;
-        long P = T * 1024L;
-
-        switch (unit) {
-            case "KB": divisor = K; break;
-            case "MB": divisor = M; break;
-            case "GB": divisor = G; break;
-            case "TB": divisor = T; break;
-            case "PB": divisor = P; break;
-            case "BYTES":
-            default: return bytes;
-        }
-        return BigDecimal.valueOf(value / divisor).setScale(3, RoundingMode.HALF_UP).doubleValue();
+  @Override
+  public List<Row> finish(ExecutorContext context) throws DirectiveExecutionException {
+    if (rowCount == 0) {
+      return Collections.emptyList();
+    }
+    Row row = new Row();
+    row.add(targetSizeColumn, toSizeUnit(totalBytes));
+    row.add(targetTimeColumn, toTimeUnit("AVERAGE".equals(timeMode) ? (double) totalNanos / rowCount : totalNanos));
+    takeState();
+    return Collections.singletonList(row);
+  }
+
+  private Object toSizeUnit(long bytes) {
+    int index = SIZE_UNITS.indexOf(sizeUnit);
+    if (index == 0) {
+      return bytes;
     }
+    return round(bytes / Math.pow(1024, index));
+  }
 
-     private Object convertNanosToOutputUnit(long nanos, String unit, String mode, long count) {
-         double valueToConvert = (double) nanos;
-
-         if ("AVERAGE".equals(mode) && count > 0) {
-            valueToConvert = valueToConvert / count;
-         }
-
-         TimeUnit targetTimeUnit;
-          switch (unit) {
-            case "MICROS": targetTimeUnit = TimeUnit.MICROSECONDS; break;
-            case "MS": targetTimeUnit = TimeUnit.MILLISECONDS; break;
-            case "S": targetTimeUnit = TimeUnit.SECONDS; break;
-            case "MINUTES": targetTimeUnit = TimeUnit.MINUTES; break;
-            case "HOURS": targetTimeUnit = TimeUnit.HOURS; break;
-            case "DAYS": targetTimeUnit = TimeUnit.DAYS; break;
-            case "NANOS":
-            default: return (long) valueToConvert;
-          }
-
-          double result = valueToConvert / TimeUnit.NANOSECONDS.convert(1, targetTimeUnit);
-          return BigDecimal.valueOf(result).setScale(3, RoundingMode.HALF_UP).doubleValue();
-     }
-
-    @Override
-    public void destroy() {
-        // No-op
+  private Object toTimeUnit(double nanos) {
+    if (timeUnit == TimeUnit.NANOSECONDS) {
+      return (long) nanos;
+    }
+    return round(nanos / timeUnit.toNanos(1));
+  }
+
+  private static double round(double value) {
+    return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP).doubleValue();
+  }
+
+  @Override
+  public Serializable takeState() {
+    long[] state = { totalBytes, totalNanos, rowCount };
+    totalBytes = 0;
+    totalNanos = 0;
+    rowCount = 0;
+    return state;
+  }
+
+  @Override
+  public void mergeState(Serializable state) throws DirectiveExecutionException {
+    if (!(state instanceof long[]) || ((long[]) state).length != 3) {
+      throw new DirectiveExecutionException(NAME, String.format("Unexpected partial state '%s'.", state));
     }
-}
\ No newline at end of file
+    long[] partial = (long[]) state;
+    totalBytes += partial[0];
+    totalNanos += partial[1];
+    rowCount += partial[2];
+  }
+}
@@ -17,14 +17,17 @@
 package io.cdap.wrangler.executor;
 
 
+import com.google.common.primitives.UnsignedBytes;
 import io.cdap.directives.lookup.StaticCatalog;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Class for loading and managing ICD codes.
@@ -33,14 +36,23 @@ import java.util.Map;
  *   icd10cm_code_2016.txt contains all ICD-10-CM (diagnosis) codes valid for FY2016.
  *   icd9cm_code_2015.txt contains ICD-9-CM (diagnosis) codes valid till FY2015
  * </p>
+ *
+ * <p>
+ *   The codes are held in a compact index: a single array with the UTF-8 encoded codes, sorted in ascending
+ *   order, each followed by its description, and a table with the offsets of the codes and descriptions.
+ *   Codes are looked up with a binary search.
+ * </p>
  */
 public final class ICDCatalog implements StaticCatalog {
 
   // Type of ICD code 9 or 10 {2016,2017}.
   private final String name;
 
-  // Map to store mapping from code to description.
-  private Map<String, ICDCode> lookupTable = new HashMap<>();
+  // Codes sorted in ascending order, each followed by its description.
+  private byte[] data = new byte[0];
+
+  // Offsets in data of the code and of the description of each entry, followed by the length of data.
+  private int[] offsets = new int[] {0};
 
   /**
    * Single ICD entry
@@ -78,17 +90,37 @@ public final class ICDCatalog implements StaticCatalog {
     if (in == null) {
       return false;
     }
+    Map<byte[], String> codes = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
     InputStreamReader isr = new InputStreamReader(in);
     try (BufferedReader reader = new BufferedReader(isr)) {
       String line;
       while ((line = reader.readLine()) != null) {
-        String code = line.substring(0, 7).trim();
-        String description = line.substring(8).trim();
-        lookupTable.put(code, new ICDCode(description));
+        // The code is padded to a fixed width in some catalogs and not in others, so it ends at the first space.
+        int end = line.indexOf(' ');
+        if (end <= 0) {
+          continue;
+        }
+        String code = line.substring(0, end);
+        String description = line.substring(end).trim();
+        codes.put(code.getBytes(StandardCharsets.UTF_8), description);
       }
     } catch (IOException e) {
       return false;
     }
+
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    int[] offsets = new int[codes.size() * 2 + 1];
+    int i = 0;
+    for (Map.Entry<byte[], String> entry : codes.entrySet()) {
+      offsets[i++] = bos.size();
+      bos.write(entry.getKey(), 0, entry.getKey().length);
+      offsets[i++] = bos.size();
+      byte[] description = entry.getValue().getBytes(StandardCharsets.UTF_8);
+      bos.write(description, 0, description.length);
+    }
+    offsets[i] = bos.size();
+    this.data = bos.toByteArray();
+    this.offsets = offsets;
     return true;
   }
 
@@ -100,7 +132,35 @@ public final class ICDCatalog implements StaticCatalog {
    */
   @Override
   public StaticCatalog.Entry lookup(String code)  {
-    return lookupTable.get(code);
+    byte[] key = code.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = offsets.length / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compare(mid, key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        int start = offsets[mid * 2 + 1];
+        return new ICDCode(new String(data, start, offsets[mid * 2 + 2] - start, StandardCharsets.UTF_8));
+      }
+    }
+    return null;
+  }
+
+  // Compares the code of an entry with the key, as unsigned bytes.
+  private int compare(int entry, byte[] key) {
+    int start = offsets[entry * 2];
+    int length = offsets[entry * 2 + 1] - start;
+    for (int i = 0; i < Math.min(length, key.length); i++) {
+      int cmp = UnsignedBytes.compare(data[start + i], key[i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return length - key.length;
   }
 
   /**
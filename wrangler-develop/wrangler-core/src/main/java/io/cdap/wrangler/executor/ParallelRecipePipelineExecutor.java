@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.executor;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.AggregateDirective;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.ErrorRecord;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.RecipeParser;
+import io.cdap.wrangler.api.RecipePipeline;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.schema.DirectiveOutputSchemaGenerator;
+import io.cdap.wrangler.schema.TransientStoreKeys;
+import io.cdap.wrangler.utils.RecordConvertor;
+import io.cdap.wrangler.utils.RecordConvertorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * The class <code>ParallelRecipePipelineExecutor</code> splits the input into contiguous partitions and executes
+ * the recipe on the partitions concurrently, each with a {@link RecipePipelineExecutor} of its own. Directives
+ * are stateful, so the recipe is parsed once per partition.
+ *
+ * <p>The output rows and the error records are merged in the order of the input, and the output schema is
+ * generated from the output fields of all the partitions, so the result is the same as the one of a
+ * {@link RecipePipelineExecutor} on the whole input. This holds as long as directives process rows independently
+ * of each other, so the input is only partitioned when every directive of the recipe declares it through
+ * {@link Directive#isRowIndependent()}. Recipes with a directive that carries state from row to row, such as a
+ * CSV parser looking for a header in the first row, an aggregating directive or a user defined directive that
+ * does not opt in, are executed on the whole input at once.</p>
+ */
+public final class ParallelRecipePipelineExecutor implements RecipePipeline<Row, StructuredRecord, ErrorRecord> {
+  // Partitions smaller than this are not worth the cost of parsing the recipe and handing the rows to a thread.
+  private static final int MIN_PARTITION_SIZE = 1000;
+
+  private final RecordConvertor convertor = new RecordConvertor();
+  private final List<Partition> partitions = new ArrayList<>();
+  private final RecipeParser recipeParser;
+  private final ExecutorContext context;
+  private final ExecutorService executorService;
+  private final int parallelism;
+  private final int minPartitionSize;
+  private Boolean partitionable;
+  // Number of partitions the input of the last execution was split into.
+  private int used;
+
+  /**
+   * Creates an executor that splits the input in up to {@code parallelism} partitions.
+   *
+   * @param recipeParser parser for the recipe to be executed, parsed once per partition.
+   * @param context the execution context.
+   * @param executorService executor service the partitions are executed on.
+   * @param parallelism maximum number of partitions executed concurrently.
+   */
+  public ParallelRecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context,
+                                        ExecutorService executorService, int parallelism) {
+    this(recipeParser, context, executorService, parallelism, MIN_PARTITION_SIZE);
+  }
+
+  ParallelRecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context,
+                                 ExecutorService executorService, int parallelism, int minPartitionSize) {
+    this.recipeParser = recipeParser;
+    this.context = context;
+    this.executorService = executorService;
+    this.parallelism = parallelism;
+    this.minPartitionSize = minPartitionSize;
+  }
+
+  /**
+   * Invokes the destroy method of the directives of each partition.
+   */
+  @Override
+  public void close() {
+    for (Partition partition : partitions) {
+      partition.executor.close();
+    }
+  }
+
+  /**
+   * Executes the pipeline on the input.
+   *
+   * @param rows List of Input record of type I.
+   * @param schema Schema to which the output should be mapped.
+   * @return Parsed output list of record of type O
+   */
+  @Override
+  public List<StructuredRecord> execute(List<Row> rows, Schema schema) throws RecipeException {
+    try {
+      return convertor.toStructureRecord(execute(rows), schema);
+    } catch (RecordConvertorException e) {
+      throw new RecipeException("Problem converting into output record. Reason : " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Executes the pipeline on the input, one partition per thread.
+   *
+   * @param rows List of input record of type I.
+   * @return Parsed output list of record of type I
+   */
+  @Override
+  public List<Row> execute(List<Row> rows) throws RecipeException {
+    used = getPartitionCount(rows.size());
+    if (used == 1) {
+      return getPartition(0).executor.execute(rows);
+    }
+
+    boolean schemaManagementEnabled = context != null && context.isSchemaManagementEnabled();
+    Schema inputSchema = schemaManagementEnabled ?
+      context.getTransientStore().get(TransientStoreKeys.INPUT_SCHEMA) : null;
+
+    // Partitions copy the variables of the shared store before the first partition starts modifying it.
+    List<List<DirectiveOutputSchemaGenerator>> outputSchemaGenerators = new ArrayList<>(used);
+    for (int i = 0; i < used; i++) {
+      Partition partition = getPartition(i);
+      if (partition.context != null) {
+        partition.context.resetTransientStore();
+      }
+      outputSchemaGenerators.add(inputSchema != null ?
+                                   partition.executor.createOutputSchemaGenerators() : new ArrayList<>());
+    }
+
+    List<Future<List<Row>>> futures = new ArrayList<>(used);
+    for (int i = 0; i < used; i++) {
+      RecipePipelineExecutor executor = partitions.get(i).executor;
+      List<Row> input = rows.subList(start(rows.size(), i), start(rows.size(), i + 1));
+      List<DirectiveOutputSchemaGenerator> generators = outputSchemaGenerators.get(i);
+      futures.add(executorService.submit(() -> executor.execute(input, generators)));
+    }
+
+    // Waits for all the partitions, such that none is still running once this method returns.
+    List<Row> results = new ArrayList<>(rows.size());
+    RecipeException failure = null;
+    for (int i = 0; i < used; i++) {
+      try {
+        List<Row> output = futures.get(i).get();
+        if (failure == null) {
+          results.addAll(output);
+        }
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = getRecipeException(e.getCause(), start(rows.size(), i));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (Future<List<Row>> future : futures) {
+          future.cancel(true);
+        }
+        throw new RecipeException("Interrupted while executing the recipe.", e);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+
+    if (inputSchema != null) {
+      List<DirectiveOutputSchemaGenerator> merged = outputSchemaGenerators.get(0);
+      for (List<DirectiveOutputSchemaGenerator> generators : outputSchemaGenerators.subList(1, used)) {
+        for (int j = 0; j < merged.size(); j++) {
+          merged.get(j).merge(generators.get(j));
+        }
+      }
+      context.getTransientStore().set(TransientVariableScope.GLOBAL, TransientStoreKeys.OUTPUT_SCHEMA,
+                                      getPartition(0).executor.getOutputSchema(inputSchema, merged));
+    }
+    return results;
+  }
+
+  /**
+   * Flushes the rows held by the directives of each partition, in the order of the partitions.
+   *
+   * @return rows emitted at the end of the input.
+   */
+  @Override
+  public List<Row> finish() throws RecipeException {
+    List<Row> results = new ArrayList<>();
+    for (int i = 0; i < Math.max(used, 1); i++) {
+      results.addAll(getPartition(i).executor.finish());
+    }
+    return results;
+  }
+
+  /**
+   * Returns records that are errored out, in the order of the input.
+   *
+   * @return records that have errored out.
+   */
+  @Override
+  public List<ErrorRecord> errors() {
+    List<ErrorRecord> errors = new ArrayList<>();
+    for (int i = 0; i < used; i++) {
+      errors.addAll(partitions.get(i).executor.errors());
+    }
+    return errors;
+  }
+
+  private int getPartitionCount(int size) throws RecipeException {
+    if (parallelism < 2 || size < 2 * minPartitionSize || !isPartitionable()) {
+      return 1;
+    }
+    return Math.min(parallelism, size / minPartitionSize);
+  }
+
+  private boolean isPartitionable() throws RecipeException {
+    if (partitionable == null) {
+      partitionable = true;
+      for (Directive directive : getPartition(0).directives) {
+        // Aggregating directives emit their rows at the end of the input, so they need all of it.
+        if (directive instanceof AggregateDirective || !directive.isRowIndependent()) {
+          partitionable = false;
+          break;
+        }
+      }
+    }
+    return partitionable;
+  }
+
+  // Partitions are created on the calling thread, as recipe parsers are not meant to be used concurrently.
+  private Partition getPartition(int index) throws RecipeException {
+    while (partitions.size() <= index) {
+      List<Directive> directives = recipeParser.parse();
+      // The first partition runs with the context of the whole input, the others with a copy of its variables.
+      PartitionContext partitionContext = partitions.isEmpty() || context == null ?
+        null : new PartitionContext(context);
+      ExecutorContext executorContext = partitions.isEmpty() ? context : partitionContext;
+      partitions.add(new Partition(directives, new RecipePipelineExecutor(() -> directives, executorContext),
+                                   partitionContext));
+    }
+    return partitions.get(index);
+  }
+
+  private int start(int size, int partition) {
+    return (int) ((long) size * partition / used);
+  }
+
+  // Row indexes of a partition are relative to the partition.
+  private static RecipeException getRecipeException(Throwable cause, int offset) {
+    if (!(cause instanceof RecipeException)) {
+      return new RecipeException(cause.getMessage(), cause);
+    }
+    RecipeException e = (RecipeException) cause;
+    int rowIndex = e.getRowIndex() == RecipeException.UNKNOWN_INDEX ? e.getRowIndex() : e.getRowIndex() + offset;
+    return new RecipeException(e.getMessage(), e.getCause(), rowIndex, e.getDirectiveIndex());
+  }
+
+  /**
+   * The directives and the executor of a partition.
+   */
+  private static final class Partition {
+    private final List<Directive> directives;
+    private final RecipePipelineExecutor executor;
+    @Nullable
+    private final PartitionContext context;
+
+    Partition(List<Directive> directives, RecipePipelineExecutor executor, @Nullable PartitionContext context) {
+      this.directives = directives;
+      this.executor = executor;
+      this.context = context;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.executor;
+
+import io.cdap.cdap.etl.api.Lookup;
+import io.cdap.cdap.etl.api.StageMetrics;
+import io.cdap.directives.aggregates.DefaultTransientStore;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.TransientStore;
+import io.cdap.wrangler.api.TransientVariableScope;
+
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * An {@link ExecutorContext} for a partition of the input executed concurrently with other partitions.
+ * Everything is delegated to the context of the whole input, except for the {@link TransientStore}: each
+ * partition has its own, starting with a copy of the variables of the shared store.
+ */
+final class PartitionContext implements ExecutorContext {
+  private final ExecutorContext context;
+  private final TransientStore store = new DefaultTransientStore();
+
+  PartitionContext(ExecutorContext context) {
+    this.context = context;
+  }
+
+  /**
+   * Replaces the variables of the partition with the ones of the shared store. Must be called before the
+   * partition is executed, while no other thread is using the shared store.
+   */
+  void resetTransientStore() {
+    store.reset(TransientVariableScope.GLOBAL);
+    store.reset(TransientVariableScope.LOCAL);
+    TransientStore shared = context.getTransientStore();
+    for (String variable : shared.getVariables()) {
+      store.set(TransientVariableScope.GLOBAL, variable, shared.get(variable));
+    }
+  }
+
+  @Override
+  public Environment getEnvironment() {
+    return context.getEnvironment();
+  }
+
+  @Override
+  public String getNamespace() {
+    return context.getNamespace();
+  }
+
+  @Override
+  public StageMetrics getMetrics() {
+    return context.getMetrics();
+  }
+
+  @Override
+  public String getContextName() {
+    return context.getContextName();
+  }
+
+  @Override
+  public Map<String, String> getProperties() {
+    return context.getProperties();
+  }
+
+  @Override
+  public URL getService(String applicationId, String serviceId) {
+    return context.getService(applicationId, serviceId);
+  }
+
+  @Override
+  public TransientStore getTransientStore() {
+    return store;
+  }
+
+  @Override
+  public boolean isSchemaManagementEnabled() {
+    return context.isSchemaManagementEnabled();
+  }
+
+  @Override
+  public <T> Lookup<T> provide(String table, Map<String, String> arguments) {
+    return context.provide(table, arguments);
+  }
+}
@@ -16,12 +16,16 @@
 
 package io.cdap.wrangler.executor;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.ErrorRecord;
 import io.cdap.wrangler.api.ErrorRowException;
+import io.cdap.wrangler.api.ErrorRowsException;
 import io.cdap.wrangler.api.Executor;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.RecipeException;
@@ -40,7 +44,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 /**
@@ -55,11 +62,33 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
   private final SchemaConverter generator = new SchemaConverter();
   private final RecipeParser recipeParser;
   private final ExecutorContext context;
+  private final int batchSize;
   private List<Directive> directives;
+  private boolean rowIndependent;
 
   public RecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context) {
+    this(recipeParser, context, 1);
+  }
+
+  /**
+   * Creates an executor that pushes up to {@code batchSize} rows at a time through each directive.
+   *
+   * <p>A batch size of one executes every row through the whole recipe on its own, which is the default. Larger
+   * batches let directives amortize per-call overhead across rows, but {@link TransientVariableScope#LOCAL}
+   * variables are then reset once per batch instead of once per row. Recipes with a directive that is not
+   * {@link Directive#isRowIndependent() row independent} are always executed one row at a time.</p>
+   *
+   * @param recipeParser parser for the recipe to be executed.
+   * @param context the execution context.
+   * @param batchSize maximum number of rows passed to each directive in a single call.
+   */
+  public RecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1, but got " + batchSize);
+    }
     this.context = context;
     this.recipeParser = recipeParser;
+    this.batchSize = batchSize;
   }
 
   /**
@@ -98,76 +127,232 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
   /**
    * Executes the pipeline on the input.
    *
+   * <p>When the executor is configured with a batch size greater than one and all the directives of the recipe are
+   * row independent, rows are pushed through each directive in chunks of up to that many rows. If any row in a
+   * chunk is routed to error or fails, the output of the chunk is discarded and the chunk is re-executed one row at
+   * a time from its input, so that error records and failures are reported for the row that caused them exactly as
+   * in the default mode. Row independent directives have no effect outside of the rows, so executing them again
+   * is safe.</p>
+   *
    * @param rows List of input record of type I.
    * @return Parsed output list of record of type I
    */
   @Override
   public List<Row> execute(List<Row> rows) throws RecipeException {
-    List<Directive> directives = getDirectives();
-    List<String> messages = new ArrayList<>();
-    List<Row> results = new ArrayList<>();
-    int i = 0;
-    int directiveIndex = 0;
     // Initialize schema with input schema from TransientStore if running in service env (design-time) / testing env
     boolean schemaManagementEnabled = context != null && context.isSchemaManagementEnabled();
     Schema inputSchema = schemaManagementEnabled ?
       context.getTransientStore().get(TransientStoreKeys.INPUT_SCHEMA) : null;
 
-    List<DirectiveOutputSchemaGenerator> outputSchemaGenerators = new ArrayList<>();
+    List<DirectiveOutputSchemaGenerator> outputSchemaGenerators = schemaManagementEnabled && inputSchema != null ?
+      createOutputSchemaGenerators() : new ArrayList<>();
+    List<Row> results = execute(rows, outputSchemaGenerators);
+
+    // Schema generation
     if (schemaManagementEnabled && inputSchema != null) {
-      for (Directive directive : directives) {
-        outputSchemaGenerators.add(new DirectiveOutputSchemaGenerator(directive, generator));
-      }
+      context.getTransientStore().set(TransientVariableScope.GLOBAL, TransientStoreKeys.OUTPUT_SCHEMA,
+                                        getOutputSchema(inputSchema, outputSchemaGenerators));
     }
+    return results;
+  }
 
-    try {
-      collector.reset();
-      while (i < rows.size()) {
-        messages.clear();
-        // Resets the scope of local variable.
-        if (context != null) {
-          context.getTransientStore().reset(TransientVariableScope.LOCAL);
+  /**
+   * Executes the pipeline on the input, adding the output fields of each directive to the generators if there
+   * are any, one per directive of the recipe.
+   */
+  List<Row> execute(List<Row> rows, List<DirectiveOutputSchemaGenerator> outputSchemaGenerators)
+    throws RecipeException {
+    List<Directive> directives = getDirectives();
+    List<Row> results = new ArrayList<>();
+    int i = 0;
+    collector.reset();
+    while (i < rows.size()) {
+      int end = Math.min(i + (rowIndependent ? batchSize : 1), rows.size());
+      if (end - i == 1 || !executeBatch(directives, rows.subList(i, end), results, outputSchemaGenerators)) {
+        for (int j = i; j < end; ++j) {
+          executeRow(directives, 0, rows, j, results, outputSchemaGenerators);
         }
+      }
+      i = end;
+    }
+    return results;
+  }
+
+  /**
+   * Creates the generators collecting the output fields of each directive of the recipe.
+   */
+  List<DirectiveOutputSchemaGenerator> createOutputSchemaGenerators() throws RecipeException {
+    List<DirectiveOutputSchemaGenerator> outputSchemaGenerators = new ArrayList<>();
+    for (Directive directive : getDirectives()) {
+      outputSchemaGenerators.add(new DirectiveOutputSchemaGenerator(directive, generator));
+    }
+    return outputSchemaGenerators;
+  }
+
+  /**
+   * Flushes the rows held by aggregating directives. Directives are finished in the order of the recipe,
+   * and the rows emitted by a directive are executed one at a time through the directives that follow it,
+   * so that a directive is finished only after all the rows that reach it have been executed.
+   *
+   * <p>Error records are added to the ones collected by the last call to {@link #execute(List)}.</p>
+   *
+   * @return rows emitted at the end of the input.
+   */
+  @Override
+  public List<Row> finish() throws RecipeException {
+    List<Directive> directives = getDirectives();
+    List<Row> results = new ArrayList<>();
+    for (int i = 0; i < directives.size(); ++i) {
+      List<Row> rows;
+      try {
+        rows = directives.get(i).finish(context);
+      } catch (DirectiveExecutionException e) {
+        throw new RecipeException(e.getMessage(), e, i + 1);
+      }
+      for (int j = 0; j < rows.size(); ++j) {
+        executeRow(directives, i + 1, rows, j, results, Collections.emptyList());
+      }
+    }
+    return results;
+  }
 
-        List<Row> cumulativeRows = rows.subList(i, i + 1);
-        directiveIndex = 0;
+  /**
+   * Executes the directives from {@code first} onwards on a single row, collecting the row into the error
+   * collector if any of the directives routes it to error. A directive that routes only some of its rows to error
+   * through {@link ErrorRowsException} has those rows collected instead, and the others carry on.
+   */
+  private void executeRow(List<Directive> directives, int first, List<Row> rows, int rowIndex, List<Row> results,
+                          List<DirectiveOutputSchemaGenerator> outputSchemaGenerators) throws RecipeException {
+    List<String> messages = new ArrayList<>();
+    // Resets the scope of local variable.
+    if (context != null) {
+      context.getTransientStore().reset(TransientVariableScope.LOCAL);
+    }
+
+    List<Row> cumulativeRows = rows.subList(rowIndex, rowIndex + 1);
+    int directiveIndex = first;
+    try {
+      for (Executor<List<Row>, List<Row>> directive : directives.subList(first, directives.size())) {
         try {
-          for (Executor<List<Row>, List<Row>> directive : directives) {
-            try {
-              directiveIndex++;
-              cumulativeRows = directive.execute(cumulativeRows, context);
-              if (cumulativeRows.size() < 1) {
-                break;
-              }
-              if (schemaManagementEnabled && inputSchema != null) {
-                outputSchemaGenerators.get(directiveIndex - 1).addNewOutputFields(cumulativeRows);
-              }
-            } catch (ReportErrorAndProceed e) {
-              messages.add(String.format("%s (ecode: %d)", e.getMessage(), e.getCode()));
-              collector
-                .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(), true));
-              cumulativeRows = new ArrayList<>();
-              break;
-            }
+          directiveIndex++;
+          cumulativeRows = directive.execute(cumulativeRows, context);
+        } catch (ErrorRowsException e) {
+          // Only some of the rows errored, the other rows carry on through the rest of the recipe.
+          for (ErrorRecord error : e.getErrors()) {
+            collector.add(error);
           }
-          results.addAll(cumulativeRows);
-        } catch (ErrorRowException e) {
-          messages.add(String.format("%s", e.getMessage()));
-          collector
-            .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(),
-              e.isShownInWrangler()));
+          cumulativeRows = new ArrayList<>(e.getRows());
+        } catch (ReportErrorAndProceed e) {
+          messages.add(String.format("%s (ecode: %d)", e.getMessage(), e.getCode()));
+          collector.add(new ErrorRecord(rows.get(rowIndex), String.join(",", messages), e.getCode(), true));
+          cumulativeRows = new ArrayList<>();
+          break;
+        }
+        if (cumulativeRows.size() < 1) {
+          break;
+        }
+        if (!outputSchemaGenerators.isEmpty()) {
+          outputSchemaGenerators.get(directiveIndex - 1).addNewOutputFields(cumulativeRows);
         }
-        ++i;
       }
+      results.addAll(cumulativeRows);
+    } catch (ErrorRowException e) {
+      messages.add(String.format("%s", e.getMessage()));
+      collector.add(new ErrorRecord(rows.get(rowIndex), String.join(",", messages), e.getCode(),
+                                    e.isShownInWrangler()));
     } catch (DirectiveExecutionException e) {
-      throw new RecipeException(e.getMessage(), e, i, directiveIndex);
+      throw new RecipeException(e.getMessage(), e, rowIndex, directiveIndex);
     }
-    // Schema generation
-    if (schemaManagementEnabled && inputSchema != null) {
-      context.getTransientStore().set(TransientVariableScope.GLOBAL, TransientStoreKeys.OUTPUT_SCHEMA,
-                                        getOutputSchema(inputSchema, outputSchemaGenerators));
+  }
+
+  /**
+   * Executes all the directives on a batch of rows, with each directive seeing the whole batch in a single call.
+   * The batch is executed on copies of the input rows, as directives modify rows in place, and the output fields
+   * of the batch are only added to the generators once the whole batch has been processed.
+   *
+   * @return {@code true} if the batch was processed, {@code false} if a row in the batch was routed to error
+   * or failed, and the batch has to be re-executed row by row.
+   */
+  private boolean executeBatch(List<Directive> directives, List<Row> batch, List<Row> results,
+                               List<DirectiveOutputSchemaGenerator> outputSchemaGenerators) {
+    // Local variables are scoped to the batch in this mode.
+    if (context != null) {
+      context.getTransientStore().reset(TransientVariableScope.LOCAL);
     }
-    return results;
+
+    List<Row> cumulativeRows = new ArrayList<>(batch.size());
+    for (Row row : batch) {
+      cumulativeRows.add(copy(row));
+    }
+    List<DirectiveOutputSchemaGenerator> batchSchemaGenerators = new ArrayList<>(outputSchemaGenerators.size());
+    for (int i = 0; i < outputSchemaGenerators.size(); ++i) {
+      batchSchemaGenerators.add(new DirectiveOutputSchemaGenerator(directives.get(i), generator));
+    }
+    int directiveIndex = 0;
+    try {
+      for (Executor<List<Row>, List<Row>> directive : directives) {
+        directiveIndex++;
+        cumulativeRows = directive.execute(cumulativeRows, context);
+        if (cumulativeRows.size() < 1) {
+          break;
+        }
+        if (!batchSchemaGenerators.isEmpty()) {
+          batchSchemaGenerators.get(directiveIndex - 1).addNewOutputFields(cumulativeRows);
+        }
+      }
+    } catch (ErrorRowException | ReportErrorAndProceed | DirectiveExecutionException e) {
+      // The row that caused the exception is found by executing the batch again row by row.
+      return false;
+    }
+    for (int i = 0; i < batchSchemaGenerators.size(); ++i) {
+      outputSchemaGenerators.get(i).merge(batchSchemaGenerators.get(i));
+    }
+    results.addAll(cumulativeRows);
+    return true;
+  }
+
+  /**
+   * Copies a row for the execution of a batch, such that the row can be executed again if the batch fails. JSON
+   * elements, maps and lists are copied deeply, as directives change them in place, the other values are shared.
+   */
+  private static Row copy(Row row) {
+    Row copy = new Row(row);
+    for (int i = 0; i < copy.width(); ++i) {
+      copy.setValue(i, copyValue(copy.getValue(i)));
+    }
+    return copy;
+  }
+
+  private static Object copyValue(Object value) {
+    if (value instanceof JsonObject) {
+      JsonObject copy = new JsonObject();
+      for (Map.Entry<String, JsonElement> entry : ((JsonObject) value).entrySet()) {
+        copy.add(entry.getKey(), (JsonElement) copyValue(entry.getValue()));
+      }
+      return copy;
+    }
+    if (value instanceof JsonArray) {
+      JsonArray copy = new JsonArray();
+      for (JsonElement element : (JsonArray) value) {
+        copy.add((JsonElement) copyValue(element));
+      }
+      return copy;
+    }
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        copy.put(entry.getKey(), copyValue(entry.getValue()));
+      }
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        copy.add(copyValue(element));
+      }
+      return copy;
+    }
+    return value;
   }
 
   /**
@@ -183,11 +368,15 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
   private List<Directive> getDirectives() throws RecipeException {
     if (directives == null) {
       this.directives = recipeParser.parse();
+      this.rowIndependent = true;
+      for (Directive directive : directives) {
+        rowIndependent &= directive.isRowIndependent();
+      }
     }
     return directives;
   }
 
-  private Schema getOutputSchema(Schema inputSchema, List<DirectiveOutputSchemaGenerator> outputSchemaGenerators)
+  Schema getOutputSchema(Schema inputSchema, List<DirectiveOutputSchemaGenerator> outputSchemaGenerators)
     throws RecipeException {
     Schema schema = inputSchema;
     for (DirectiveOutputSchemaGenerator outputSchemaGenerator : outputSchemaGenerators) {
@@ -0,0 +1,476 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.expression;
+
+import org.apache.commons.jexl3.JexlArithmetic;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.introspection.JexlMethod;
+import org.apache.commons.jexl3.introspection.JexlUberspect;
+import org.apache.commons.jexl3.parser.ASTAddNode;
+import org.apache.commons.jexl3.parser.ASTAndNode;
+import org.apache.commons.jexl3.parser.ASTArguments;
+import org.apache.commons.jexl3.parser.ASTDivNode;
+import org.apache.commons.jexl3.parser.ASTEQNode;
+import org.apache.commons.jexl3.parser.ASTFalseNode;
+import org.apache.commons.jexl3.parser.ASTFunctionNode;
+import org.apache.commons.jexl3.parser.ASTGENode;
+import org.apache.commons.jexl3.parser.ASTGTNode;
+import org.apache.commons.jexl3.parser.ASTIdentifier;
+import org.apache.commons.jexl3.parser.ASTJexlScript;
+import org.apache.commons.jexl3.parser.ASTLENode;
+import org.apache.commons.jexl3.parser.ASTLTNode;
+import org.apache.commons.jexl3.parser.ASTModNode;
+import org.apache.commons.jexl3.parser.ASTMulNode;
+import org.apache.commons.jexl3.parser.ASTNENode;
+import org.apache.commons.jexl3.parser.ASTNotNode;
+import org.apache.commons.jexl3.parser.ASTNullLiteral;
+import org.apache.commons.jexl3.parser.ASTNumberLiteral;
+import org.apache.commons.jexl3.parser.ASTOrNode;
+import org.apache.commons.jexl3.parser.ASTReferenceExpression;
+import org.apache.commons.jexl3.parser.ASTStringLiteral;
+import org.apache.commons.jexl3.parser.ASTSubNode;
+import org.apache.commons.jexl3.parser.ASTTrueNode;
+import org.apache.commons.jexl3.parser.ASTUnaryMinusNode;
+import org.apache.commons.jexl3.parser.JexlNode;
+import org.apache.commons.jexl3.parser.Parser;
+
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A compiled form of the simple expressions that make up most of the <code>set-column</code> and
+ * <code>filter-row</code> recipes: literals, variables, arithmetic, comparisons, logical operators and calls to
+ * the registered function namespaces.
+ *
+ * <p>The syntax tree produced by the JEXL parser is turned into a tree of evaluators, so execution no longer
+ * walks the syntax tree through the JEXL interpreter. Operators are delegated to the {@link JexlArithmetic} of the
+ * engine and functions are resolved through its {@link JexlUberspect}, the same way the interpreter does it.
+ * Expressions using any other construct are not compiled and are left to JEXL.</p>
+ *
+ * <p>Evaluation fails with the same {@link JexlException}s as the interpreter, at the same point of the
+ * evaluation, so a compiled expression is never executed again by JEXL.</p>
+ */
+final class CompiledExpression {
+  private final Evaluator root;
+
+  /**
+   * Parses the expression the same way the engine does it when creating a script.
+   *
+   * @param engine the {@link JexlEngine} the expression is parsed for
+   * @param expression the expression to parse
+   * @return the syntax tree of the expression
+   * @throws JexlException if the expression is not valid
+   */
+  static ASTJexlScript parse(JexlEngine engine, String expression) {
+    return new Parser(new StringReader(";")).parse(engine.createInfo(), expression, null, false, false);
+  }
+
+  /**
+   * Compiles a parsed expression into a {@link CompiledExpression}.
+   *
+   * @param engine the {@link JexlEngine} the expression is compiled for
+   * @param functions the function namespaces registered with the engine
+   * @param script the syntax tree of the expression, as returned by {@link #parse(JexlEngine, String)}
+   * @return the {@link CompiledExpression}, or {@code null} if the expression uses constructs not supported
+   */
+  @Nullable
+  static CompiledExpression compile(JexlEngine engine, Map<String, Object> functions, ASTJexlScript script) {
+    if (script.jjtGetNumChildren() != 1) {
+      return null;
+    }
+    Evaluator root = new Compiler(engine, functions).compile(script.jjtGetChild(0));
+    return root == null ? null : new CompiledExpression(root);
+  }
+
+  private CompiledExpression(Evaluator root) {
+    this.root = root;
+  }
+
+  /**
+   * Evaluates the expression against the given context.
+   *
+   * @param context the context providing the variables
+   * @return the result of the expression
+   * @throws JexlException if the evaluation fails
+   */
+  Object evaluate(ELContext context) {
+    return root.evaluate(context);
+  }
+
+  /**
+   * Evaluates a node of the expression.
+   */
+  private interface Evaluator {
+    Object evaluate(JexlContext context);
+  }
+
+  /**
+   * Evaluates a binary operator.
+   */
+  private interface Operator {
+    Object apply(Object left, Object right);
+  }
+
+  /**
+   * Turns the JEXL syntax tree into {@link Evaluator}s. Every method returns {@code null} if the node
+   * or one of its children is not supported.
+   */
+  private static final class Compiler {
+    private final JexlArithmetic arithmetic;
+    private final JexlUberspect uberspect;
+    private final Map<String, Object> functions;
+
+    Compiler(JexlEngine engine, Map<String, Object> functions) {
+      this.arithmetic = engine.getArithmetic();
+      this.uberspect = engine.getUberspect();
+      this.functions = functions;
+    }
+
+    @Nullable
+    Evaluator compile(JexlNode node) {
+      if (node instanceof ASTNumberLiteral) {
+        Object value = ((ASTNumberLiteral) node).getLiteral();
+        return context -> value;
+      }
+      if (node instanceof ASTStringLiteral) {
+        Object value = ((ASTStringLiteral) node).getLiteral();
+        return context -> value;
+      }
+      if (node instanceof ASTTrueNode) {
+        return context -> Boolean.TRUE;
+      }
+      if (node instanceof ASTFalseNode) {
+        return context -> Boolean.FALSE;
+      }
+      if (node instanceof ASTNullLiteral) {
+        return context -> null;
+      }
+      if (node instanceof ASTIdentifier) {
+        return variable((ASTIdentifier) node);
+      }
+      if (node instanceof ASTReferenceExpression) {
+        return node.jjtGetNumChildren() == 1 ? compile(node.jjtGetChild(0)) : null;
+      }
+      if (node instanceof ASTAddNode) {
+        return binary(node, "+", arithmetic::add);
+      }
+      if (node instanceof ASTSubNode) {
+        return binary(node, "-", arithmetic::subtract);
+      }
+      if (node instanceof ASTMulNode) {
+        return binary(node, "*", arithmetic::multiply);
+      }
+      if (node instanceof ASTDivNode) {
+        return binary(node, "/", arithmetic::divide);
+      }
+      if (node instanceof ASTModNode) {
+        return binary(node, "%", arithmetic::mod);
+      }
+      if (node instanceof ASTEQNode) {
+        return binary(node, "==", (l, r) -> arithmetic.equals(l, r) ? Boolean.TRUE : Boolean.FALSE);
+      }
+      if (node instanceof ASTNENode) {
+        return binary(node, "!=", (l, r) -> arithmetic.equals(l, r) ? Boolean.FALSE : Boolean.TRUE);
+      }
+      if (node instanceof ASTLTNode) {
+        return binary(node, "<", (l, r) -> arithmetic.lessThan(l, r) ? Boolean.TRUE : Boolean.FALSE);
+      }
+      if (node instanceof ASTGTNode) {
+        return binary(node, ">", (l, r) -> arithmetic.greaterThan(l, r) ? Boolean.TRUE : Boolean.FALSE);
+      }
+      if (node instanceof ASTLENode) {
+        return binary(node, "<=", (l, r) -> arithmetic.lessThanOrEqual(l, r) ? Boolean.TRUE : Boolean.FALSE);
+      }
+      if (node instanceof ASTGENode) {
+        return binary(node, ">=", (l, r) -> arithmetic.greaterThanOrEqual(l, r) ? Boolean.TRUE : Boolean.FALSE);
+      }
+      if (node instanceof ASTAndNode) {
+        return logical(node, false);
+      }
+      if (node instanceof ASTOrNode) {
+        return logical(node, true);
+      }
+      if (node instanceof ASTNotNode) {
+        return not(node);
+      }
+      if (node instanceof ASTUnaryMinusNode) {
+        return negate(node);
+      }
+      if (node instanceof ASTFunctionNode) {
+        return function((ASTFunctionNode) node);
+      }
+      return null;
+    }
+
+    @Nullable
+    private Evaluator variable(ASTIdentifier node) {
+      // Local variables only exist in scripts with parameters or 'var' declarations.
+      if (node.getSymbol() >= 0) {
+        return null;
+      }
+      String name = node.getName();
+      return context -> {
+        Object value = context.get(name);
+        if (value == null && !context.has(name)) {
+          throw new JexlException.Variable(node, name, true);
+        }
+        return value;
+      };
+    }
+
+    // Same as the interpreter, arithmetic errors are reported against the operator node.
+    @Nullable
+    private Evaluator binary(JexlNode node, String symbol, Operator operator) {
+      if (node.jjtGetNumChildren() != 2) {
+        return null;
+      }
+      Evaluator left = compile(node.jjtGetChild(0));
+      Evaluator right = compile(node.jjtGetChild(1));
+      if (left == null || right == null) {
+        return null;
+      }
+      String error = symbol + " error";
+      return context -> {
+        Object leftValue = left.evaluate(context);
+        Object rightValue = right.evaluate(context);
+        try {
+          return operator.apply(leftValue, rightValue);
+        } catch (ArithmeticException e) {
+          throw new JexlException(node, error, e);
+        }
+      };
+    }
+
+    // Evaluates the left operand, and the right one only if the left one is not the short circuit value. Coercion
+    // errors are reported against the operand, with the interpreter catching any error on the left operand but
+    // only arithmetic ones on the right operand.
+    @Nullable
+    private Evaluator logical(JexlNode node, boolean shortCircuit) {
+      if (node.jjtGetNumChildren() != 2) {
+        return null;
+      }
+      JexlNode leftNode = node.jjtGetChild(0);
+      JexlNode rightNode = node.jjtGetChild(1);
+      Evaluator left = compile(leftNode);
+      Evaluator right = compile(rightNode);
+      if (left == null || right == null) {
+        return null;
+      }
+      Boolean result = shortCircuit;
+      Boolean otherwise = !shortCircuit;
+      return context -> {
+        Object leftValue = left.evaluate(context);
+        try {
+          if (arithmetic.toBoolean(leftValue) == shortCircuit) {
+            return result;
+          }
+        } catch (RuntimeException e) {
+          throw new JexlException(leftNode, "boolean coercion error", e);
+        }
+        Object rightValue = right.evaluate(context);
+        try {
+          return arithmetic.toBoolean(rightValue) == shortCircuit ? result : otherwise;
+        } catch (ArithmeticException e) {
+          throw new JexlException(rightNode, "boolean coercion error", e);
+        }
+      };
+    }
+
+    @Nullable
+    private Evaluator not(JexlNode node) {
+      Evaluator operand = node.jjtGetNumChildren() == 1 ? compile(node.jjtGetChild(0)) : null;
+      if (operand == null) {
+        return null;
+      }
+      return context -> {
+        Object value = operand.evaluate(context);
+        try {
+          return arithmetic.not(value);
+        } catch (ArithmeticException e) {
+          throw new JexlException(node, "! error", e);
+        }
+      };
+    }
+
+    @Nullable
+    private Evaluator negate(JexlNode node) {
+      if (node.jjtGetNumChildren() != 1) {
+        return null;
+      }
+      JexlNode child = node.jjtGetChild(0);
+      Evaluator operand = compile(child);
+      if (operand == null) {
+        return null;
+      }
+      // Same as the interpreter, negated number literals keep the type of the literal where possible, and errors
+      // are reported against the operand.
+      Class<?> type = child instanceof ASTNumberLiteral ? ((ASTNumberLiteral) child).getLiteralClass() : null;
+      return context -> {
+        Object value = operand.evaluate(context);
+        try {
+          Object negated = arithmetic.negate(value);
+          return type != null && negated instanceof Number ? arithmetic.narrowNumber((Number) negated, type) : negated;
+        } catch (ArithmeticException e) {
+          throw new JexlException(child, "- error", e);
+        }
+      };
+    }
+
+    @Nullable
+    private Evaluator function(ASTFunctionNode node) {
+      int count = node.jjtGetNumChildren();
+      if (count != 2 && count != 3) {
+        return null;
+      }
+      String prefix = count == 3 ? identifier(node.jjtGetChild(0)) : null;
+      String name = identifier(node.jjtGetChild(count - 2));
+      JexlNode arguments = node.jjtGetChild(count - 1);
+      if ((count == 3 && prefix == null) || name == null || !(arguments instanceof ASTArguments)) {
+        return null;
+      }
+
+      // Only namespaces of static functions are supported, the interpreter instantiates namespaces
+      // having a constructor accepting the context for every execution.
+      Object namespace = functions.get(prefix);
+      if (!(namespace instanceof Class) || uberspect.getConstructor(namespace, new ELContext()) != null) {
+        return null;
+      }
+      Evaluator[] args = children(arguments);
+      if (args == null) {
+        return null;
+      }
+      // When the function cannot be resolved for the arguments, the interpreter also looks for a method of the same
+      // name on the context and on the arithmetic, called with the namespace followed by the arguments. Functions
+      // that could resolve to one of those are left to JEXL.
+      int arity = args.length + 1;
+      if (hasMethod(ELContext.class, name, arity) || hasMethod(arithmetic.getClass(), name, arity)) {
+        return null;
+      }
+      return new FunctionCall(node, arithmetic, uberspect, namespace, name, args);
+    }
+
+    private static boolean hasMethod(Class<?> type, String name, int arguments) {
+      for (Method method : type.getMethods()) {
+        int parameters = method.getParameterCount();
+        if (method.getName().equals(name)
+          && (parameters == arguments || (method.isVarArgs() && parameters - 1 <= arguments))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Nullable
+    private static String identifier(JexlNode node) {
+      return node instanceof ASTIdentifier ? ((ASTIdentifier) node).getName() : null;
+    }
+
+    @Nullable
+    private Evaluator[] children(JexlNode node) {
+      Evaluator[] children = new Evaluator[node.jjtGetNumChildren()];
+      for (int i = 0; i < children.length; i++) {
+        children[i] = compile(node.jjtGetChild(i));
+        if (children[i] == null) {
+          return null;
+        }
+      }
+      return children;
+    }
+  }
+
+  /**
+   * Calls a function of a namespace, caching the method resolved for the types of the last arguments. As with the
+   * interpreter, the arguments are narrowed to the smallest type that holds them if no method accepts them as is.
+   */
+  private static final class FunctionCall implements Evaluator {
+    private final JexlNode node;
+    private final JexlArithmetic arithmetic;
+    private final JexlUberspect uberspect;
+    private final Object namespace;
+    private final String name;
+    private final Evaluator[] arguments;
+    private volatile Resolved resolved;
+
+    FunctionCall(JexlNode node, JexlArithmetic arithmetic, JexlUberspect uberspect, Object namespace, String name,
+                 Evaluator[] arguments) {
+      this.node = node;
+      this.arithmetic = arithmetic;
+      this.uberspect = uberspect;
+      this.namespace = namespace;
+      this.name = name;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public Object evaluate(JexlContext context) {
+      Object[] args = new Object[arguments.length];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = arguments[i].evaluate(context);
+      }
+
+      try {
+        Resolved cached = resolved;
+        if (cached != null) {
+          Object[] callArgs = args;
+          if (cached.narrow) {
+            callArgs = args.clone();
+            arithmetic.narrowArguments(callArgs);
+          }
+          Object result = cached.method.tryInvoke(name, namespace, callArgs);
+          if (!cached.method.tryFailed(result)) {
+            return result;
+          }
+        }
+        boolean narrow = false;
+        JexlMethod method = uberspect.getMethod(namespace, name, args);
+        if (method == null && arithmetic.narrowArguments(args)) {
+          narrow = true;
+          method = uberspect.getMethod(namespace, name, args);
+        }
+        if (method == null) {
+          throw new JexlException.Method(node, name);
+        }
+        Object result = method.invoke(namespace, args);
+        if (method.isCacheable()) {
+          resolved = new Resolved(method, narrow);
+        }
+        return result;
+      } catch (JexlException.Method e) {
+        throw e;
+      } catch (Exception e) {
+        throw new JexlException(node, name, e);
+      }
+    }
+  }
+
+  /**
+   * A method resolved for a function, along with whether the arguments had to be narrowed to resolve it.
+   */
+  private static final class Resolved {
+    private final JexlMethod method;
+    private final boolean narrow;
+
+    Resolved(JexlMethod method, boolean narrow) {
+      this.method = method;
+      this.narrow = narrow;
+    }
+  }
+}
@@ -18,6 +18,9 @@ package io.cdap.wrangler.expression;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.cdap.cdap.api.common.Bytes;
 import io.cdap.functions.DDL;
 import io.cdap.functions.DataQuality;
@@ -35,6 +38,7 @@ import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlInfo;
 import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.jexl3.parser.ASTJexlScript;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.logging.Log;
@@ -46,16 +50,46 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * This class <code>EL</code> is a Expression Language Handler.
+ *
+ * <p>Compiled expressions are immutable and safe to share across threads, hence they are cached process wide,
+ * keyed by a copy of the functions registered and the expression text. All expressions compiled with the same set
+ * of functions share a single {@link JexlEngine}.</p>
+ *
+ * <p>Simple expressions are additionally compiled into a {@link CompiledExpression}, which is used for execution
+ * instead of the JEXL interpreter. Whether an expression is executed by its compiled form or by JEXL is decided
+ * once when it is compiled; the compiled form fails with the same errors as JEXL, so an expression is never
+ * executed twice.</p>
  */
 public final class EL {
 
+  // Maximum number of distinct function registrations for which an engine is kept.
+  private static final int MAX_ENGINES = 16;
+  // Maximum number of compiled expressions kept per engine.
+  private static final int MAX_EXPRESSIONS = 4096;
+
+  // Expressions reading the clock, through the datetime functions, the date functions relative to now or the time
+  // of the context, generating random numbers, or creating objects.
+  private static final Pattern NON_DETERMINISTIC_PATTERN = Pattern.compile(
+    "\\bdatetime\\s*:|\\bDAYS_BETWEEN_NOW\\b|\\bmath\\s*:\\s*random\\b|\\bctx\\s*\\.\\s*(nano|millis)\\b"
+      + "|\\bnew\\s*\\(");
+
+  private static final Cache<Map<String, Object>, Engine> ENGINES = CacheBuilder.newBuilder()
+    .maximumSize(MAX_ENGINES)
+    .build();
+
   private static volatile boolean used;
 
   private final Set<String> variables;
   private final JexlScript script;
+  @Nullable
+  private final CompiledExpression compiled;
+  private final boolean deterministic;
 
   /**
    * Returns {@code true} if this class has been used to execute JEXL script.
@@ -81,23 +115,31 @@ public final class EL {
    */
   public static EL compile(ELRegistration registration, String expression) throws ELException {
     used = true;
-    JexlEngine engine = new JexlBuilder()
-      .namespaces(registration.functions())
-      .silent(false)
-      .cache(1024)
-      .strict(true)
-      .logger(new NullLogger())
-      .create();
+    // The functions are copied, such that the key of the engine does not change if the registration changes them.
+    Map<String, Object> functions = Collections.unmodifiableMap(new HashMap<>(registration.functions()));
+    try {
+      Engine engine = ENGINES.get(functions, () -> new Engine(functions));
+      return engine.expressions.get(expression, () -> compile(engine, expression));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof ELException) {
+        throw (ELException) e.getCause();
+      }
+      throw new ELException(e.getCause());
+    }
+  }
 
+  private static EL compile(Engine engine, String expression) throws ELException {
     try {
       Set<String> variables = new HashSet<>();
-      JexlScript script = engine.createScript(expression);
+      JexlScript script = engine.jexl.createScript(expression);
+      ASTJexlScript ast = CompiledExpression.parse(engine.jexl, trim(expression));
       Set<List<String>> varSet = script.getVariables();
       for (List<String> vars : varSet) {
         variables.add(Joiner.on(".").join(vars));
       }
 
-      return new EL(script, variables);
+      return new EL(script, variables, CompiledExpression.compile(engine.jexl, engine.functions, ast),
+                    !NON_DETERMINISTIC_PATTERN.matcher(expression).find());
     } catch (JexlException e) {
       // JexlException.getMessage() uses 'io.cdap.wrangler.expression.EL' class name in the error message.
       // So instead use info object to get information about error message and create custom error message.
@@ -114,8 +156,11 @@ public final class EL {
 
   }
 
-  private EL(JexlScript script, Set<String> variables) {
+  private EL(JexlScript script, Set<String> variables, @Nullable CompiledExpression compiled,
+             boolean deterministic) {
     this.script = script;
+    this.compiled = compiled;
+    this.deterministic = deterministic;
     this.variables = Collections.unmodifiableSet(variables);
   }
 
@@ -123,6 +168,14 @@ public final class EL {
     return variables;
   }
 
+  /**
+   * @return {@code true} if the expression gives the same result every time it is executed with the same
+   * variables, {@code false} if it reads the clock, generates random numbers or creates objects.
+   */
+  public boolean isDeterministic() {
+    return deterministic;
+  }
+
   public String getScriptParsedText() {
     return script.getParsedText();
   }
@@ -135,7 +188,7 @@ public final class EL {
           context.add(variable, null);
         }
       }
-      Object value = script.execute(context);
+      Object value = compiled == null ? script.execute(context) : compiled.evaluate(context);
       return new ELResult(value);
     } catch (JexlException e) {
       // JexlException.getMessage() uses 'io.cdap.wrangler.expression.EL' class name in the error message.
@@ -161,6 +214,19 @@ public final class EL {
     }
   }
 
+  // Same as JexlEngine.createScript(), leading and trailing spaces are not part of the source of the script.
+  private static String trim(String expression) {
+    int start = 0;
+    int end = expression.length();
+    while (start < end && Character.isSpaceChar(expression.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isSpaceChar(expression.charAt(end - 1))) {
+      end--;
+    }
+    return expression.substring(start, end);
+  }
+
   /**
    * @return List of registered functions.
    */
@@ -190,6 +256,30 @@ public final class EL {
 
   }
 
+  /**
+   * A {@link JexlEngine} shared by all the expressions compiled with the same functions, along with the
+   * expressions it has compiled.
+   */
+  private static final class Engine {
+    private final Map<String, Object> functions;
+    private final JexlEngine jexl;
+    private final Cache<String, EL> expressions;
+
+    Engine(Map<String, Object> functions) {
+      this.functions = functions;
+      this.jexl = new JexlBuilder()
+        .namespaces(functions)
+        .silent(false)
+        .cache(1024)
+        .strict(true)
+        .logger(new NullLogger())
+        .create();
+      this.expressions = CacheBuilder.newBuilder()
+        .maximumSize(MAX_EXPRESSIONS)
+        .build();
+    }
+  }
+
   private static final class NullLogger implements Log {
     @Override
     public void debug(Object o) {
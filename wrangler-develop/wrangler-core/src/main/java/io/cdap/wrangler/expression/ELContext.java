@@ -82,6 +82,25 @@ public class ELContext implements JexlContext {
    * @param row the row for 'this'.
    */
   public ELContext(ExecutorContext context, EL el, Row row) {
+    bind(context, el, row);
+  }
+
+  /**
+   * Resets this context and sets it up for evaluating the expression on another row. This allows a directive
+   * to reuse a single context across all the rows it processes instead of creating one per row.
+   *
+   * <p>Variables are resolved by name on every row rather than bound once to column positions. Rows reaching a
+   * directive do not share a layout, as the directives before it add, drop and reorder columns row by row, so a
+   * position taken from one row could bind another column, or a duplicate of the column, on the next one. The
+   * lookup by name is backed by an index on wide rows, see {@link Row#find(String)}.</p>
+   *
+   * @param context to be examined to be extracted into JEXL expression variables.
+   * @param el the expression.
+   * @param row the row for 'this'.
+   * @return 'this' context.
+   */
+  public ELContext bind(@Nullable ExecutorContext context, EL el, Row row) {
+    values.clear();
     for (String var : el.variables()) {
       set(var, row.getValue(var));
     }
@@ -89,6 +108,7 @@ public class ELContext implements JexlContext {
     // because, el variables might not be present in a row.
     init(context);
     set("this", row);
+    return this;
   }
 
   @Nullable
@@ -63,6 +63,7 @@ public class GrammarBasedParser implements RecipeParser {
 
   /**
    * Parses the recipe provided to this class and instantiate a list of {@link Directive} from the recipe.
+   * The directives are optimized by the {@link RecipeOptimizer} before being returned.
    *
    * @return List of {@link Directive}.
    */
@@ -93,6 +94,7 @@ public class GrammarBasedParser implements RecipeParser {
         }
       });
 
+      RecipeOptimizer.optimize(result);
       return result;
     } catch (DirectiveLoadException | DirectiveNotFoundException | DirectiveParseException e) {
       throw new RecipeException(e.getMessage(), e, directiveIndex.get());
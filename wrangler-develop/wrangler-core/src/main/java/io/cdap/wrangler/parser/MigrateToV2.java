@@ -665,11 +665,13 @@ public final class MigrateToV2 implements GrammarMigrator {
         }
         break;
 
-        // table-lookup <column> <table>
+        // table-lookup <column> <table> [<cache-expiry>]
         case "table-lookup" : {
           String column = getNextToken(tokenizer, command, "column", lineno);
           String table = getNextToken(tokenizer, command, "table", lineno);
-          transformed.add(String.format("table-lookup %s %s;", col(column), quote(table)));
+          String cacheExpiry = getNextToken(tokenizer, null, command, "cache-expiry", lineno, true);
+          transformed.add(String.format("table-lookup %s %s%s;", col(column), quote(table),
+                                        cacheExpiry == null ? "" : " " + cacheExpiry));
         }
         break;
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.parser;
+
+import io.cdap.directives.parser.JsPath;
+import io.cdap.wrangler.api.Directive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class <code>RecipeOptimizer</code> rewrites the directives of a parsed recipe so that they execute faster,
+ * without changing the steps of the recipe or their results.
+ *
+ * <p>Consecutive <code>json-path</code> directives reading the same source column are fused, so that each JSON
+ * document is read once for all their paths instead of once per directive.</p>
+ */
+final class RecipeOptimizer {
+
+  private RecipeOptimizer() {
+  }
+
+  /**
+   * Optimizes the directives of a recipe in place.
+   *
+   * @param directives of the recipe, in order.
+   */
+  static void optimize(List<Directive> directives) {
+    List<JsPath> run = new ArrayList<>();
+    for (Directive directive : directives) {
+      JsPath previous = run.isEmpty() ? null : run.get(run.size() - 1);
+      if (previous != null && !(directive instanceof JsPath && previous.isFusable((JsPath) directive))) {
+        JsPath.fuse(run);
+        run.clear();
+      }
+      if (directive instanceof JsPath) {
+        run.add((JsPath) directive);
+      }
+    }
+    JsPath.fuse(run);
+  }
+}
@@ -1,130 +1,229 @@
+/*
+ * Copyright © 2017-2019 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
 package io.cdap.wrangler.parser;
 
-import io.cdap.wrangler.api.parser.SyntaxError;
-import io.cdap.wrangler.api.parser.TokenGroup; 
-import io.cdap.wrangler.api.parser.TokenType;
-import io.cdap.wrangler.api.RecipeParserException; 
-import io.cdap.wrangler.api.parser.ByteSize;
-import io.cdap.wrangler.api.parser.TimeDuration;
-import io.cdap.wrangler.parser.psi.DirectivesBaseVisitor;
-import io.cdap.wrangler.parser.psi.DirectivesParser; 
-import org.antlr.v4.runtime.tree.ParseTree;
+import io.cdap.wrangler.api.LazyNumber;
+import io.cdap.wrangler.api.RecipeSymbol;
+import io.cdap.wrangler.api.SourceInfo;
+import io.cdap.wrangler.api.Triplet;
+import io.cdap.wrangler.api.parser.Bool;
+import io.cdap.wrangler.api.parser.BoolList;
+import io.cdap.wrangler.api.parser.ColumnName;
+import io.cdap.wrangler.api.parser.ColumnNameList;
+import io.cdap.wrangler.api.parser.DirectiveName;
+import io.cdap.wrangler.api.parser.Expression;
+import io.cdap.wrangler.api.parser.Identifier;
+import io.cdap.wrangler.api.parser.Numeric;
+import io.cdap.wrangler.api.parser.NumericList;
+import io.cdap.wrangler.api.parser.Properties;
+import io.cdap.wrangler.api.parser.Ranges;
+import io.cdap.wrangler.api.parser.Text;
+import io.cdap.wrangler.api.parser.TextList;
+import io.cdap.wrangler.api.parser.Token;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
-public class RecipeVisitor extends DirectivesBaseVisitor<Object> { 
-
-    private final TokenGroup tokenGroup;
-    private final String recipe; 
-
-    public RecipeVisitor(String recipe, List<SyntaxError> errors) { 
-        this.recipe = recipe;
-        this.tokenGroup = new TokenGroup(errors); 
+import java.util.Map;
+
+/**
+ * This class <code>RecipeVisitor</code> implements the visitor pattern
+ * used during traversal of the AST tree. The <code>ParserTree#Walker</code>
+ * invokes appropriate methods as call backs with information about the node.
+ *
+ * <p>In order to understand what's being invoked, please look at the grammar file
+ * <tt>Directives.g4</tt>.</p>
+ *
+ * <p>This class exposes a <code>getCompiledUnit</code> method for retrieving the
+ * <code>RecipeSymbol</code> after visiting. The <code>RecipeSymbol</code> represents
+ * all the <code>TokenGroup</code> for all directives in a recipe. Each directive
+ * will create a <code>TokenGroup</code></p>
+ *
+ * <p>As the <code>ParseTree</code> is walking the tree, the methods visit* are invoked with
+ * information about the node in the tree. </p>
+ */
+public final class RecipeVisitor extends DirectivesBaseVisitor<RecipeSymbol.Builder> {
+  private RecipeSymbol.Builder builder = new RecipeSymbol.Builder();
+
+  public RecipeSymbol getCompiledUnit() {
+    return builder.build();
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitDirective(DirectivesParser.DirectiveContext ctx) {
+    builder.createTokenGroup(getOriginalSource(ctx));
+    return super.visitDirective(ctx);
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitIdentifier(DirectivesParser.IdentifierContext ctx) {
+    builder.addToken(new Identifier(ctx.Identifier().getText()));
+    return super.visitIdentifier(ctx);
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitPropertyList(DirectivesParser.PropertyListContext ctx) {
+    Map<String, Token> props = new HashMap<>();
+    for (DirectivesParser.PropertyContext property : ctx.property()) {
+      String identifier = property.Identifier().getText();
+      Token token;
+      if (property.number() != null) {
+        token = new Numeric(new LazyNumber(property.number().getText()));
+      } else if (property.bool() != null) {
+        token = new Bool(Boolean.valueOf(property.bool().getText()));
+      } else {
+        String text = property.text().getText();
+        token = new Text(text.substring(1, text.length() - 1));
+      }
+      props.put(identifier, token);
     }
-
-    public TokenGroup getTokenGroup() {
-        return tokenGroup;
+    builder.addToken(new Properties(props));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitPragmaLoadDirective(DirectivesParser.PragmaLoadDirectiveContext ctx) {
+    for (TerminalNode identifier : ctx.identifierList().Identifier()) {
+      builder.addLoadableDirective(identifier.getText());
     }
-
-
-
-
-    @Override
-    public Object visitValue(DirectivesParser.ValueContext ctx) {
-        if (ctx.BYTE_SIZE() != null) {
-            try {
-                tokenGroup.add(new ByteSize(ctx.BYTE_SIZE().getText()));
-            } catch (IllegalArgumentException e) {
-                 tokenGroup.getErrors().add(
-                     new SyntaxError(ctx.getStart().getLine(), ctx.getStart().getCharPositionInLine(),
-                                     ctx.getStop().getCharPositionInLine(), ctx.getText(), e.getMessage())
-                 );
-                 throw new RecipeParserException("Error parsing byte size: " + e.getMessage(), ctx);
-            }
-        } else if (ctx.TIME_DURATION() != null) {
-             try {
-                tokenGroup.add(new TimeDuration(ctx.TIME_DURATION().getText()));
-            } catch (IllegalArgumentException e) {
-                 tokenGroup.getErrors().add(
-                     new SyntaxError(ctx.getStart().getLine(), ctx.getStart().getCharPositionInLine(),
-                                     ctx.getStop().getCharPositionInLine(), ctx.getText(), e.getMessage())
-                 );
-                 throw new RecipeParserException("Error parsing time duration: " + e.getMessage(), ctx);
-            }
-        } else {
-            return super.visitValue(ctx); // Handle other value types
-        }
-        return null;
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitPragmaVersion(DirectivesParser.PragmaVersionContext ctx) {
+    builder.addVersion(ctx.Number().getText());
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitNumberRanges(DirectivesParser.NumberRangesContext ctx) {
+    List<Triplet<Numeric, Numeric, String>> output = new ArrayList<>();
+    for (DirectivesParser.NumberRangeContext range : ctx.numberRange()) {
+      List<TerminalNode> numbers = range.Number();
+      String text = range.value().getText();
+      if (text.startsWith("'") && text.endsWith("'")) {
+        text = text.substring(1, text.length() - 1);
+      }
+      output.add(new Triplet<>(new Numeric(new LazyNumber(numbers.get(0).getText())),
+                               new Numeric(new LazyNumber(numbers.get(1).getText())), text));
     }
-
-
-
-    @Override
-    public Object visitByteSizeArg(DirectivesParser.ByteSizeArgContext ctx) {
-         String byteSizeText = ctx.BYTE_SIZE().getText();
-         try {
-             tokenGroup.add(new ByteSize(byteSizeText));
-         } catch (IllegalArgumentException e) {
-             tokenGroup.getErrors().add(
-                 new SyntaxError(ctx.getStart().getLine(), ctx.getStart().getCharPositionInLine(),
-                                 ctx.getStop().getCharPositionInLine(), ctx.getText(), e.getMessage())
-             );
-             throw new RecipeParserException("Error parsing byte size argument: " + e.getMessage(), ctx);
-         }
-         return super.visitByteSizeArg(ctx);
+    builder.addToken(new Ranges(output));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitEcommand(DirectivesParser.EcommandContext ctx) {
+    builder.addToken(new DirectiveName(ctx.Identifier().getText()));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitColumn(DirectivesParser.ColumnContext ctx) {
+    builder.addToken(new ColumnName(ctx.Column().getText().substring(1)));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitText(DirectivesParser.TextContext ctx) {
+    String value = ctx.String().getText();
+    builder.addToken(new Text(value.substring(1, value.length() - 1)));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitNumber(DirectivesParser.NumberContext ctx) {
+    builder.addToken(new Numeric(new LazyNumber(ctx.Number().getText())));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitBool(DirectivesParser.BoolContext ctx) {
+    builder.addToken(new Bool(Boolean.valueOf(ctx.Bool().getText())));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitCondition(DirectivesParser.ConditionContext ctx) {
+    int childCount = ctx.getChildCount();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 1; i < childCount - 1; ++i) {
+      sb.append(ctx.getChild(i).getText()).append(" ");
     }
-
-    @Override
-    public Object visitTimeDurationArg(DirectivesParser.TimeDurationArgContext ctx) {
-         String timeDurationText = ctx.TIME_DURATION().getText();
-          try {
-             tokenGroup.add(new TimeDuration(timeDurationText));
-         } catch (IllegalArgumentException e) {
-             tokenGroup.getErrors().add(
-                 new SyntaxError(ctx.getStart().getLine(), ctx.getStart().getCharPositionInLine(),
-                                 ctx.getStop().getCharPositionInLine(), ctx.getText(), e.getMessage())
-             );
-             throw new RecipeParserException("Error parsing time duration argument: " + e.getMessage(), ctx);
-         }
-         return super.visitTimeDurationArg(ctx);
+    builder.addToken(new Expression(sb.toString()));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitCommand(DirectivesParser.CommandContext ctx) {
+    builder.addToken(new DirectiveName(ctx.Identifier().getText()));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitColList(DirectivesParser.ColListContext ctx) {
+    List<String> names = new ArrayList<>();
+    for (TerminalNode column : ctx.Column()) {
+      names.add(column.getText().substring(1));
     }
-
-
-
-    @Override
-    public Object visitAggregateStatsDirective(DirectivesParser.AggregateStatsDirectiveContext ctx) {
-       // Assuming DirectiveName token type exists and needs the directive name
-       tokenGroup.add(new io.cdap.wrangler.api.parser.DirectiveName(ctx.getStart().getText()));
-
-       // Visit children to add COLUMN and PROPERTY tokens to the tokenGroup
-       for (DirectivesParser.ColumnContext colCtx : ctx.column()) {
-           visit(colCtx); // Use generic visit or specific visitColumn if overridden
-       }
-       if (ctx.property() != null) {
-          for (DirectivesParser.PropertyContext propCtx : ctx.property()) {
-            visit(propCtx); // Use generic visit or specific visitProperty
-          }
-       }
-       return null;
+    builder.addToken(new ColumnNameList(names));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitNumberList(DirectivesParser.NumberListContext ctx) {
+    List<LazyNumber> numerics = new ArrayList<>();
+    for (TerminalNode number : ctx.Number()) {
+      numerics.add(new LazyNumber(number.getText()));
     }
-
-   
-
-    @Override
-    public Object visitColumn(DirectivesParser.ColumnContext ctx) {
-         // Logic to get text from COLUMN, QUOTED_STRING, or TEXT inside ctx
-         String colName = ctx.getText(); // Simplistic; may need refinement based on grammar
-         // Assuming COLUMN token type exists
-         tokenGroup.add(new io.cdap.wrangler.api.parser.ColumnName(colName));
-         return null;
+    builder.addToken(new NumericList(numerics));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitBoolList(DirectivesParser.BoolListContext ctx) {
+    List<Boolean> booleans = new ArrayList<>();
+    for (TerminalNode bool : ctx.Bool()) {
+      booleans.add(Boolean.parseBoolean(bool.getText()));
     }
-
-    @Override
-    public Object visitProperty(DirectivesParser.PropertyContext ctx) {
-        
-        tokenGroup.add(new io.cdap.wrangler.api.parser.Property(ctx.getText()));
-        return null;
+    builder.addToken(new BoolList(booleans));
+    return builder;
+  }
+
+  @Override
+  public RecipeSymbol.Builder visitStringList(DirectivesParser.StringListContext ctx) {
+    List<String> strs = new ArrayList<>();
+    for (TerminalNode string : ctx.String()) {
+      String text = string.getText();
+      strs.add(text.substring(1, text.length() - 1));
     }
-
-}
\ No newline at end of file
+    builder.addToken(new TextList(strs));
+    return builder;
+  }
+
+  private SourceInfo getOriginalSource(ParserRuleContext ctx) {
+    int a = ctx.getStart().getStartIndex();
+    int b = ctx.getStop().getStopIndex();
+    Interval interval = new Interval(a, b);
+    String text = ctx.start.getInputStream().getText(interval);
+    int lineno = ctx.getStart().getLine();
+    int column = ctx.getStart().getCharPositionInLine();
+    return new SourceInfo(lineno, column, text);
+  }
+}
@@ -16,8 +16,10 @@
 
 package io.cdap.wrangler.registry;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.cdap.cdap.api.artifact.ArtifactId;
 import io.cdap.cdap.api.artifact.ArtifactInfo;
 import io.cdap.cdap.api.artifact.ArtifactManager;
@@ -34,17 +36,27 @@ import io.cdap.cdap.etl.api.Transform;
 import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveLoadException;
 import io.cdap.wrangler.utils.ArtifactSummaryComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -66,18 +78,34 @@ import javax.annotation.Nullable;
  * provides a way to create an instance of the plugin. The name of the directive is
  * used as the <tt>id</tt> for the plugin.</p>
  *
+ * <p>The artifacts of a namespace are listed on the first reload of the namespace, then at most once every
+ * {@link #REFRESH_INTERVAL_MILLIS} in the background, such that reloading does not delay the caller. The
+ * class loader and the directives of an artifact are kept across reloads for as long as the artifact is listed,
+ * except for snapshot artifacts, whose content may change without a change of version.</p>
+ *
  * @see SystemDirectiveRegistry
  * @see CompositeDirectiveRegistry
  */
 public final class UserDirectiveRegistry implements DirectiveRegistry {
+  private static final Logger LOG = LoggerFactory.getLogger(UserDirectiveRegistry.class);
   private static final String WRANGLER_TRANSFORM = "wrangler-transform";
   private static final String WRANGLER_PLUGIN = "Wrangler";
+  private static final long REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
   private final Map<String, Map<String, DirectiveInfo>> registry = new ConcurrentSkipListMap<>();
-  private final List<CloseableClassLoader> classLoaders = new ArrayList<>();
+  // Directives loaded from the artifacts of each namespace, by artifact.
+  private final Map<String, Map<ArtifactSummary, ArtifactDirectives>> artifacts = new HashMap<>();
+  // Class loaders of artifacts no longer listed, with the time they were retired at. Directives loaded from them
+  // may still be executing, so they are closed by the first refresh at least one refresh interval later.
+  private final Map<CloseableClassLoader, Long> retiredClassLoaders = new IdentityHashMap<>();
+  // Time of the last listing of the artifacts of each namespace.
+  private final Map<String, Long> refreshTimes = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final long refreshIntervalMillis;
   private StageContext context;
   private HttpServiceContext manager;
-  private ArtifactSummary wranglerArtifact;
-  private SystemAppTaskContext systemAppTaskContext;
+  private volatile ArtifactSummary wranglerArtifact;
+  private Supplier<SystemAppTaskContext> systemAppTaskContext;
+  private ExecutorService refreshExecutor;
 
   /**
    * This constructor should be used when initializing the registry from <tt>Service</tt>.
@@ -93,6 +121,7 @@ public final class UserDirectiveRegistry implements DirectiveRegistry {
    */
   public UserDirectiveRegistry(HttpServiceContext manager) {
     this.manager = manager;
+    this.refreshIntervalMillis = REFRESH_INTERVAL_MILLIS;
   }
 
   /**
@@ -100,7 +129,27 @@ public final class UserDirectiveRegistry implements DirectiveRegistry {
    * @param systemAppTaskContext {@link SystemAppTaskContext}
    */
   public UserDirectiveRegistry(SystemAppTaskContext systemAppTaskContext) {
+    this(() -> systemAppTaskContext, REFRESH_INTERVAL_MILLIS);
+  }
+
+  /**
+   * This constructor is used when the registry is shared by remote tasks. Each task has its own
+   * {@link SystemAppTaskContext}, so the context of the running task is looked up whenever it is needed.
+   *
+   * @param systemAppTaskContext supplies the {@link SystemAppTaskContext} of the running task
+   */
+  public UserDirectiveRegistry(Supplier<SystemAppTaskContext> systemAppTaskContext) {
+    this(systemAppTaskContext, REFRESH_INTERVAL_MILLIS);
+  }
+
+  @VisibleForTesting
+  UserDirectiveRegistry(SystemAppTaskContext systemAppTaskContext, long refreshIntervalMillis) {
+    this(() -> systemAppTaskContext, refreshIntervalMillis);
+  }
+
+  private UserDirectiveRegistry(Supplier<SystemAppTaskContext> systemAppTaskContext, long refreshIntervalMillis) {
     this.systemAppTaskContext = systemAppTaskContext;
+    this.refreshIntervalMillis = refreshIntervalMillis;
   }
 
   /**
@@ -114,6 +163,7 @@ public final class UserDirectiveRegistry implements DirectiveRegistry {
    */
   public UserDirectiveRegistry(StageContext context) {
     this.context = context;
+    this.refreshIntervalMillis = REFRESH_INTERVAL_MILLIS;
   }
 
   /**
@@ -166,86 +216,202 @@ public final class UserDirectiveRegistry implements DirectiveRegistry {
       return context.loadPluginClass(name);
     }
     PluginConfigurer configurer = manager != null ?
-      manager.createPluginConfigurer(namespace) : systemAppTaskContext.createPluginConfigurer(namespace);
+      manager.createPluginConfigurer(namespace) : systemAppTaskContext.get().createPluginConfigurer(namespace);
     return configurer.usePluginClass(Directive.TYPE, name, UUID.randomUUID().toString(),
                                      PluginProperties.builder().build());
   }
 
+  /**
+   * Reloads the directives of the namespace. The artifacts are listed synchronously the first time, after that
+   * they are listed in the background if they were listed more than one refresh interval ago.
+   *
+   * @param namespace the namespace to reload directives in
+   */
   @Override
   public void reload(String namespace) throws DirectiveLoadException {
+    ArtifactManager artifactManager = getArtifactManager();
+    if (artifactManager == null) {
+      return;
+    }
+
+    Long refreshTime = refreshTimes.get(namespace);
+    if (refreshTime == null) {
+      refresh(artifactManager, namespace);
+      return;
+    }
+    if (System.currentTimeMillis() - refreshTime < refreshIntervalMillis || !refreshing.add(namespace)) {
+      return;
+    }
+    getRefreshExecutor().execute(() -> {
+      try {
+        refresh(artifactManager, namespace);
+      } catch (Exception e) {
+        LOG.warn("Failed to reload the user defined directives of namespace {}.", namespace, e);
+      } finally {
+        refreshing.remove(namespace);
+      }
+    });
+  }
+
+  private synchronized ExecutorService getRefreshExecutor() {
+    if (refreshExecutor == null) {
+      refreshExecutor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("user-directive-registry-refresh").setDaemon(true).build());
+    }
+    return refreshExecutor;
+  }
+
+  /**
+   * Lists the artifacts of the namespace and updates the directives of the namespace with the ones of the artifacts.
+   */
+  @VisibleForTesting
+  void refresh(String namespace) throws DirectiveLoadException {
+    ArtifactManager artifactManager = getArtifactManager();
+    if (artifactManager != null) {
+      refresh(artifactManager, namespace);
+    }
+  }
+
+  private synchronized void refresh(ArtifactManager artifactManager, String namespace) throws DirectiveLoadException {
+    long refreshTime = System.currentTimeMillis();
+    closeRetiredClassLoaders(refreshTime - refreshIntervalMillis);
     Map<String, DirectiveInfo> newRegistry = new TreeMap<>();
     Map<String, DirectiveInfo> currentRegistry = registry.computeIfAbsent(namespace,
                                                                           k -> new ConcurrentSkipListMap<>());
+    Map<ArtifactSummary, ArtifactDirectives> currentArtifacts = artifacts.getOrDefault(namespace,
+                                                                                     Collections.emptyMap());
+    Map<ArtifactSummary, ArtifactDirectives> newArtifacts = new HashMap<>();
 
-    ArtifactManager artifactManager = getArtifactManager();
-    if (artifactManager != null) {
-      try {
-        List<ArtifactInfo> artifacts = artifactManager.listArtifacts(namespace);
-        ArtifactSummary latestWrangler = null;
-        for (ArtifactInfo artifact : artifacts) {
-          boolean isWranglerArtifact = artifact.getName().equalsIgnoreCase(WRANGLER_TRANSFORM);
-          Set<PluginClass> plugins = artifact.getClasses().getPlugins();
-          CloseableClassLoader artifactClassLoader = null;
-
-          for (PluginClass plugin : plugins) {
-            if (Directive.TYPE.equalsIgnoreCase(plugin.getType())) {
-              if (artifactClassLoader == null) {
-                artifactClassLoader = artifactManager.createClassLoader(namespace, artifact,
-                                                                        getClass().getClassLoader());
-                classLoaders.add(artifactClassLoader);
-              }
-
-              Class<?> cls = artifactClassLoader.loadClass(plugin.getClassName());
-              if (!Directive.class.isAssignableFrom(cls)) {
-                throw new DirectiveLoadException("Plugin class " + plugin.getClassName() + " does not implement the "
-                                                   + Directive.class.getName() + " interface");
-              }
-              DirectiveInfo info = DirectiveInfo.fromUser((Class<? extends Directive>) cls,
-                                                          new ArtifactId(artifact.getName(),
-                                                                         new ArtifactVersion(artifact.getVersion()),
-                                                                         artifact.getScope()));
-              newRegistry.put(info.name(), info);
-            }
-
-            if (isWranglerArtifact && WRANGLER_PLUGIN.equals(plugin.getName())
-                && Transform.PLUGIN_TYPE.equals(plugin.getType())) {
-              latestWrangler = Optional.ofNullable(latestWrangler)
-                .map(l -> ArtifactSummaryComparator.pickLatest(l, artifact))
-                .orElse(artifact);
-            }
-          }
+    boolean success = false;
+    try {
+      List<ArtifactInfo> artifactInfos = artifactManager.listArtifacts(namespace);
+      ArtifactSummary latestWrangler = null;
+      for (ArtifactInfo artifact : artifactInfos) {
+        boolean isWranglerArtifact = artifact.getName().equalsIgnoreCase(WRANGLER_TRANSFORM);
+        ArtifactSummary key = new ArtifactSummary(artifact.getName(), artifact.getVersion(), artifact.getScope());
+        // A snapshot can be deployed again under the same version, it is only reloaded if it is listed differently.
+        ArtifactDirectives artifactDirectives = currentArtifacts.get(key);
+        if (artifactDirectives != null && new ArtifactVersion(artifact.getVersion()).isSnapshot()
+          && !artifactDirectives.artifact.equals(artifact)) {
+          artifactDirectives = null;
         }
 
-        if (latestWrangler != null) {
-          wranglerArtifact = latestWrangler;
+        for (PluginClass plugin : artifact.getClasses().getPlugins()) {
+          if (artifactDirectives == null && Directive.TYPE.equalsIgnoreCase(plugin.getType())) {
+            artifactDirectives = loadDirectives(artifactManager, namespace, artifact);
+          }
+
+          if (isWranglerArtifact && WRANGLER_PLUGIN.equals(plugin.getName())
+            && Transform.PLUGIN_TYPE.equals(plugin.getType())) {
+            latestWrangler = Optional.ofNullable(latestWrangler)
+              .map(l -> ArtifactSummaryComparator.pickLatest(l, artifact))
+              .orElse(artifact);
+          }
         }
 
-        MapDifference<String, DirectiveInfo> difference = Maps.difference(currentRegistry, newRegistry);
+        if (artifactDirectives != null) {
+          newArtifacts.put(key, artifactDirectives);
+          for (DirectiveInfo info : artifactDirectives.directives) {
+            newRegistry.put(info.name(), info);
+          }
+        }
+      }
 
-        // Remove elements from the registry that are not present in newly loaded registry
-        for (String directive : difference.entriesOnlyOnLeft().keySet()) {
-          currentRegistry.remove(directive);
+      if (latestWrangler != null) {
+        wranglerArtifact = latestWrangler;
+      }
+      success = true;
+    } catch (IllegalAccessException | InstantiationException | IOException | ClassNotFoundException e) {
+      throw new DirectiveLoadException(e.getMessage(), e);
+    } finally {
+      // Retires the class loaders of the artifacts that are not kept.
+      Map<ArtifactSummary, ArtifactDirectives> kept = success ? newArtifacts : currentArtifacts;
+      Map<ArtifactSummary, ArtifactDirectives> dropped = success ? currentArtifacts : newArtifacts;
+      for (Map.Entry<ArtifactSummary, ArtifactDirectives> entry : dropped.entrySet()) {
+        if (kept.get(entry.getKey()) != entry.getValue()) {
+          retiredClassLoaders.put(entry.getValue().classLoader, refreshTime);
         }
+      }
+    }
+    artifacts.put(namespace, newArtifacts);
+
+    MapDifference<String, DirectiveInfo> difference = Maps.difference(currentRegistry, newRegistry);
+
+    // Remove elements from the registry that are not present in newly loaded registry
+    for (String directive : difference.entriesOnlyOnLeft().keySet()) {
+      currentRegistry.remove(directive);
+    }
+
+    // Update common directives
+    for (String directive : difference.entriesInCommon().keySet()) {
+      currentRegistry.put(directive, difference.entriesInCommon().get(directive));
+    }
+
+    // Update new directives
+    for (String directive : difference.entriesOnlyOnRight().keySet()) {
+      currentRegistry.put(directive, difference.entriesOnlyOnRight().get(directive));
+    }
+    refreshTimes.put(namespace, refreshTime);
+  }
 
-        // Update common directives
-        for (String directive : difference.entriesInCommon().keySet()) {
-          currentRegistry.put(directive, difference.entriesInCommon().get(directive));
+  private ArtifactDirectives loadDirectives(ArtifactManager artifactManager, String namespace,
+                                            ArtifactInfo artifact)
+    throws IOException, ClassNotFoundException, DirectiveLoadException, InstantiationException,
+    IllegalAccessException {
+    CloseableClassLoader artifactClassLoader = artifactManager.createClassLoader(namespace, artifact,
+                                                                                getClass().getClassLoader());
+    ArtifactDirectives artifactDirectives = new ArtifactDirectives(artifact, artifactClassLoader);
+    try {
+      for (PluginClass plugin : artifact.getClasses().getPlugins()) {
+        if (!Directive.TYPE.equalsIgnoreCase(plugin.getType())) {
+          continue;
+        }
+        Class<?> cls = artifactClassLoader.loadClass(plugin.getClassName());
+        if (!Directive.class.isAssignableFrom(cls)) {
+          throw new DirectiveLoadException("Plugin class " + plugin.getClassName() + " does not implement the "
+                                             + Directive.class.getName() + " interface");
         }
+        artifactDirectives.directives.add(
+          DirectiveInfo.fromUser((Class<? extends Directive>) cls,
+                                 new ArtifactId(artifact.getName(), new ArtifactVersion(artifact.getVersion()),
+                                                artifact.getScope())));
+      }
+    } catch (Exception e) {
+      // None of the classes loaded were published, so the class loader can be closed right away.
+      try {
+        artifactClassLoader.close();
+      } catch (IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+      throw e;
+    }
+    return artifactDirectives;
+  }
 
-        // Update new directives
-        for (String directive : difference.entriesOnlyOnRight().keySet()) {
-          currentRegistry.put(directive, difference.entriesOnlyOnRight().get(directive));
+  // Closes the class loaders retired before the given time.
+  private void closeRetiredClassLoaders(long retiredBefore) {
+    Iterator<Map.Entry<CloseableClassLoader, Long>> iterator = retiredClassLoaders.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<CloseableClassLoader, Long> entry = iterator.next();
+      if (entry.getValue() <= retiredBefore) {
+        CloseableClassLoader classLoader = entry.getKey();
+        iterator.remove();
+        try {
+          classLoader.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close the class loader of retired user defined directives.", e);
         }
-      } catch (IllegalAccessException | InstantiationException | IOException | ClassNotFoundException e) {
-        throw new DirectiveLoadException(e.getMessage(), e);
       }
     }
   }
 
   @Nullable
   private ArtifactManager getArtifactManager() {
-    return manager != null ? manager :
-      systemAppTaskContext != null ? systemAppTaskContext.getArtifactManager() : null;
+    if (manager != null) {
+      return manager;
+    }
+    SystemAppTaskContext taskContext = systemAppTaskContext != null ? systemAppTaskContext.get() : null;
+    return taskContext != null ? taskContext.getArtifactManager() : null;
   }
 
   @Nullable
@@ -268,9 +434,33 @@ public final class UserDirectiveRegistry implements DirectiveRegistry {
    * Closes any resources acquired during initialization or otherwise.
    */
   @Override
-  public void close() throws IOException {
-    for (CloseableClassLoader classLoader : classLoaders) {
+  public synchronized void close() throws IOException {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+    }
+    for (Map<ArtifactSummary, ArtifactDirectives> namespaceArtifacts : artifacts.values()) {
+      for (ArtifactDirectives artifactDirectives : namespaceArtifacts.values()) {
+        artifactDirectives.classLoader.close();
+      }
+    }
+    artifacts.clear();
+    for (CloseableClassLoader classLoader : retiredClassLoaders.keySet()) {
       classLoader.close();
     }
+    retiredClassLoaders.clear();
+  }
+
+  /**
+   * An artifact as listed, its class loader and the directives loaded from it.
+   */
+  private static final class ArtifactDirectives {
+    private final ArtifactInfo artifact;
+    private final CloseableClassLoader classLoader;
+    private final List<DirectiveInfo> directives = new ArrayList<>();
+
+    private ArtifactDirectives(ArtifactInfo artifact, CloseableClassLoader classLoader) {
+      this.artifact = artifact;
+      this.classLoader = classLoader;
+    }
   }
 }
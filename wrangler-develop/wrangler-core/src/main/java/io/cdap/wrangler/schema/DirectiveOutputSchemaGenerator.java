@@ -54,17 +54,30 @@ public class DirectiveOutputSchemaGenerator {
   public void addNewOutputFields(List<Row> output) {
     for (Row row : output) {
       for (Pair<String, Object> field : row.getFields()) {
-        String fieldName = field.getFirst();
-        Object fieldValue = field.getSecond();
-        if (outputFieldMap.containsKey(fieldName)) {
-          // If existing value is null, override with this non-null value
-          if (fieldValue != null && outputFieldMap.get(fieldName) == null) {
-            outputFieldMap.put(fieldName, fieldValue);
-          }
-        } else {
-          outputFieldMap.put(fieldName, fieldValue);
-        }
+        addOutputField(field.getFirst(), field.getSecond());
+      }
+    }
+  }
+
+  /**
+   * Method to add the fields collected by another generator of the same directive, as if the output rows given to
+   * the other generator had been given to this one after its own.
+   * @param other generator whose fields are added to this one.
+   */
+  public void merge(DirectiveOutputSchemaGenerator other) {
+    for (Map.Entry<String, Object> field : other.outputFieldMap.entrySet()) {
+      addOutputField(field.getKey(), field.getValue());
+    }
+  }
+
+  private void addOutputField(String fieldName, @Nullable Object fieldValue) {
+    if (outputFieldMap.containsKey(fieldName)) {
+      // If existing value is null, override with this non-null value
+      if (fieldValue != null && outputFieldMap.get(fieldName) == null) {
+        outputFieldMap.put(fieldName, fieldValue);
       }
+    } else {
+      outputFieldMap.put(fieldName, fieldValue);
     }
   }
 
@@ -19,27 +19,49 @@ package io.cdap.wrangler.statistics;
 import io.cdap.wrangler.api.Row;
 import io.dataapps.chlorine.finder.FinderEngine;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Basic class to compute summary from a list of rows
+ * Basic class to compute summary from a list of rows.
+ *
+ * <p>Null and empty values are counted on all the rows. Types are detected on up to {@link #MAX_SAMPLED_VALUES}
+ * values of each column, spread evenly across the rows, and the type counts are scaled up to all the values of
+ * the column. Columns are typed in parallel.</p>
  */
 public class BasicStatistics implements Statistics {
   // default time out be 10s
   private static final long TIME_OUT_MILLIS = 10000;
+  private static final int MAX_SAMPLED_VALUES = 1000;
+  // Type detection takes seconds on strings of a few thousand characters, so longer values are not typed.
+  private static final int MAX_TYPED_LENGTH = 1000;
+  // Holds compiled patterns only, so it is shared by all instances and threads.
+  private static FinderEngine sharedEngine;
+
   private final FinderEngine engine;
 
   public BasicStatistics() throws Exception {
-    engine = new FinderEngine("wrangler-finder.xml", true, false);
+    engine = getEngine();
+  }
+
+  private static synchronized FinderEngine getEngine() throws Exception {
+    if (sharedEngine == null) {
+      sharedEngine = new FinderEngine("wrangler-finder.xml", true, false);
+    }
+    return sharedEngine;
   }
 
   @Override
   public Row aggregate(List<Row> rows) {
-    ColumnMetric types = new ColumnMetric();
     ColumnMetric stats = new ColumnMetric();
+    // Non-empty string values of each column.
+    Map<String, List<String>> values = new LinkedHashMap<>();
 
-    long startTime = System.currentTimeMillis();
     Double count = new Double(0);
     for (Row row : rows) {
       ++count;
@@ -58,20 +80,25 @@ public class BasicStatistics implements Statistics {
           if (value.isEmpty()) {
             stats.increment(column, "empty");
           } else {
-            // this call is very expensive for string > 2000 characters, took seconds to return
-            Map<String, List<String>> finds = engine.findWithType(value);
-            for (String find : finds.keySet()) {
-              types.increment(column, find);
-            }
-            // TODO: this is a workaround for CDAP-18262, to proper fix we should revisit this computation logic
-            if (System.currentTimeMillis() - startTime > TIME_OUT_MILLIS) {
-              break;
-            }
+            values.computeIfAbsent(column, k -> new ArrayList<>()).add(value);
           }
         }
       }
     }
 
+    // TODO: the time out is a workaround for CDAP-18262, to proper fix we should revisit this computation logic
+    long deadline = System.currentTimeMillis() + TIME_OUT_MILLIS;
+    Map<String, Map<String, Double>> columnTypes = new ConcurrentHashMap<>();
+    values.entrySet().parallelStream()
+      .forEach(entry -> columnTypes.put(entry.getKey(), findTypes(entry.getValue(), deadline)));
+
+    ColumnMetric types = new ColumnMetric();
+    for (Map.Entry<String, Map<String, Double>> column : columnTypes.entrySet()) {
+      for (Map.Entry<String, Double> type : column.getValue().entrySet()) {
+        types.set(column.getKey(), type.getKey(), type.getValue());
+      }
+    }
+
     Row rowTypes = new Row();
     for (String column : types.getColumns()) {
       rowTypes.add(column, types.percentage(column, count));
@@ -89,4 +116,32 @@ public class BasicStatistics implements Statistics {
 
     return row;
   }
+
+  /**
+   * Counts the values of each type among a sample of the values, scaled up to all the values.
+   */
+  private Map<String, Double> findTypes(List<String> values, long deadline) {
+    int sampleSize = Math.min(values.size(), MAX_SAMPLED_VALUES);
+    // Columns often repeat values, whose types are only found once.
+    Map<String, Set<String>> found = new HashMap<>();
+    Map<String, Double> counts = new HashMap<>();
+    int sampled = 0;
+    while (sampled < sampleSize && System.currentTimeMillis() < deadline) {
+      String value = values.get((int) ((long) sampled * values.size() / sampleSize));
+      sampled++;
+      if (value.length() > MAX_TYPED_LENGTH) {
+        continue;
+      }
+      Set<String> types = found.computeIfAbsent(value, v -> engine.findWithType(v).keySet());
+      for (String type : types) {
+        counts.merge(type, 1.0, Double::sum);
+      }
+    }
+
+    if (sampled > 0 && sampled < values.size()) {
+      double scale = (double) values.size() / sampled;
+      counts.replaceAll((type, typeCount) -> typeCount * scale);
+    }
+    return counts;
+  }
 }
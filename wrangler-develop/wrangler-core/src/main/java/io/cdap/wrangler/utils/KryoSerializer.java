@@ -20,12 +20,11 @@ import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.serializers.JavaSerializer;
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.RemoteDirectiveResponse;
 import io.cdap.wrangler.api.Row;
@@ -45,11 +44,11 @@ import java.util.Map;
  **/
 public class KryoSerializer {
 
-  private final Kryo kryo;
-  private static final Gson GSON = new Gson();
+  // Kryo instances are expensive to create and not thread safe, so each thread reuses its own.
+  private static final ThreadLocal<Kryo> KRYO = ThreadLocal.withInitial(KryoSerializer::createKryo);
 
-  public KryoSerializer() {
-    kryo = new Kryo();
+  private static Kryo createKryo() {
+    Kryo kryo = new Kryo();
     // Register all classes from RemoteDirectiveResponse
     kryo.register(RemoteDirectiveResponse.class);
     // Schema does not have no-arg constructor but implements Serializable
@@ -72,29 +71,47 @@ public class KryoSerializer {
     kryo.register(java.sql.Date.class);
     kryo.register(Time.class);
     kryo.register(Timestamp.class);
+    return kryo;
   }
 
   public byte[] fromRemoteDirectiveResponse(RemoteDirectiveResponse response) {
     Output output = new Output(1024, -1);
-    kryo.writeClassAndObject(output, response);
-    return output.getBuffer();
+    KRYO.get().writeClassAndObject(output, response);
+    return output.toBytes();
   }
 
   public RemoteDirectiveResponse toRemoteDirectiveResponse(byte[] bytes) {
     Input input = new Input(bytes);
-    return (RemoteDirectiveResponse) kryo.readClassAndObject(input);
+    return (RemoteDirectiveResponse) KRYO.get().readClassAndObject(input);
   }
 
-  static class JsonSerializer extends Serializer<JsonElement> {
+  /**
+   * Writes the type and the text of a {@link JsonPrimitive}, which preserves the precision of numbers.
+   */
+  static class JsonSerializer extends Serializer<JsonPrimitive> {
+    private static final byte BOOLEAN = 0;
+    private static final byte NUMBER = 1;
+    private static final byte STRING = 2;
 
     @Override
-    public void write(Kryo kryo, Output output, JsonElement object) {
-      output.writeString(GSON.toJson(object));
+    public void write(Kryo kryo, Output output, JsonPrimitive object) {
+      if (object.isBoolean()) {
+        output.writeByte(BOOLEAN);
+        output.writeBoolean(object.getAsBoolean());
+      } else {
+        output.writeByte(object.isNumber() ? NUMBER : STRING);
+        output.writeString(object.getAsString());
+      }
     }
 
     @Override
-    public JsonElement read(Kryo kryo, Input input, Class<JsonElement> type) {
-      return GSON.fromJson(input.readString(), type);
+    public JsonPrimitive read(Kryo kryo, Input input, Class<JsonPrimitive> type) {
+      byte primitiveType = input.readByte();
+      if (primitiveType == BOOLEAN) {
+        return new JsonPrimitive(input.readBoolean());
+      }
+      String value = input.readString();
+      return primitiveType == NUMBER ? new JsonPrimitive(new LazilyParsedNumber(value)) : new JsonPrimitive(value);
     }
   }
 }
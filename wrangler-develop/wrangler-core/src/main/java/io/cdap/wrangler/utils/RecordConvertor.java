@@ -75,7 +75,7 @@ public final class RecordConvertor implements Serializable {
       return null;
     }
     // TODO: This is a hack to workaround StructuredRecord processing. NEED TO RETHINK.
-    if (row.getFields().size() == 1) {
+    if (row.width() == 1) {
       Object cell = row.getValue(0);
       if (cell instanceof StructuredRecord) {
         return (StructuredRecord) cell;
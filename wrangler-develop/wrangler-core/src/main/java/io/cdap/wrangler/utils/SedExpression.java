@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A sed expression compiled into a {@link Pattern} based program, that is applied on a single line of text.
+ *
+ * <p>The expressions supported, and their results, are the ones of the unix4j sed command applied on a single
+ * line:</p>
+ * <ul>
+ *   <li>{@code s/regex/replacement/flags} substitutes the matches of the regex with the replacement. The flags
+ *   are an optional occurrence index, followed by any of {@code g} (global), {@code I} (ignore case) and
+ *   {@code p}. The replacement follows the syntax of {@link Matcher#appendReplacement}.</li>
+ *   <li>{@code y/source/destination/} translates the characters of source into the ones of destination.</li>
+ *   <li>{@code /regex/I d} and {@code /regex/I p} delete or print twice the lines matching the regex, the
+ *   {@code I} flag being optional.</li>
+ * </ul>
+ *
+ * <p>Any character other than a backslash can be used as delimiter, and is escaped with a backslash.
+ * Instances are immutable and can be shared between threads.</p>
+ */
+public final class SedExpression {
+  private enum Command {
+    SUBSTITUTE, TRANSLATE, DELETE, PRINT
+  }
+
+  private final Command command;
+  private final Pattern pattern;
+  // Parts of the replacement, and occurrence and global flags of the substitute command.
+  private final Part[] replacement;
+  private final int occurrence;
+  private final boolean global;
+  // Source and destination characters of the translate command.
+  private final String source;
+  private final String destination;
+
+  private SedExpression(Command command, Pattern pattern, Part[] replacement, int occurrence, boolean global,
+                        String source, String destination) {
+    this.command = command;
+    this.pattern = pattern;
+    this.replacement = replacement;
+    this.occurrence = occurrence;
+    this.global = global;
+    this.source = source;
+    this.destination = destination;
+  }
+
+  /**
+   * Compiles a sed expression.
+   *
+   * @param script the sed expression, such as {@code s/original/replacement/g}.
+   * @return the compiled expression.
+   * @throws IllegalArgumentException if the expression is invalid.
+   */
+  public static SedExpression compile(String script) {
+    int start = skipWhitespace(script, 0);
+    if (start == script.length()) {
+      throw new IllegalArgumentException("Command missing in sed script: " + script);
+    }
+    char c = script.charAt(start);
+    if (c == 's') {
+      return compileSubstitute(script, start + 1);
+    }
+    if (c == 'y') {
+      return compileTranslate(script, start + 1);
+    }
+    return compileAddressed(script, start);
+  }
+
+  /**
+   * Applies the expression on a line.
+   *
+   * @param line to which the expression is applied.
+   * @return the result, or the line itself if the expression did not change it.
+   */
+  public String apply(String line) {
+    switch (command) {
+      case SUBSTITUTE:
+        return substitute(line);
+      case TRANSLATE:
+        return translate(line);
+      case DELETE:
+        return pattern.matcher(line).find() ? "" : line;
+      case PRINT:
+        return pattern.matcher(line).find() ? line + System.lineSeparator() + line : line;
+      default:
+        throw new IllegalStateException("Unsupported sed command " + command);
+    }
+  }
+
+  private String substitute(String line) {
+    Matcher matcher = pattern.matcher(line);
+    if (!matcher.find()) {
+      return line;
+    }
+    // Skips to the occurrence to be replaced, after which all the matches are replaced if global.
+    for (int i = 1; i < occurrence; i++) {
+      if (!matcher.find()) {
+        return line;
+      }
+    }
+    StringBuilder builder = new StringBuilder(line.length() + 16);
+    int last = 0;
+    do {
+      last = replace(matcher, line, builder, last);
+    } while (global && matcher.find());
+    return builder.append(line, last, line.length()).toString();
+  }
+
+  private int replace(Matcher matcher, String line, StringBuilder builder, int last) {
+    builder.append(line, last, matcher.start());
+    for (Part part : replacement) {
+      if (part.literal != null) {
+        builder.append(part.literal);
+      } else if (part.name != null) {
+        String group = matcher.group(part.name);
+        if (group != null) {
+          builder.append(group);
+        }
+      } else if (matcher.start(part.group) != -1) {
+        builder.append(line, matcher.start(part.group), matcher.end(part.group));
+      }
+    }
+    return matcher.end();
+  }
+
+  private String translate(String line) {
+    char[] chars = null;
+    for (int i = 0; i < line.length(); i++) {
+      int index = source.indexOf(line.charAt(i));
+      if (index != -1 && index < destination.length()) {
+        if (chars == null) {
+          chars = line.toCharArray();
+        }
+        chars[i] = destination.charAt(index);
+      }
+    }
+    return chars == null ? line : new String(chars);
+  }
+
+  private static SedExpression compileSubstitute(String script, int delimiter) {
+    int regexEnd = indexOfDelimiter(script, delimiter);
+    int replacementEnd = indexOfDelimiter(script, regexEnd);
+    if (regexEnd < 0 || replacementEnd < 0) {
+      throw new IllegalArgumentException("Invalid substitute command in sed script: " + script);
+    }
+    int flagsEnd = indexOfWhitespace(script, replacementEnd + 1);
+    checkTrailingWhitespace(script, flagsEnd);
+
+    // Flags are an optional occurrence index followed by the g, p and I flags.
+    boolean global = false;
+    boolean ignoreCase = false;
+    int i = flagsEnd - 1;
+    for (; i > replacementEnd; i--) {
+      char flag = script.charAt(i);
+      if (flag == 'g') {
+        global = true;
+      } else if (flag == 'I') {
+        ignoreCase = true;
+      } else if (flag != 'p') {
+        break;
+      }
+    }
+    int occurrence = 0;
+    if (i > replacementEnd) {
+      String index = script.substring(replacementEnd + 1, i + 1);
+      try {
+        occurrence = Integer.parseInt(index);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid substitute flags in sed script: " + script, e);
+      }
+      if (occurrence <= 0) {
+        throw new IllegalArgumentException("Invalid occurrence index " + occurrence + " in sed script: " + script);
+      }
+    }
+
+    Pattern pattern = compilePattern(script.substring(delimiter + 1, regexEnd), ignoreCase);
+    Part[] replacement = compileReplacement(pattern, script.substring(regexEnd + 1, replacementEnd));
+    return new SedExpression(Command.SUBSTITUTE, pattern, replacement, occurrence, global, null, null);
+  }
+
+  private static SedExpression compileTranslate(String script, int delimiter) {
+    int sourceEnd = indexOfDelimiter(script, delimiter);
+    int destinationEnd = indexOfDelimiter(script, sourceEnd);
+    if (sourceEnd < 0 || destinationEnd < 0) {
+      throw new IllegalArgumentException("Invalid translate command in sed script: " + script);
+    }
+    checkTrailingWhitespace(script, destinationEnd + 1);
+    return new SedExpression(Command.TRANSLATE, null, null, 0, false, script.substring(delimiter + 1, sourceEnd),
+                             script.substring(sourceEnd + 1, destinationEnd));
+  }
+
+  private static SedExpression compileAddressed(String script, int delimiter) {
+    int regexEnd = indexOfDelimiter(script, delimiter);
+    if (regexEnd < 0) {
+      throw new IllegalArgumentException("Regex is not terminated in sed script: " + script);
+    }
+    int i = regexEnd + 1;
+    boolean ignoreCase = i < script.length() && script.charAt(i) == 'I';
+    if (ignoreCase) {
+      i++;
+    }
+    i = skipWhitespace(script, i);
+    Command command = null;
+    if (i < script.length() && script.charAt(i) == 'd') {
+      command = Command.DELETE;
+    } else if (i < script.length() && script.charAt(i) == 'p') {
+      command = Command.PRINT;
+    }
+    if (command == null) {
+      throw new IllegalArgumentException("Command 'd' or 'p' expected in sed script: " + script);
+    }
+    checkTrailingWhitespace(script, i + 1);
+    Pattern pattern = compilePattern(script.substring(delimiter + 1, regexEnd), ignoreCase);
+    return new SedExpression(command, pattern, null, 0, false, null, null);
+  }
+
+  private static Pattern compilePattern(String regex, boolean ignoreCase) {
+    return ignoreCase ? Pattern.compile(regex, Pattern.CASE_INSENSITIVE) : Pattern.compile(regex);
+  }
+
+  /**
+   * Compiles a replacement with the syntax of {@link Matcher#appendReplacement}: '\' escapes the next character,
+   * and '$n' and '${name}' refer to the groups of the pattern.
+   */
+  private static Part[] compileReplacement(Pattern pattern, String replacement) {
+    int groupCount = pattern.matcher("").groupCount();
+    List<Part> parts = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < replacement.length()) {
+      char c = replacement.charAt(i++);
+      if (c == '\\') {
+        if (i == replacement.length()) {
+          throw new IllegalArgumentException("Character to be escaped is missing in replacement: " + replacement);
+        }
+        literal.append(replacement.charAt(i++));
+      } else if (c == '$') {
+        if (i == replacement.length()) {
+          throw new IllegalArgumentException("Group index is missing in replacement: " + replacement);
+        }
+        Part group;
+        if (replacement.charAt(i) == '{') {
+          int end = replacement.indexOf('}', i);
+          if (end < 0) {
+            throw new IllegalArgumentException("Group name is missing trailing '}' in replacement: " + replacement);
+          }
+          String name = replacement.substring(i + 1, end);
+          if (!pattern.pattern().contains("(?<" + name + ">")) {
+            throw new IllegalArgumentException("No group with name {" + name + "} in replacement: " + replacement);
+          }
+          group = new Part(null, -1, name);
+          i = end + 1;
+        } else {
+          int index = replacement.charAt(i++) - '0';
+          if (index < 0 || index > 9) {
+            throw new IllegalArgumentException("Illegal group reference in replacement: " + replacement);
+          }
+          // Same as Matcher, following digits are part of the index as long as the group exists.
+          while (i < replacement.length()) {
+            int digit = replacement.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || index * 10 + digit > groupCount) {
+              break;
+            }
+            index = index * 10 + digit;
+            i++;
+          }
+          if (index > groupCount) {
+            throw new IllegalArgumentException("No group " + index + " in replacement: " + replacement);
+          }
+          group = new Part(null, index, null);
+        }
+        if (literal.length() > 0) {
+          parts.add(new Part(literal.toString(), -1, null));
+          literal.setLength(0);
+        }
+        parts.add(group);
+      } else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      parts.add(new Part(literal.toString(), -1, null));
+    }
+    return parts.toArray(new Part[0]);
+  }
+
+  /**
+   * Returns the index of the next unescaped occurrence of the delimiter at the given index, or -1 if there is none.
+   */
+  private static int indexOfDelimiter(String script, int delimiter) {
+    if (delimiter < 0 || delimiter >= script.length()) {
+      return -1;
+    }
+    char c = script.charAt(delimiter);
+    if (c == '\\') {
+      throw new IllegalArgumentException("Invalid delimiter '\\' in sed script: " + script);
+    }
+    int index = delimiter;
+    do {
+      index = script.indexOf(c, index + 1);
+    } while (index >= 0 && isEscaped(script, index));
+    return index;
+  }
+
+  private static boolean isEscaped(String script, int index) {
+    int backslashes = 0;
+    for (int i = index - 1; i >= 0 && script.charAt(i) == '\\'; i--) {
+      backslashes++;
+    }
+    return backslashes % 2 == 1;
+  }
+
+  private static int skipWhitespace(String script, int from) {
+    int i = from;
+    while (i < script.length() && Character.isWhitespace(script.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int indexOfWhitespace(String script, int from) {
+    int i = from;
+    while (i < script.length() && !Character.isWhitespace(script.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static void checkTrailingWhitespace(String script, int from) {
+    if (skipWhitespace(script, from) != script.length()) {
+      throw new IllegalArgumentException("Unexpected characters after the command in sed script: " + script);
+    }
+  }
+
+  /**
+   * A part of a replacement: either a literal, or a reference to a group by index or by name.
+   */
+  private static final class Part {
+    private final String literal;
+    private final int group;
+    private final String name;
+
+    private Part(String literal, int group, String name) {
+      this.literal = literal;
+      this.group = group;
+      this.name = name;
+    }
+  }
+}
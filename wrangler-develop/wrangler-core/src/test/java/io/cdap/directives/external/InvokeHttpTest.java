@@ -23,9 +23,13 @@ import io.cdap.http.HandlerContext;
 import io.cdap.http.HttpHandler;
 import io.cdap.http.HttpResponder;
 import io.cdap.http.NettyHttpService;
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.ErrorRecord;
 import io.cdap.wrangler.api.RecipePipeline;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.junit.After;
@@ -33,12 +37,16 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.net.ServerSocket;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -48,6 +56,7 @@ import javax.ws.rs.Path;
  */
 public class InvokeHttpTest {
   private static final Gson GSON = new Gson();
+  private static final AtomicInteger REQUESTS = new AtomicInteger();
   private static NettyHttpService httpService;
   private static String baseURL;
 
@@ -59,6 +68,7 @@ public class InvokeHttpTest {
       .setHttpHandlers(handlers)
       .build();
     httpService.start();
+    REQUESTS.set(0);
     int port = httpService.getBindAddress().getPort();
     baseURL = "http://localhost:" + port;
   }
@@ -86,6 +96,52 @@ public class InvokeHttpTest {
       responder.sendJson(HttpResponseStatus.OK, GSON.toJson(response));
     }
 
+    @POST
+    @Path("batch")
+    public void batch(FullHttpRequest request, HttpResponder responder) {
+      REQUESTS.incrementAndGet();
+      List<Map<String, Object>> objects = GSON.fromJson(request.content().toString(StandardCharsets.UTF_8),
+                                                        new TypeToken<List<Map<String, Object>>>() { }.getType());
+      List<Map<String, Object>> responses = new ArrayList<>();
+      for (Map<String, Object> object : objects) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("c", String.format("%s:%f", object.get("a"), object.get("b")));
+        responses.add(response);
+      }
+      responder.sendJson(HttpResponseStatus.OK, GSON.toJson(responses));
+    }
+
+    @POST
+    @Path("nested")
+    public void nested(FullHttpRequest request, HttpResponder responder) {
+      REQUESTS.incrementAndGet();
+      Map<String, Object> response = new HashMap<>();
+      response.put("c", postRequest(request));
+      responder.sendJson(HttpResponseStatus.OK, GSON.toJson(response));
+    }
+
+    @POST
+    @Path("flaky")
+    public void flaky(FullHttpRequest request, HttpResponder responder) {
+      if (REQUESTS.incrementAndGet() % 2 == 1) {
+        responder.sendStatus(HttpResponseStatus.SERVICE_UNAVAILABLE);
+        return;
+      }
+      append(request, responder, null);
+    }
+
+    @POST
+    @Path("partial")
+    public void partial(FullHttpRequest request, HttpResponder responder) {
+      REQUESTS.incrementAndGet();
+      Map<String, Object> object = postRequest(request);
+      if ("x".equals(object.get("a"))) {
+        responder.sendStatus(HttpResponseStatus.BAD_REQUEST);
+        return;
+      }
+      responder.sendJson(HttpResponseStatus.OK, GSON.toJson(Collections.singletonMap("c", object.get("a"))));
+    }
+
     private Map<String, Object> postRequest(FullHttpRequest request) throws JsonParseException {
       String contentString = request.content().toString(StandardCharsets.UTF_8);
       if (contentString.isEmpty()) {
@@ -155,6 +211,117 @@ public class InvokeHttpTest {
     Assert.assertTrue(executor.errors().size() == 2);
   }
 
+  @Test
+  public void testHttpInvokeBatchedAndCached() throws Exception {
+    String[] directives = new String[] {
+      "invoke-http " + (baseURL + "/batch ") + "a,b '' 'batch=2,cache=100,concurrency=4'"
+    };
+
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      rows.add(new Row("a", String.valueOf(i % 5)).add("b", 1.5));
+    }
+
+    // The directive is given several rows at once, as it is when a previous directive splits a row.
+    Directive directive = TestingRig.parse(directives).parse().get(0);
+    rows = directive.execute(rows, null);
+    Assert.assertEquals(20, rows.size());
+    for (int i = 0; i < 20; i++) {
+      Assert.assertEquals((i % 5) + ":1.500000", rows.get(i).getValue("c"));
+    }
+    // Five distinct parameters, two per request.
+    Assert.assertEquals(3, REQUESTS.get());
+
+    // Cached responses are not requested again.
+    rows = directive.execute(Arrays.asList(new Row("a", "1").add("b", 1.5), new Row("a", "4").add("b", 1.5)), null);
+    Assert.assertEquals("4:1.500000", rows.get(1).getValue("c"));
+    Assert.assertEquals(3, REQUESTS.get());
+  }
+
+  @Test
+  public void testHttpInvokeRetries() throws Exception {
+    // Responses from the endpoint are not retried.
+    String[] directives = new String[] {
+      "invoke-http " + (baseURL + "/flaky ") + "a,b '' 'retries=2'"
+    };
+    RecipePipeline executor = TestingRig.execute(directives);
+    List<Row> rows = executor.execute(Arrays.asList(new Row("a", "1").add("b", 2.0)));
+    Assert.assertEquals(0, rows.size());
+    Assert.assertEquals(1, executor.errors().size());
+    Assert.assertEquals(1, REQUESTS.get());
+
+    // Requests that failed to connect are retried, with a backoff of 100 and 200 milliseconds.
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    directives = new String[] {
+      "invoke-http http://localhost:" + port + "/service a,b '' 'retries=2'"
+    };
+    executor = TestingRig.execute(directives);
+    long start = System.nanoTime();
+    rows = executor.execute(Arrays.asList(new Row("a", "1").add("b", 2.0)));
+    Assert.assertEquals(0, rows.size());
+    Assert.assertEquals(1, executor.errors().size());
+    Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+  }
+
+  @Test
+  public void testHttpInvokeReportsErrorsPerRow() throws Exception {
+    // The row is split in three rows, of which only the one with 'x' fails.
+    String[] directives = new String[] {
+      "split-to-rows a ,",
+      "invoke-http " + (baseURL + "/partial ") + "a",
+      "set-column d c + '!'"
+    };
+    RecipePipeline executor = TestingRig.execute(directives);
+    List<Row> rows = executor.execute(Collections.singletonList(new Row("a", "1,x,2")));
+
+    // The rows whose request succeeded carry on through the recipe, each request is sent once.
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals("1!", rows.get(0).getValue("d"));
+    Assert.assertEquals("2!", rows.get(1).getValue("d"));
+    Assert.assertEquals(3, REQUESTS.get());
+
+    List<ErrorRecord> errors = executor.errors();
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals("x", errors.get(0).getRow().getValue("a"));
+    Assert.assertEquals(400, errors.get(0).getCode());
+  }
+
+  @Test
+  public void testHttpInvokeIsNotDeduplicatedWithoutCache() throws Exception {
+    String[] directives = new String[] {
+      "invoke-http " + (baseURL + "/nested ") + "a"
+    };
+    List<Row> rows = TestingRig.execute(directives, Arrays.asList(new Row("a", "1"), new Row("a", "1")));
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals(2, REQUESTS.get());
+    Assert.assertNotSame(rows.get(0).getValue("c"), rows.get(1).getValue("c"));
+  }
+
+  @Test
+  public void testHttpInvokeCachedResponsesAreCopied() throws Exception {
+    String[] directives = new String[] {
+      "invoke-http " + (baseURL + "/nested ") + "a '' 'cache=10'"
+    };
+    RecipePipeline executor = new RecipePipelineExecutor(TestingRig.parse(directives),
+                                                         new TestingPipelineContext(), 100);
+    List<Row> rows = executor.execute(Arrays.asList(new Row("a", "1"), new Row("a", "1")));
+    Assert.assertEquals(1, REQUESTS.get());
+    Assert.assertEquals(rows.get(0).getValue("c"), rows.get(1).getValue("c"));
+    Assert.assertNotSame(rows.get(0).getValue("c"), rows.get(1).getValue("c"));
+
+    // Changing the value of a row changes neither the other rows nor the cached response.
+    @SuppressWarnings("unchecked")
+    Map<String, Object> value = (Map<String, Object>) rows.get(0).getValue("c");
+    value.put("a", "2");
+    Assert.assertEquals(Collections.singletonMap("a", "1"), rows.get(1).getValue("c"));
+    rows = executor.execute(Collections.singletonList(new Row("a", "1")));
+    Assert.assertEquals(1, REQUESTS.get());
+    Assert.assertEquals(Collections.singletonMap("a", "1"), rows.get(0).getValue("c"));
+  }
+
   @After
   public void stopService() throws Exception {
     httpService.stop();
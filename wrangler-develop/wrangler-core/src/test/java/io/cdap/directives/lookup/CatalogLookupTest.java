@@ -55,4 +55,46 @@ public class CatalogLookupTest {
     }
   }
 
+  @Test
+  public void testSharedCatalog() throws Exception {
+    Assert.assertSame(StaticCatalogs.get("ICD-9"), StaticCatalogs.get("icd-9"));
+
+    String[] directives = new String[] {
+      "catalog-lookup ICD-9 code",
+    };
+    List<Row> rows = Arrays.asList(
+      new Row("code", "0010"),
+      new Row("code", "0019"),
+      new Row("code", "001")
+    );
+    rows = TestingRig.execute(directives, rows);
+    Assert.assertEquals("Cholera due to vibrio cholerae", rows.get(0).getValue("code_icd_9_description"));
+    Assert.assertEquals("Cholera, unspecified", rows.get(1).getValue("code_icd_9_description"));
+    Assert.assertNull(rows.get(2).getValue("code_icd_9_description"));
+  }
+
+  @Test
+  public void testRegisteredCatalog() throws Exception {
+    StaticCatalogs.register("Colors", () -> new StaticCatalog() {
+      @Override
+      public boolean configure() {
+        return true;
+      }
+
+      @Override
+      public Entry lookup(String code) {
+        return "r".equals(code) ? () -> "red" : null;
+      }
+
+      @Override
+      public String getCatalog() {
+        return "colors";
+      }
+    });
+
+    List<Row> rows = TestingRig.execute(new String[] {"catalog-lookup colors code"},
+                                        Arrays.asList(new Row("code", "r"), new Row("code", "g")));
+    Assert.assertEquals("red", rows.get(0).getValue("code_colors_description"));
+    Assert.assertNull(rows.get(1).getValue("code_colors_description"));
+  }
 }
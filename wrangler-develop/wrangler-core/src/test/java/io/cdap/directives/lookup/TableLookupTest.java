@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.lookup;
+
+import io.cdap.cdap.api.common.Bytes;
+import io.cdap.cdap.api.dataset.table.Result;
+import io.cdap.cdap.etl.api.Lookup;
+import io.cdap.wrangler.TestingPipelineContext;
+import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests {@link TableLookup}.
+ */
+public class TableLookupTest {
+
+  private static io.cdap.cdap.etl.api.lookup.TableLookup mockLookup() {
+    Map<String, io.cdap.cdap.api.dataset.table.Row> table = new HashMap<>();
+    table.put("us", new Result(Bytes.toBytes("us"),
+                               Collections.singletonMap(Bytes.toBytes("name"), Bytes.toBytes("United States"))));
+    table.put("fr", new Result(Bytes.toBytes("fr"),
+                               Collections.singletonMap(Bytes.toBytes("name"), Bytes.toBytes("France"))));
+
+    io.cdap.cdap.etl.api.lookup.TableLookup lookup = Mockito.mock(io.cdap.cdap.etl.api.lookup.TableLookup.class);
+    Mockito.when(lookup.lookup(Mockito.<Set<String>>any())).thenAnswer(invocation -> {
+      Map<String, io.cdap.cdap.api.dataset.table.Row> result = new HashMap<>();
+      @SuppressWarnings("unchecked")
+      Set<String> keys = (Set<String>) invocation.getArguments()[0];
+      for (String key : keys) {
+        result.put(key, table.getOrDefault(key, new Result(Bytes.toBytes(key), Collections.emptyMap())));
+      }
+      return result;
+    });
+    return lookup;
+  }
+
+  private static TestingPipelineContext context(io.cdap.cdap.etl.api.lookup.TableLookup lookup) {
+    return new TestingPipelineContext() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> Lookup<T> provide(String s, Map<String, String> map) {
+        return (Lookup<T>) lookup;
+      }
+    };
+  }
+
+  @Test
+  public void testBatchedLookup() throws Exception {
+    io.cdap.cdap.etl.api.lookup.TableLookup lookup = mockLookup();
+    TestingPipelineContext context = context(lookup);
+
+    // The directive is given several rows at once, as it is when a previous directive splits a row.
+    Directive directive = TestingRig.parse(new String[] {"table-lookup :country countries 60"}).parse().get(0);
+    List<Row> rows = directive.execute(Arrays.asList(
+      new Row("country", "us"),
+      new Row("country", "fr"),
+      new Row("country", "us"),
+      new Row("country", null),
+      new Row("country", "xx")
+    ), context);
+    Assert.assertEquals("United States", rows.get(0).getValue("country_name"));
+    Assert.assertEquals("France", rows.get(1).getValue("country_name"));
+    Assert.assertEquals("United States", rows.get(2).getValue("country_name"));
+    Assert.assertEquals(1, rows.get(3).width());
+    Assert.assertEquals(1, rows.get(4).width());
+
+    rows = directive.execute(Arrays.asList(new Row("country", "fr"), new Row("country", "us")), context);
+    Assert.assertEquals("France", rows.get(0).getValue("country_name"));
+    Assert.assertEquals("United States", rows.get(1).getValue("country_name"));
+
+    // Distinct keys are looked up once, and cached keys are not looked up again.
+    Mockito.verify(lookup, Mockito.times(1)).lookup(Mockito.<Set<String>>any());
+    Mockito.verify(context.getMetrics()).count("table-lookup.cache.misses", 3);
+    Mockito.verify(context.getMetrics()).count("table-lookup.cache.hits", 2);
+  }
+
+  @Test
+  public void testLookupIsNotCachedByDefault() throws Exception {
+    io.cdap.cdap.etl.api.lookup.TableLookup lookup = mockLookup();
+
+    TestingPipelineContext context = context(lookup);
+    Directive directive = TestingRig.parse(new String[] {"table-lookup :country countries"}).parse().get(0);
+    List<Row> rows = directive.execute(Arrays.asList(new Row("country", "us"), new Row("country", "us")), context);
+    Assert.assertEquals("United States", rows.get(0).getValue("country_name"));
+    Assert.assertEquals("United States", rows.get(1).getValue("country_name"));
+    rows = directive.execute(Collections.singletonList(new Row("country", "us")), context);
+    Assert.assertEquals("United States", rows.get(0).getValue("country_name"));
+
+    Mockito.verify(lookup, Mockito.times(2)).lookup(Collections.singleton("us"));
+    // Without a cache there are no cache hits or misses to count.
+    Mockito.verifyZeroInteractions(context.getMetrics());
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testInvalidCacheExpiry() throws Exception {
+    TestingRig.execute(new String[] {"table-lookup :country countries 0"},
+                       Collections.singletonList(new Row("country", "us")));
+  }
+}
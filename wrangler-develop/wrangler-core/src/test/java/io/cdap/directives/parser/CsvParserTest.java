@@ -16,8 +16,10 @@
 
 package io.cdap.directives.parser;
 
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.TestingRig;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -68,6 +70,23 @@ public class CsvParserTest {
     Assert.assertEquals("zed", rows.get(0).getValue("last_name"));
   }
 
+  @Test
+  public void testHeadersInBatch() throws Exception {
+    String[] directives = new String[] { "parse-as-csv body , true" };
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "first,last"),
+      new Row("body", "alice,zed"),
+      new Row("body", "\"bob, jr\",\"o\"\"neil\"")
+    );
+
+    rows = new RecipePipelineExecutor(TestingRig.parse(directives), new TestingPipelineContext(), 10).execute(rows);
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals("alice", rows.get(0).getValue("first"));
+    Assert.assertEquals("bob, jr", rows.get(1).getValue("first"));
+    Assert.assertEquals("o\"neil", rows.get(1).getValue("last"));
+  }
+
   @Test
   public void testTrailingCommas() throws Exception {
     String[] directives = new String[] {
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests {@link CsvTokenizer}.
+ */
+public class CsvTokenizerTest {
+
+  private static List<List<String>> expected(String text, char delimiter) {
+    List<List<String>> records = new ArrayList<>();
+    try (CSVParser parser = CSVParser.parse(text, CSVFormat.DEFAULT.withDelimiter(delimiter))) {
+      for (CSVRecord record : parser.getRecords()) {
+        List<String> values = new ArrayList<>();
+        record.forEach(values::add);
+        records.add(values);
+      }
+    } catch (IOException e) {
+      records.add(Arrays.asList("error", e.getMessage()));
+    }
+    return records;
+  }
+
+  private static List<List<String>> actual(CsvTokenizer tokenizer, String text) {
+    List<List<String>> records = new ArrayList<>();
+    try {
+      tokenizer.parse(text);
+      for (int record = 0; record < tokenizer.records(); record++) {
+        List<String> values = new ArrayList<>();
+        for (int i = tokenizer.start(record); i < tokenizer.end(record); i++) {
+          values.add(tokenizer.value(i));
+        }
+        records.add(values);
+      }
+    } catch (IOException e) {
+      records.add(Arrays.asList("error", e.getMessage()));
+    }
+    return records;
+  }
+
+  @Test
+  public void testSameAsCommonsCsv() {
+    List<String> texts = Arrays.asList(
+      "a,b,c", "a,,c", ",", "a,", ",a", " a , b ", "\"a,b\",c", "\"a\"\"b\",c", "a\"b,c", "\"a\"  ,b",
+      "\"a\"x,b", "\"a", "\"a\nb\",c", "a\nb", "a\r\nb", "a\rb", "a\n\n\nb", "\n\na", "a\n", "a,\n", "\n",
+      "\r\n\r\n", "\"\"", "\"\",\"\"", "a,\"b\"\n\"c", "\"a\"\r\n", "\"a\" \n,b", "a\tb", "\ta,b\t",
+      "a,b\ufffec", "\ufffea,b"
+    );
+    CsvTokenizer tokenizer = new CsvTokenizer(',');
+    for (String text : texts) {
+      Assert.assertEquals(text, expected(text, ','), actual(tokenizer, text));
+    }
+  }
+
+  @Test
+  public void testRandomTextSameAsCommonsCsv() {
+    char[] alphabet = { 'a', 'b', ',', ';', '\t', ' ', '"', '\n', '\r' };
+    Random random = new Random(42);
+    for (char delimiter : new char[] { ',', ';', '\t' }) {
+      CsvTokenizer tokenizer = new CsvTokenizer(delimiter);
+      for (int i = 0; i < 20000; i++) {
+        StringBuilder text = new StringBuilder();
+        int length = 1 + random.nextInt(16);
+        for (int j = 0; j < length; j++) {
+          text.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        Assert.assertEquals(text.toString(), expected(text.toString(), delimiter),
+                            actual(tokenizer, text.toString()));
+      }
+    }
+  }
+}
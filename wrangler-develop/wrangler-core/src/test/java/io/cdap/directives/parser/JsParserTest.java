@@ -16,11 +16,13 @@
 
 package io.cdap.directives.parser;
 
+import com.google.gson.JsonParser;
 import io.cdap.wrangler.TestingRig;
 import io.cdap.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -267,4 +269,42 @@ public class JsParserTest {
     Assert.assertNotEquals(rows.get(0).find("body6_name_first_n"), -1);
     Assert.assertNotEquals(rows.get(0).find("body6_name_first_m"), -1);
   }
+
+  @Test
+  public void testStreamingSameAsParsed() throws Exception {
+    String[] documents = {
+      "{\"a\": 1, \"b\": {\"c\": \"x\", \"d\": {\"e\": true, \"f\": null}}, \"g\": [1, {\"h\": 2}], \"i\": {}}",
+      "  {\"n\": 12345678901234, \"m\": -0, \"o\": 1.5, \"p\": 1e3, \"q\": 123456789012345678901234} ",
+      "{\"a\": {\"b\": 1}, \"a\": {\"c\": 2}, \"d\": 3}",
+      "{\"a_b\": 1, \"a\": {\"b\": 2}}",
+      "{a: {b: 'lenient'}, c: NaN}",
+      "[1, \"two\", {\"three\": 3}, [4], null]",
+      "[]",
+      "{}",
+    };
+    for (int depth : new int[] { 0, 1, 2, Integer.MAX_VALUE }) {
+      String[] directives = new String[] {
+        depth == Integer.MAX_VALUE ? "parse-as-json :body" : "parse-as-json :body " + depth,
+      };
+      for (String document : documents) {
+        List<Row> streamed = TestingRig.execute(directives, Arrays.asList(new Row("body", document)));
+        List<Row> parsed = TestingRig.execute(directives,
+                                              Arrays.asList(new Row("body", new JsonParser().parse(document))));
+        String message = String.format("'%s' to depth %d", document, depth);
+        Assert.assertEquals(message, parsed.size(), streamed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+          Assert.assertEquals(message, toList(parsed.get(i)), toList(streamed.get(i)));
+        }
+      }
+    }
+  }
+
+  private static List<Object> toList(Row row) {
+    List<Object> fields = new ArrayList<>();
+    for (int i = 0; i < row.width(); i++) {
+      fields.add(row.getColumn(i));
+      fields.add(row.getValue(i));
+    }
+    return fields;
+  }
 }
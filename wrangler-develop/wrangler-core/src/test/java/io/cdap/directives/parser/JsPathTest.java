@@ -16,11 +16,16 @@
 
 package io.cdap.directives.parser;
 
+import com.jayway.jsonpath.PathNotFoundException;
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -83,4 +88,67 @@ public class JsPathTest {
     Assert.assertEquals(1, rows.size());
     Assert.assertEquals(8, rows.get(0).getValue("s6"));
   }
+
+  @Test
+  public void testFusedPaths() throws Exception {
+    String[] directives = new String[] {
+      "json-path :body :user '$.user.name'",
+      "json-path :body :first '$.events[0].type'",
+      "json-path :body :types '$.events[*].type'",
+      "json-path :body :body '$.user'",
+      "json-path :body :id '$.id'",
+      "json-path :body :name '$.name'",
+    };
+
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      rows.add(new Row("body", String.format("{\"user\": {\"id\": %d, \"name\": \"user-%d\"}, " +
+                                               "\"events\": [{\"type\": \"click\"}, {\"type\": \"view\"}]}", i, i)));
+    }
+    for (int batchSize : new int[] { 1, 3 }) {
+      List<Row> input = new ArrayList<>();
+      for (Row row : rows) {
+        input.add(new Row(row));
+      }
+      List<Row> results = new RecipePipelineExecutor(TestingRig.parse(directives), new TestingPipelineContext(),
+                                                     batchSize).execute(input);
+
+      Assert.assertEquals(5, results.size());
+      for (int i = 0; i < results.size(); i++) {
+        Row row = results.get(i);
+        Assert.assertEquals("user-" + i, row.getValue("user"));
+        Assert.assertEquals("click", row.getValue("first"));
+        Assert.assertEquals("[\"click\",\"view\"]", row.getValue("types").toString());
+        // The directives after the one overwriting the source column read the new value.
+        Assert.assertEquals((long) i, row.getValue("id"));
+        Assert.assertEquals("user-" + i, row.getValue("name"));
+      }
+    }
+  }
+
+  @Test
+  public void testFusedPathNotFound() throws Exception {
+    String[] directives = new String[] {
+      "json-path :body :user '$.user.name'",
+      "json-path :body :missing '$.missing.name'",
+    };
+    Row row = new Row("body", "{\"user\": {\"name\": \"Root\"}}");
+
+    try {
+      TestingRig.execute(directives, Arrays.asList(row));
+      Assert.fail();
+    } catch (PathNotFoundException e) {
+      // The error is raised by the directive reading the path that is not found.
+      Assert.assertEquals("Root", row.getValue("user"));
+      Assert.assertEquals(-1, row.find("missing"));
+    }
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testInvalidPath() throws Exception {
+    String[] directives = new String[] {
+      "json-path :body :user '$.user[?(@.name'",
+    };
+    TestingRig.execute(directives, Arrays.asList(new Row("body", "{}")));
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link JsPaths}
+ */
+public class JsPathsTest {
+  private static final String CLICK = "{\"user\": {\"id\": 7, \"name\": \"Root\"}, \"page\": \"/home\", " +
+    "\"events\": [{\"type\": \"click\", \"x\": 10}, {\"type\": \"scroll\"}]}";
+
+  @Test
+  public void testExtractPaths() throws Exception {
+    String[] directives = new String[] {
+      "json-paths :body :user,:page,:first,:count '$.user.name','$.page','$.events[0].type','$.events.length()'",
+    };
+
+    List<Row> rows = TestingRig.execute(directives, Arrays.asList(new Row("body", CLICK), new Row("body", null)));
+
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals("Root", rows.get(0).getValue("user"));
+    Assert.assertEquals("/home", rows.get(0).getValue("page"));
+    Assert.assertEquals("click", rows.get(0).getValue("first"));
+    Assert.assertEquals(2, rows.get(0).getValue("count"));
+    Assert.assertEquals(5, rows.get(1).width());
+    Assert.assertNull(rows.get(1).getValue("user"));
+  }
+
+  @Test
+  public void testParsedColumn() throws Exception {
+    String[] directives = new String[] {
+      "set-column body json:Parse(body)",
+      "json-paths :body :id,:body '$.user.id','$.events[1]'",
+    };
+
+    List<Row> rows = TestingRig.execute(directives, Arrays.asList(new Row("body", CLICK)));
+
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals(2, rows.get(0).width());
+    Assert.assertEquals(7L, rows.get(0).getValue("id"));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testMismatchedPaths() throws Exception {
+    String[] directives = new String[] {
+      "json-paths :body :user,:page '$.user.name'",
+    };
+    TestingRig.execute(directives, Arrays.asList(new Row("body", CLICK)));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ParseContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link JsonPathExtractor}
+ */
+public class JsonPathExtractorTest {
+  private static final String[] DOCUMENTS = {
+    "{\"name\": {\"first\": \"Joltie\", \"last\": \"Root\", \"middle\": null}, \"age\": 12, " +
+      "\"events\": [{\"type\": \"click\", \"at\": 1.5}, {\"type\": \"view\", \"tags\": [\"a\", \"b\"]}], " +
+      "\"it's\": true, \"a b\": [[1, 2], [3]]}",
+    "{\"name\": {\"first\": \"Root\"}, \"events\": [], \"age\": \"twelve\", \"name\": {\"first\": \"Dup\"}}",
+    "{\"name\": 1, \"events\": {\"0\": {\"type\": \"click\"}}}",
+    "[{\"name\": {\"first\": \"Array\"}}]",
+    "{name: {first: 'Lenient'}, 'age': 3}",
+    "{\"name\": {\"first\": \"Trailing\"}} garbage",
+    "{\"name\": {\"first\": \"Truncated\"",
+    "null",
+    "",
+    "  {\"name\" : {\"first\" : \"Spaces\"}, \"age\" : 1e3}  ",
+  };
+
+  private static final List<String> SIMPLE_PATHS = Arrays.asList(
+    "$.name.first", "$['name']['last']", "$.name.middle", "$.name", "$.age", "$.events[0].type", "$.events[1].tags[1]",
+    "$['a b'][0][1]", "$"
+  );
+
+  private static final List<String> OTHER_PATHS = Arrays.asList(
+    "$.name.first", "$.events[*].type", "$..type", "$.events.length()", "$['it\\'s']", "$.events[0,1]",
+    "$.events[?(@.type == 'view')].tags"
+  );
+
+  @Test
+  public void testSameAsJsonPath() {
+    for (List<String> paths : Arrays.asList(SIMPLE_PATHS, OTHER_PATHS)) {
+      JsonPathExtractor extractor = new JsonPathExtractor(paths);
+      for (String document : DOCUMENTS) {
+        assertSameAsJsonPath(extractor, paths, document, document);
+        JsonElement element;
+        try {
+          element = new JsonParser().parse(document);
+        } catch (RuntimeException e) {
+          continue;
+        }
+        assertSameAsJsonPath(extractor, paths, document, element);
+      }
+    }
+  }
+
+  @Test
+  public void testEachPathOnItsOwn() {
+    for (String path : SIMPLE_PATHS) {
+      JsonPathExtractor extractor = new JsonPathExtractor(Collections.singletonList(path));
+      for (String document : DOCUMENTS) {
+        assertSameAsJsonPath(extractor, Collections.singletonList(path), document, document);
+      }
+    }
+  }
+
+  @Test(expected = InvalidPathException.class)
+  public void testInvalidPath() {
+    new JsonPathExtractor(Arrays.asList("$.name", "$.events[?(@.type"));
+  }
+
+  private static void assertSameAsJsonPath(JsonPathExtractor extractor, List<String> paths, String text,
+                                           Object document) {
+    ParseContext parser = JsonPath.using(JsPath.GSON_CONFIGURATION);
+    JsonPathExtractor.Values values = extractor.extract(document);
+    Assert.assertSame(document, values.getDocument());
+    for (int i = 0; i < paths.size(); i++) {
+      String message = String.format("'%s' on '%s'", paths.get(i), text);
+      Object expected;
+      try {
+        expected = document instanceof String ?
+          parser.parse((String) document).read(paths.get(i)) : parser.parse(document).read(paths.get(i));
+      } catch (RuntimeException e) {
+        expected = e.getClass();
+      }
+      Object actual;
+      try {
+        actual = values.get(i);
+      } catch (RuntimeException e) {
+        actual = e.getClass();
+      }
+      Assert.assertEquals(message, expected, actual);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import com.joestelmach.natty.DateGroup;
+import com.joestelmach.natty.Parser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Tests {@link NaturalDateParser}
+ */
+public class NaturalDateParserTest {
+
+  @Test
+  public void testMemoizedFormat() {
+    TimeZone timezone = TimeZone.getTimeZone("UTC");
+    NaturalDateParser parser = new NaturalDateParser(timezone);
+    for (int i = 0; i < 30; i++) {
+      String value = String.format("2017-03-%02d 10:20:%02d.%03d", i + 1, i, i);
+      Assert.assertEquals(value, parseNatural(timezone, value), parser.parse(value));
+    }
+    // The format is used once it gave the same dates as Natty for 10 values.
+    Assert.assertEquals(20, parser.getHits());
+    Assert.assertEquals(10, parser.getMisses());
+  }
+
+  @Test
+  public void testOtherValues() {
+    TimeZone timezone = TimeZone.getTimeZone("America/Los_Angeles");
+    NaturalDateParser parser = new NaturalDateParser(timezone);
+    String[] values = {
+      "12/10/2016 06:45", "12/11/2016 06:45", "12/12/2016 06:45", "12/13/2016 06:45", "12/14/2016 06:45",
+      "12/15/2016 06:45", "12/16/2016 06:45", "12/17/2016 06:45", "12/18/2016 06:45", "12/19/2016 06:45",
+      "12/20/2016 06:45", "13/20/2016 06:45", "12/20/2016 06:45 PM", "september 7th 2016 10:00",
+      "2016-12-10 06:45:11", "from 12/10/2016 06:45 to 12/11/2016 07:45", "03/12/2017 02:30", "11/05/2017 01:30",
+      "12/21/2016 06:45",
+    };
+    for (String value : values) {
+      Assert.assertEquals(value, parseNatural(timezone, value), parser.parse(value));
+    }
+    // Values in other formats, and local times skipped or repeated by daylight saving time, are parsed by Natty.
+    Assert.assertEquals(2, parser.getHits());
+    Assert.assertEquals(values.length - 2, parser.getMisses());
+  }
+
+  @Test
+  public void testNotLearnedFormat() {
+    TimeZone timezone = TimeZone.getTimeZone("UTC");
+    NaturalDateParser parser = new NaturalDateParser(timezone);
+    for (int i = 0; i < 20; i++) {
+      // Natty does not parse the year of these dates the same way as a format would.
+      String value = String.format("Sat Mar 11 10:20:%02d UTC 2017", i);
+      Assert.assertEquals(value, parseNatural(timezone, value), parser.parse(value));
+    }
+    Assert.assertEquals(0, parser.getHits());
+  }
+
+  private static List<List<ZonedDateTime>> parseNatural(TimeZone timezone, String value) {
+    List<List<ZonedDateTime>> groups = new ArrayList<>();
+    for (DateGroup group : new Parser(timezone).parse(value)) {
+      List<ZonedDateTime> dates = new ArrayList<>();
+      for (Date date : group.getDates()) {
+        dates.add(date.toInstant().atZone(timezone.toZoneId()));
+      }
+      groups.add(dates);
+    }
+    return groups;
+  }
+}
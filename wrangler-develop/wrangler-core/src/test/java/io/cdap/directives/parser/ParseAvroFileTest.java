@@ -25,6 +25,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +53,25 @@ public class ParseAvroFileTest {
     Assert.assertEquals(1495194308245L, results.get(1688).getValue("timestamp"));
   }
 
+  @Test
+  public void testParseByteBuffer() throws Exception {
+    InputStream stream = ParseAvroFileTest.class.getClassLoader().getResourceAsStream("cdap-log.avro");
+    ByteBuffer data = ByteBuffer.wrap(IOUtils.toByteArray(stream));
+
+    String[] directives = new String[] {
+      "parse-as-avro-file body",
+    };
+
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row("body", data));
+    rows.add(new Row("body", data));
+
+    List<Row> results = TestingRig.execute(directives, rows);
+    Assert.assertEquals(2 * 1689, results.size());
+    Assert.assertEquals(1495172588118L, results.get(1689).getValue("timestamp"));
+    Assert.assertEquals(1495194308245L, results.get(2 * 1689 - 1).getValue("timestamp"));
+  }
+
   @Test(expected = RecipeException.class)
   public void testIncorrectType() throws Exception {
     String[] directives = new String[] {
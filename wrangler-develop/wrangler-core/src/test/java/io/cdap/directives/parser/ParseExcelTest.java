@@ -87,4 +87,25 @@ public class ParseExcelTest {
       }
     }
   }
+
+  @Test
+  public void testLimit() throws Exception {
+    try (InputStream stream = ParseAvroFileTest.class.getClassLoader().getResourceAsStream("titanic.xlsx")) {
+      byte[] data = IOUtils.toByteArray(stream);
+
+      String[] directives = new String[]{
+        "parse-as-excel :body '0' true 10",
+      };
+
+      List<Row> rows = new ArrayList<>();
+      rows.add(new Row("body", data));
+
+      List<Row> results = TestingRig.execute(directives, rows);
+      Assert.assertEquals(10, results.size());
+      Assert.assertEquals(1, results.get(0).getValue("fwd"));
+      Assert.assertEquals(9, results.get(0).getValue("bkd"));
+      Assert.assertEquals("1.0", results.get(0).getValue("PassengerId"));
+      Assert.assertEquals("Braund, Mr. Owen Harris", results.get(0).getValue("Name"));
+    }
+  }
 }
@@ -17,6 +17,7 @@
 package io.cdap.directives.transformation;
 
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
@@ -51,4 +52,30 @@ public class FindAndReplaceTest {
                         rows.get(0).getValue("body"));
   }
 
+  @Test
+  public void testMultipleColumns() throws Exception {
+    String[] directives = new String[] {
+      "find-and-replace first,last,age s/o/0/g"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("first", "John").add("last", "Doe").add("age", 40),
+      new Row("first", "Bob").add("last", "Jones").add("age", 20)
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    // Rows are not duplicated for each column, and values other than strings are left as is.
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals("J0hn", rows.get(0).getValue("first"));
+    Assert.assertEquals("D0e", rows.get(0).getValue("last"));
+    Assert.assertEquals(40, rows.get(0).getValue("age"));
+    Assert.assertEquals("B0b", rows.get(1).getValue("first"));
+    Assert.assertEquals("J0nes", rows.get(1).getValue("last"));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testInvalidExpression() throws Exception {
+    TestingRig.execute(new String[] {"find-and-replace body s/(/x/g"}, Arrays.asList(new Row("body", "a")));
+  }
 }
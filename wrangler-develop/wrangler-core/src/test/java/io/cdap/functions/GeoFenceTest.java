@@ -19,6 +19,10 @@ package io.cdap.functions;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 /**
  * Tests {@link GeoFences}
@@ -61,4 +65,62 @@ public class GeoFenceTest {
 
     GeoFences.InFence(43.46089378008257, -462.49145507812494, geoJsonFence);
   }
+
+  @Test
+  public void testWithManyFences() {
+    // A 12x12 grid of triangles with gaps between them, so that the collection is indexed.
+    List<String> features = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      for (int j = 0; j < 12; j++) {
+        double lon = -122.5 + i * 0.01;
+        double lat = 37.2 + j * 0.01;
+        features.add(String.format("{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"Polygon\"," +
+                                     "\"coordinates\":[[[%s,%s],[%s,%s],[%s,%s],[%s,%s]]]}}",
+                                   lon, lat, lon + 0.008, lat, lon, lat + 0.008, lon, lat));
+      }
+    }
+    String geoJsonFence = toCollection(features);
+    List<String> singleFences = new ArrayList<>();
+    for (String feature : features) {
+      singleFences.add(toCollection(Collections.singletonList(feature)));
+    }
+
+    Random random = new Random(0);
+    int inside = 0;
+    for (int n = 0; n < 1000; n++) {
+      double longitude = -122.51 + random.nextDouble() * 0.14;
+      double latitude = 37.19 + random.nextDouble() * 0.14;
+      boolean expected = false;
+      for (String singleFence : singleFences) {
+        expected = expected || GeoFences.InFence(latitude, longitude, singleFence);
+      }
+      Assert.assertEquals(expected, GeoFences.InFence(latitude, longitude, geoJsonFence));
+      inside += expected ? 1 : 0;
+    }
+    Assert.assertTrue(inside > 0);
+    Assert.assertTrue(GeoFences.InFence(37.201, -122.499, geoJsonFence));
+    Assert.assertFalse(GeoFences.InFence(37.2079, -122.4921, geoJsonFence));
+  }
+
+  @Test
+  public void testWithPointFeature() {
+    String geoJsonFence = "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",\"properties\":{}," +
+        "\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[[-122.05870628356934,37.37943348292772]," +
+        "[-122.05724716186525,37.374727268782294],[-122.04634666442871,37.37493189292912]," +
+        "[-122.04608917236328,37.38175237839049],[-122.05870628356934,37.37943348292772]]]}}," +
+        "{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"coordinates\":[-122.0,37.0]}}]}";
+
+    // Features are checked in order, and the point is only reached when the location is not in the polygon.
+    Assert.assertTrue(GeoFences.InFence(37.378990156513105, -122.05076694488525, geoJsonFence));
+    try {
+      GeoFences.InFence(43.46089378008257, -462.49145507812494, geoJsonFence);
+      Assert.fail();
+    } catch (ClassCastException e) {
+      // expected
+    }
+  }
+
+  private static String toCollection(List<String> features) {
+    return "{\"type\":\"FeatureCollection\",\"features\":[" + String.join(",", features) + "]}";
+  }
 }
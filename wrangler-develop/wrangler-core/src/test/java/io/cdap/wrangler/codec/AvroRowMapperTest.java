@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.codec;
+
+import io.cdap.wrangler.api.Row;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link AvroRowMapper}
+ */
+public class AvroRowMapperTest {
+
+  private static final String SCHEMA = "{\"type\": \"record\", \"name\": \"User\", \"fields\": [\n" +
+    "  {\"name\": \"name\", \"type\": \"string\"},\n" +
+    "  {\"name\": \"tags\", \"type\": {\"type\": \"array\", \"items\": \"string\"}},\n" +
+    "  {\"name\": \"address\", \"type\": {\"type\": \"record\", \"name\": \"Address\", \"fields\": [\n" +
+    "    {\"name\": \"city\", \"type\": \"string\"},\n" +
+    "    {\"name\": \"zip\", \"type\": \"int\"}\n" +
+    "  ]}},\n" +
+    "  {\"name\": \"previous\", \"type\": [\"null\", \"Address\"]},\n" +
+    "  {\"name\": \"avatar\", \"type\": \"bytes\"}\n" +
+    "]}";
+
+  @Test
+  public void testSharedMapper() {
+    Schema schema = new Schema.Parser().parse(SCHEMA);
+    Schema other = new Schema.Parser().parse(SCHEMA);
+    Assert.assertSame(AvroRowMapper.of(schema, true), AvroRowMapper.of(other, true));
+    Assert.assertNotSame(AvroRowMapper.of(schema, true), AvroRowMapper.of(schema, false));
+  }
+
+  @Test
+  public void testFlatten() {
+    Schema schema = new Schema.Parser().parse(SCHEMA);
+    GenericRecord first = createUser(schema, "Root", "Palo Alto", null);
+    GenericRecord second = createUser(schema, "Ben", "Palo Alto", "Sunnyvale");
+
+    Row row = AvroRowMapper.of(schema, true).toRow(first);
+    List<String> columns = new ArrayList<>();
+    for (int i = 0; i < row.width(); i++) {
+      columns.add(row.getColumn(i));
+    }
+    Assert.assertEquals(Arrays.asList("name", "tags", "address_city", "address_zip", "previous", "avatar"), columns);
+    Assert.assertEquals("[\"a\",\"b\"]", row.getValue("tags"));
+    Assert.assertEquals("Palo Alto", row.getValue("address_city"));
+    Assert.assertNull(row.getValue("previous"));
+
+    row = AvroRowMapper.of(schema, true).toRow(second);
+    Assert.assertEquals(7, row.width());
+    Assert.assertEquals("Sunnyvale", row.getValue("previous_city"));
+    Assert.assertEquals(94086, row.getValue("previous_zip"));
+
+    row = AvroRowMapper.of(schema, false).toRow(second);
+    Assert.assertEquals(5, row.width());
+    Assert.assertTrue(row.getValue("address") instanceof GenericRecord);
+  }
+
+  @Test
+  public void testReusedRecords() throws Exception {
+    Schema schema = new Schema.Parser().parse(SCHEMA);
+    DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    datumWriter.write(createUser(schema, "Root", "Palo Alto", null), encoder);
+    datumWriter.write(createUser(schema, "Ben", "Sunnyvale", null), encoder);
+    encoder.flush();
+
+    // Values of the rows are not overwritten when the records are reused to decode the next ones.
+    BinaryAvroDecoder decoder = new BinaryAvroDecoder(schema);
+    List<Row> rows = decoder.decode(out.toByteArray());
+    rows.addAll(decoder.decode(out.toByteArray()));
+    Assert.assertEquals(4, rows.size());
+    for (int i = 0; i < rows.size(); i += 2) {
+      Assert.assertEquals(ByteBuffer.wrap("Root".getBytes(StandardCharsets.UTF_8)), rows.get(i).getValue("avatar"));
+      Assert.assertEquals("Palo Alto", ((GenericRecord) rows.get(i).getValue("address")).get("city").toString());
+      Assert.assertEquals(ByteBuffer.wrap("Ben".getBytes(StandardCharsets.UTF_8)), rows.get(i + 1).getValue("avatar"));
+      Assert.assertEquals("Sunnyvale", ((GenericRecord) rows.get(i + 1).getValue("address")).get("city").toString());
+    }
+  }
+
+  private static GenericRecord createUser(Schema schema, String name, String city, String previousCity) {
+    Schema addressSchema = schema.getField("address").schema();
+    GenericRecord address = new GenericData.Record(addressSchema);
+    address.put("city", city);
+    address.put("zip", 94086);
+
+    GenericRecord user = new GenericData.Record(schema);
+    user.put("name", name);
+    user.put("tags", Arrays.asList("a", "b"));
+    user.put("address", address);
+    if (previousCity != null) {
+      GenericRecord previous = new GenericData.Record(addressSchema);
+      previous.put("city", previousCity);
+      previous.put("zip", 94086);
+      user.put("previous", previous);
+    }
+    user.put("avatar", ByteBuffer.wrap(name.getBytes(StandardCharsets.UTF_8)));
+    return user;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.directive;
+
+import io.cdap.wrangler.api.CompileStatus;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.parser.MapArguments;
+import io.cdap.wrangler.parser.RecipeCompiler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the partial state of {@link AggregateStats}.
+ */
+public class AggregateStatsTest {
+
+  private static AggregateStats create() throws Exception {
+    return create("aggregate-stats :size :time :total_size :total_time;");
+  }
+
+  private static AggregateStats create(String recipe) throws Exception {
+    CompileStatus status = new RecipeCompiler().compile(recipe);
+    AggregateStats directive = new AggregateStats();
+    directive.initialize(new MapArguments(directive.define(), status.getSymbols().iterator().next()));
+    return directive;
+  }
+
+  private static Row row(long bytes, long millis) {
+    return new Row("size", bytes).add("time", millis);
+  }
+
+  @Test
+  public void testTakeStateResetsTotals() throws Exception {
+    AggregateStats directive = create();
+    directive.execute(Arrays.asList(row(100, 2), row(50, 1)), null);
+
+    Assert.assertArrayEquals(new long[] { 150, 3_000_000, 2 }, (long[]) directive.takeState());
+    Assert.assertArrayEquals(new long[] { 0, 0, 0 }, (long[]) directive.takeState());
+    Assert.assertTrue(directive.finish(null).isEmpty());
+  }
+
+  @Test
+  public void testMergedStateMatchesSinglePartition() throws Exception {
+    AggregateStats single = create();
+    single.execute(Arrays.asList(row(100, 2), row(50, 1), row(25, 4)), null);
+    List<Row> expected = single.finish(null);
+
+    AggregateStats partition1 = create();
+    AggregateStats partition2 = create();
+    partition1.execute(Collections.singletonList(row(100, 2)), null);
+    partition2.execute(Arrays.asList(row(50, 1), row(25, 4)), null);
+    partition1.mergeState(partition2.takeState());
+
+    Assert.assertTrue(partition2.finish(null).isEmpty());
+    List<Row> actual = partition1.finish(null);
+    Assert.assertEquals(1, actual.size());
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(175L, actual.get(0).getValue("total_size"));
+    Assert.assertEquals(7_000_000L, actual.get(0).getValue("total_time"));
+  }
+
+  @Test
+  public void testFinishTakesState() throws Exception {
+    AggregateStats directive = create();
+    directive.execute(Collections.singletonList(row(10, 1)), null);
+    Assert.assertEquals(1, directive.finish(null).size());
+    Assert.assertTrue(directive.finish(null).isEmpty());
+  }
+
+  @Test
+  public void testUnitsAndAverage() throws Exception {
+    AggregateStats directive = create("aggregate-stats :size :time :total_size :average_time 'MB' 's' 'average';");
+    directive.execute(Arrays.asList(new Row("size", "1MB").add("time", "100ms"),
+                                    new Row("size", "512KB").add("time", "0.5s"),
+                                    new Row("size", 2097152L).add("time", 1500L)), null);
+
+    List<Row> rows = directive.finish(null);
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals(3.5, (Double) rows.get(0).getValue("total_size"), 0);
+    Assert.assertEquals(0.7, (Double) rows.get(0).getValue("average_time"), 0);
+  }
+
+  @Test(expected = DirectiveParseException.class)
+  public void testInvalidUnit() throws Exception {
+    create("aggregate-stats :size :time :total_size :total_time 'XB';");
+  }
+
+  @Test(expected = DirectiveExecutionException.class)
+  public void testInvalidValue() throws Exception {
+    create().execute(Collections.singletonList(new Row("size", "10 apples").add("time", 1L)), null);
+  }
+
+  @Test(expected = DirectiveExecutionException.class)
+  public void testMergeInvalidState() throws Exception {
+    create().mergeState("not a state");
+  }
+}
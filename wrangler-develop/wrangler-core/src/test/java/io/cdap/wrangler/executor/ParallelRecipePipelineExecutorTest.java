@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.executor;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.TestingPipelineContext;
+import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.ErrorRecord;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.RecipePipeline;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.api.annotations.RowIndependent;
+import io.cdap.wrangler.api.parser.UsageDefinition;
+import io.cdap.wrangler.schema.TransientStoreKeys;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests {@link ParallelRecipePipelineExecutor}.
+ */
+public class ParallelRecipePipelineExecutorTest {
+  private static ExecutorService executorService;
+
+  @BeforeClass
+  public static void setup() {
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterClass
+  public static void teardown() {
+    executorService.shutdownNow();
+  }
+
+  private static List<Row> rows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Row row = new Row("body", i + "," + (i % 7 == 0 ? "bad" : "v" + i));
+      if (i == count - 1) {
+        row.add("extra", i);
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static ExecutorContext context() {
+    Schema schema = Schema.recordOf("input", Schema.Field.of("body", Schema.of(Schema.Type.STRING)));
+    ExecutorContext context = new TestingPipelineContext().setSchemaManagementEnabled();
+    context.getTransientStore().set(TransientVariableScope.GLOBAL, TransientStoreKeys.INPUT_SCHEMA, schema);
+    return context;
+  }
+
+  @Test
+  public void testSameAsSequential() throws Exception {
+    String[] recipe = new String[] {
+      "split-to-columns :body ,",
+      "drop :body",
+      "send-to-error body_2 == 'bad'",
+      "set-column :upper body_2.toUpperCase()",
+      "filter-row-if-true body_1.endsWith('5')"
+    };
+
+    ExecutorContext sequentialContext = context();
+    RecipePipeline sequential = new RecipePipelineExecutor(TestingRig.parse(recipe), sequentialContext);
+    List<Row> expected = sequential.execute(rows(100));
+    List<ErrorRecord> expectedErrors = sequential.errors();
+
+    ExecutorContext context = context();
+    RecipePipeline parallel = new ParallelRecipePipelineExecutor(TestingRig.parse(recipe), context,
+                                                                 executorService, 4, 10);
+    List<Row> actual = parallel.execute(rows(100));
+    List<ErrorRecord> errors = parallel.errors();
+
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(expectedErrors.size(), errors.size());
+    for (int i = 0; i < errors.size(); i++) {
+      Assert.assertEquals(expectedErrors.get(i).getRow(), errors.get(i).getRow());
+    }
+    Schema outputSchema = context.getTransientStore().get(TransientStoreKeys.OUTPUT_SCHEMA);
+    Assert.assertEquals(sequentialContext.getTransientStore().<Schema>get(TransientStoreKeys.OUTPUT_SCHEMA),
+                        outputSchema);
+    Assert.assertNotNull(outputSchema.getField("extra"));
+  }
+
+  @Test
+  public void testRowIndexOfFailure() throws Exception {
+    String[] recipe = new String[] {
+      "split-to-columns :body ,",
+      "fail body_1 == '57'"
+    };
+    RecipePipeline parallel = new ParallelRecipePipelineExecutor(TestingRig.parse(recipe), context(),
+                                                                 executorService, 4, 10);
+    try {
+      parallel.execute(rows(100));
+      Assert.fail();
+    } catch (RecipeException e) {
+      Assert.assertEquals(57, e.getRowIndex());
+    }
+  }
+
+  @Test
+  public void testHeaderIsParsedSequentially() throws Exception {
+    String[] recipe = new String[] {
+      "parse-as-csv :body , true",
+      "drop :body"
+    };
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row("body", "id,name"));
+    for (int i = 0; i < 99; i++) {
+      rows.add(new Row("body", i + ",n" + i));
+    }
+
+    RecipePipeline parallel = new ParallelRecipePipelineExecutor(TestingRig.parse(recipe), context(),
+                                                                 executorService, 4, 10);
+    List<Row> results = parallel.execute(rows);
+    Assert.assertEquals(99, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      Assert.assertEquals(String.valueOf(i), results.get(i).getValue("id"));
+    }
+  }
+
+  @Test
+  public void testStatefulDirectiveIsExecutedSequentially() throws Exception {
+    String[] recipe = new String[] {
+      "split-to-columns :body ,",
+      "increment-variable count 1 true"
+    };
+    ExecutorContext context = context();
+    RecipePipeline parallel = new ParallelRecipePipelineExecutor(TestingRig.parse(recipe), context,
+                                                                 executorService, 4, 10);
+    Assert.assertEquals(100, parallel.execute(rows(100)).size());
+    Assert.assertEquals(100L, ((Number) context.getTransientStore().get("count")).longValue());
+  }
+
+  @Test
+  public void testOnlyRowIndependentDirectivesArePartitioned() throws Exception {
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    RecipePipeline sequential = new ParallelRecipePipelineExecutor(
+      () -> Collections.singletonList(new Threads(threads)), context(), executorService, 4, 10);
+    sequential.execute(rows(100));
+    Assert.assertEquals(Collections.singleton(Thread.currentThread().getName()), threads);
+
+    threads.clear();
+    RecipePipeline parallel = new ParallelRecipePipelineExecutor(
+      () -> Collections.singletonList(new RowIndependentThreads(threads)), context(), executorService, 4, 10);
+    parallel.execute(rows(100));
+    Assert.assertFalse(threads.isEmpty());
+    Assert.assertFalse(threads.contains(Thread.currentThread().getName()));
+  }
+
+  /**
+   * Records the names of the threads it is executed on.
+   */
+  private static class Threads implements Directive {
+    private final Set<String> threads;
+
+    Threads(Set<String> threads) {
+      this.threads = threads;
+    }
+
+    @Override
+    public UsageDefinition define() {
+      return UsageDefinition.builder("threads").build();
+    }
+
+    @Override
+    public void initialize(Arguments args) {
+      // no-op
+    }
+
+    @Override
+    public List<Row> execute(List<Row> rows, ExecutorContext context) {
+      threads.add(Thread.currentThread().getName());
+      return rows;
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
+
+  /**
+   * Records the names of the threads it is executed on, and declares that it processes rows independently.
+   */
+  @RowIndependent
+  private static final class RowIndependentThreads extends Threads {
+
+    RowIndependentThreads(Set<String> threads) {
+      super(threads);
+    }
+  }
+}
@@ -16,15 +16,30 @@
 
 package io.cdap.wrangler.executor;
 
+import com.google.gson.JsonObject;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.AggregateDirective;
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.ErrorRecord;
+import io.cdap.wrangler.api.ErrorRowException;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.RecipePipeline;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.RowIndependent;
+import io.cdap.wrangler.api.parser.UsageDefinition;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Tests {@link RecipePipelineExecutor}.
@@ -96,4 +111,266 @@ public class RecipePipelineExecutorTest {
     Assert.assertEquals(1481666448L, record.<Long>get("timestamp").longValue());
     Assert.assertEquals(186.66f, record.get("weight"), 0.0001f);
   }
+
+  @Test
+  public void testBatchExecution() throws Exception {
+    String[] commands = new String[] {
+      "set-column :sum a + b",
+      "filter-row-if-true sum > 10"
+    };
+
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      rows.add(new Row("a", i).add("b", i));
+    }
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 4);
+    List<Row> results = pipeline.execute(rows);
+
+    Assert.assertEquals(6, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      Assert.assertEquals(2 * i, results.get(i).getValue("sum"));
+    }
+    Assert.assertTrue(pipeline.errors().isEmpty());
+  }
+
+  @Test
+  public void testBatchExecutionIsolatesErrorRows() throws Exception {
+    String[] commands = new String[] {
+      "parse-as-csv :body ,",
+      "drop :body",
+      "send-to-error body_1 == 'bad'",
+      "set-column :upper body_1.toUpperCase()"
+    };
+
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row("body", "a,1"));
+    rows.add(new Row("body", "bad,2"));
+    rows.add(new Row("body", "c,3"));
+    rows.add(new Row("body", "d,4"));
+    rows.add(new Row("body", "e,5"));
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 3);
+    List<Row> results = pipeline.execute(rows);
+    List<ErrorRecord> errors = pipeline.errors();
+
+    Assert.assertEquals(4, results.size());
+    Assert.assertEquals("A", results.get(0).getValue("upper"));
+    Assert.assertEquals("C", results.get(1).getValue("upper"));
+    Assert.assertEquals("D", results.get(2).getValue("upper"));
+    Assert.assertEquals("E", results.get(3).getValue("upper"));
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals("bad", errors.get(0).getRow().getValue("body_1"));
+  }
+
+  @Test
+  public void testBatchExecutionWithHeaderAndErrorRows() throws Exception {
+    String[] commands = new String[] {
+      "parse-as-csv :body , true",
+      "drop :body",
+      "send-to-error name == 'bad'"
+    };
+
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row("body", "name,value"));
+    rows.add(new Row("body", "a,1"));
+    rows.add(new Row("body", "bad,2"));
+    rows.add(new Row("body", "c,3"));
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 3);
+    List<Row> results = pipeline.execute(rows);
+    List<ErrorRecord> errors = pipeline.errors();
+
+    Assert.assertEquals(2, results.size());
+    Assert.assertEquals("a", results.get(0).getValue("name"));
+    Assert.assertEquals("1", results.get(0).getValue("value"));
+    Assert.assertEquals("c", results.get(1).getValue("name"));
+    Assert.assertEquals("3", results.get(1).getValue("value"));
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals("bad", errors.get(0).getRow().getValue("name"));
+  }
+
+  @Test
+  public void testBatchExecutionWithVariablesAndErrorRows() throws Exception {
+    String[] commands = new String[] {
+      "parse-as-csv :body ,",
+      "increment-variable count 1 true",
+      "send-to-error body_1 == 'bad'"
+    };
+
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row("body", "a,1"));
+    rows.add(new Row("body", "bad,2"));
+    rows.add(new Row("body", "c,3"));
+
+    ExecutorContext context = new TestingPipelineContext();
+    RecipePipeline pipeline = new RecipePipelineExecutor(TestingRig.parse(commands), context, 3);
+    List<Row> results = pipeline.execute(rows);
+
+    Assert.assertEquals(2, results.size());
+    Assert.assertEquals(1, pipeline.errors().size());
+    Assert.assertEquals(3L, ((Number) context.getTransientStore().get("count")).longValue());
+  }
+
+  @Test
+  public void testFinishFlushesAggregates() throws Exception {
+    List<Directive> directives = new ArrayList<>();
+    directives.add(new Sum());
+    directives.addAll(TestingRig.parse(new String[] { "set-column :twice total * 2" }).parse());
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(() -> directives, new TestingPipelineContext());
+    Assert.assertTrue(pipeline.execute(Collections.singletonList(new Row("a", 1L))).isEmpty());
+    Assert.assertTrue(pipeline.execute(Collections.singletonList(new Row("a", 2L))).isEmpty());
+
+    List<Row> results = pipeline.finish();
+    Assert.assertEquals(1, results.size());
+    Assert.assertEquals(3L, results.get(0).getValue("total"));
+    Assert.assertEquals(6L, results.get(0).getValue("twice"));
+  }
+
+  @Test
+  public void testFinishWithMergedState() throws Exception {
+    Sum partition1 = new Sum();
+    Sum partition2 = new Sum();
+    RecipePipeline pipeline1 = new RecipePipelineExecutor(() -> Collections.singletonList(partition1), null);
+    RecipePipeline pipeline2 = new RecipePipelineExecutor(() -> Collections.singletonList(partition2), null);
+    pipeline1.execute(Collections.singletonList(new Row("a", 1L)));
+    pipeline2.execute(Collections.singletonList(new Row("a", 2L)));
+    pipeline2.execute(Collections.singletonList(new Row("a", 3L)));
+
+    partition1.mergeState(partition2.takeState());
+    Assert.assertTrue(pipeline2.finish().isEmpty());
+    List<Row> results = pipeline1.finish();
+    Assert.assertEquals(1, results.size());
+    Assert.assertEquals(6L, results.get(0).getValue("total"));
+  }
+
+  @Test
+  public void testBatchExecutionReportsFailingRow() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      rows.add(new Row("json", new JsonObject()).add("status", i == 6 ? "fail" : "ok"));
+    }
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(() -> Collections.singletonList(new Count()), null, 4);
+    try {
+      pipeline.execute(rows);
+      Assert.fail("Expected the recipe to fail.");
+    } catch (RecipeException e) {
+      Assert.assertEquals(6, e.getRowIndex());
+      Assert.assertEquals(1, e.getDirectiveIndex());
+    }
+  }
+
+  @Test
+  public void testBatchExecutionIsRepeatedOnUnchangedRows() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      rows.add(new Row("json", new JsonObject()).add("status", i == 2 ? "error" : "ok"));
+    }
+
+    RecipePipeline pipeline = new RecipePipelineExecutor(() -> Collections.singletonList(new Count()), null, 4);
+    List<Row> results = pipeline.execute(rows);
+
+    // The rows are executed again one by one, on JSON objects that were not changed by the failed batch.
+    Assert.assertEquals(3, results.size());
+    for (Row row : results) {
+      Assert.assertEquals(1, ((JsonObject) row.getValue("json")).get("count").getAsInt());
+    }
+    Assert.assertEquals(1, pipeline.errors().size());
+  }
+
+  /**
+   * Counts the executions of each row in its JSON object, routing rows to error or failing by their status.
+   */
+  @RowIndependent
+  private static final class Count implements Directive {
+
+    @Override
+    public UsageDefinition define() {
+      return UsageDefinition.builder("count").build();
+    }
+
+    @Override
+    public void initialize(Arguments args) {
+      // no-op
+    }
+
+    @Override
+    public List<Row> execute(List<Row> rows, ExecutorContext context)
+      throws DirectiveExecutionException, ErrorRowException {
+      for (Row row : rows) {
+        JsonObject json = (JsonObject) row.getValue("json");
+        json.addProperty("count", json.has("count") ? json.get("count").getAsInt() + 1 : 1);
+      }
+      for (Row row : rows) {
+        if ("error".equals(row.getValue("status"))) {
+          throw new ErrorRowException("count", "Row routed to error.", 1);
+        }
+        if ("fail".equals(row.getValue("status"))) {
+          throw new DirectiveExecutionException("count", "Row failed.");
+        }
+      }
+      return rows;
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
+
+  /**
+   * Sums column 'a' of all the rows into a single row emitted at the end.
+   */
+  private static final class Sum implements AggregateDirective {
+    private Long total;
+
+    @Override
+    public UsageDefinition define() {
+      return UsageDefinition.builder("sum").build();
+    }
+
+    @Override
+    public void initialize(Arguments args) {
+      // no-op
+    }
+
+    @Override
+    public List<Row> execute(List<Row> rows, ExecutorContext context) {
+      for (Row row : rows) {
+        total = (total == null ? 0L : total) + (Long) row.getValue("a");
+      }
+      return new ArrayList<>();
+    }
+
+    @Override
+    public List<Row> finish(ExecutorContext context) {
+      if (total == null) {
+        return new ArrayList<>();
+      }
+      List<Row> rows = new ArrayList<>();
+      rows.add(new Row("total", takeState()));
+      return rows;
+    }
+
+    @Override
+    public Serializable takeState() {
+      Long state = total;
+      total = null;
+      return state;
+    }
+
+    @Override
+    public void mergeState(Serializable state) {
+      if (state != null) {
+        total = (total == null ? 0L : total) + (Long) state;
+      }
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.expression;
+
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link CompiledExpression}.
+ */
+public class CompiledExpressionTest {
+  private static final Map<String, Object> FUNCTIONS = new EL.DefaultFunctions().functions();
+  private static final JexlEngine ENGINE = new JexlBuilder()
+    .namespaces(FUNCTIONS)
+    .silent(false)
+    .strict(true)
+    .create();
+
+  private static final List<String> SUPPORTED = Arrays.asList(
+    "a + b", "a - b * 2", "(a + b) / 2", "a % 3", "-a", "-1 + a", "-2.5 * b", "a + 10000000000",
+    "s + '_' + a", "s + \"\\t\" + t", "a == b", "a != b", "a < b", "a <= b", "a > 1.5", "a >= b",
+    "s == 'x'", "t == null", "!(a > b)", "a > 0 && b > 0", "a > 0 || t == null", "true && !false",
+    "math:max(a, b)", "string:upperCase(s)", "toDouble(s) + 1", "strings:isNullOrEmpty(t)",
+    "number:AsDouble(a) > 1 || a == 0", "decimal:add(d, d)", "d > 1", "string:trim(s + ' ') == 'x'",
+    "IsNull(t) && concat(s, t) != s", "coalesce(t, s, 'z')"
+  );
+
+  private static final List<String> UNSUPPORTED = Arrays.asList(
+    "a > b ? a : b", "s.length()", "m['k']", "s =~ 'x.*'", "x = 1", "a; b", "var x = 1; x + a", "[1, 2]",
+    "empty(s)", "size(s)", "s.toUpperCase()"
+  );
+
+  private static CompiledExpression compile(String expression) {
+    return CompiledExpression.compile(ENGINE, FUNCTIONS, CompiledExpression.parse(ENGINE, expression));
+  }
+
+  private static List<ELContext> contexts() {
+    return Arrays.asList(
+      new ELContext().add("a", 1).add("b", 2).add("s", "x").add("t", null).add("d", new BigDecimal("1.25")),
+      new ELContext().add("a", 7L).add("b", 7).add("s", "12").add("t", "y").add("d", new BigDecimal("-3")),
+      new ELContext().add("a", 2.5).add("b", 0).add("s", "").add("t", "").add("d", BigDecimal.ZERO),
+      new ELContext().add("a", "3").add("b", "4").add("s", null).add("t", null).add("d", null),
+      new ELContext().add("a", null).add("b", 1).add("s", "x").add("t", "x").add("d", BigDecimal.ONE),
+      new ELContext().add("a", 0).add("b", 1)
+    );
+  }
+
+  @Test
+  public void testSupportedExpressions() {
+    for (String expression : SUPPORTED) {
+      Assert.assertNotNull(expression, compile(expression));
+    }
+    for (String expression : UNSUPPORTED) {
+      Assert.assertNull(expression, compile(expression));
+    }
+  }
+
+  @Test
+  public void testSameResultAsJexl() {
+    int evaluated = 0;
+    for (String expression : SUPPORTED) {
+      CompiledExpression compiled = compile(expression);
+      for (ELContext context : contexts()) {
+        Object expected;
+        try {
+          expected = ENGINE.createScript(expression).execute(context);
+        } catch (RuntimeException e) {
+          expected = e;
+        }
+
+        Object actual;
+        try {
+          actual = compiled.evaluate(context);
+        } catch (RuntimeException e) {
+          actual = e;
+        }
+
+        // The compiled expression must produce the same result as JEXL, or fail the same way.
+        String message = expression + " with " + context.get("a") + ", " + context.get("b");
+        if (expected instanceof Exception) {
+          Assert.assertTrue(message + ": " + actual, actual instanceof Exception);
+          Assert.assertEquals(message, expected.getClass(), actual.getClass());
+          Throwable expectedCause = ((Exception) expected).getCause();
+          Throwable actualCause = ((Exception) actual).getCause();
+          Assert.assertEquals(message, expectedCause == null ? null : expectedCause.getClass(),
+                              actualCause == null ? null : actualCause.getClass());
+        } else {
+          Assert.assertFalse(message + ": " + actual, actual instanceof Exception);
+          Assert.assertEquals(message, expected, actual);
+          Assert.assertEquals(message, expected == null ? null : expected.getClass(),
+                              actual == null ? null : actual.getClass());
+          evaluated++;
+        }
+      }
+    }
+    Assert.assertTrue(evaluated > SUPPORTED.size() * 3);
+  }
+
+  @Test
+  public void testFunctionArgumentTypesChange() throws Exception {
+    CompiledExpression compiled = compile("math:abs(a)");
+    Assert.assertNotNull(compiled);
+    Assert.assertEquals(3, compiled.evaluate(new ELContext().add("a", -3)));
+    Assert.assertEquals(3.5d, compiled.evaluate(new ELContext().add("a", -3.5d)));
+    Assert.assertEquals(4L, compiled.evaluate(new ELContext().add("a", -4L)));
+  }
+
+  @Test
+  public void testFailuresAreReportedAsJexlErrors() throws Exception {
+    EL el = EL.compile("a + b");
+    Assert.assertEquals(Integer.valueOf(3), el.execute(new ELContext().add("a", 1).add("b", 2)).getInteger());
+    Assert.assertEquals("12", el.execute(new ELContext().add("a", "1").add("b", "2")).getObject());
+    try {
+      el.execute(new ELContext().add("a", null).add("b", null));
+      Assert.fail("Expected the null operands to fail");
+    } catch (ELException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("a + b"));
+      Assert.assertTrue(e.getCause() instanceof JexlException);
+    }
+  }
+
+  @Test
+  public void testFailedExpressionIsEvaluatedOnce() throws Exception {
+    EL el = EL.compile(() -> Collections.singletonMap("test", Counter.class), "test:count(a) + b");
+    Counter.CALLS.set(0);
+    Assert.assertEquals(Integer.valueOf(3), el.execute(new ELContext().add("a", 1).add("b", 2)).getInteger());
+    Assert.assertEquals(1, Counter.CALLS.get());
+    try {
+      el.execute(new ELContext().add("a", 1).add("b", null));
+      Assert.fail("Expected the null operand to fail");
+    } catch (ELException e) {
+      // expected
+    }
+    Assert.assertEquals(2, Counter.CALLS.get());
+  }
+
+  /**
+   * Functions counting the number of times they are called.
+   */
+  public static final class Counter {
+    static final AtomicInteger CALLS = new AtomicInteger();
+
+    public static Object count(Object value) {
+      CALLS.incrementAndGet();
+      return value;
+    }
+  }
+}
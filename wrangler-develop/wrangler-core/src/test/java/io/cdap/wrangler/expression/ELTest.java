@@ -16,11 +16,13 @@
 
 package io.cdap.wrangler.expression;
 
+import io.cdap.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,46 @@ public class ELTest {
     Assert.assertFalse(el.variables().contains("c"));
   }
 
+  @Test
+  public void testCompiledExpressionIsShared() throws Exception {
+    EL el = EL.compile("a * b");
+    Assert.assertSame(el, EL.compile("a * b"));
+    Assert.assertSame(el, EL.compile(new EL.DefaultFunctions(), "a * b"));
+    Assert.assertNotSame(el, EL.compile("a * c"));
+  }
+
+  @Test
+  public void testFunctionsChangedAfterCompile() throws Exception {
+    Map<String, Object> functions = new HashMap<>();
+    functions.put("math", Math.class);
+    EL el = EL.compile(() -> functions, "math:abs(a)");
+    Assert.assertEquals(2, el.execute(new ELContext().add("a", -2)).getInteger().intValue());
+
+    // The registration changing its functions does not change the functions of the expressions already compiled.
+    functions.put("math", StrictMath.class);
+    Assert.assertNotSame(el, EL.compile(() -> functions, "math:abs(a)"));
+    Assert.assertSame(el, EL.compile(() -> Collections.singletonMap("math", Math.class), "math:abs(a)"));
+  }
+
+  @Test
+  public void testIsDeterministic() throws Exception {
+    Assert.assertTrue(EL.compile("string:upperCase(a) + math:abs(b)").isDeterministic());
+    Assert.assertFalse(EL.compile("datetime:CurrentDateTime()").isDeterministic());
+    Assert.assertFalse(EL.compile("date:DAYS_BETWEEN_NOW(a)").isDeterministic());
+    Assert.assertFalse(EL.compile("math:random() > 0.5").isDeterministic());
+    Assert.assertFalse(EL.compile("ctx.millis > 0").isDeterministic());
+  }
+
+  @Test
+  public void testContextRebind() throws Exception {
+    EL el = EL.compile("a + (b == null ? 0 : b)");
+    ELContext ctx = new ELContext();
+
+    Assert.assertEquals(Integer.valueOf(3), el.execute(ctx.bind(null, el, new Row("a", 1).add("b", 2))).getInteger());
+    Assert.assertEquals(Integer.valueOf(5), el.execute(ctx.bind(null, el, new Row("a", 5))).getInteger());
+    Assert.assertFalse(ctx.has("x"));
+  }
+
   @Test(expected = ELException.class)
   public void testUndefinedVariableException() throws Exception {
     EL el = EL.compile("a + b + c");
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.registry;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.artifact.ArtifactClasses;
+import io.cdap.cdap.api.artifact.ArtifactInfo;
+import io.cdap.cdap.api.artifact.ArtifactManager;
+import io.cdap.cdap.api.artifact.ArtifactScope;
+import io.cdap.cdap.api.artifact.CloseableClassLoader;
+import io.cdap.cdap.api.plugin.PluginClass;
+import io.cdap.cdap.api.service.worker.SystemAppTaskContext;
+import io.cdap.directives.column.Drop;
+import io.cdap.wrangler.api.Directive;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the refresh of the artifacts of {@link UserDirectiveRegistry}.
+ */
+public class UserDirectiveRegistryTest {
+  private static final String NAMESPACE = "default";
+
+  private TestArtifactManager artifactManager;
+  private UserDirectiveRegistry registry;
+
+  @Before
+  public void setUp() {
+    artifactManager = new TestArtifactManager();
+    SystemAppTaskContext context = Mockito.mock(SystemAppTaskContext.class);
+    Mockito.when(context.getArtifactManager()).thenReturn(artifactManager);
+    registry = new UserDirectiveRegistry(context, 0L);
+  }
+
+  private static ArtifactInfo artifact(String version, Map<String, String> properties) {
+    PluginClass plugin = PluginClass.builder()
+      .setType(Directive.TYPE)
+      .setName(Drop.NAME)
+      .setClassName(Drop.class.getName())
+      .setDescription("")
+      .setProperties(Collections.emptyMap())
+      .build();
+    return new ArtifactInfo("directives", version, ArtifactScope.USER,
+                            ArtifactClasses.builder().addPlugin(plugin).build(), properties);
+  }
+
+  @Test
+  public void testUnchangedArtifactsAreNotReloaded() throws Exception {
+    artifactManager.artifacts.add(artifact("1.0.0", Collections.emptyMap()));
+    artifactManager.artifacts.add(artifact("2.0.0-SNAPSHOT", Collections.emptyMap()));
+    registry.refresh(NAMESPACE);
+    registry.refresh(NAMESPACE);
+
+    Assert.assertEquals(2, artifactManager.classLoaders.size());
+    Assert.assertNotNull(registry.get(NAMESPACE, Drop.NAME));
+  }
+
+  @Test
+  public void testRetiredClassLoaderIsClosedByNextRefresh() throws Exception {
+    artifactManager.artifacts.add(artifact("1.0.0-SNAPSHOT", Collections.emptyMap()));
+    registry.refresh(NAMESPACE);
+    TestClassLoader first = artifactManager.classLoaders.get(0);
+
+    // The snapshot is deployed again with a change, it is reloaded and the previous class loader is retired.
+    artifactManager.artifacts.set(0, artifact("1.0.0-SNAPSHOT", ImmutableMap.of("changed", "true")));
+    registry.refresh(NAMESPACE);
+    Assert.assertEquals(2, artifactManager.classLoaders.size());
+    Assert.assertFalse(first.closed);
+
+    registry.refresh(NAMESPACE);
+    Assert.assertTrue(first.closed);
+    Assert.assertFalse(artifactManager.classLoaders.get(1).closed);
+
+    // The artifact is removed.
+    artifactManager.artifacts.clear();
+    registry.refresh(NAMESPACE);
+    Assert.assertFalse(registry.list(NAMESPACE).iterator().hasNext());
+    Assert.assertFalse(artifactManager.classLoaders.get(1).closed);
+    registry.refresh(NAMESPACE);
+    Assert.assertTrue(artifactManager.classLoaders.get(1).closed);
+  }
+
+  @Test
+  public void testSharedRegistryKeepsClassLoadersAcrossTasks() throws Exception {
+    artifactManager.artifacts.add(artifact("1.0.0", Collections.emptyMap()));
+    AtomicReference<SystemAppTaskContext> taskContext = new AtomicReference<>();
+    UserDirectiveRegistry shared = new UserDirectiveRegistry(taskContext::get);
+
+    // Each task has its own context, the artifacts are listed through the context of the running task.
+    for (int i = 0; i < 3; i++) {
+      SystemAppTaskContext context = Mockito.mock(SystemAppTaskContext.class);
+      Mockito.when(context.getArtifactManager()).thenReturn(artifactManager);
+      taskContext.set(context);
+      shared.reload(NAMESPACE);
+      Assert.assertNotNull(shared.get(NAMESPACE, Drop.NAME));
+      taskContext.set(null);
+    }
+
+    Assert.assertEquals(1, artifactManager.classLoaders.size());
+    shared.close();
+    Assert.assertTrue(artifactManager.classLoaders.get(0).closed);
+  }
+
+  @Test
+  public void testCloseClosesAllClassLoaders() throws Exception {
+    artifactManager.artifacts.add(artifact("1.0.0-SNAPSHOT", Collections.emptyMap()));
+    registry.refresh(NAMESPACE);
+    artifactManager.artifacts.set(0, artifact("1.0.0-SNAPSHOT", ImmutableMap.of("changed", "true")));
+    registry.refresh(NAMESPACE);
+
+    registry.close();
+    Assert.assertEquals(2, artifactManager.classLoaders.size());
+    for (TestClassLoader classLoader : artifactManager.classLoaders) {
+      Assert.assertTrue(classLoader.closed);
+    }
+  }
+
+  /**
+   * Lists the artifacts set by the test and keeps track of the class loaders created.
+   */
+  private static final class TestArtifactManager implements ArtifactManager {
+    private final List<ArtifactInfo> artifacts = new ArrayList<>();
+    private final List<TestClassLoader> classLoaders = new ArrayList<>();
+
+    @Override
+    public List<ArtifactInfo> listArtifacts() {
+      return new ArrayList<>(artifacts);
+    }
+
+    @Override
+    public List<ArtifactInfo> listArtifacts(String namespace) {
+      return new ArrayList<>(artifacts);
+    }
+
+    @Override
+    public CloseableClassLoader createClassLoader(ArtifactInfo artifactInfo, ClassLoader parentClassLoader) {
+      return createClassLoader(NAMESPACE, artifactInfo, parentClassLoader);
+    }
+
+    @Override
+    public CloseableClassLoader createClassLoader(String namespace, ArtifactInfo artifactInfo,
+                                                  ClassLoader parentClassLoader) {
+      TestClassLoader classLoader = new TestClassLoader(parentClassLoader);
+      classLoaders.add(classLoader);
+      return classLoader.classLoader;
+    }
+  }
+
+  /**
+   * Class loader delegating to its parent, which records whether it was closed.
+   */
+  private static final class TestClassLoader {
+    private final CloseableClassLoader classLoader;
+    private boolean closed;
+
+    TestClassLoader(ClassLoader parent) {
+      this.classLoader = new CloseableClassLoader(parent, () -> closed = true);
+    }
+  }
+}
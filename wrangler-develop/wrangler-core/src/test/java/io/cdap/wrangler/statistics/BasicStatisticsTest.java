@@ -17,12 +17,15 @@
 package io.cdap.wrangler.statistics;
 
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.dataapps.chlorine.finder.FinderEngine;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -66,5 +69,30 @@ public class BasicStatisticsTest {
     Assert.assertEquals(7, stats.width());
     Assert.assertEquals(7, types.width());
   }
-}
 
+  @Test
+  public void testSampledTypes() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    String text = String.join("", Collections.nCopies(200, "joltie@cask.co "));
+    for (int i = 0; i < 5000; i++) {
+      Row row = new Row("email", "user" + (i % 10) + "@cask.co");
+      row.add("text", text);
+      rows.add(row);
+    }
+
+    Row summary = new BasicStatistics().aggregate(rows);
+    Row types = (Row) summary.getValue("types");
+    Assert.assertEquals(5000.0, summary.getValue("total"));
+
+    // Every value is an email, the type count is scaled from the sample to all the rows.
+    Double email = null;
+    for (Pair<String, Double> type : (List<Pair<String, Double>>) types.getValue("email")) {
+      if (type.getFirst().equals("Email")) {
+        email = type.getSecond();
+      }
+    }
+    Assert.assertEquals(1.0, email, 0.0001);
+    // Values too long to be typed.
+    Assert.assertEquals(-1, types.find("text"));
+  }
+}
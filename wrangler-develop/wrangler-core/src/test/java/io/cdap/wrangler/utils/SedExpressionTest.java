@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.unix4j.Unix4j;
+
+/**
+ * Tests {@link SedExpression}
+ */
+public class SedExpressionTest {
+
+  @Test
+  public void testSameAsUnix4j() {
+    String[] values = {"hello world hello", "a/b/c", "HeLLo", "", "tab\there", "a\nb", "he\\llo"};
+    String[] scripts = {
+      "s/hello/bye/", "s/hello/bye/g", "s/hello/bye/2", "s/l/L/2g", "s/l/L/3", "s/HELLO/bye/gI", "s/l/L/Ig",
+      "s/(hel)lo/$1p/g", "s/(?<first>h)/${first}$0/g", "s/hello/&x/g", "s/l/\\//g", "s/\\//-/g", "s|/|-|g",
+      "s/l*/X/g", "s/^/X/g", "s/$/X/", "s/\\s/_/g", "s/\\\\/X/g", "s/(o)/$10/g", " s/l/L/g ",
+      "s/hello/bye/gp", "y/hel/HEL/", "y/hel/HE/", "y,l,L,", "/hel/d", "/HEL/Id", "/xyz/d", "/hel/ d",
+      "/l/p", "/L/I p",
+    };
+    for (String script : scripts) {
+      SedExpression expression = SedExpression.compile(script);
+      for (String value : values) {
+        String expected = Unix4j.echo(value).sed(script).toStringResult();
+        Assert.assertEquals(String.format("'%s' on '%s'", script, value), expected, expression.apply(value));
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidExpressions() {
+    String[] scripts = {
+      "", "  ", "s", "s/l/L", "s/l/L/gi", "s/l/L/0", "s/l/L/I2", "s/l/L/ g", "s/(/x/", "s/l/a$b/", "s/l/$1/",
+      "s/l/\\", "\\/hel/d", "/hel/", "/hel/a\\ text", "/hel/dp", "y/l/L/g", "S/l/L/",
+    };
+    for (String script : scripts) {
+      try {
+        SedExpression.compile(script);
+        Assert.fail("Expected failure for " + script);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.proto.workspace.v2;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import io.cdap.wrangler.api.Row;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Binary encoding of the sample of a workspace.
+ *
+ * <p>The encoding starts with a magic number, a version and flags, followed by the rows. Values of the common
+ * types and JSON elements are written in a compact binary form, other values with Java serialization. Column
+ * names and short strings are written once and referenced by their index afterwards, such that repeated column
+ * names and values take a few bytes. Large samples are compressed.</p>
+ *
+ * <p>Samples serialized with Java serialization, as stored by previous versions, are decoded as well.</p>
+ */
+public final class SampleCodec {
+  private static final int MAGIC = 0x5752;
+  private static final int VERSION = 1;
+  private static final int FLAG_COMPRESSED = 1;
+  // Java serialization streams start with this magic number.
+  private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+  // Encoded samples at least this large are compressed.
+  private static final int COMPRESSION_THRESHOLD = 16 * 1024;
+  // Strings with an UTF-8 encoding at most this long are added to the dictionary.
+  private static final int MAX_DICTIONARY_STRING_LENGTH = 64;
+
+  // Markers of a string: null, written inline, or a reference to the dictionary.
+  private static final int NULL_STRING = 0;
+  private static final int INLINE_STRING = 1;
+  private static final int DICTIONARY_STRING = 2;
+
+  private static final int NULL = 0;
+  private static final int STRING = 1;
+  private static final int INT = 2;
+  private static final int LONG = 3;
+  private static final int DOUBLE = 4;
+  private static final int FLOAT = 5;
+  private static final int TRUE = 6;
+  private static final int FALSE = 7;
+  private static final int SHORT = 8;
+  private static final int BYTES = 9;
+  private static final int BIG_DECIMAL = 10;
+  private static final int LOCAL_DATE = 11;
+  private static final int LOCAL_TIME = 12;
+  private static final int ROW = 13;
+  private static final int SERIALIZED = 14;
+  private static final int JSON_NULL = 15;
+  private static final int JSON_BOOLEAN = 16;
+  private static final int JSON_NUMBER = 17;
+  private static final int JSON_STRING = 18;
+  private static final int JSON_ARRAY = 19;
+  private static final int JSON_OBJECT = 20;
+
+  private SampleCodec() {
+  }
+
+  /**
+   * Encodes the rows of a sample.
+   *
+   * @param rows the rows to encode.
+   * @return the encoded rows.
+   * @throws IOException if a value can't be serialized.
+   */
+  public static byte[] encode(List<Row> rows) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    new Encoder(new DataOutputStream(bos)).writeRows(rows);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(bos.size(), COMPRESSION_THRESHOLD) + 4);
+    boolean compressed = bos.size() >= COMPRESSION_THRESHOLD;
+    DataOutputStream header = new DataOutputStream(out);
+    header.writeShort(MAGIC);
+    header.writeByte(VERSION);
+    header.writeByte(compressed ? FLAG_COMPRESSED : 0);
+    if (compressed) {
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try (OutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+        bos.writeTo(deflaterOut);
+      } finally {
+        deflater.end();
+      }
+    } else {
+      bos.writeTo(out);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes the rows of a sample encoded by {@link #encode(List)} or with Java serialization.
+   *
+   * @param bytes the encoded rows.
+   * @return the decoded rows.
+   * @throws IOException if the rows can't be decoded.
+   */
+  public static List<Row> decode(byte[] bytes) throws IOException {
+    return decode(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Decodes the rows of a sample encoded by {@link #encode(List)} or with Java serialization.
+   *
+   * @param bytes the array holding the encoded rows.
+   * @param offset position of the encoded rows in the array.
+   * @param length length of the encoded rows.
+   * @return the decoded rows.
+   * @throws IOException if the rows can't be decoded.
+   */
+  @SuppressWarnings("unchecked")
+  public static List<Row> decode(byte[] bytes, int offset, int length) throws IOException {
+    if (length >= 2 && ((bytes[offset] & 0xff) << 8 | bytes[offset + 1] & 0xff) == JAVA_SERIALIZATION_MAGIC) {
+      return (List<Row>) deserialize(new ByteArrayInputStream(bytes, offset, length));
+    }
+
+    DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+    if (length < 4 || header.readUnsignedShort() != MAGIC) {
+      throw new IOException("Sample is not in a known format");
+    }
+    int version = header.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported sample format version " + version);
+    }
+    int flags = header.readUnsignedByte();
+    InputStream in = new ByteArrayInputStream(bytes, offset + 4, length - 4);
+    if ((flags & FLAG_COMPRESSED) != 0) {
+      in = new InflaterInputStream(in);
+    }
+    try (DataInputStream dataIn = new DataInputStream(in)) {
+      return new Decoder(dataIn).readRows();
+    }
+  }
+
+  private static byte[] serialize(Object object) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(object);
+    }
+    return bos.toByteArray();
+  }
+
+  private static Object deserialize(InputStream in) throws IOException {
+    try (ObjectInputStream ois = new ObjectInputStream(in)) {
+      return ois.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Failed to deserialize a value of the sample", e);
+    }
+  }
+
+  /**
+   * Writes rows, keeping track of the strings written so far.
+   */
+  private static final class Encoder {
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    Encoder(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void writeRows(List<Row> rows) throws IOException {
+      writeVarInt(rows.size());
+      for (Row row : rows) {
+        writeRow(row);
+      }
+    }
+
+    private void writeRow(Row row) throws IOException {
+      writeVarInt(row.width());
+      for (int i = 0; i < row.width(); i++) {
+        writeString(row.getColumn(i));
+        writeValue(row.getValue(i));
+      }
+    }
+
+    private void writeValue(Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(NULL);
+      } else if (value instanceof String) {
+        out.writeByte(STRING);
+        writeString((String) value);
+      } else if (value instanceof Integer) {
+        out.writeByte(INT);
+        writeVarLong((Integer) value);
+      } else if (value instanceof Long) {
+        out.writeByte(LONG);
+        writeVarLong((Long) value);
+      } else if (value instanceof Double) {
+        out.writeByte(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (value instanceof Float) {
+        out.writeByte(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (value instanceof Boolean) {
+        out.writeByte((Boolean) value ? TRUE : FALSE);
+      } else if (value instanceof Short) {
+        out.writeByte(SHORT);
+        writeVarLong((Short) value);
+      } else if (value instanceof byte[]) {
+        out.writeByte(BYTES);
+        writeBytes((byte[]) value);
+      } else if (value instanceof BigDecimal) {
+        out.writeByte(BIG_DECIMAL);
+        writeVarLong(((BigDecimal) value).scale());
+        writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+      } else if (value instanceof LocalDate) {
+        out.writeByte(LOCAL_DATE);
+        writeVarLong(((LocalDate) value).toEpochDay());
+      } else if (value instanceof LocalTime) {
+        out.writeByte(LOCAL_TIME);
+        writeVarLong(((LocalTime) value).toNanoOfDay());
+      } else if (value instanceof Row) {
+        out.writeByte(ROW);
+        writeRow((Row) value);
+      } else if (value instanceof JsonElement) {
+        writeJson((JsonElement) value);
+      } else {
+        out.writeByte(SERIALIZED);
+        writeBytes(serialize(value));
+      }
+    }
+
+    private void writeJson(JsonElement element) throws IOException {
+      if (element.isJsonNull()) {
+        out.writeByte(JSON_NULL);
+      } else if (element.isJsonArray()) {
+        JsonArray array = element.getAsJsonArray();
+        out.writeByte(JSON_ARRAY);
+        writeVarInt(array.size());
+        for (JsonElement item : array) {
+          writeJson(item);
+        }
+      } else if (element.isJsonObject()) {
+        Set<Map.Entry<String, JsonElement>> entries = element.getAsJsonObject().entrySet();
+        out.writeByte(JSON_OBJECT);
+        writeVarInt(entries.size());
+        for (Map.Entry<String, JsonElement> entry : entries) {
+          writeString(entry.getKey());
+          writeJson(entry.getValue());
+        }
+      } else {
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+          out.writeByte(JSON_BOOLEAN);
+          out.writeBoolean(primitive.getAsBoolean());
+        } else {
+          // Numbers are written as their text, which preserves their precision.
+          out.writeByte(primitive.isNumber() ? JSON_NUMBER : JSON_STRING);
+          writeString(primitive.getAsString());
+        }
+      }
+    }
+
+    // Strings are written as 0 for null, 1 followed by the string, or 2 + its index in the dictionary.
+    private void writeString(@Nullable String value) throws IOException {
+      if (value == null) {
+        writeVarInt(NULL_STRING);
+        return;
+      }
+      Integer index = dictionary.get(value);
+      if (index != null) {
+        writeVarInt(index + DICTIONARY_STRING);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(INLINE_STRING);
+      writeBytes(bytes);
+      if (bytes.length <= MAX_DICTIONARY_STRING_LENGTH) {
+        dictionary.put(value, dictionary.size());
+      }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+      writeVarInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+      // Zig-zag encoding, such that small negative values are small too.
+      long v = (value << 1) ^ (value >> 63);
+      while ((v & ~0x7FL) != 0) {
+        out.writeByte((int) ((v & 0x7F) | 0x80));
+        v >>>= 7;
+      }
+      out.writeByte((int) v);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+      int v = value;
+      while ((v & ~0x7F) != 0) {
+        out.writeByte((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      out.writeByte(v);
+    }
+  }
+
+  /**
+   * Reads rows written by an {@link Encoder}, rebuilding the strings dictionary as they are read.
+   */
+  private static final class Decoder {
+    private final DataInputStream in;
+    private final List<String> dictionary = new ArrayList<>();
+
+    Decoder(DataInputStream in) {
+      this.in = in;
+    }
+
+    List<Row> readRows() throws IOException {
+      int size = readVarInt();
+      List<Row> rows = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        rows.add(readRow());
+      }
+      return rows;
+    }
+
+    private Row readRow() throws IOException {
+      int width = readVarInt();
+      Row row = new Row();
+      row.ensureCapacity(width);
+      for (int i = 0; i < width; i++) {
+        String column = readString();
+        row.add(column, readValue());
+      }
+      return row;
+    }
+
+    private Object readValue() throws IOException {
+      int type = in.readUnsignedByte();
+      switch (type) {
+        case NULL:
+          return null;
+        case STRING:
+          return readString();
+        case INT:
+          return (int) readVarLong();
+        case LONG:
+          return readVarLong();
+        case DOUBLE:
+          return in.readDouble();
+        case FLOAT:
+          return in.readFloat();
+        case TRUE:
+          return Boolean.TRUE;
+        case FALSE:
+          return Boolean.FALSE;
+        case SHORT:
+          return (short) readVarLong();
+        case BYTES:
+          return readBytes();
+        case BIG_DECIMAL:
+          int scale = (int) readVarLong();
+          return new BigDecimal(new BigInteger(readBytes()), scale);
+        case LOCAL_DATE:
+          return LocalDate.ofEpochDay(readVarLong());
+        case LOCAL_TIME:
+          return LocalTime.ofNanoOfDay(readVarLong());
+        case ROW:
+          return readRow();
+        case SERIALIZED:
+          return deserialize(new ByteArrayInputStream(readBytes()));
+        default:
+          return readJson(type);
+      }
+    }
+
+    private JsonElement readJson(int type) throws IOException {
+      switch (type) {
+        case JSON_NULL:
+          return JsonNull.INSTANCE;
+        case JSON_BOOLEAN:
+          return new JsonPrimitive(in.readBoolean());
+        case JSON_NUMBER:
+          return new JsonPrimitive(new LazilyParsedNumber(readString()));
+        case JSON_STRING:
+          return new JsonPrimitive(readString());
+        case JSON_ARRAY:
+          int size = readVarInt();
+          JsonArray array = new JsonArray();
+          for (int i = 0; i < size; i++) {
+            array.add(readJson(in.readUnsignedByte()));
+          }
+          return array;
+        case JSON_OBJECT:
+          int members = readVarInt();
+          JsonObject object = new JsonObject();
+          for (int i = 0; i < members; i++) {
+            String name = readString();
+            object.add(name, readJson(in.readUnsignedByte()));
+          }
+          return object;
+        default:
+          throw new IOException("Unknown value type " + type + " in sample");
+      }
+    }
+
+    @Nullable
+    private String readString() throws IOException {
+      int index = readVarInt();
+      if (index == NULL_STRING) {
+        return null;
+      }
+      if (index >= DICTIONARY_STRING) {
+        return dictionary.get(index - DICTIONARY_STRING);
+      }
+      byte[] bytes = readBytes();
+      String value = new String(bytes, StandardCharsets.UTF_8);
+      if (bytes.length <= MAX_DICTIONARY_STRING_LENGTH) {
+        dictionary.add(value);
+      }
+      return value;
+    }
+
+    private byte[] readBytes() throws IOException {
+      byte[] bytes = new byte[readVarInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+
+    private long readVarLong() throws IOException {
+      long v = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = in.readUnsignedByte();
+        v |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    private int readVarInt() throws IOException {
+      int v = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = in.readUnsignedByte();
+        v |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return v;
+    }
+  }
+}
@@ -19,47 +19,60 @@ package io.cdap.wrangler.proto.workspace.v2;
 
 import io.cdap.wrangler.api.Row;
 
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * Full information about the workspace, including sample data
+ * Full information about the workspace, including sample data. The sample is decoded from, or encoded to,
+ * its {@link SampleCodec binary form} when first needed, at most once even if several threads need it.
+ *
+ * <p>Two details are equal if their workspaces are equal and their samples have the same binary form, such that
+ * comparing details does not decode the samples.</p>
  */
 public class WorkspaceDetail {
   private final Workspace workspace;
-  private final List<Row> sample;
-  private final byte[] sampleAsBytes;
+  // The sample in the form it was given, and in the other form once it is needed. Guarded by this.
+  private List<Row> sample;
+  private byte[] sampleAsBytes;
 
   public WorkspaceDetail(Workspace workspace, List<Row> sample) {
     this.workspace = workspace;
     this.sample = sample;
-    this.sampleAsBytes = convertToBytes(sample);
   }
 
-  private byte[] convertToBytes(List<Row> sample) {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-         ObjectOutput out = new ObjectOutputStream(bos)) {
-      out.writeObject(sample);
-      out.flush();
-      return bos.toByteArray();
-    } catch (Exception e) {
-      throw new RuntimeException("Error getting bytes from sample", e);
-    }
+  /**
+   * Creates the detail of a workspace with a sample in binary form, as returned by {@link #getSampleAsBytes()}.
+   */
+  public WorkspaceDetail(Workspace workspace, byte[] sampleAsBytes) {
+    this.workspace = workspace;
+    this.sampleAsBytes = sampleAsBytes;
   }
 
   public Workspace getWorkspace() {
     return workspace;
   }
 
-  public List<Row> getSample() {
+  public synchronized List<Row> getSample() {
+    if (sample == null) {
+      try {
+        sample = SampleCodec.decode(sampleAsBytes);
+      } catch (IOException e) {
+        throw new RuntimeException("Error reading sample from bytes", e);
+      }
+    }
     return sample;
   }
 
-  public byte[] getSampleAsBytes() {
+  public synchronized byte[] getSampleAsBytes() {
+    if (sampleAsBytes == null) {
+      try {
+        sampleAsBytes = SampleCodec.encode(sample);
+      } catch (IOException e) {
+        throw new RuntimeException("Error getting bytes from sample", e);
+      }
+    }
     return sampleAsBytes;
   }
 
@@ -75,12 +88,11 @@ public class WorkspaceDetail {
 
     WorkspaceDetail detail = (WorkspaceDetail) o;
     return Objects.equals(workspace, detail.workspace) &&
-      Objects.equals(sample, detail.sample) &&
-      Arrays.equals(sampleAsBytes, detail.sampleAsBytes);
+      Arrays.equals(getSampleAsBytes(), detail.getSampleAsBytes());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(workspace, sample, sampleAsBytes);
+    return 31 * Objects.hashCode(workspace) + Arrays.hashCode(getSampleAsBytes());
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.proto.workspace.v2;
+
+import com.google.gson.JsonParser;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link SampleCodec}.
+ */
+public class SampleCodecTest {
+
+  private static List<Row> rows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Row row = new Row("body", "line " + i);
+      row.add("int", i);
+      row.add("long", -i * 1000L);
+      row.add("double", i / 3.0);
+      row.add("float", i / 7.0f);
+      row.add("short", (short) i);
+      row.add("boolean", i % 2 == 0);
+      row.add("null", null);
+      row.add("bytes", new byte[] {(byte) i, 1, 2});
+      row.add("decimal", new BigDecimal("-123.4567").add(BigDecimal.valueOf(i)));
+      row.add("date", LocalDate.ofEpochDay(i));
+      row.add("time", LocalTime.ofSecondOfDay(i));
+      row.add("timestamp", ZonedDateTime.parse("2026-01-01T00:00:00Z").plusSeconds(i));
+      row.add("list", Arrays.asList("a", i));
+      row.add("row", new Row("nested", "value " + (i % 3)));
+      row.add("category", i % 2 == 0 ? "even" : "odd");
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static void assertRowsEqual(List<Row> expected, List<Row> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Row expectedRow = expected.get(i);
+      Row actualRow = actual.get(i);
+      Assert.assertEquals(expectedRow.width(), actualRow.width());
+      for (int j = 0; j < expectedRow.width(); j++) {
+        Assert.assertEquals(expectedRow.getColumn(j), actualRow.getColumn(j));
+        Object value = expectedRow.getValue(j);
+        if (value instanceof byte[]) {
+          Assert.assertArrayEquals((byte[]) value, (byte[]) actualRow.getValue(j));
+        } else {
+          Assert.assertEquals(value, actualRow.getValue(j));
+          Assert.assertEquals(value == null ? null : value.getClass(),
+                              actualRow.getValue(j) == null ? null : actualRow.getValue(j).getClass());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<Row> rows = rows(10);
+    assertRowsEqual(rows, SampleCodec.decode(SampleCodec.encode(rows)));
+    Assert.assertEquals(Collections.emptyList(), SampleCodec.decode(SampleCodec.encode(Collections.emptyList())));
+  }
+
+  @Test
+  public void testCompressedRoundTrip() throws Exception {
+    List<Row> rows = rows(1000);
+    byte[] bytes = SampleCodec.encode(rows);
+    assertRowsEqual(rows, SampleCodec.decode(bytes));
+
+    List<Row> strings = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      strings.add(new Row("body", "a line of text that is not short, number " + i).add("kind", "repeated"));
+    }
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(strings);
+    }
+    bytes = SampleCodec.encode(strings);
+    Assert.assertEquals(strings, SampleCodec.decode(bytes));
+    Assert.assertTrue(bytes.length < bos.size() / 4);
+  }
+
+  @Test
+  public void testJavaSerializedSample() throws Exception {
+    List<Row> rows = rows(10);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(rows);
+    }
+    assertRowsEqual(rows, SampleCodec.decode(bos.toByteArray()));
+  }
+
+  @Test
+  public void testRowWithoutValues() throws Exception {
+    List<Row> rows = Collections.singletonList(new Row(Arrays.asList("a", "b")));
+    byte[] bytes = SampleCodec.encode(rows);
+    Assert.assertNotEquals(0xACED, (bytes[0] & 0xff) << 8 | bytes[1] & 0xff);
+    List<Row> decoded = SampleCodec.decode(bytes);
+    Assert.assertEquals(rows, decoded);
+    Assert.assertNull(decoded.get(0).getValue("b"));
+  }
+
+  @Test
+  public void testNullColumnNames() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    rows.add(new Row(null, "a").add("b", null).add(null, "c"));
+    rows.add(new Row("b", "d").add(null, null));
+    List<Row> decoded = SampleCodec.decode(SampleCodec.encode(rows));
+    assertRowsEqual(rows, decoded);
+    Assert.assertNull(decoded.get(1).getColumn(1));
+  }
+
+  @Test
+  public void testJsonValues() throws Exception {
+    String json = "{\"a\": 1, \"b\": 12345678901234567890.123, \"c\": [true, null, \"x\"], \"d\": {}}";
+    List<Row> rows = Collections.singletonList(new Row("json", new JsonParser().parse(json))
+                                                 .add("number", new JsonParser().parse("1.50")));
+    Assert.assertEquals(rows, SampleCodec.decode(SampleCodec.encode(rows)));
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.proto.workspace.v2;
+
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests {@link WorkspaceDetail}.
+ */
+public class WorkspaceDetailTest {
+  private static final Workspace WORKSPACE = Workspace.builder("name", "id").build();
+  private static final List<Row> SAMPLE = Arrays.asList(new Row("body", "a").add("count", 1),
+                                                        new Row("body", "b").add("count", 2));
+
+  @Test
+  public void testEqualsDoesNotDependOnTheFormOfTheSample() throws Exception {
+    WorkspaceDetail fromRows = new WorkspaceDetail(WORKSPACE, SAMPLE);
+    WorkspaceDetail fromBytes = new WorkspaceDetail(WORKSPACE, SampleCodec.encode(SAMPLE));
+    Assert.assertEquals(fromRows, fromBytes);
+    Assert.assertEquals(fromRows.hashCode(), fromBytes.hashCode());
+    Assert.assertEquals(SAMPLE, fromBytes.getSample());
+    Assert.assertNotEquals(fromRows, new WorkspaceDetail(WORKSPACE, SAMPLE.subList(0, 1)));
+  }
+
+  @Test
+  public void testSampleIsDecodedOnce() throws Exception {
+    WorkspaceDetail detail = new WorkspaceDetail(WORKSPACE, SampleCodec.encode(SAMPLE));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<Row>>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(detail::getSample));
+      }
+      for (Future<List<Row>> future : futures) {
+        Assert.assertSame(detail.getSample(), future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
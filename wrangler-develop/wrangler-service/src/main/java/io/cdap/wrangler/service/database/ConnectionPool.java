@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.database;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Pool of JDBC connections, such that requests on the same database reuse the connections opened by the requests
+ * before them. Connections are pooled by a key identifying the driver, the database and the credentials used to open
+ * them, are validated before being reused, and are closed once they have been idle for too long.
+ *
+ * <p>The session of a connection opened by the pool is reset when the connection is released: an open transaction
+ * is rolled back, and the auto-commit mode, catalog and schema are set back to the ones it was opened with.</p>
+ */
+final class ConnectionPool {
+  private static final Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private final int maxIdle;
+  private final long idleTimeoutMillis;
+  // Idle connections by key, the most recently released first.
+  private final Map<String, Deque<IdleConnection>> idle = new HashMap<>();
+  // Session state of the connections opened by the pool, as they were opened.
+  private final Map<Connection, Session> sessions = Collections.synchronizedMap(new IdentityHashMap<>());
+  private ScheduledExecutorService evictor;
+  private boolean closed;
+
+  /**
+   * Opens a connection.
+   */
+  interface ConnectionFactory {
+    Connection open() throws Exception;
+  }
+
+  /**
+   * @param maxIdle maximum number of idle connections kept for a key.
+   * @param idleTimeoutMillis time after which an idle connection is closed.
+   */
+  ConnectionPool(int maxIdle, long idleTimeoutMillis) {
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  /**
+   * Returns an idle connection of the key that is still valid, or opens a new one. The connection must be
+   * released or closed by the caller once it is done with it.
+   */
+  Connection acquire(String key, ConnectionFactory factory) throws Exception {
+    while (true) {
+      IdleConnection connection;
+      synchronized (this) {
+        Deque<IdleConnection> connections = idle.get(key);
+        connection = connections == null ? null : connections.pollFirst();
+      }
+      if (connection == null) {
+        Connection opened = factory.open();
+        try {
+          sessions.put(opened, new Session(opened));
+        } catch (SQLException e) {
+          close(opened);
+          throw e;
+        }
+        return opened;
+      }
+      if (isValid(connection.connection)) {
+        return connection.connection;
+      }
+      close(connection.connection);
+    }
+  }
+
+  /**
+   * Returns a connection to the pool, closing it if enough connections of the key are idle already, if its session
+   * could not be reset, or if the pool is closed.
+   */
+  void release(String key, Connection connection) {
+    Session session = sessions.get(connection);
+    if (session != null) {
+      try {
+        session.reset(connection);
+      } catch (SQLException e) {
+        LOG.debug("Failed to reset the session of JDBC connection, closing it.", e);
+        close(connection);
+        return;
+      }
+    }
+    synchronized (this) {
+      Deque<IdleConnection> connections = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+      if (!closed && connections.size() < maxIdle) {
+        connections.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+        if (evictor == null) {
+          evictor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("jdbc-connection-evictor").setDaemon(true).build());
+          long delay = Math.max(idleTimeoutMillis, 1);
+          evictor.scheduleWithFixedDelay(this::evict, delay, delay, TimeUnit.MILLISECONDS);
+        }
+        return;
+      }
+    }
+    close(connection);
+  }
+
+  /**
+   * Closes the connections that have been idle for longer than the timeout.
+   */
+  void evict() {
+    long now = System.currentTimeMillis();
+    List<Connection> expired = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Map.Entry<String, Deque<IdleConnection>>> entries = idle.entrySet().iterator();
+      while (entries.hasNext()) {
+        Deque<IdleConnection> connections = entries.next().getValue();
+        // The least recently released connections are last.
+        while (!connections.isEmpty() && now - connections.peekLast().releaseTime >= idleTimeoutMillis) {
+          expired.add(connections.pollLast().connection);
+        }
+        if (connections.isEmpty()) {
+          entries.remove();
+        }
+      }
+    }
+    for (Connection connection : expired) {
+      close(connection);
+    }
+  }
+
+  /**
+   * Closes the idle connections and stops evicting them. Connections released after the pool is closed are closed.
+   */
+  void close() {
+    List<Connection> connections = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      if (evictor != null) {
+        evictor.shutdownNow();
+        evictor = null;
+      }
+      for (Deque<IdleConnection> keyConnections : idle.values()) {
+        for (IdleConnection connection : keyConnections) {
+          connections.add(connection.connection);
+        }
+      }
+      idle.clear();
+    }
+    for (Connection connection : connections) {
+      close(connection);
+    }
+  }
+
+  /**
+   * @return number of idle connections of the key.
+   */
+  synchronized int getIdleCount(String key) {
+    Deque<IdleConnection> connections = idle.get(key);
+    return connections == null ? 0 : connections.size();
+  }
+
+  private static boolean isValid(Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  void close(Connection connection) {
+    sessions.remove(connection);
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOG.debug("Failed to close JDBC connection.", e);
+    }
+  }
+
+  /**
+   * The session state of a connection that requests may change.
+   */
+  private static final class Session {
+    private final boolean autoCommit;
+    private final String catalog;
+    private final String schema;
+
+    private Session(Connection connection) throws SQLException {
+      this.autoCommit = connection.getAutoCommit();
+      this.catalog = connection.getCatalog();
+      this.schema = getSchema(connection);
+    }
+
+    private void reset(Connection connection) throws SQLException {
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+      }
+      if (connection.getAutoCommit() != autoCommit) {
+        connection.setAutoCommit(autoCommit);
+      }
+      if (catalog != null && !catalog.equals(connection.getCatalog())) {
+        connection.setCatalog(catalog);
+      }
+      if (schema != null && !schema.equals(getSchema(connection))) {
+        connection.setSchema(schema);
+      }
+    }
+
+    @Nullable
+    private static String getSchema(Connection connection) throws SQLException {
+      try {
+        return connection.getSchema();
+      } catch (AbstractMethodError | SQLFeatureNotSupportedException e) {
+        // Drivers written before JDBC 4.1 have no schema.
+        return null;
+      }
+    }
+  }
+
+  /**
+   * A connection with the time it was released at.
+   */
+  private static final class IdleConnection {
+    private final Connection connection;
+    private final long releaseTime;
+
+    private IdleConnection(Connection connection, long releaseTime) {
+      this.connection = connection;
+      this.releaseTime = releaseTime;
+    }
+  }
+}
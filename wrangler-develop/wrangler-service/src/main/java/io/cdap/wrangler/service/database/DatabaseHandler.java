@@ -17,13 +17,15 @@
 package io.cdap.wrangler.service.database;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
 import io.cdap.cdap.api.annotation.TransactionControl;
 import io.cdap.cdap.api.annotation.TransactionPolicy;
 import io.cdap.cdap.api.artifact.ArtifactInfo;
+import io.cdap.cdap.api.artifact.ArtifactSummary;
+import io.cdap.cdap.api.artifact.CloseableClassLoader;
 import io.cdap.cdap.api.plugin.PluginClass;
-import io.cdap.cdap.api.plugin.PluginConfigurer;
-import io.cdap.cdap.api.plugin.PluginProperties;
 import io.cdap.cdap.api.service.http.HttpServiceRequest;
 import io.cdap.cdap.api.service.http.HttpServiceResponder;
 import io.cdap.cdap.api.service.http.SystemHttpServiceContext;
@@ -50,6 +52,7 @@ import io.cdap.wrangler.proto.db.DBSpec;
 import io.cdap.wrangler.proto.db.JDBCDriverInfo;
 import io.cdap.wrangler.service.common.AbstractWranglerHandler;
 import io.cdap.wrangler.service.macro.ServiceMacroEvaluator;
+import io.cdap.wrangler.utils.ArtifactSummaryComparator;
 import io.cdap.wrangler.utils.ObjectSerDe;
 import io.cdap.wrangler.utils.ReferenceNames;
 import org.apache.commons.lang3.text.StrLookup;
@@ -62,6 +65,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.sql.DatabaseMetaData;
 import java.sql.Date;
 import java.sql.Driver;
@@ -76,12 +80,18 @@ import java.sql.Timestamp;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -98,7 +108,15 @@ public class DatabaseHandler extends AbstractWranglerHandler {
   private static final Logger LOG = LoggerFactory.getLogger(DatabaseHandler.class);
   private static final List<String> MACRO_FIELDS = ImmutableList.of("username", "password");
   private static final String JDBC = "jdbc";
+  // Maximum number of rows fetched from the database in a single round trip when reading a table.
+  private static final int MAX_FETCH_SIZE = 1000;
+  // Column names that are matched case-insensitively by the databases when they are not quoted.
+  private static final Pattern REGULAR_IDENTIFIER = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
   private final Map<String, ServiceMacroEvaluator> macroEvaluators = new HashMap<>();
+  // Connections are pooled across the requests of the handler, and closed when the handler is destroyed.
+  private final ConnectionPool connections = new ConnectionPool(4, TimeUnit.MINUTES.toMillis(5));
+  // JDBC drivers by the artifact they are loaded from, kept for as long as the connections they opened are pooled.
+  private final Map<ArtifactSummary, JDBCDriver> jdbcDrivers = new HashMap<>();
 
   static final class DriverInfo {
     private final String jdbcUrlPattern;
@@ -157,6 +175,21 @@ public class DatabaseHandler extends AbstractWranglerHandler {
     loadDrivers(is, drivers);
   }
 
+  /**
+   * Closes the pooled connections and the class loaders of the JDBC drivers.
+   */
+  @Override
+  public void destroy() {
+    super.destroy();
+    connections.close();
+    synchronized (jdbcDrivers) {
+      for (JDBCDriver driver : jdbcDrivers.values()) {
+        driver.close();
+      }
+      jdbcDrivers.clear();
+    }
+  }
+
   @VisibleForTesting
   static void loadDrivers(InputStream is, Map<String, DriverInfo> drivers) throws IOException {
     try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
@@ -366,8 +399,9 @@ public class DatabaseHandler extends AbstractWranglerHandler {
       loadAndExecute(ns, conn, connection -> {
         String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
         ResultSet resultSet;
+        Statement statement = null;
         if (product.equalsIgnoreCase("oracle")) {
-          Statement statement = connection.createStatement();
+          statement = connection.createStatement();
           resultSet = statement.executeQuery("SELECT table_name FROM all_tables");
         } else {
           DatabaseMetaData metaData = connection.getMetaData();
@@ -390,6 +424,9 @@ public class DatabaseHandler extends AbstractWranglerHandler {
           if (resultSet != null) {
             resultSet.close();
           }
+          if (statement != null) {
+            statement.close();
+          }
         }
       }, getContext());
       return new ServiceResponse<>(values);
@@ -404,6 +441,7 @@ public class DatabaseHandler extends AbstractWranglerHandler {
    * @param id Connection id for which the tables need to be listed from database.
    * @param table Name of the database table.
    * @param lines No of lines to be read from RDBMS table.
+   * @param columns Comma separated names of the columns to read, all of them if not specified.
    * @param scope Group the workspace should be created in.
    */
   @GET
@@ -411,44 +449,112 @@ public class DatabaseHandler extends AbstractWranglerHandler {
   @TransactionPolicy(value = TransactionControl.EXPLICIT)
   public void read(HttpServiceRequest request, HttpServiceResponder responder,
                    @PathParam("context") String namespace, @PathParam("id") String id, @PathParam("table") String table,
-                   @QueryParam("lines") int lines,
+                   @QueryParam("lines") int lines, @QueryParam("columns") String columns,
                    @QueryParam("scope") @DefaultValue(WorkspaceDataset.DEFAULT_SCOPE) String scope) {
     respond(request, responder, namespace, ns -> {
-      AtomicReference<ConnectionSample> sampleRef = new AtomicReference<>();
       Connection conn = getConnection(new NamespacedId(ns, id));
+      List<String> projection = columns == null ? Collections.emptyList() :
+        Arrays.stream(columns.split(",")).map(String::trim).filter(c -> !c.isEmpty()).collect(Collectors.toList());
+
+      AtomicReference<List<Row>> rowsRef = new AtomicReference<>();
+      loadAndExecute(ns, conn, connection -> rowsRef.set(readRows(connection, table, projection, lines)),
+                     getContext());
+      List<Row> rows = rowsRef.get();
+
+      Map<String, String> properties = new HashMap<>();
+      properties.put(PropertyIds.NAME, table);
+      properties.put(PropertyIds.CONNECTION_TYPE, ConnectionType.DATABASE.getType());
+      properties.put(PropertyIds.SAMPLER_TYPE, SamplingMethod.NONE.getMethod());
+      properties.put(PropertyIds.CONNECTION_ID, id);
+      WorkspaceMeta workspaceMeta = WorkspaceMeta.builder(table)
+        .setScope(scope)
+        .setProperties(properties)
+        .build();
+      String sampleId = TransactionRunners.run(getContext(), context -> {
+        WorkspaceDataset ws = WorkspaceDataset.get(context);
+        NamespacedId workspaceId = ws.createWorkspace(ns, workspaceMeta);
+
+        ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
+        byte[] data = serDe.toByteArray(rows);
+        ws.updateWorkspaceData(workspaceId, DataType.RECORDS, data);
+        return workspaceId.getId();
+      });
+
+      ConnectionSample sample = new ConnectionSample(sampleId, table,
+                                                     ConnectionType.DATABASE.getType(),
+                                                     SamplingMethod.NONE.getMethod(), id);
+      return new ServiceResponse<>(sample);
+    });
+  }
 
-      loadAndExecute(ns, conn, connection -> {
-        try (Statement statement = connection.createStatement();
-          ResultSet result = statement.executeQuery(String.format("select * from %s", table))) {
-          List<Row> rows = getRows(lines, result);
+  /**
+   * Reads rows of a table, limiting the rows returned by the database to the ones needed.
+   *
+   * @param connection connection to the database.
+   * @param table name of the table.
+   * @param columns names of the columns to read, all of them if empty.
+   * @param lines maximum number of rows to read.
+   */
+  @VisibleForTesting
+  static List<Row> readRows(java.sql.Connection connection, String table, List<String> columns,
+                            int lines) throws SQLException {
+    // At least a row is read, such that reading a table that doesn't exist fails.
+    int limit = Math.max(lines, 1);
+    DatabaseMetaData metaData = connection.getMetaData();
+    String query = getSelectQuery(metaData.getDatabaseProductName(), metaData.getIdentifierQuoteString(),
+                                  table, columns, limit);
+    try (PreparedStatement statement = connection.prepareStatement(query)) {
+      statement.setMaxRows(limit);
+      statement.setFetchSize(Math.min(limit, MAX_FETCH_SIZE));
+      try (ResultSet result = statement.executeQuery()) {
+        return getRows(lines, result);
+      }
+    }
+  }
 
-          Map<String, String> properties = new HashMap<>();
-          properties.put(PropertyIds.NAME, table);
-          properties.put(PropertyIds.CONNECTION_TYPE, ConnectionType.DATABASE.getType());
-          properties.put(PropertyIds.SAMPLER_TYPE, SamplingMethod.NONE.getMethod());
-          properties.put(PropertyIds.CONNECTION_ID, id);
-          WorkspaceMeta workspaceMeta = WorkspaceMeta.builder(table)
-            .setScope(scope)
-            .setProperties(properties)
-            .build();
-          String sampleId = TransactionRunners.run(getContext(), context -> {
-            WorkspaceDataset ws = WorkspaceDataset.get(context);
-            NamespacedId workspaceId = ws.createWorkspace(ns, workspaceMeta);
-
-            ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
-            byte[] data = serDe.toByteArray(rows);
-            ws.updateWorkspaceData(workspaceId, DataType.RECORDS, data);
-            return workspaceId.getId();
-          });
-
-          ConnectionSample sample = new ConnectionSample(sampleId, table,
-                                                         ConnectionType.DATABASE.getType(),
-                                                         SamplingMethod.NONE.getMethod(), id);
-          sampleRef.set(sample);
-        }
-      }, getContext());
-      return new ServiceResponse<>(sampleRef.get());
-    });
+  /**
+   * Returns the query selecting the columns of the first rows of a table, using the syntax of the database to
+   * limit the rows if it is known.
+   *
+   * @param product name of the database product.
+   * @param quote string used to quote identifiers, or a space if quoting is not supported.
+   * @param table name of the table.
+   * @param columns names of the columns to select, all of them if empty. Names that are regular identifiers are
+   *                not quoted, such that the database matches them regardless of their case, the other names are
+   *                quoted and have to be given in the case the database stores them in.
+   * @param lines maximum number of rows to select, or zero to select all of them.
+   */
+  @VisibleForTesting
+  static String getSelectQuery(String product, String quote, String table, List<String> columns, int lines) {
+    String projection = "*";
+    if (!columns.isEmpty()) {
+      String q = quote == null || quote.trim().isEmpty() ? "" : quote.trim();
+      projection = columns.stream()
+        .map(column -> q.isEmpty() || REGULAR_IDENTIFIER.matcher(column).matches()
+          ? column : q + column.replace(q, q + q) + q)
+        .collect(Collectors.joining(", "));
+    }
+    String query = String.format("select %s from %s", projection, table);
+    if (lines <= 0) {
+      return query;
+    }
+
+    String name = product == null ? "" : product.toLowerCase();
+    if (name.contains("mysql") || name.contains("mariadb") || name.contains("postgresql") || name.contains("hsql")
+      || name.equals("h2") || name.contains("sqlite") || name.contains("vertica") || name.contains("netezza")) {
+      return String.format("%s limit %d", query, lines);
+    }
+    if (name.contains("db2") || name.contains("derby")) {
+      return String.format("%s fetch first %d rows only", query, lines);
+    }
+    if (name.contains("oracle")) {
+      return String.format("select * from (%s) where rownum <= %d", query, lines);
+    }
+    if (name.contains("microsoft sql server") || name.contains("teradata")) {
+      return String.format("select top %d %s from %s", lines, projection, table);
+    }
+    // The number of rows is limited by the statement for other databases.
+    return query;
   }
 
   @VisibleForTesting
@@ -555,7 +661,8 @@ public class DatabaseHandler extends AbstractWranglerHandler {
   }
 
   /**
-   * Loads the driver and gets the connection to the database.
+   * Gets a connection to the database, reusing a pooled connection if there is one, and executes on it.
+   * The connection is returned to the pool if the execution succeeds.
    *
    * @param connection the connection to be connected to.
    */
@@ -563,25 +670,76 @@ public class DatabaseHandler extends AbstractWranglerHandler {
                               Executor executor, SystemHttpServiceContext context) throws Exception {
     String jdbcPluginName = connection.getProperties().get("name");
     String url = connection.getProperties().get("url");
+    Map<String, String> evaluated = evaluateMacros(connection, context, namespace.getName());
+    String username = evaluated.get("username");
+    String password = evaluated.get("password");
+
+    JDBCDriver driver = getJDBCDriver(namespace.getName(), jdbcPluginName, context);
+
+    // Connections are pooled by everything used to open them, so that updating a connection or deploying another
+    // version of its driver doesn't reuse connections opened with the previous ones.
+    String key = Hashing.sha256().newHasher()
+      .putString(namespace.getName(), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(driver.artifact.getScope().name(), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(driver.artifact.getName(), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(driver.artifact.getVersion(), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(Strings.nullToEmpty(url), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(Strings.nullToEmpty(username), StandardCharsets.UTF_8).putByte((byte) 0)
+      .putString(Strings.nullToEmpty(password), StandardCharsets.UTF_8)
+      .hash().toString();
+    java.sql.Connection conn = connections.acquire(key, () -> driver.connect(url, username, password));
+
+    boolean succeeded = false;
+    try {
+      executor.execute(conn);
+      succeeded = true;
+    } finally {
+      if (succeeded) {
+        connections.release(key, conn);
+      } else {
+        connections.close(conn);
+      }
+    }
+  }
 
-    PluginConfigurer pluginConfigurer = context.createPluginConfigurer(namespace.getName());
-    Class<? extends Driver> driverClass = pluginConfigurer.usePluginClass(JDBC, jdbcPluginName,
-                                                                          UUID.randomUUID().toString(),
-                                                                          PluginProperties.builder().build());
-    if (driverClass == null) {
+  /**
+   * Returns the JDBC driver of the plugin, loaded from the latest artifact containing it. The driver of an artifact
+   * is loaded once, and its class loader is closed when the handler is destroyed.
+   */
+  private JDBCDriver getJDBCDriver(String namespace, String jdbcPluginName,
+                                   SystemHttpServiceContext context) throws Exception {
+    ArtifactInfo latest = null;
+    PluginClass driverPlugin = null;
+    ArtifactSummaryComparator comparator = new ArtifactSummaryComparator();
+    for (ArtifactInfo artifact : context.listArtifacts(namespace)) {
+      for (PluginClass plugin : artifact.getClasses().getPlugins()) {
+        if (JDBC.equalsIgnoreCase(plugin.getType()) && plugin.getName().equals(jdbcPluginName)
+          && (latest == null || comparator.compare(artifact, latest) > 0)) {
+          latest = artifact;
+          driverPlugin = plugin;
+        }
+      }
+    }
+    if (latest == null) {
       throw new NotFoundException("Could not find a JDBC driver plugin named " + jdbcPluginName);
     }
 
-    DriverCleanup cleanup = ensureJDBCDriverIsAvailable(driverClass, url);
-    try {
-      Map<String, String> evaluated = evaluateMacros(connection, context, namespace.getName());
-      String username = evaluated.get("username");
-      String password = evaluated.get("password");
-
-      java.sql.Connection conn = DriverManager.getConnection(url, username, password);
-      executor.execute(conn);
-    } finally {
-      cleanup.destroy();
+    ArtifactSummary artifact = new ArtifactSummary(latest.getName(), latest.getVersion(), latest.getScope());
+    synchronized (jdbcDrivers) {
+      JDBCDriver driver = jdbcDrivers.get(artifact);
+      if (driver == null) {
+        CloseableClassLoader classLoader = context.createClassLoader(namespace, latest, getClass().getClassLoader());
+        try {
+          Class<? extends Driver> driverClass =
+            classLoader.loadClass(driverPlugin.getClassName()).asSubclass(Driver.class);
+          driver = new JDBCDriver(artifact, classLoader, driverClass.newInstance());
+        } catch (Exception e) {
+          classLoader.close();
+          throw e;
+        }
+        jdbcDrivers.put(artifact, driver);
+      }
+      return driver;
     }
   }
 
@@ -599,24 +757,6 @@ public class DatabaseHandler extends AbstractWranglerHandler {
     return context.evaluateMacros(namespaceName, toEvaluate, macroEvaluators.get(namespaceName));
   }
 
-  private static DriverCleanup ensureJDBCDriverIsAvailable(Class<? extends Driver> classz, String url)
-    throws IllegalAccessException, InstantiationException, SQLException {
-    try {
-      DriverManager.getDriver(url);
-      return new DriverCleanup(null);
-    } catch (SQLException e) {
-      Driver driver = classz.newInstance();
-      final JDBCDriverShim shim = new JDBCDriverShim(driver);
-      try {
-        deregisterAllDrivers(classz);
-      } catch (NoSuchFieldException | ClassNotFoundException e1) {
-        LOG.warn("Unable to deregister JDBC Driver class {}", classz);
-      }
-      DriverManager.registerDriver(shim);
-      return new DriverCleanup(shim);
-    }
-  }
-
   /**
    * De-register all SQL drivers that are associated with the class
    */
@@ -645,6 +785,55 @@ public class DatabaseHandler extends AbstractWranglerHandler {
     }
   }
 
+  /**
+   * A JDBC driver loaded from a driver artifact, which opens connections without going through the
+   * {@link DriverManager}, such that connections are opened by the driver of the artifact they are pooled for.
+   */
+  private static final class JDBCDriver {
+    private final ArtifactSummary artifact;
+    private final CloseableClassLoader classLoader;
+    private final Driver driver;
+
+    private JDBCDriver(ArtifactSummary artifact, CloseableClassLoader classLoader, Driver driver) {
+      this.artifact = artifact;
+      this.classLoader = classLoader;
+      this.driver = driver;
+    }
+
+    private java.sql.Connection connect(String url, @Nullable String username,
+                                        @Nullable String password) throws SQLException {
+      Properties info = new Properties();
+      if (username != null) {
+        info.put("user", username);
+      }
+      if (password != null) {
+        info.put("password", password);
+      }
+      java.sql.Connection connection = driver.connect(url, info);
+      if (connection == null) {
+        throw new SQLException(String.format("JDBC driver '%s' does not accept the URL '%s'.",
+                                             driver.getClass().getName(), url), "08001");
+      }
+      return connection;
+    }
+
+    /**
+     * Deregisters the drivers registered by the driver classes when they were loaded, and closes the class loader.
+     */
+    private void close() {
+      try {
+        deregisterAllDrivers(driver.getClass());
+      } catch (NoSuchFieldException | IllegalAccessException | ClassNotFoundException e) {
+        LOG.warn("Unable to deregister JDBC Driver class {}", driver.getClass());
+      }
+      try {
+        classLoader.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the class loader of JDBC driver artifact {}.", artifact, e);
+      }
+    }
+  }
+
   /**
    * Table name object.
    */
@@ -17,6 +17,7 @@
 
 package io.cdap.wrangler.service.directive;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.cdap.cdap.api.data.schema.Schema;
@@ -34,7 +35,7 @@ import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.RecipeParser;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientStore;
-import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import io.cdap.wrangler.executor.ParallelRecipePipelineExecutor;
 import io.cdap.wrangler.parser.ConfigDirectiveContext;
 import io.cdap.wrangler.parser.GrammarBasedParser;
 import io.cdap.wrangler.parser.GrammarWalker;
@@ -69,6 +70,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -87,8 +90,13 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
   protected static final String DELIMITER_HEADER = "delimiter";
   protected static final TransientStore TRANSIENT_STORE = new DefaultTransientStore();
 
+  // Samples are split into up to this many partitions, executed concurrently.
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
   protected DirectiveRegistry composite;
   protected boolean schemaManagementEnabled;
+  // Pool the partitions of the samples are executed on, for the lifetime of the handler.
+  private ExecutorService executorService;
 
   @Override
   public void initialize(SystemHttpServiceContext context) throws Exception {
@@ -98,14 +106,19 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       new UserDirectiveRegistry(context)
     );
     schemaManagementEnabled = Feature.WRANGLER_SCHEMA_MANAGEMENT.isEnabled(context);
+    executorService = Executors.newFixedThreadPool(
+      PARALLELISM, new ThreadFactoryBuilder().setNameFormat("directive-executor-%d").setDaemon(true).build());
   }
 
   /**
-   * Closes the resources help by the composite registry.
+   * Closes the resources help by the composite registry and stops the threads executing the directives.
    */
   @Override
   public void destroy() {
     super.destroy();
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
     try {
       composite.close();
     } catch (IOException e) {
@@ -137,11 +150,14 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
 
     RecipeParser parser = new GrammarBasedParser(namespace, recipe, composite,
                                                  new ConfigDirectiveContext(DirectiveConfig.EMPTY));
-    try (RecipePipelineExecutor executor = new RecipePipelineExecutor(parser,
-                                                                      new ServicePipelineContext(
-                                                                        namespace, ExecutorContext.Environment.SERVICE,
-                                                                        getContext(), TRANSIENT_STORE))) {
+    ExecutorContext context = new ServicePipelineContext(namespace, ExecutorContext.Environment.SERVICE,
+                                                         getContext(), TRANSIENT_STORE);
+    try (ParallelRecipePipelineExecutor executor = new ParallelRecipePipelineExecutor(parser, context,
+                                                                                      executorService,
+                                                                                      PARALLELISM)) {
       List<Row> result = executor.execute(sample);
+      // The sample is the whole input, so aggregating directives emit their rows at its end.
+      result.addAll(executor.finish());
 
       List<ErrorRecordBase> errors = executor.errors()
         .stream()
@@ -18,6 +18,7 @@ package io.cdap.wrangler.service.directive;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.parser.DirectiveClass;
 
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,7 +30,8 @@ public class RemoteDirectiveRequest {
   private final String recipe;
   private final Map<String, DirectiveClass> systemDirectives;
   private final String pluginNameSpace;
-  private final byte[] data;
+  // Base64 encoded, as JSON would encode a byte array as an array of numbers.
+  private final String data;
   private final Schema inputSchema;
 
   RemoteDirectiveRequest(String recipe, Map<String, DirectiveClass> systemDirectives,
@@ -37,7 +39,7 @@ public class RemoteDirectiveRequest {
     this.recipe = recipe;
     this.systemDirectives = new HashMap<>(systemDirectives);
     this.pluginNameSpace = pluginNameSpace;
-    this.data = data;
+    this.data = Base64.getEncoder().encodeToString(data);
     this.inputSchema = inputSchema;
   }
 
@@ -50,7 +52,7 @@ public class RemoteDirectiveRequest {
   }
 
   public byte[] getData() {
-    return data;
+    return Base64.getDecoder().decode(data);
   }
 
   public String getPluginNameSpace() {
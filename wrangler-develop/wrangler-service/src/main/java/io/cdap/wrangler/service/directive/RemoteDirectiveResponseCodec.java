@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.RemoteDirectiveResponse;
+import io.cdap.wrangler.proto.workspace.v2.SampleCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of a {@link RemoteDirectiveResponse}: the length and the JSON of the output schema, if any,
+ * followed by the rows encoded by {@link SampleCodec}.
+ */
+final class RemoteDirectiveResponseCodec {
+
+  private RemoteDirectiveResponseCodec() {
+  }
+
+  static byte[] encode(RemoteDirectiveResponse response) throws IOException {
+    byte[] schema = response.getOutputSchema() == null ?
+      new byte[0] : response.getOutputSchema().toString().getBytes(StandardCharsets.UTF_8);
+    byte[] rows = SampleCodec.encode(response.getRows());
+    return ByteBuffer.allocate(Integer.BYTES + schema.length + rows.length)
+      .putInt(schema.length)
+      .put(schema)
+      .put(rows)
+      .array();
+  }
+
+  static RemoteDirectiveResponse decode(byte[] bytes) throws IOException {
+    int schemaLength = ByteBuffer.wrap(bytes).getInt();
+    Schema schema = schemaLength == 0 ?
+      null : Schema.parseJson(new String(bytes, Integer.BYTES, schemaLength, StandardCharsets.UTF_8));
+    int offset = Integer.BYTES + schemaLength;
+    return new RemoteDirectiveResponse(SampleCodec.decode(bytes, offset, bytes.length - offset), schema);
+  }
+}
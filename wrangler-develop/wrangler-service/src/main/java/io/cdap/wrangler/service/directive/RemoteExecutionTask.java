@@ -47,14 +47,15 @@ import io.cdap.wrangler.parser.MapArguments;
 import io.cdap.wrangler.parser.RecipeCompiler;
 import io.cdap.wrangler.proto.BadRequestException;
 import io.cdap.wrangler.proto.ErrorRecordsException;
+import io.cdap.wrangler.proto.workspace.v2.SampleCodec;
 import io.cdap.wrangler.registry.DirectiveInfo;
 import io.cdap.wrangler.registry.UserDirectiveRegistry;
 import io.cdap.wrangler.utils.KryoSerializer;
-import io.cdap.wrangler.utils.ObjectSerDe;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static io.cdap.wrangler.schema.TransientStoreKeys.INPUT_SCHEMA;
@@ -68,6 +69,11 @@ public class RemoteExecutionTask implements RunnableTask {
   private static final Gson GSON = new GsonBuilder()
           .registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
           .create();
+  // Context of the running task. The task worker runs one task at a time, and each task has its own context.
+  private static final AtomicReference<SystemAppTaskContext> TASK_CONTEXT = new AtomicReference<>();
+  // Shared by the tasks, such that the class loaders of the user defined directives are created once
+  // per artifact rather than once per task.
+  private static final UserDirectiveRegistry USER_DIRECTIVE_REGISTRY = new UserDirectiveRegistry(TASK_CONTEXT::get);
 
   @Override
   public void run(RunnableTaskContext runnableTaskContext) throws Exception {
@@ -77,18 +83,21 @@ public class RemoteExecutionTask implements RunnableTask {
     SystemAppTaskContext systemAppContext = runnableTaskContext.getRunnableTaskSystemAppContext();
     String namespace = directiveRequest.getPluginNameSpace();
     Map<String, DirectiveClass> systemDirectives = directiveRequest.getSystemDirectives();
-    AtomicBoolean hasUDD = new AtomicBoolean();
+    AtomicBoolean userDirectivesLoaded = new AtomicBoolean();
 
+    TASK_CONTEXT.set(systemAppContext);
     // Collect directives.
-    try (UserDirectiveRegistry userDirectiveRegistry = new UserDirectiveRegistry(systemAppContext)) {
+    try {
       List<Directive> directives = new ArrayList<>();
       GrammarWalker walker = new GrammarWalker(new RecipeCompiler(), new ConfigDirectiveContext(DirectiveConfig.EMPTY));
       walker.walk(directiveRequest.getRecipe(), (command, tokenGroup) -> {
         DirectiveInfo info;
         DirectiveClass directiveClass = systemDirectives.get(command);
         if (directiveClass == null) {
-          info = userDirectiveRegistry.get(namespace, command);
-          hasUDD.set(true);
+          if (userDirectivesLoaded.compareAndSet(false, true)) {
+            USER_DIRECTIVE_REGISTRY.reload(namespace);
+          }
+          info = USER_DIRECTIVE_REGISTRY.get(namespace, command);
         } else {
           // For system directives, we can load it directly from the classloader.
           try {
@@ -111,8 +120,7 @@ public class RemoteExecutionTask implements RunnableTask {
         return;
       }
 
-      ObjectSerDe<List<Row>> objectSerDe = new ObjectSerDe<>();
-      List<Row> rows = objectSerDe.toObject(directiveRequest.getData());
+      List<Row> rows = SampleCodec.decode(directiveRequest.getData());
 
       Schema inputSchema = directiveRequest.getInputSchema();
       TransientStore transientStore = new DefaultTransientStore();
@@ -127,6 +135,8 @@ public class RemoteExecutionTask implements RunnableTask {
                                                                           systemAppContext,
                                                                           transientStore))) {
         rows = executor.execute(rows);
+        // The sample is the whole input, so aggregating directives emit their rows at its end.
+        rows.addAll(executor.finish());
         List<ErrorRecordBase> errors = executor.errors().stream()
             .filter(ErrorRecordBase::isShownInWrangler)
             .collect(Collectors.toList());
@@ -140,17 +150,18 @@ public class RemoteExecutionTask implements RunnableTask {
 
       Schema outputSchema = transientStore.get(OUTPUT_SCHEMA);
       RemoteDirectiveResponse response = new RemoteDirectiveResponse(rows, outputSchema);
-      ObjectSerDe<RemoteDirectiveResponse> responseSerDe = new ObjectSerDe<>();
 
-      runnableTaskContext.setTerminateOnComplete(hasUDD.get() || EL.isUsed());
+      runnableTaskContext.setTerminateOnComplete(EL.isUsed());
 
       if (Feature.WRANGLER_KRYO_SERIALIZATION.isEnabled(systemAppContext)) {
         runnableTaskContext.writeResult(new KryoSerializer().fromRemoteDirectiveResponse(response));
       } else {
-        runnableTaskContext.writeResult(responseSerDe.toByteArray(response));
+        runnableTaskContext.writeResult(RemoteDirectiveResponseCodec.encode(response));
       }
     } catch (DirectiveParseException | ClassNotFoundException | CompileException e) {
       throw new BadRequestException(e.getMessage(), e);
+    } finally {
+      TASK_CONTEXT.compareAndSet(systemAppContext, null);
     }
   }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.DirectiveConfig;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.parser.ConfigDirectiveContext;
+import io.cdap.wrangler.parser.GrammarWalker;
+import io.cdap.wrangler.parser.MapArguments;
+import io.cdap.wrangler.parser.MigrateToV2;
+import io.cdap.wrangler.parser.RecipeCompiler;
+import io.cdap.wrangler.proto.workspace.v2.SampleCodec;
+import io.cdap.wrangler.proto.workspace.v2.WorkspaceId;
+import io.cdap.wrangler.registry.DirectiveInfo;
+import io.cdap.wrangler.registry.SystemDirectiveRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Caches the rows resulting from the execution of the directives of a workspace on its sample, such that
+ * executing a recipe that extends a recipe executed before only executes the directives that were appended,
+ * and going back to a recipe executed before does not execute anything.
+ *
+ * <p>Results are keyed by the workspace, a hash of the sample and a hash of the directives, so they can't
+ * outlive the sample they were computed from. Only the results of directives that declare that they give the same
+ * rows every time they are executed on the same sample are cached, see {@link #getDeterministicPrefix(List)}.</p>
+ *
+ * <p>Rows are held in their {@link SampleCodec binary form}, such that neither the caller nor the directives
+ * executed on the rows handed out can modify the cached rows. The cache is bounded by the size of the encoded
+ * rows and evicts the least recently used results first.</p>
+ */
+final class WorkspaceExecutionCache {
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceExecutionCache.class);
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  // Bytes held by the encoded rows across all workspaces.
+  private static final long MAX_WEIGHT = 256L * 1024 * 1024;
+
+  private final Cache<Key, Entry> cache;
+
+  WorkspaceExecutionCache() {
+    this(MAX_WEIGHT);
+  }
+
+  WorkspaceExecutionCache(long maxWeight) {
+    this.cache = CacheBuilder.newBuilder()
+      .maximumWeight(maxWeight)
+      .weigher((Key key, Entry entry) -> entry.rows.length)
+      .expireAfterAccess(1, TimeUnit.HOURS)
+      .build();
+  }
+
+  /**
+   * Returns the version of a sample, which changes whenever the content of the sample changes.
+   *
+   * @param sample the serialized sample.
+   */
+  static HashCode getSampleVersion(byte[] sample) {
+    return HASH_FUNCTION.hashBytes(sample);
+  }
+
+  /**
+   * Returns the number of leading directives whose result can be cached: the directives of the system that are
+   * {@link Directive#isDeterministic() deterministic}. The directives following the first one that is not,
+   * starting with it, are always executed.
+   *
+   * @param directives the directives of a recipe.
+   * @return the length of the longest prefix of the directives whose result can be cached.
+   */
+  static int getDeterministicPrefix(List<String> directives) {
+    GrammarWalker walker = new GrammarWalker(new RecipeCompiler(), new ConfigDirectiveContext(DirectiveConfig.EMPTY));
+    for (int i = 0; i < directives.size(); i++) {
+      if (!isDeterministic(walker, directives.get(i))) {
+        return i;
+      }
+    }
+    return directives.size();
+  }
+
+  private static boolean isDeterministic(GrammarWalker walker, String directive) {
+    AtomicBoolean deterministic = new AtomicBoolean(true);
+    try {
+      walker.walk(new MigrateToV2(Collections.singletonList(directive)).migrate(), (command, tokenGroup) -> {
+        DirectiveInfo info = SystemDirectiveRegistry.INSTANCE.get(command);
+        // User defined directives are not known to be deterministic.
+        if (info == null) {
+          deterministic.set(false);
+          return;
+        }
+        Directive instance = info.instance();
+        instance.initialize(new MapArguments(info.definition(), tokenGroup));
+        if (!instance.isDeterministic()) {
+          deterministic.set(false);
+        }
+        instance.destroy();
+      });
+    } catch (Exception e) {
+      // An invalid directive fails the execution, there is no result to cache.
+      return false;
+    }
+    return deterministic.get();
+  }
+
+  /**
+   * Finds the result of the longest prefix of the directives executed before on the sample.
+   *
+   * @param id the workspace.
+   * @param sampleVersion version of the sample of the workspace.
+   * @param directives the directives to be executed, which must all be deterministic.
+   * @return the cached result, with rows that can be modified by the caller, or {@code null} if there is none.
+   */
+  @Nullable
+  Result get(WorkspaceId id, HashCode sampleVersion, List<String> directives) {
+    List<HashCode> prefixes = getPrefixHashes(directives);
+    for (int i = prefixes.size() - 1; i >= 0; i--) {
+      Key key = new Key(id, sampleVersion, prefixes.get(i));
+      Entry entry = cache.getIfPresent(key);
+      if (entry != null) {
+        try {
+          return new Result(i, SampleCodec.decode(entry.rows), entry.schema);
+        } catch (IOException e) {
+          // Rows that were encoded can be decoded, unless the class of a value is no longer available.
+          LOG.debug("Unable to decode the cached rows of workspace {}.", id, e);
+          cache.invalidate(key);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Caches the result of the execution of the directives on the sample.
+   *
+   * @param id the workspace.
+   * @param sampleVersion version of the sample of the workspace.
+   * @param directives the directives executed, which must all be deterministic.
+   * @param rows the resulting rows, which can be modified by the caller afterwards.
+   * @param schema the resulting schema, if schema management is enabled.
+   */
+  void put(WorkspaceId id, HashCode sampleVersion, List<String> directives, List<Row> rows,
+           @Nullable Schema schema) {
+    List<HashCode> prefixes = getPrefixHashes(directives);
+    try {
+      cache.put(new Key(id, sampleVersion, prefixes.get(prefixes.size() - 1)),
+                new Entry(SampleCodec.encode(rows), schema));
+    } catch (IOException e) {
+      // A value that can't be serialized can't be copied either, the result is simply not cached.
+      LOG.debug("Unable to encode the rows of workspace {}, the result is not cached.", id, e);
+    }
+  }
+
+  /**
+   * Removes the results of the workspace, except the ones of the prefixes of the given directives.
+   *
+   * @param id the workspace.
+   * @param directives the directives of the workspace.
+   */
+  void retain(WorkspaceId id, List<String> directives) {
+    Set<HashCode> prefixes = new HashSet<>(getPrefixHashes(directives));
+    cache.asMap().keySet().removeIf(key -> key.workspace.equals(id) && !prefixes.contains(key.directives));
+  }
+
+  /**
+   * Removes all the results of the workspace.
+   *
+   * @param id the workspace.
+   */
+  void invalidate(WorkspaceId id) {
+    cache.asMap().keySet().removeIf(key -> key.workspace.equals(id));
+  }
+
+  // The hash of each prefix of the directives is derived from the hash of the previous prefix.
+  private static List<HashCode> getPrefixHashes(List<String> directives) {
+    List<HashCode> hashes = new ArrayList<>(directives.size() + 1);
+    HashCode hash = HASH_FUNCTION.hashInt(0);
+    hashes.add(hash);
+    for (String directive : directives) {
+      hash = HASH_FUNCTION.newHasher()
+        .putBytes(hash.asBytes())
+        .putString(directive, StandardCharsets.UTF_8)
+        .hash();
+      hashes.add(hash);
+    }
+    return hashes;
+  }
+
+  /**
+   * Rows and schema resulting from the execution of a prefix of the directives.
+   */
+  static final class Result {
+    private final int directives;
+    private final List<Row> rows;
+    private final Schema schema;
+
+    private Result(int directives, List<Row> rows, @Nullable Schema schema) {
+      this.directives = directives;
+      this.rows = rows;
+      this.schema = schema;
+    }
+
+    /**
+     * @return number of directives executed to get this result.
+     */
+    int getDirectives() {
+      return directives;
+    }
+
+    List<Row> getRows() {
+      return rows;
+    }
+
+    @Nullable
+    Schema getSchema() {
+      return schema;
+    }
+  }
+
+  /**
+   * Encoded rows and schema of a cached result.
+   */
+  private static final class Entry {
+    private final byte[] rows;
+    private final Schema schema;
+
+    private Entry(byte[] rows, @Nullable Schema schema) {
+      this.rows = rows;
+      this.schema = schema;
+    }
+  }
+
+  /**
+   * Key of a cached result.
+   */
+  private static final class Key {
+    private final WorkspaceId workspace;
+    private final HashCode sample;
+    private final HashCode directives;
+
+    private Key(WorkspaceId workspace, HashCode sample, HashCode directives) {
+      this.workspace = workspace;
+      this.sample = sample;
+      this.directives = directives;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return workspace.equals(that.workspace) && sample.equals(that.sample) && directives.equals(that.directives);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(workspace, sample, directives);
+    }
+  }
+}
@@ -19,6 +19,7 @@ package io.cdap.wrangler.service.directive;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -65,6 +66,7 @@ import io.cdap.wrangler.proto.workspace.v2.DirectiveExecutionRequest;
 import io.cdap.wrangler.proto.workspace.v2.DirectiveExecutionResponse;
 import io.cdap.wrangler.proto.workspace.v2.DirectiveUsage;
 import io.cdap.wrangler.proto.workspace.v2.Plugin;
+import io.cdap.wrangler.proto.workspace.v2.SampleCodec;
 import io.cdap.wrangler.proto.workspace.v2.SampleSpec;
 import io.cdap.wrangler.proto.workspace.v2.ServiceResponse;
 import io.cdap.wrangler.proto.workspace.v2.StageSpec;
@@ -80,7 +82,6 @@ import io.cdap.wrangler.schema.TransientStoreKeys;
 import io.cdap.wrangler.store.recipe.RecipeStore;
 import io.cdap.wrangler.store.workspace.WorkspaceStore;
 import io.cdap.wrangler.utils.KryoSerializer;
-import io.cdap.wrangler.utils.ObjectSerDe;
 import io.cdap.wrangler.utils.RowHelper;
 import io.cdap.wrangler.utils.SchemaConverter;
 import io.cdap.wrangler.utils.StructuredToRowTransformer;
@@ -117,6 +118,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
   private static final Pattern PRAGMA_PATTERN = Pattern.compile("^\\s*#pragma\\s+load-directives\\s+");
   private static final String UPLOAD_COUNT = "upload.file.count";
   private static final String CONNECTION_TYPE = "upload";
+  private static final WorkspaceExecutionCache EXECUTION_CACHE = new WorkspaceExecutionCache();
 
   private WorkspaceStore wsStore;
   private RecipeStore recipeStore;
@@ -231,6 +233,9 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
                                  .setInsights(updateRequest.getInsights())
                                  .setUpdatedTimeMillis(System.currentTimeMillis()).build();
       wsStore.updateWorkspace(wsId, newWorkspace);
+      EXECUTION_CACHE.retain(wsId, updateRequest.getDirectives().stream()
+        .filter(d -> !PRAGMA_PATTERN.matcher(d).find())
+        .collect(Collectors.toList()));
       responder.sendStatus(HttpURLConnection.HTTP_OK);
     });
   }
@@ -280,6 +285,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
         .setUpdatedTimeMillis(System.currentTimeMillis())
         .setSampleSpec(newSpec).build();
       wsStore.saveWorkspace(wsId, new WorkspaceDetail(newWorkspace, rows));
+      EXECUTION_CACHE.invalidate(wsId);
       responder.sendStatus(HttpURLConnection.HTTP_OK);
     });
   }
@@ -294,7 +300,9 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       if (ns.getName().equalsIgnoreCase(NamespaceId.SYSTEM.getNamespace())) {
         throw new BadRequestException("Deleting workspace in system namespace is currently not supported");
       }
-      wsStore.deleteWorkspace(new WorkspaceId(ns, workspaceId));
+      WorkspaceId wsId = new WorkspaceId(ns, workspaceId);
+      wsStore.deleteWorkspace(wsId);
+      EXECUTION_CACHE.invalidate(wsId);
       responder.sendStatus(HttpURLConnection.HTTP_OK);
     });
   }
@@ -409,7 +417,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       WorkspaceDetail detail = wsStore.getWorkspaceDetail(wsId);
       List<String> directives = new ArrayList<>(detail.getWorkspace().getDirectives());
       UserDirectivesCollector userDirectivesCollector = new UserDirectivesCollector();
-      List<Row> result = executeDirectives(ns.getName(), directives, detail, userDirectivesCollector);
+      List<Row> result = executeDirectives(wsId, directives, detail, userDirectivesCollector);
       userDirectivesCollector.addLoadDirectivesPragma(directives);
 
       Schema outputSchema;
@@ -478,8 +486,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
 
     WorkspaceDetail detail = wsStore.getWorkspaceDetail(workspaceId);
     UserDirectivesCollector userDirectivesCollector = new UserDirectivesCollector();
-    List<Row> result = executeDirectives(ns.getName(), directives, detail,
-                                         userDirectivesCollector);
+    List<Row> result = executeDirectives(workspaceId, directives, detail, userDirectivesCollector);
     DirectiveExecutionResponse response = generateExecutionResponse(result,
                                                                     executionRequest.getLimit());
     userDirectivesCollector.addLoadDirectivesPragma(directives);
@@ -539,16 +546,18 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
   }
 
   /**
-   * Executes the given list of directives on the given workspace.
+   * Executes the given list of directives on the given workspace. Only the directives following the longest
+   * prefix of the directives executed before on the same sample are executed, starting from the cached result
+   * of that prefix.
    *
-   * @param namespace the namespace to operate on for finding user defined directives
+   * @param workspaceId the workspace to operate on, whose namespace is used for finding user defined directives
    * @param directives the list of directives to apply. The list provided must be a mutable list for the addition of
    *                   {@code #pragma} directives for loading UDDs.
    * @param detail the workspace to operate on
    * @param grammarVisitor visitor to call while parsing directives
    * @return the resulting rows after applying the directives
    */
-  private <E extends Exception> List<Row> executeDirectives(String namespace,
+  private <E extends Exception> List<Row> executeDirectives(WorkspaceId workspaceId,
                                                             List<String> directives,
                                                             WorkspaceDetail detail,
                                                             GrammarWalker.Visitor<E> grammarVisitor) throws Exception {
@@ -564,43 +573,93 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       TRANSIENT_STORE.set(TransientVariableScope.GLOBAL, TransientStoreKeys.INPUT_SCHEMA, inputSchema);
     }
 
-    return getContext().isRemoteTaskEnabled() ?
-      executeRemotely(namespace, directives, detail, grammarVisitor) :
-      executeLocally(namespace, directives, detail, grammarVisitor);
+    // Transient variables outlive an execution, so the result of a recipe setting them depends on the ones before.
+    boolean cacheable = directives.stream()
+      .map(String::trim)
+      .noneMatch(d -> d.startsWith("set-variable") || d.startsWith("increment-variable"));
+    // Only the result of the directives that give the same rows on every execution can be reused.
+    int deterministic = cacheable ? WorkspaceExecutionCache.getDeterministicPrefix(directives) : 0;
+    HashCode sampleVersion = WorkspaceExecutionCache.getSampleVersion(detail.getSampleAsBytes());
+    WorkspaceExecutionCache.Result cached = deterministic > 0 ?
+      EXECUTION_CACHE.get(workspaceId, sampleVersion, directives.subList(0, deterministic)) : null;
+
+    List<String> pending = directives;
+    List<Row> sample = detail.getSample();
+    byte[] sampleAsBytes = detail.getSampleAsBytes();
+    if (cached != null) {
+      // The visitor still sees the whole recipe.
+      List<String> executed = directives.subList(0, cached.getDirectives());
+      new GrammarWalker(new RecipeCompiler(), new ConfigDirectiveContext(DirectiveConfig.EMPTY))
+        .walk(new MigrateToV2(executed).migrate(), grammarVisitor);
+      if (cached.getSchema() != null) {
+        TRANSIENT_STORE.set(TransientVariableScope.GLOBAL, TransientStoreKeys.INPUT_SCHEMA, cached.getSchema());
+      }
+      pending = new ArrayList<>(directives.subList(cached.getDirectives(), directives.size()));
+      sample = cached.getRows();
+      sampleAsBytes = null;
+    }
+
+    String namespace = workspaceId.getNamespace().getName();
+    List<Row> result;
+    try {
+      result = getContext().isRemoteTaskEnabled() ?
+        executeRemotely(namespace, pending, sample, sampleAsBytes, grammarVisitor) :
+        executeLocally(namespace, pending, sample, grammarVisitor);
+    } catch (RecipeException e) {
+      if (cached == null || e.getDirectiveIndex() == RecipeException.UNKNOWN_INDEX) {
+        throw e;
+      }
+      // Indexes are relative to the directives executed. Rows are only known to match the ones of the sample
+      // when the cached directives kept all of them.
+      int rowIndex = cached.getRows().size() == detail.getSample().size() ? e.getRowIndex() :
+        RecipeException.UNKNOWN_INDEX;
+      throw new RecipeException(e.getMessage(), e.getCause(), rowIndex, e.getDirectiveIndex() + cached.getDirectives());
+    }
+
+    if (deterministic == directives.size() && !pending.isEmpty()) {
+      Schema schema = null;
+      if (schemaManagementEnabled) {
+        schema = TRANSIENT_STORE.get(OUTPUT_SCHEMA) != null ?
+          TRANSIENT_STORE.get(OUTPUT_SCHEMA) : TRANSIENT_STORE.get(INPUT_SCHEMA);
+      }
+      EXECUTION_CACHE.put(workspaceId, sampleVersion, directives, result, schema);
+    }
+    return result;
   }
 
   /**
-   * Executes the given list of directives on the given workspace locally in the same JVM.
+   * Executes the given list of directives on the given rows locally in the same JVM.
    *
    * @param namespace the namespace to operate on for finding user defined directives
    * @param directives the list of directives to apply. The list provided must be a mutable list for the addition of
    *                   {@code #pragma} directives for loading UDDs.
-   * @param detail the workspace to operate on
+   * @param sample the rows to operate on
    * @param grammarVisitor visitor to call while parsing directives
    * @return the resulting rows after applying the directives
    */
   private <E extends Exception> List<Row> executeLocally(String namespace, List<String> directives,
-                                   WorkspaceDetail detail, GrammarWalker.Visitor<E> grammarVisitor)
+                                   List<Row> sample, GrammarWalker.Visitor<E> grammarVisitor)
     throws DirectiveLoadException, DirectiveParseException, E, RecipeException {
 
     // load the udd
     composite.reload(namespace);
-    return executeDirectives(namespace, directives, new ArrayList<>(detail.getSample()),
-                             grammarVisitor);
+    return executeDirectives(namespace, directives, new ArrayList<>(sample), grammarVisitor);
   }
 
   /**
-   * Executes the given list of directives on the given workspace remotely using the task worker framework.
+   * Executes the given list of directives on the given rows remotely using the task worker framework.
    *
    * @param namespace the namespace to operate on for finding user defined directives
    * @param directives the list of directives to apply. The list provided must be a mutable list for the addition of
    *                   {@code #pragma} directives for loading UDDs.
-   * @param detail the workspace to operate on
+   * @param sample the rows to operate on
+   * @param sampleAsBytes the serialized rows, or {@code null} if they have to be serialized
    * @param grammarVisitor visitor to call while parsing directives
    * @return the resulting rows after applying the directives
    */
   private <E extends Exception> List<Row> executeRemotely(String namespace, List<String> directives,
-                                    WorkspaceDetail detail, GrammarWalker.Visitor<E> grammarVisitor) throws Exception {
+                                    List<Row> sample, @Nullable byte[] sampleAsBytes,
+                                    GrammarWalker.Visitor<E> grammarVisitor) throws Exception {
 
     GrammarMigrator migrator = new MigrateToV2(directives);
     String recipe = migrator.migrate();
@@ -620,11 +679,12 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
 
     // If no directives to execute, just return
     if (!hasDirectives.get()) {
-      return detail.getSample();
+      return sample;
     }
 
+    byte[] data = sampleAsBytes != null ? sampleAsBytes : SampleCodec.encode(sample);
     RemoteDirectiveRequest directiveRequest = new RemoteDirectiveRequest(recipe, systemDirectives,
-                                                                         namespace, detail.getSampleAsBytes(),
+                                                                         namespace, data,
                                                                          TRANSIENT_STORE.get(INPUT_SCHEMA));
     RunnableTaskRequest runnableTaskRequest = RunnableTaskRequest.getBuilder(RemoteExecutionTask.class.getName())
       .withParam(GSON.toJson(directiveRequest))
@@ -635,7 +695,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
     if (Feature.WRANGLER_KRYO_SERIALIZATION.isEnabled(getContext())) {
       response = new KryoSerializer().toRemoteDirectiveResponse(bytes);
     } else {
-      response = new ObjectSerDe<RemoteDirectiveResponse>().toObject(bytes);
+      response = RemoteDirectiveResponseCodec.decode(bytes);
     }
     if (response.getOutputSchema() != null) {
         TRANSIENT_STORE.set(TransientVariableScope.GLOBAL, OUTPUT_SCHEMA, response.getOutputSchema());
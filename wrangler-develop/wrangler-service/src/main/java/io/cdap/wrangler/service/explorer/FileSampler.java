@@ -0,0 +1,489 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.explorer;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.cdap.wrangler.SamplingMethod;
+import io.cdap.wrangler.sampling.Bernoulli;
+import io.cdap.wrangler.sampling.Poisson;
+import io.cdap.wrangler.sampling.Reservoir.IntermediateSample;
+import io.cdap.wrangler.sampling.Sampler;
+import io.cdap.wrangler.sampling.XORShiftRNG;
+import org.apache.twill.filesystem.Location;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * Samples the lines of a file. Unlike reading the first lines of the file, the lines are sampled from the
+ * whole file, within a budget of bytes read and of time spent:
+ *
+ * <ul>
+ *   <li>Files that fit in the byte budget are read entirely. Local files are memory-mapped and scanned by
+ *   multiple threads, other files are read in a single pass.</li>
+ *   <li>Larger files are sampled by blocks: random blocks spread over the whole file are seeked to, and the
+ *   lines starting in them are read.</li>
+ * </ul>
+ *
+ * <p>The lines read are sampled with the {@link SamplingMethod}, at most the requested number of them are kept
+ * with a reservoir, and they are returned in the order they appear in the file. Once the time budget is spent,
+ * the lines sampled so far are returned.</p>
+ */
+public final class FileSampler {
+  // Size of the blocks read when sampling files larger than the byte budget.
+  private static final int BLOCK_SIZE = 64 * 1024;
+  // Minimum number of bytes scanned by each thread of a memory-mapped file.
+  private static final long MIN_SCAN_SIZE = 1024 * 1024;
+  // Number of lines read between checks of the time budget.
+  private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+  private final int lines;
+  private final long maxBytes;
+  private final long maxMillis;
+
+  /**
+   * @param lines maximum number of lines sampled.
+   * @param maxBytes maximum number of bytes read from the file.
+   * @param maxMillis maximum time spent sampling the file.
+   */
+  public FileSampler(int lines, long maxBytes, long maxMillis) {
+    Preconditions.checkArgument(maxBytes > 0, "Maximum number of bytes should be positive.");
+    this.lines = lines;
+    this.maxBytes = maxBytes;
+    this.maxMillis = maxMillis;
+  }
+
+  /**
+   * Samples the lines of a file.
+   *
+   * @param location of the file.
+   * @param method sampling method, the first lines of the file are returned for {@link SamplingMethod#FIRST}.
+   * @param fraction of the lines sampled by {@link SamplingMethod#BERNOULLI} and {@link SamplingMethod#POISSON}.
+   * @return the sampled lines, in the order they appear in the file.
+   */
+  public List<String> sample(Location location, SamplingMethod method, double fraction) throws IOException {
+    if (lines <= 0) {
+      return Collections.emptyList();
+    }
+    if (method != SamplingMethod.RESERVOIR && method != SamplingMethod.BERNOULLI
+      && method != SamplingMethod.POISSON) {
+      return first(location);
+    }
+
+    long now = System.currentTimeMillis();
+    long deadline = maxMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + maxMillis;
+    long length = location.length();
+    URI uri = location.toURI();
+    Candidates candidates;
+    try {
+      if (length > maxBytes) {
+        candidates = sampleBlocks(location, length, method, fraction, deadline);
+      } else if ("file".equals(uri.getScheme()) && length > 0 && length <= Integer.MAX_VALUE) {
+        candidates = scanMapped(new File(uri), length, method, fraction, deadline);
+      } else {
+        candidates = new Candidates(lines);
+        try (StreamReader reader = new StreamReader(location.getInputStream())) {
+          reader.setRange(0, maxBytes);
+          candidates.sample(createSampler(method, fraction), new LineIterator(reader, deadline));
+        }
+      }
+    } catch (UncheckedIOException e) {
+      // Failures to read a line are wrapped by the line iterator.
+      throw e.getCause();
+    }
+    return candidates.getLines();
+  }
+
+  private List<String> first(Location location) throws IOException {
+    List<String> result = new ArrayList<>();
+    try (BoundedLineInputStream blis = BoundedLineInputStream.iterator(location.getInputStream(),
+                                                                       StandardCharsets.UTF_8, lines)) {
+      while (blis.hasNext()) {
+        result.add(blis.next());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Samples the lines starting in random blocks of the file, reading at most the byte budget.
+   */
+  private Candidates sampleBlocks(Location location, long length, SamplingMethod method, double fraction,
+                                  long deadline) throws IOException {
+    long blocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    int count = (int) Math.min(blocks, Math.max(1, maxBytes / BLOCK_SIZE));
+
+    // Selects distinct blocks with Floyd's algorithm, which are then read in the order they appear in the file.
+    Random random = new XORShiftRNG();
+    TreeSet<Long> selected = new TreeSet<>();
+    for (long i = blocks - count; i < blocks; i++) {
+      long block = (long) (random.nextDouble() * (i + 1));
+      if (!selected.add(block)) {
+        selected.add(i);
+      }
+    }
+
+    Candidates candidates = new Candidates(lines);
+    Sampler<Line> sampler = createSampler(method, fraction);
+    try (StreamReader reader = new StreamReader(location.getInputStream())) {
+      for (long block : selected) {
+        if (System.currentTimeMillis() > deadline) {
+          break;
+        }
+        long start = block * BLOCK_SIZE;
+        reader.setRange(start, Math.min(length, start + BLOCK_SIZE));
+        candidates.sample(sampler, new LineIterator(reader, deadline));
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Samples all the lines of a local file, memory-mapping it and scanning chunks of it in parallel.
+   */
+  private Candidates scanMapped(File file, long length, SamplingMethod method, double fraction,
+                                long deadline) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+    }
+
+    int chunks = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), length / MIN_SCAN_SIZE));
+    if (chunks == 1) {
+      Candidates candidates = new Candidates(lines);
+      candidates.sample(createSampler(method, fraction),
+                        new LineIterator(new MappedChunk(buffer, 0, (int) length), deadline));
+      return candidates;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(
+      chunks, new ThreadFactoryBuilder().setNameFormat("file-sampler-%d").setDaemon(true).build());
+    try {
+      int chunkSize = (int) ((length + chunks - 1) / chunks);
+      List<Future<Candidates>> futures = new ArrayList<>();
+      for (int i = 0; i < chunks; i++) {
+        int start = i * chunkSize;
+        int end = (int) Math.min(length, (long) start + chunkSize);
+        futures.add(executor.submit(() -> {
+          Candidates candidates = new Candidates(lines);
+          candidates.sample(createSampler(method, fraction),
+                            new LineIterator(new MappedChunk(buffer, start, end), deadline));
+          return candidates;
+        }));
+      }
+
+      Candidates candidates = new Candidates(lines);
+      for (Future<Candidates> future : futures) {
+        candidates.addAll(future.get());
+      }
+      return candidates;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while sampling " + file);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Nullable
+  private static Sampler<Line> createSampler(SamplingMethod method, double fraction) {
+    if (method == SamplingMethod.POISSON) {
+      return new Poisson<>(fraction);
+    } else if (method == SamplingMethod.BERNOULLI) {
+      return new Bernoulli<>(fraction);
+    }
+    return null;
+  }
+
+  private static String decode(byte[] bytes, int length) {
+    // Same as BufferedReader#readLine, '\r\n' line endings are removed.
+    if (length > 0 && bytes[length - 1] == '\r') {
+      length--;
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * A line with the position it starts at in the file.
+   */
+  private static final class Line {
+    private final long position;
+    private final String value;
+
+    private Line(long position, String value) {
+      this.position = position;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Keeps a fixed number of the sampled lines, selected with random weights the same way as
+   * {@link io.cdap.wrangler.sampling.Reservoir}, such that the candidates of different parts of the file can be
+   * merged.
+   */
+  private static final class Candidates {
+    private final int size;
+    private final Random random = new XORShiftRNG();
+    private final PriorityQueue<IntermediateSample<Line>> queue = new PriorityQueue<>();
+
+    private Candidates(int size) {
+      this.size = size;
+    }
+
+    private void sample(@Nullable Sampler<Line> sampler, Iterator<Line> input) {
+      Iterator<Line> sampled = sampler == null ? input : sampler.sample(input);
+      while (sampled.hasNext()) {
+        add(new IntermediateSample<>(random.nextDouble(), sampled.next()));
+      }
+    }
+
+    private void addAll(Candidates candidates) {
+      for (IntermediateSample<Line> sample : candidates.queue) {
+        add(sample);
+      }
+    }
+
+    private void add(IntermediateSample<Line> sample) {
+      if (queue.size() < size) {
+        queue.add(sample);
+      } else if (sample.getWeight() > queue.peek().getWeight()) {
+        queue.poll();
+        queue.add(sample);
+      }
+    }
+
+    private List<String> getLines() {
+      return queue.stream()
+        .map(IntermediateSample::getElement)
+        .sorted(Comparator.comparingLong(line -> line.position))
+        .map(line -> line.value)
+        .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Reads the lines of a part of a file.
+   */
+  private interface LineSource {
+    /**
+     * @return the next line, or {@code null} if there are no more lines in the part of the file.
+     */
+    @Nullable
+    Line readLine() throws IOException;
+  }
+
+  /**
+   * Iterates over the lines of a {@link LineSource}, until the time budget is spent.
+   */
+  private static final class LineIterator implements Iterator<Line> {
+    private final LineSource source;
+    private final long deadline;
+    private Line next;
+    private boolean finished;
+    private int count;
+
+    private LineIterator(LineSource source, long deadline) {
+      this.source = source;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      if (finished) {
+        return false;
+      }
+      if (++count % DEADLINE_CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline) {
+        finished = true;
+        return false;
+      }
+      try {
+        next = source.readLine();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      finished = next == null;
+      return !finished;
+    }
+
+    @Override
+    public Line next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more lines");
+      }
+      Line line = next;
+      next = null;
+      return line;
+    }
+  }
+
+  /**
+   * Reads the lines starting in a chunk of a memory-mapped file. A line belongs to the chunk it starts in, such
+   * that the lines of the file are read once when all its chunks are read.
+   */
+  private static final class MappedChunk implements LineSource {
+    private final ByteBuffer buffer;
+    private final int end;
+    private int position;
+    private byte[] bytes = new byte[256];
+
+    private MappedChunk(ByteBuffer buffer, int start, int end) {
+      this.buffer = buffer.duplicate();
+      this.end = end;
+      this.position = start;
+      if (start > 0 && this.buffer.get(start - 1) != '\n') {
+        // The line starting before the chunk belongs to the previous chunk.
+        position = lineEnd(start) + 1;
+      }
+    }
+
+    @Override
+    public Line readLine() {
+      if (position >= end) {
+        return null;
+      }
+      int start = position;
+      int length = lineEnd(start) - start;
+      if (bytes.length < length) {
+        bytes = new byte[Math.max(length, bytes.length * 2)];
+      }
+      buffer.position(start);
+      buffer.get(bytes, 0, length);
+      position = start + length + 1;
+      return new Line(start, decode(bytes, length));
+    }
+
+    private int lineEnd(int from) {
+      int limit = buffer.limit();
+      int i = from;
+      while (i < limit && buffer.get(i) != '\n') {
+        i++;
+      }
+      return i;
+    }
+  }
+
+  /**
+   * Reads the lines starting in a range of a file stream. Ranges are read in increasing order, skipping the bytes
+   * between them, which seeks the streams of splittable files.
+   */
+  private static final class StreamReader implements LineSource, Closeable {
+    private final InputStream input;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private long position;
+    private long end;
+    private boolean eof;
+
+    private StreamReader(InputStream input) {
+      this.input = new BufferedInputStream(input, BLOCK_SIZE);
+    }
+
+    private void setRange(long start, long end) throws IOException {
+      this.end = end;
+      if (start > position) {
+        skip(start - 1 - position);
+        int b = read();
+        if (b != -1 && b != '\n') {
+          // The line starting before the range belongs to the previous range.
+          readLine();
+        }
+      }
+    }
+
+    @Override
+    public Line readLine() throws IOException {
+      if (eof || position >= end) {
+        return null;
+      }
+      long start = position;
+      line.reset();
+      int b;
+      while ((b = read()) != -1 && b != '\n') {
+        line.write(b);
+      }
+      if (b == -1 && line.size() == 0) {
+        return null;
+      }
+      return new Line(start, decode(line.toByteArray(), line.size()));
+    }
+
+    private void skip(long bytes) throws IOException {
+      while (bytes > 0) {
+        long skipped = input.skip(bytes);
+        if (skipped > 0) {
+          position += skipped;
+          bytes -= skipped;
+        } else if (read() == -1) {
+          return;
+        } else {
+          bytes--;
+        }
+      }
+    }
+
+    private int read() throws IOException {
+      int b = input.read();
+      if (b == -1) {
+        eof = true;
+      } else {
+        position++;
+      }
+      return b;
+    }
+
+    @Override
+    public void close() throws IOException {
+      input.close();
+    }
+  }
+}
@@ -39,9 +39,6 @@ import io.cdap.wrangler.proto.ServiceResponse;
 import io.cdap.wrangler.proto.connection.ConnectionType;
 import io.cdap.wrangler.proto.file.FileConnectionSample;
 import io.cdap.wrangler.proto.file.FileSpec;
-import io.cdap.wrangler.sampling.Bernoulli;
-import io.cdap.wrangler.sampling.Poisson;
-import io.cdap.wrangler.sampling.Reservoir;
 import io.cdap.wrangler.service.common.AbstractWranglerHandler;
 import io.cdap.wrangler.service.common.Format;
 import io.cdap.wrangler.utils.ObjectSerDe;
@@ -54,9 +51,9 @@ import java.io.IOException;
 import java.security.Security;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -72,6 +69,8 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
   private Explorer explorer;
   private static final String COLUMN_NAME = "body";
   private static final int FILE_SIZE = 10 * 1024 * 1024;
+  private static final long SAMPLE_MAX_BYTES = 128L * 1024 * 1024;
+  private static final long SAMPLE_MAX_MILLIS = TimeUnit.SECONDS.toMillis(30);
 
   /**
    * Lists the content of the path specified using the {@link Location}.
@@ -257,26 +256,17 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
       .setProperties(properties)
       .build();
 
+    // Samples the lines from the whole file, within a budget of bytes read and time spent.
+    List<Row> rows = new ArrayList<>();
+    for (String line : new FileSampler(lines, SAMPLE_MAX_BYTES, SAMPLE_MAX_MILLIS)
+      .sample(location, samplingMethod, fraction)) {
+      rows.add(new Row(COLUMN_NAME, line));
+    }
+
     String sampleId = TransactionRunners.run(getContext(), context -> {
       WorkspaceDataset ws = WorkspaceDataset.get(context);
       NamespacedId workspaceId = ws.createWorkspace(namespace, workspaceMeta);
 
-      // Iterate through lines to extract only 'limit' random lines.
-      // Depending on the type, the sampling of the input is performed.
-      List<Row> rows = new ArrayList<>();
-      BoundedLineInputStream blis = BoundedLineInputStream.iterator(location.getInputStream(), Charsets.UTF_8, lines);
-      Iterator<String> it = blis;
-      if (samplingMethod == SamplingMethod.POISSON) {
-        it = new Poisson<String>(fraction).sample(blis);
-      } else if (samplingMethod == SamplingMethod.BERNOULLI) {
-        it = new Bernoulli<String>(fraction).sample(blis);
-      } else if (samplingMethod == SamplingMethod.RESERVOIR) {
-        it = new Reservoir<String>(lines).sample(blis);
-      }
-      while (it.hasNext()) {
-        rows.add(new Row(COLUMN_NAME, it.next()));
-      }
-
       // Write rows to workspace.
       ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
       byte[] data = serDe.toByteArray(rows);
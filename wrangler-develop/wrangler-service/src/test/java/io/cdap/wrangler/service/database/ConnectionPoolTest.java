@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.database;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link ConnectionPool}.
+ */
+public class ConnectionPoolTest {
+  private static final String URL = "jdbc:hsqldb:mem:pool";
+
+  @Test
+  public void testReuse() throws Exception {
+    ConnectionPool pool = new ConnectionPool(1, 60000);
+    AtomicInteger opened = new AtomicInteger();
+    ConnectionPool.ConnectionFactory factory = () -> {
+      opened.incrementAndGet();
+      return DriverManager.getConnection(URL, "SA", "");
+    };
+
+    Connection first = pool.acquire("db", factory);
+    Connection second = pool.acquire("db", factory);
+    Assert.assertEquals(2, opened.get());
+    pool.release("db", first);
+    // Only one idle connection is kept.
+    pool.release("db", second);
+    Assert.assertTrue(second.isClosed());
+    Assert.assertEquals(1, pool.getIdleCount("db"));
+
+    Assert.assertSame(first, pool.acquire("db", factory));
+    Assert.assertNotSame(first, pool.acquire("other", factory));
+    Assert.assertEquals(3, opened.get());
+
+    // Connections that are no longer valid are not reused.
+    pool.release("db", first);
+    first.close();
+    Connection third = pool.acquire("db", factory);
+    Assert.assertNotSame(first, third);
+    Assert.assertEquals(4, opened.get());
+    third.close();
+  }
+
+  @Test
+  public void testTransactionIsResetOnRelease() throws Exception {
+    ConnectionPool pool = new ConnectionPool(1, 60000);
+    ConnectionPool.ConnectionFactory factory = () -> DriverManager.getConnection(URL, "SA", "");
+
+    Connection connection = pool.acquire("db", factory);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE reset_test (id INT)");
+    }
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO reset_test VALUES (1)");
+    }
+    pool.release("db", connection);
+
+    // The uncommitted rows are rolled back, and the connection is in auto-commit mode as it was opened.
+    Connection reused = pool.acquire("db", factory);
+    Assert.assertSame(connection, reused);
+    Assert.assertTrue(reused.getAutoCommit());
+    try (Statement statement = reused.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM reset_test")) {
+      Assert.assertTrue(resultSet.next());
+      Assert.assertEquals(0, resultSet.getInt(1));
+    }
+    try (Statement statement = reused.createStatement()) {
+      statement.execute("DROP TABLE reset_test");
+    }
+    reused.close();
+  }
+
+  @Test
+  public void testCatalogAndSchemaAreResetOnRelease() throws Exception {
+    // Connection whose catalog and schema are kept in a map, keyed by 'Catalog' and 'Schema'.
+    Map<String, Object> session = new HashMap<>();
+    session.put("Catalog", "catalog");
+    session.put("Schema", "schema");
+    Connection connection = (Connection) Proxy.newProxyInstance(
+      getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+        String name = method.getName();
+        if (name.startsWith("get") && session.containsKey(name.substring(3))) {
+          return session.get(name.substring(3));
+        }
+        if (name.startsWith("set") && session.containsKey(name.substring(3))) {
+          session.put(name.substring(3), args[0]);
+          return null;
+        }
+        return name.equals("getAutoCommit") || name.equals("isValid") ? true : null;
+      });
+    ConnectionPool pool = new ConnectionPool(1, 60000);
+    Assert.assertSame(connection, pool.acquire("db", () -> connection));
+
+    connection.setCatalog("other");
+    connection.setSchema("other");
+    pool.release("db", connection);
+    Assert.assertEquals("catalog", session.get("Catalog"));
+    Assert.assertEquals("schema", session.get("Schema"));
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    ConnectionPool pool = new ConnectionPool(2, 60000);
+    ConnectionPool.ConnectionFactory factory = () -> DriverManager.getConnection(URL, "SA", "");
+    Connection idle = pool.acquire("db", factory);
+    Connection inUse = pool.acquire("db", factory);
+    pool.release("db", idle);
+
+    pool.close();
+    Assert.assertTrue(idle.isClosed());
+    Assert.assertEquals(0, pool.getIdleCount("db"));
+
+    // Connections released once the pool is closed are closed rather than pooled.
+    pool.release("db", inUse);
+    Assert.assertTrue(inUse.isClosed());
+    Assert.assertEquals(0, pool.getIdleCount("db"));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    ConnectionPool pool = new ConnectionPool(2, 0);
+    Connection connection = DriverManager.getConnection(URL, "SA", "");
+    pool.release("db", connection);
+    pool.evict();
+    Assert.assertEquals(0, pool.getIdleCount("db"));
+    Assert.assertTrue(connection.isClosed());
+  }
+}
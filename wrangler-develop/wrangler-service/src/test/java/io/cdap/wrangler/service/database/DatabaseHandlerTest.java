@@ -40,7 +40,9 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -140,6 +142,45 @@ public class DatabaseHandlerTest {
     }
   }
 
+  @Test
+  public void testReadRows() throws Exception {
+    try (Connection conn = getConnection()) {
+      List<Row> rows = DatabaseHandler.readRows(conn, "\"my_table\"", Arrays.asList("NAME", "ID"), 1);
+      Assert.assertEquals(1, rows.size());
+      Assert.assertEquals(2, rows.get(0).width());
+      Assert.assertEquals("NAME", rows.get(0).getColumn(0));
+      Assert.assertEquals("alice", rows.get(0).getValue(0));
+      Assert.assertEquals(1, rows.get(0).getValue(1));
+
+      // Column names are matched regardless of their case.
+      rows = DatabaseHandler.readRows(conn, "\"my_table\"", Arrays.asList("name", "Id"), 1);
+      Assert.assertEquals(2, rows.get(0).width());
+      Assert.assertEquals("alice", rows.get(0).getValue(0));
+
+      rows = DatabaseHandler.readRows(conn, "\"my_table\"", Collections.emptyList(), 10);
+      Assert.assertEquals(2, rows.size());
+      Assert.assertEquals(5, rows.get(1).width());
+    }
+  }
+
+  @Test
+  public void testSelectQuery() {
+    List<String> columns = Arrays.asList("id", "na\"me", "first name");
+    Assert.assertEquals("select * from t limit 10",
+                        DatabaseHandler.getSelectQuery("MySQL", "`", "t", Collections.emptyList(), 10));
+    Assert.assertEquals("select id, \"na\"\"me\", \"first name\" from t limit 10",
+                        DatabaseHandler.getSelectQuery("PostgreSQL", "\"", "t", columns, 10));
+    Assert.assertEquals("select top 10 * from t",
+                        DatabaseHandler.getSelectQuery("Microsoft SQL Server", "\"", "t",
+                                                       Collections.emptyList(), 10));
+    Assert.assertEquals("select * from (select * from t) where rownum <= 10",
+                        DatabaseHandler.getSelectQuery("Oracle", "\"", "t", Collections.emptyList(), 10));
+    Assert.assertEquals("select * from t fetch first 10 rows only",
+                        DatabaseHandler.getSelectQuery("DB2/LINUXX8664", "\"", "t", Collections.emptyList(), 10));
+    Assert.assertEquals("select id from t",
+                        DatabaseHandler.getSelectQuery("Unknown", " ", "t", Collections.singletonList("id"), 10));
+  }
+
   private static void createTestUser(Connection conn) throws SQLException {
     try (Statement stmt = conn.createStatement()) {
       stmt.execute("CREATE USER \"emptyPwdUser\" PASSWORD '' ADMIN");
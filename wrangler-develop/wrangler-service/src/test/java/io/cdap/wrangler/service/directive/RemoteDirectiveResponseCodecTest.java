@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.RemoteDirectiveResponse;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link RemoteDirectiveResponseCodec}.
+ */
+public class RemoteDirectiveResponseCodecTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<Row> rows = Arrays.asList(new Row("id", 1).add("name", "a"), new Row("id", 2).add("name", "b"));
+    Schema schema = Schema.recordOf("output",
+                                    Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+                                    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+
+    RemoteDirectiveResponse response =
+      RemoteDirectiveResponseCodec.decode(RemoteDirectiveResponseCodec.encode(new RemoteDirectiveResponse(rows,
+                                                                                                          schema)));
+    Assert.assertEquals(rows, response.getRows());
+    Assert.assertEquals(schema, response.getOutputSchema());
+
+    response = RemoteDirectiveResponseCodec.decode(
+      RemoteDirectiveResponseCodec.encode(new RemoteDirectiveResponse(Collections.emptyList(), null)));
+    Assert.assertEquals(Collections.emptyList(), response.getRows());
+    Assert.assertNull(response.getOutputSchema());
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import com.google.common.hash.HashCode;
+import io.cdap.cdap.api.NamespaceSummary;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.proto.workspace.v2.WorkspaceId;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link WorkspaceExecutionCache}.
+ */
+public class WorkspaceExecutionCacheTest {
+  private static final WorkspaceId WORKSPACE = new WorkspaceId(new NamespaceSummary("default", "", 0L), "ws");
+  private static final HashCode SAMPLE =
+    WorkspaceExecutionCache.getSampleVersion("sample".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  public void testLongestPrefix() {
+    WorkspaceExecutionCache cache = new WorkspaceExecutionCache();
+    List<String> directives = Arrays.asList("lowercase :body", "uppercase :body", "trim :body");
+    cache.put(WORKSPACE, SAMPLE, directives.subList(0, 1), Collections.singletonList(new Row("body", "a")), null);
+    cache.put(WORKSPACE, SAMPLE, directives.subList(0, 2), Collections.singletonList(new Row("body", "A")), null);
+
+    WorkspaceExecutionCache.Result result = cache.get(WORKSPACE, SAMPLE, directives);
+    Assert.assertNotNull(result);
+    Assert.assertEquals(2, result.getDirectives());
+    Assert.assertEquals("A", result.getRows().get(0).getValue("body"));
+
+    // Rows handed out can be modified without affecting the cache.
+    result.getRows().get(0).setValue(0, "changed");
+    Assert.assertEquals("A", cache.get(WORKSPACE, SAMPLE, directives).getRows().get(0).getValue("body"));
+
+    // Results of another sample or of directives that are not a prefix are not used.
+    HashCode otherSample = WorkspaceExecutionCache.getSampleVersion("other".getBytes(StandardCharsets.UTF_8));
+    Assert.assertNull(cache.get(WORKSPACE, otherSample, directives));
+    Assert.assertNull(cache.get(WORKSPACE, SAMPLE, Arrays.asList("uppercase :body", "lowercase :body")));
+  }
+
+  @Test
+  public void testRetainAndInvalidate() {
+    WorkspaceExecutionCache cache = new WorkspaceExecutionCache();
+    List<String> directives = Arrays.asList("lowercase :body", "uppercase :body");
+    cache.put(WORKSPACE, SAMPLE, directives.subList(0, 1), Collections.singletonList(new Row("body", "a")), null);
+    cache.put(WORKSPACE, SAMPLE, directives, Collections.singletonList(new Row("body", "A")), null);
+
+    cache.retain(WORKSPACE, directives.subList(0, 1));
+    Assert.assertEquals(1, cache.get(WORKSPACE, SAMPLE, directives).getDirectives());
+
+    cache.invalidate(WORKSPACE);
+    Assert.assertNull(cache.get(WORKSPACE, SAMPLE, directives));
+  }
+
+  @Test
+  public void testEviction() {
+    WorkspaceExecutionCache cache = new WorkspaceExecutionCache(1024);
+    List<String> directives = Collections.singletonList("lowercase :body");
+    char[] value = new char[1024];
+    Arrays.fill(value, 'a');
+    cache.put(WORKSPACE, SAMPLE, directives, Collections.singletonList(new Row("body", new String(value))), null);
+    Assert.assertNull(cache.get(WORKSPACE, SAMPLE, directives));
+  }
+
+  @Test
+  public void testCachedRowsAreCopied() {
+    WorkspaceExecutionCache cache = new WorkspaceExecutionCache();
+    List<String> directives = Collections.singletonList("lowercase :body");
+    List<Row> rows = Collections.singletonList(new Row("body", "a").add("bytes", new byte[] { 1 }));
+    cache.put(WORKSPACE, SAMPLE, directives, rows, null);
+
+    // Neither the rows put nor the rows handed out share values with the cache.
+    rows.get(0).setValue(0, "changed");
+    ((byte[]) rows.get(0).getValue("bytes"))[0] = 2;
+    Row cached = cache.get(WORKSPACE, SAMPLE, directives).getRows().get(0);
+    Assert.assertEquals("a", cached.getValue("body"));
+    ((byte[]) cached.getValue("bytes"))[0] = 3;
+    Assert.assertArrayEquals(new byte[] { 1 },
+                             (byte[]) cache.get(WORKSPACE, SAMPLE, directives).getRows().get(0).getValue("bytes"));
+  }
+
+  @Test
+  public void testDeterministicPrefix() {
+    Assert.assertEquals(2, WorkspaceExecutionCache.getDeterministicPrefix(
+      Arrays.asList("lowercase :body", "set-column :upper body.toUpperCase()")));
+    Assert.assertEquals(1, WorkspaceExecutionCache.getDeterministicPrefix(
+      Arrays.asList("lowercase :body", "generate-uuid :id", "uppercase :body")));
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("table-lookup :body 'lookup'")));
+    Assert.assertEquals(1, WorkspaceExecutionCache.getDeterministicPrefix(
+      Arrays.asList("lowercase :body", "mask-shuffle :body", "uppercase :body")));
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("set-column :random math:random()")));
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("invoke-http :body 'http://localhost' 'a'")));
+    Assert.assertEquals(1, WorkspaceExecutionCache.getDeterministicPrefix(
+      Arrays.asList("lowercase :body", "set-column :now datetime:CurrentDateTime()")));
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("filter-row-if-true ctx.millis > 0")));
+    // Directives that are not valid.
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("lowercase")));
+    // User defined directives.
+    Assert.assertEquals(0, WorkspaceExecutionCache.getDeterministicPrefix(
+      Collections.singletonList("my-directive :body")));
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.explorer;
+
+import io.cdap.wrangler.SamplingMethod;
+import org.apache.twill.filesystem.LocalLocationFactory;
+import org.apache.twill.filesystem.Location;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Tests {@link FileSampler}
+ */
+public class FileSamplerTest {
+  private static final int LINES = 200000;
+
+  @ClassRule
+  public static final TemporaryFolder TEMP_FOLDER = new TemporaryFolder();
+
+  private static Location location;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    File file = TEMP_FOLDER.newFile("lines.txt");
+    try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+      for (int i = 0; i < LINES; i++) {
+        writer.write("line-" + i);
+        writer.write(i % 2 == 0 ? "\n" : "\r\n");
+      }
+    }
+    location = new LocalLocationFactory(TEMP_FOLDER.getRoot()).create(file.toURI());
+  }
+
+  @Test
+  public void testFirst() throws Exception {
+    List<String> lines = new FileSampler(10, Long.MAX_VALUE, Long.MAX_VALUE)
+      .sample(location, SamplingMethod.FIRST, 0);
+    Assert.assertEquals(10, lines.size());
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals("line-" + i, lines.get(i));
+    }
+  }
+
+  @Test
+  public void testScanAllLines() throws Exception {
+    // The reservoir is larger than the file, all the lines are sampled once.
+    List<String> lines = new FileSampler(LINES * 2, Long.MAX_VALUE, Long.MAX_VALUE)
+      .sample(location, SamplingMethod.RESERVOIR, 0);
+    Assert.assertEquals(LINES, lines.size());
+    for (int i = 0; i < LINES; i++) {
+      Assert.assertEquals("line-" + i, lines.get(i));
+    }
+  }
+
+  @Test
+  public void testReservoirSamplesWholeFile() throws Exception {
+    List<String> lines = new FileSampler(100, Long.MAX_VALUE, Long.MAX_VALUE)
+      .sample(location, SamplingMethod.RESERVOIR, 0);
+    Assert.assertEquals(100, lines.size());
+    assertSampledFromWholeFile(lines);
+  }
+
+  @Test
+  public void testBernoulliSamplesWholeFile() throws Exception {
+    List<String> lines = new FileSampler(1000, Long.MAX_VALUE, Long.MAX_VALUE)
+      .sample(location, SamplingMethod.BERNOULLI, 0.001);
+    Assert.assertTrue(lines.size() > 0 && lines.size() < 1000);
+    assertSampledFromWholeFile(lines);
+  }
+
+  @Test
+  public void testBlockSampling() throws Exception {
+    // The file is larger than the byte budget, lines are sampled from blocks of the file.
+    Assert.assertTrue(location.length() > 1024 * 1024);
+    List<String> lines = new FileSampler(100, 1024 * 1024, Long.MAX_VALUE)
+      .sample(location, SamplingMethod.RESERVOIR, 0);
+    Assert.assertEquals(100, lines.size());
+    assertSampledFromWholeFile(lines);
+  }
+
+  @Test
+  public void testReadFailureIsIOException() throws Exception {
+    // A location that is not a local file, whose content fails to be read.
+    Location failing = (Location) Proxy.newProxyInstance(
+      getClass().getClassLoader(), new Class<?>[] { Location.class }, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "length":
+            return 100L;
+          case "toURI":
+            return URI.create("test:///lines.txt");
+          case "getInputStream":
+            return new InputStream() {
+              @Override
+              public int read() throws IOException {
+                throw new IOException("Failed to read");
+              }
+            };
+          default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+      });
+    try {
+      new FileSampler(10, Long.MAX_VALUE, Long.MAX_VALUE).sample(failing, SamplingMethod.RESERVOIR, 0);
+      Assert.fail("Expected the read failure to be thrown");
+    } catch (IOException e) {
+      Assert.assertEquals("Failed to read", e.getMessage());
+    }
+  }
+
+  private static void assertSampledFromWholeFile(List<String> lines) {
+    int previous = -1;
+    for (String line : lines) {
+      Assert.assertTrue(line, line.matches("line-\\d+"));
+      int index = Integer.parseInt(line.substring("line-".length()));
+      // Lines are distinct and in the order of the file.
+      Assert.assertTrue(index > previous);
+      previous = index;
+    }
+    Assert.assertTrue(previous > LINES / 2);
+  }
+}
@@ -32,15 +32,12 @@ import io.cdap.cdap.spi.data.table.field.Fields;
 import io.cdap.cdap.spi.data.table.field.Range;
 import io.cdap.cdap.spi.data.transaction.TransactionRunner;
 import io.cdap.cdap.spi.data.transaction.TransactionRunners;
-import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.dataset.workspace.WorkspaceNotFoundException;
 import io.cdap.wrangler.proto.workspace.v2.Workspace;
 import io.cdap.wrangler.proto.workspace.v2.WorkspaceDetail;
 import io.cdap.wrangler.proto.workspace.v2.WorkspaceId;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -113,15 +110,10 @@ public class WorkspaceStore {
       }
 
       Workspace workspace = GSON.fromJson(row.get().getString(WORKSPACE_INFO_COL), Workspace.class);
-      List<Row> rows = new ArrayList<>();
       byte[] sample = row.get().getBytes(SAMPLE_COL);
-      if (sample != null) {
-        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(sample))) {
-          rows = (List<Row>) ois.readObject();
-        }
-      }
-
-      return new WorkspaceDetail(workspace, rows);
+      // The sample is only decoded if it is used.
+      return sample == null ?
+        new WorkspaceDetail(workspace, new ArrayList<>()) : new WorkspaceDetail(workspace, sample);
     }, WorkspaceNotFoundException.class);
   }
 
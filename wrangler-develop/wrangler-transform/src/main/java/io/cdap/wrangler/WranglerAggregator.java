@@ -0,0 +1,471 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler;
+
+import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
+import io.cdap.cdap.api.annotation.Name;
+import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.exception.ErrorCategory;
+import io.cdap.cdap.api.exception.ErrorType;
+import io.cdap.cdap.api.exception.ErrorUtils;
+import io.cdap.cdap.api.plugin.PluginConfig;
+import io.cdap.cdap.api.plugin.PluginProperties;
+import io.cdap.cdap.etl.api.Emitter;
+import io.cdap.cdap.etl.api.FailureCollector;
+import io.cdap.cdap.etl.api.PipelineConfigurer;
+import io.cdap.cdap.etl.api.StageContext;
+import io.cdap.cdap.etl.api.StageMetrics;
+import io.cdap.cdap.etl.api.batch.BatchAggregatorContext;
+import io.cdap.cdap.etl.api.batch.BatchReducibleAggregator;
+import io.cdap.cdap.etl.api.batch.BatchRuntimeContext;
+import io.cdap.directives.aggregates.DefaultTransientStore;
+import io.cdap.wrangler.api.AggregateDirective;
+import io.cdap.wrangler.api.CompileStatus;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.RecipeParser;
+import io.cdap.wrangler.api.RecipeSymbol;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.TransientStore;
+import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import io.cdap.wrangler.parser.GrammarBasedParser;
+import io.cdap.wrangler.parser.MigrateToV2;
+import io.cdap.wrangler.parser.RecipeCompiler;
+import io.cdap.wrangler.registry.CompositeDirectiveRegistry;
+import io.cdap.wrangler.registry.DirectiveRegistry;
+import io.cdap.wrangler.registry.SystemDirectiveRegistry;
+import io.cdap.wrangler.registry.UserDirectiveRegistry;
+import io.cdap.wrangler.utils.RecordConvertor;
+import io.cdap.wrangler.utils.StructuredToRowTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Wrangler Aggregator - applies a recipe with aggregating directives, such as {@code aggregate-stats},
+ * to groups of records.
+ *
+ * <p>Unlike the {@link Wrangler} transform, which has no way to tell when it has seen the last record, this
+ * plugin finishes the recipe at the end of every group, so that directives implementing
+ * {@link AggregateDirective} emit their aggregated rows. Each partition aggregates the records of a group
+ * into a {@link Partial}, partials of the same group are merged, and the merged partial is finished. This
+ * saves the shuffle of a separate Group By stage when the aggregation can be expressed in the recipe.</p>
+ *
+ * <p>Directives do not hold any state between calls: the state of the aggregating directives is always
+ * restored from a partial before rows are executed and taken back into the partial afterwards.</p>
+ */
+@Plugin(type = BatchReducibleAggregator.PLUGIN_TYPE)
+@Name("WranglerAggregator")
+@Description("Wrangler Aggregator - applies a recipe with aggregating directives to groups of records.")
+public class WranglerAggregator
+  extends BatchReducibleAggregator<Row, StructuredRecord, WranglerAggregator.Partial, StructuredRecord> {
+  private static final Logger LOG = LoggerFactory.getLogger(WranglerAggregator.class);
+
+  private final Config config;
+
+  private DirectiveRegistry registry;
+  private TransientStore store;
+  private RecipePipelineExecutor pipeline;
+  private List<AggregateDirective> aggregates;
+  private RecordConvertor convertor;
+  private Schema oSchema;
+  private List<String> groupBy;
+  private int maxBufferedRows;
+  private StageMetrics metrics;
+
+  // This is used only for tests, otherwise this is being injected by the ingestion framework.
+  public WranglerAggregator(Config config) {
+    this.config = config;
+  }
+
+  @Override
+  public void configurePipeline(PipelineConfigurer configurer) {
+    FailureCollector collector = configurer.getStageConfigurer().getFailureCollector();
+    Schema iSchema = configurer.getStageConfigurer().getInputSchema();
+
+    if (!config.containsMacro(Config.NAME_GROUP_BY) && iSchema != null && "*".equals(config.getField())) {
+      for (String field : config.getGroupByFields()) {
+        if (iSchema.getField(field) == null) {
+          collector.addFailure(String.format("Group by field '%s' is not present in the input schema.", field),
+                               "Ensure the group by fields are present in the input schema.")
+            .withConfigElement(Config.NAME_GROUP_BY, field);
+        }
+      }
+    }
+
+    if (!config.containsMacro(Config.NAME_DIRECTIVES) && !config.containsMacro(Config.NAME_UDD)) {
+      try {
+        CompileStatus status = new RecipeCompiler().compile(new MigrateToV2(getRecipe()).migrate());
+        RecipeSymbol symbols = status.getSymbols();
+        Set<String> dynamicDirectives = symbols == null ? Collections.emptySet() : symbols.getLoadableDirectives();
+        for (String directive : dynamicDirectives) {
+          if (configurer.usePlugin(Directive.TYPE, directive, directive, PluginProperties.builder().build()) == null) {
+            collector.addFailure(
+              String.format("User Defined Directive '%s' is not deployed or is not available.", directive),
+              "Ensure the directive is deployed.")
+              .withPluginNotFound(directive, directive, Directive.TYPE)
+              .withConfigElement(Config.NAME_UDD, directive);
+          }
+        }
+      } catch (Exception e) {
+        collector.addFailure(String.format("Compilation error occurred, %s: %s", e.getClass().getName(),
+                                           e.getMessage()), null).withConfigProperty(Config.NAME_DIRECTIVES);
+      }
+    }
+
+    if (!config.containsMacro(Config.NAME_MAX_BUFFERED_ROWS) && config.getMaxBufferedRows() <= 0) {
+      collector.addFailure("Maximum number of buffered rows must be greater than zero.", null)
+        .withConfigProperty(Config.NAME_MAX_BUFFERED_ROWS);
+    }
+
+    if (!config.containsMacro(Config.NAME_SCHEMA)) {
+      try {
+        configurer.getStageConfigurer().setOutputSchema(Schema.parseJson(config.schema));
+      } catch (IOException e) {
+        collector.addFailure(
+          String.format("Invalid output schema %s: %s", e.getClass().getName(), e.getMessage()),
+          null).withConfigProperty(Config.NAME_SCHEMA).withStacktrace(e.getStackTrace());
+      }
+    }
+    collector.getOrThrowException();
+  }
+
+  @Override
+  public void prepareRun(BatchAggregatorContext context) throws Exception {
+    super.prepareRun(context);
+    context.setGroupKeyClass(Row.class);
+    context.setGroupValueClass(StructuredRecord.class);
+  }
+
+  /**
+   * Parses the recipe once for the lifetime of the plugin instance. The same directives are used for all
+   * the groups processed by the instance.
+   */
+  @Override
+  public void initialize(BatchRuntimeContext context) throws Exception {
+    super.initialize(context);
+    store = new DefaultTransientStore();
+    metrics = context.getMetrics();
+    groupBy = config.getGroupByFields();
+    maxBufferedRows = config.getMaxBufferedRows();
+    convertor = new RecordConvertor();
+
+    try {
+      oSchema = Schema.parseJson(config.schema);
+    } catch (Exception e) {
+      throw WranglerErrorUtil.getProgramFailureExceptionDetailsFromChain(e, "Invalid output schema format.", null,
+                                                                         ErrorType.USER);
+    }
+
+    List<Directive> directives;
+    try {
+      directives = getRecipeParser(context).parse();
+    } catch (Exception e) {
+      throw WranglerErrorUtil.getProgramFailureExceptionDetailsFromChain(
+        e, "Unable to parse recipe and extract all instances of directives.", null, ErrorType.USER);
+    }
+    aggregates = new ArrayList<>();
+    for (Directive directive : directives) {
+      if (directive instanceof AggregateDirective) {
+        aggregates.add((AggregateDirective) directive);
+      }
+    }
+    ExecutorContext ctx = new WranglerPipelineContext(ExecutorContext.Environment.TRANSFORM, context, store);
+    pipeline = new RecipePipelineExecutor(() -> directives, ctx);
+  }
+
+  @Override
+  public void destroy() {
+    super.destroy();
+    if (pipeline != null) {
+      pipeline.close();
+    }
+    if (registry != null) {
+      try {
+        registry.close();
+      } catch (IOException e) {
+        LOG.warn("Unable to close the directive registry. You might see increasing number of open file handle.", e);
+      }
+    }
+  }
+
+  @Override
+  public void groupBy(StructuredRecord input, Emitter<Row> emitter) {
+    Row key = new Row();
+    for (String field : groupBy) {
+      key.add(field, input.get(field));
+    }
+    emitter.emit(key);
+  }
+
+  @Override
+  public Partial initializeAggregateValue(StructuredRecord input) throws Exception {
+    Partial partial = new Partial();
+    for (AggregateDirective aggregate : aggregates) {
+      partial.states.add(aggregate.takeState());
+    }
+    return mergeValues(partial, input);
+  }
+
+  /**
+   * Executes the recipe on the record, with the aggregating directives starting from the state of the partial.
+   * Rows that make it through the recipe are kept in the partial, they are emitted with the aggregated rows.
+   * At most {@link Config#getMaxBufferedRows()} such rows are kept for a group.
+   */
+  @Override
+  public Partial mergeValues(Partial partial, StructuredRecord input) throws Exception {
+    Row row = new Row();
+    if ("*".equalsIgnoreCase(config.getField())) {
+      row = StructuredToRowTransformer.transform(input);
+    } else if ("#".equalsIgnoreCase(config.getField())) {
+      row.add(input.getSchema().getRecordName(), input);
+    } else {
+      row.add(config.getField(), StructuredToRowTransformer.getValue(input, config.getField()));
+    }
+
+    store.reset(TransientVariableScope.GLOBAL);
+    store.reset(TransientVariableScope.LOCAL);
+
+    try {
+      restore(partial);
+      addRows(partial, pipeline.execute(Collections.singletonList(row)));
+    } finally {
+      // Leaves the directives without state for the next group, even if the recipe failed.
+      take(partial);
+    }
+    countErrors(pipeline.errors().size());
+    return partial;
+  }
+
+  @Override
+  public Partial mergePartitions(Partial partial1, Partial partial2) throws Exception {
+    try {
+      restore(partial1);
+      for (int i = 0; i < aggregates.size(); i++) {
+        aggregates.get(i).mergeState(partial2.states.get(i));
+      }
+    } finally {
+      take(partial1);
+    }
+    addRows(partial1, partial2.rows);
+    return partial1;
+  }
+
+  /**
+   * Finishes the recipe with the merged state of the group. The group by fields are added to the rows
+   * emitted by the aggregating directives.
+   */
+  @Override
+  public void finalize(Row key, Partial partial, Emitter<StructuredRecord> emitter) throws Exception {
+    int errors = pipeline.errors().size();
+    List<Row> rows;
+    try {
+      restore(partial);
+      rows = pipeline.finish();
+    } finally {
+      // Leaves the directives without state for the next group.
+      for (AggregateDirective aggregate : aggregates) {
+        aggregate.takeState();
+      }
+    }
+    countErrors(pipeline.errors().size() - errors);
+
+    for (Row row : rows) {
+      for (int i = 0; i < key.width(); i++) {
+        row.addOrSet(key.getColumn(i), key.getValue(i));
+      }
+    }
+    List<Row> output = new ArrayList<>(partial.rows);
+    output.addAll(rows);
+    for (StructuredRecord record : convertor.toStructureRecord(output, oSchema)) {
+      emitter.emit(record);
+    }
+  }
+
+  // Rows of a group are held in memory until the group is finalized, so their number is bounded.
+  private void addRows(Partial partial, List<Row> rows) {
+    if (partial.rows.size() + rows.size() > maxBufferedRows) {
+      String errorReason = String.format(
+        "More than %d rows of a group are not consumed by an aggregating directive. Drop or filter the rows that "
+          + "are not aggregated in the recipe, or increase '%s'.", maxBufferedRows, Config.NAME_MAX_BUFFERED_ROWS);
+      throw ErrorUtils.getProgramFailureException(
+        new ErrorCategory(ErrorCategory.ErrorCategoryEnum.PLUGIN), errorReason, errorReason, ErrorType.USER, false,
+        null);
+    }
+    partial.rows.addAll(rows);
+  }
+
+  private void restore(Partial partial) throws DirectiveExecutionException {
+    for (int i = 0; i < aggregates.size(); i++) {
+      aggregates.get(i).mergeState(partial.states.get(i));
+    }
+  }
+
+  private void take(Partial partial) {
+    partial.states.clear();
+    for (AggregateDirective aggregate : aggregates) {
+      partial.states.add(aggregate.takeState());
+    }
+  }
+
+  // Error records cannot be emitted from an aggregator, so they are only counted.
+  private void countErrors(int errors) {
+    if (errors > 0) {
+      metrics.count("errors", errors);
+    }
+  }
+
+  private String getRecipe() {
+    String directives = config.getDirectives() == null ? "" : config.getDirectives();
+    if (config.getUDDs() != null && !config.getUDDs().trim().isEmpty()) {
+      directives = String.format("#pragma load-directives %s;%s", config.getUDDs(), directives);
+    }
+    return directives;
+  }
+
+  private RecipeParser getRecipeParser(StageContext context) throws RecipeException {
+    registry = new CompositeDirectiveRegistry(SystemDirectiveRegistry.INSTANCE, new UserDirectiveRegistry(context));
+    try {
+      registry.reload(context.getNamespace());
+      return new GrammarBasedParser(context.getNamespace(), new MigrateToV2(getRecipe()).migrate(), registry);
+    } catch (Exception e) {
+      throw new RecipeException("Unable to load the directives. " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * State of the aggregation of a group within a partition: the rows that made it through the recipe, and the
+   * partial state of each aggregating directive of the recipe, in the order of the recipe. The rows are held in
+   * memory, up to {@link Config#getMaxBufferedRows()} of them.
+   */
+  public static final class Partial implements Serializable {
+    private static final long serialVersionUID = 8043716572634071920L;
+
+    private final List<Row> rows = new ArrayList<>();
+    private final List<Serializable> states = new ArrayList<>();
+  }
+
+  /**
+   * Config for the plugin.
+   */
+  public static class Config extends PluginConfig {
+    static final String NAME_FIELD = "field";
+    static final String NAME_DIRECTIVES = "directives";
+    static final String NAME_UDD = "udd";
+    static final String NAME_GROUP_BY = "groupByFields";
+    static final String NAME_SCHEMA = "schema";
+    static final String NAME_MAX_BUFFERED_ROWS = "maxBufferedRows";
+    static final int DEFAULT_MAX_BUFFERED_ROWS = 10000;
+
+    @Name(NAME_FIELD)
+    @Description("Name of the input field to be wrangled or '*' to wrangle all the fields.")
+    @Macro
+    private final String field;
+
+    @Name(NAME_DIRECTIVES)
+    @Description("Recipe for wrangling and aggregating the input records")
+    @Macro
+    @Nullable
+    private final String directives;
+
+    @Name(NAME_UDD)
+    @Description("List of User Defined Directives (UDD) that have to be loaded.")
+    @Nullable
+    private final String udds;
+
+    @Name(NAME_GROUP_BY)
+    @Description("Comma separated list of the input fields to group the records by. "
+      + "All the records are aggregated together if empty.")
+    @Macro
+    @Nullable
+    private final String groupByFields;
+
+    @Name(NAME_SCHEMA)
+    @Description("Specifies the schema that has to be output.")
+    @Macro
+    private final String schema;
+
+    @Name(NAME_MAX_BUFFERED_ROWS)
+    @Description("Maximum number of rows of a group that are not consumed by an aggregating directive. Such rows "
+      + "are held in memory until the group is aggregated, the pipeline fails if a group has more of them. "
+      + "Defaults to " + DEFAULT_MAX_BUFFERED_ROWS + ".")
+    @Macro
+    @Nullable
+    private final Integer maxBufferedRows;
+
+    public Config(String field, String directives, String udds, String groupByFields, String schema) {
+      this(field, directives, udds, groupByFields, schema, null);
+    }
+
+    public Config(String field, String directives, String udds, String groupByFields, String schema,
+                  @Nullable Integer maxBufferedRows) {
+      this.field = field;
+      this.directives = directives;
+      this.udds = udds;
+      this.groupByFields = groupByFields;
+      this.schema = schema;
+      this.maxBufferedRows = maxBufferedRows;
+    }
+
+    public String getField() {
+      return field;
+    }
+
+    public String getDirectives() {
+      return directives;
+    }
+
+    public String getUDDs() {
+      return udds;
+    }
+
+    /**
+     * @return maximum number of rows of a group, not consumed by an aggregating directive, held in memory.
+     */
+    public int getMaxBufferedRows() {
+      return maxBufferedRows == null ? DEFAULT_MAX_BUFFERED_ROWS : maxBufferedRows;
+    }
+
+    /**
+     * @return names of the fields to group by, empty if all the records are aggregated together.
+     */
+    public List<String> getGroupByFields() {
+      List<String> fields = new ArrayList<>();
+      if (groupByFields != null) {
+        for (String field : groupByFields.split(",")) {
+          if (!field.trim().isEmpty()) {
+            fields.add(field.trim());
+          }
+        }
+      }
+      return fields;
+    }
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler;
+
+import io.cdap.cdap.api.annotation.Name;
+import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.dataset.Dataset;
+import io.cdap.cdap.api.exception.ProgramFailureException;
+import io.cdap.cdap.etl.api.batch.BatchRuntimeContext;
+import io.cdap.cdap.etl.mock.common.MockEmitter;
+import io.cdap.cdap.etl.mock.transform.MockTransformContext;
+import io.cdap.wrangler.api.AggregateDirective;
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.parser.UsageDefinition;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Tests {@link WranglerAggregator}.
+ */
+public class WranglerAggregatorTest {
+  private static final Schema INPUT = Schema.recordOf(
+    "input",
+    Schema.Field.of("key", Schema.of(Schema.Type.STRING)),
+    Schema.Field.of("value", Schema.nullableOf(Schema.of(Schema.Type.LONG)))
+  );
+  private static final Schema OUTPUT = Schema.recordOf(
+    "output",
+    Schema.Field.of("key", Schema.of(Schema.Type.STRING)),
+    Schema.Field.of("value", Schema.nullableOf(Schema.of(Schema.Type.LONG))),
+    Schema.Field.of("total", Schema.nullableOf(Schema.of(Schema.Type.LONG)))
+  );
+
+  private MockBatchRuntimeContext context;
+  private WranglerAggregator aggregator;
+
+  @Before
+  public void setUp() throws Exception {
+    context = new MockBatchRuntimeContext();
+    aggregator = create(null);
+  }
+
+  @After
+  public void tearDown() {
+    aggregator.destroy();
+  }
+
+  private WranglerAggregator create(@Nullable Integer maxBufferedRows) throws Exception {
+    WranglerAggregator.Config config = new WranglerAggregator.Config(
+      "*", "sum-values;", SumValues.NAME, "key", OUTPUT.toString(), maxBufferedRows);
+    WranglerAggregator aggregator = new WranglerAggregator(config);
+    aggregator.initialize(context);
+    return aggregator;
+  }
+
+  private static StructuredRecord record(String key, @Nullable Long value) {
+    return StructuredRecord.builder(INPUT).set("key", key).set("value", value).build();
+  }
+
+  private List<StructuredRecord> finalize(String key, WranglerAggregator.Partial partial) throws Exception {
+    MockEmitter<StructuredRecord> emitter = new MockEmitter<>();
+    aggregator.finalize(new Row("key", key), partial, emitter);
+    return emitter.getEmitted();
+  }
+
+  @Test
+  public void testGroupBy() {
+    MockEmitter<Row> emitter = new MockEmitter<>();
+    aggregator.groupBy(record("a", 1L), emitter);
+    Assert.assertEquals(1, emitter.getEmitted().size());
+    Assert.assertEquals(new Row("key", "a"), emitter.getEmitted().get(0));
+  }
+
+  @Test
+  public void testAggregateGroup() throws Exception {
+    WranglerAggregator.Partial partial = aggregator.initializeAggregateValue(record("a", 1L));
+    partial = aggregator.mergeValues(partial, record("a", 2L));
+    partial = aggregator.mergeValues(partial, record("a", 3L));
+
+    List<StructuredRecord> output = finalize("a", partial);
+    Assert.assertEquals(1, output.size());
+    Assert.assertEquals("a", output.get(0).get("key"));
+    Assert.assertEquals(6L, (long) output.get(0).<Long>get("total"));
+  }
+
+  @Test
+  public void testMergePartitions() throws Exception {
+    WranglerAggregator.Partial partial1 = aggregator.initializeAggregateValue(record("a", 1L));
+    partial1 = aggregator.mergeValues(partial1, record("a", 2L));
+    WranglerAggregator.Partial partial2 = aggregator.initializeAggregateValue(record("a", 10L));
+    partial2 = aggregator.mergeValues(partial2, record("a", null));
+
+    WranglerAggregator.Partial merged = aggregator.mergePartitions(partial1, partial2);
+    List<StructuredRecord> output = finalize("a", merged);
+    Assert.assertEquals(2, output.size());
+    Assert.assertNull(output.get(0).get("total"));
+    Assert.assertEquals(13L, (long) output.get(1).<Long>get("total"));
+  }
+
+  @Test
+  public void testGroupsDoNotShareState() throws Exception {
+    WranglerAggregator.Partial partialA = aggregator.initializeAggregateValue(record("a", 1L));
+    WranglerAggregator.Partial partialB = aggregator.initializeAggregateValue(record("b", 5L));
+    partialA = aggregator.mergeValues(partialA, record("a", 2L));
+    partialB = aggregator.mergeValues(partialB, record("b", 7L));
+
+    List<StructuredRecord> outputA = finalize("a", partialA);
+    List<StructuredRecord> outputB = finalize("b", partialB);
+    Assert.assertEquals(3L, (long) outputA.get(0).<Long>get("total"));
+    Assert.assertEquals("b", outputB.get(0).get("key"));
+    Assert.assertEquals(12L, (long) outputB.get(0).<Long>get("total"));
+  }
+
+  @Test
+  public void testRowsNotAggregatedAreEmitted() throws Exception {
+    WranglerAggregator.Partial partial = aggregator.initializeAggregateValue(record("a", null));
+    partial = aggregator.mergeValues(partial, record("a", 4L));
+
+    List<StructuredRecord> output = finalize("a", partial);
+    Assert.assertEquals(2, output.size());
+    Assert.assertEquals("a", output.get(0).get("key"));
+    Assert.assertNull(output.get(0).get("value"));
+    Assert.assertEquals(4L, (long) output.get(1).<Long>get("total"));
+  }
+
+  @Test
+  public void testBufferedRowsAreBounded() throws Exception {
+    aggregator.destroy();
+    aggregator = create(2);
+    WranglerAggregator.Partial partial = aggregator.initializeAggregateValue(record("a", null));
+    partial = aggregator.mergeValues(partial, record("a", null));
+    // Aggregated rows are not buffered.
+    partial = aggregator.mergeValues(partial, record("a", 1L));
+    try {
+      aggregator.mergeValues(partial, record("a", null));
+      Assert.fail("Expected the number of buffered rows to be bounded.");
+    } catch (ProgramFailureException e) {
+      Assert.assertTrue(e.getMessage().contains(WranglerAggregator.Config.NAME_MAX_BUFFERED_ROWS));
+    }
+
+    // The state of the failed group does not carry into the next group.
+    List<StructuredRecord> output = finalize("b", aggregator.initializeAggregateValue(record("b", 5L)));
+    Assert.assertEquals(5L, (long) output.get(0).<Long>get("total"));
+  }
+
+  @Test
+  public void testMergedBufferedRowsAreBounded() throws Exception {
+    aggregator.destroy();
+    aggregator = create(1);
+    WranglerAggregator.Partial partial1 = aggregator.initializeAggregateValue(record("a", null));
+    WranglerAggregator.Partial partial2 = aggregator.initializeAggregateValue(record("a", null));
+    try {
+      aggregator.mergePartitions(partial1, partial2);
+      Assert.fail("Expected the number of buffered rows to be bounded.");
+    } catch (ProgramFailureException e) {
+      Assert.assertTrue(e.getMessage().contains(WranglerAggregator.Config.NAME_MAX_BUFFERED_ROWS));
+    }
+  }
+
+  /**
+   * Sums the column 'value' of the rows into the column 'total' of a single row, rows without a value are
+   * passed through.
+   */
+  @Plugin(type = Directive.TYPE)
+  @Name(SumValues.NAME)
+  public static final class SumValues implements AggregateDirective {
+    static final String NAME = "sum-values";
+    private long total;
+    private boolean present;
+
+    @Override
+    public UsageDefinition define() {
+      return UsageDefinition.builder(NAME).build();
+    }
+
+    @Override
+    public void initialize(Arguments args) {
+      // no-op
+    }
+
+    @Override
+    public List<Row> execute(List<Row> rows, ExecutorContext context) {
+      List<Row> results = new ArrayList<>();
+      for (Row row : rows) {
+        Object value = row.getValue("value");
+        if (value == null) {
+          results.add(row);
+        } else {
+          total += (Long) value;
+          present = true;
+        }
+      }
+      return results;
+    }
+
+    @Override
+    public List<Row> finish(ExecutorContext context) {
+      List<Row> rows = new ArrayList<>();
+      Long state = (Long) takeState();
+      if (state != null) {
+        rows.add(new Row("total", state));
+      }
+      return rows;
+    }
+
+    @Override
+    public Serializable takeState() {
+      Long state = present ? total : null;
+      total = 0;
+      present = false;
+      return state;
+    }
+
+    @Override
+    public void mergeState(Serializable state) {
+      if (state != null) {
+        total += (Long) state;
+        present = true;
+      }
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
+
+  /**
+   * Runtime context that loads the {@link SumValues} directive as a plugin.
+   */
+  private static final class MockBatchRuntimeContext extends MockTransformContext implements BatchRuntimeContext {
+
+    @Override
+    public String getNamespace() {
+      return "default";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Class<T> loadPluginClass(String pluginId) {
+      return SumValues.NAME.equals(pluginId) ? (Class<T>) SumValues.class : null;
+    }
+
+    @Override
+    public <T extends Dataset> T getDataset(String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T extends Dataset> T getDataset(String namespace, String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T extends Dataset> T getDataset(String name, Map<String, String> arguments) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T extends Dataset> T getDataset(String namespace, String name, Map<String, String> arguments) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void releaseDataset(Dataset dataset) {
+      // no-op
+    }
+
+    @Override
+    public void discardDataset(Dataset dataset) {
+      // no-op
+    }
+  }
+}